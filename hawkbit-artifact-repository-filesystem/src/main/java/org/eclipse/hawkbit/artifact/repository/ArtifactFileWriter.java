@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.artifact.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
+
+import com.google.common.io.BaseEncoding;
+
+/**
+ * Writes the content of an upload in a single pass into a file. The content is
+ * read into direct buffers that are shared between the file write and the
+ * SHA1 and MD5 digests, which are updated concurrently on the given
+ * {@link ExecutorService}. While a buffer is hashed the next one is read, i.e.
+ * hashing, reading and writing overlap.
+ */
+class ArtifactFileWriter {
+
+    private static final int BUFFER_SIZE = 0x10000; // 64k
+
+    private final ExecutorService hashExecutor;
+
+    /**
+     * @param hashExecutor
+     *            to update the digests on
+     */
+    ArtifactFileWriter(final ExecutorService hashExecutor) {
+        this.hashExecutor = hashExecutor;
+    }
+
+    /**
+     * Writes the given content into the given file and computes its hashes.
+     * The content stream is not closed.
+     *
+     * @param content
+     *            to write
+     * @param file
+     *            to write to or <code>null</code> if the hashes have to be
+     *            computed only
+     * @return the hashes and the size of the content
+     * @throws IOException
+     *             if the content cannot be read or the file cannot be written
+     */
+    // suppress warning, of not strong enough hashing algorithm, SHA-1 and MD5
+    // is not used security related
+    @SuppressWarnings("squid:S2070")
+    WriteResult write(final InputStream content, final Path file) throws IOException {
+        final MessageDigest mdSHA1 = getDigest("SHA1");
+        final MessageDigest mdMD5 = getDigest("MD5");
+
+        // the channel is not closed as this would close the content stream
+        final ReadableByteChannel in = Channels.newChannel(content);
+        final ByteBuffer[] buffers = { ByteBuffer.allocateDirect(BUFFER_SIZE),
+                ByteBuffer.allocateDirect(BUFFER_SIZE) };
+        List<Future<?>> hashing = Collections.emptyList();
+        long size = 0;
+
+        try (FileChannel out = file == null ? null
+                : FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (int i = 0;; i++) {
+                // the buffer has been hashed before the previous buffer was
+                // submitted for hashing
+                final ByteBuffer buffer = buffers[i % 2];
+                buffer.clear();
+                if (!fill(in, buffer)) {
+                    break;
+                }
+                buffer.flip();
+                size += buffer.remaining();
+
+                await(hashing);
+                hashing = Arrays.asList(hashExecutor.submit(() -> mdSHA1.update(buffer.duplicate())),
+                        hashExecutor.submit(() -> mdMD5.update(buffer.duplicate())));
+
+                if (out != null) {
+                    final ByteBuffer toWrite = buffer.duplicate();
+                    while (toWrite.hasRemaining()) {
+                        out.write(toWrite);
+                    }
+                }
+            }
+
+            await(hashing);
+        }
+
+        return new WriteResult(new DbArtifactHash(BaseEncoding.base16().lowerCase().encode(mdSHA1.digest()),
+                BaseEncoding.base16().lowerCase().encode(mdMD5.digest())), size);
+    }
+
+    private static boolean fill(final ReadableByteChannel in, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (in.read(buffer) == -1) {
+                break;
+            }
+        }
+        return buffer.position() > 0;
+    }
+
+    private static void await(final List<Future<?>> futures) {
+        for (final Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ArtifactStoreException("Interrupted while hashing the artifact", e);
+            } catch (final ExecutionException e) {
+                throw new ArtifactStoreException(e.getCause().getMessage(), e.getCause());
+            }
+        }
+    }
+
+    private static MessageDigest getDigest(final String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new ArtifactStoreException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Hashes and size of a written content.
+     */
+    static final class WriteResult {
+        private final DbArtifactHash hashes;
+        private final long size;
+
+        private WriteResult(final DbArtifactHash hashes, final long size) {
+            this.hashes = hashes;
+            this.size = size;
+        }
+
+        DbArtifactHash getHashes() {
+            return hashes;
+        }
+
+        long getSize() {
+            return size;
+        }
+    }
+}
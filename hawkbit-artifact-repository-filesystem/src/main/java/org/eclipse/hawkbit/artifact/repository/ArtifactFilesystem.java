@@ -12,7 +12,11 @@ import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
 
 import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
@@ -22,7 +26,8 @@ import com.google.common.base.Throwables;
 
 /**
  * {@link AbstractDbArtifact} implementation which dynamically creates a
- * {@link FileInputStream} on calling {@link #getFileInputStream()}.
+ * {@link FileInputStream} on calling {@link #getFileInputStream()} and a
+ * {@link FileChannel} on calling {@link #getFileChannel()}.
  */
 public class ArtifactFilesystem extends AbstractDbArtifact {
 
@@ -35,6 +40,10 @@ public class ArtifactFilesystem extends AbstractDbArtifact {
         this.file = file;
     }
 
+    File getFile() {
+        return file;
+    }
+
     @Override
     // suppress warning, this InputStream needs to be closed by the caller, this
     // cannot be closed in this method
@@ -46,4 +55,16 @@ public class ArtifactFilesystem extends AbstractDbArtifact {
             throw Throwables.propagate(e);
         }
     }
+
+    @Override
+    // suppress warning, this FileChannel needs to be closed by the caller,
+    // this cannot be closed in this method
+    @SuppressWarnings("squid:S2095")
+    public Optional<FileChannel> getFileChannel() {
+        try {
+            return Optional.of(FileChannel.open(file.toPath(), StandardOpenOption.READ));
+        } catch (final IOException e) {
+            throw Throwables.propagate(e);
+        }
+    }
 }
@@ -22,6 +22,38 @@ public class ArtifactFilesystemProperties {
      */
     private String path = "./artifactrepo";
 
+    /**
+     * Set to <code>false</code> to compute the hashes of an upload on the
+     * uploading thread instead of concurrently to each other and to the write
+     * of the file.
+     */
+    private boolean parallelHashing = true;
+
+    /**
+     * Set to <code>true</code> to store the content of artifacts only once for
+     * all tenants. The files of the tenants are hard links to a global content
+     * addressed file that is deleted with the last link. Requires a
+     * file-system with hard link support, otherwise the files are stored per
+     * tenant.
+     */
+    private boolean deduplicateAcrossTenants;
+
+    public boolean isDeduplicateAcrossTenants() {
+        return deduplicateAcrossTenants;
+    }
+
+    public void setDeduplicateAcrossTenants(final boolean deduplicateAcrossTenants) {
+        this.deduplicateAcrossTenants = deduplicateAcrossTenants;
+    }
+
+    public boolean isParallelHashing() {
+        return parallelHashing;
+    }
+
+    public void setParallelHashing(final boolean parallelHashing) {
+        this.parallelHashing = parallelHashing;
+    }
+
     public String getPath() {
         return path;
     }
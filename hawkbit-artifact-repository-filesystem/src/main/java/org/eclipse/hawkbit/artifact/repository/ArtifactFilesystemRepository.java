@@ -8,20 +8,27 @@
  */
 package org.eclipse.hawkbit.artifact.repository;
 
-import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.security.DigestOutputStream;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.io.FileUtils;
+import org.eclipse.hawkbit.artifact.repository.ArtifactFileWriter.WriteResult;
 import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
 import org.slf4j.Logger;
@@ -29,9 +36,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.validation.annotation.Validated;
 
 import com.google.common.base.Splitter;
-import com.google.common.io.BaseEncoding;
-import com.google.common.io.ByteStreams;
-import com.google.common.io.Files;
+import com.google.common.util.concurrent.Striped;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * Implementation of the {@link ArtifactRepository} to store artifacts on the
@@ -44,15 +51,45 @@ import com.google.common.io.Files;
  * Due the limit of many file-systems of files within one directory, the files
  * are stored in different sub-directories based on the last four digits of the
  * SHA1-hash {@code (/basepath/[two digit sha1]/[two digit sha1])}.
+ * 
+ * Uploads are written into temporary files in the {@link #TEMP_DIRECTORY} of
+ * the base directory, so that the final placement is an atomic rename on the
+ * same file-system.
+ * 
+ * With {@link ArtifactFilesystemProperties#isDeduplicateAcrossTenants()} the
+ * content is stored only once in the {@link #BLOB_DIRECTORY} of the base
+ * directory and the files of the tenants are hard links to it. The link count
+ * of the file is the reference count, i.e. the content is deleted together
+ * with the last file of a tenant.
  */
 @Validated
 public class ArtifactFilesystemRepository implements ArtifactRepository {
 
     private static final Logger LOG = LoggerFactory.getLogger(ArtifactFilesystemRepository.class);
 
+    /**
+     * Directory within the base directory for uploads in progress.
+     */
+    static final String TEMP_DIRECTORY = ".tmp";
+
+    /**
+     * Directory within the base directory for the content that is shared by
+     * the tenants.
+     */
+    static final String BLOB_DIRECTORY = ".blobs";
+
+    private static final String LINK_COUNT_ATTRIBUTE = "unix:nlink";
+
     private static final String TEMP_FILE_PREFIX = "tmp";
     private static final String TEMP_FILE_SUFFIX = "artifactrepo";
     private final ArtifactFilesystemProperties artifactResourceProperties;
+    private final ArtifactFileWriter fileWriter;
+    private final boolean deduplicate;
+
+    /**
+     * Serializes linking and releasing of the same content within this node.
+     */
+    private final Striped<Lock> blobLocks = Striped.lock(64);
 
     /**
      * Constructor.
@@ -63,6 +100,27 @@ public class ArtifactFilesystemRepository implements ArtifactRepository {
      */
     public ArtifactFilesystemRepository(final ArtifactFilesystemProperties artifactResourceProperties) {
         this.artifactResourceProperties = artifactResourceProperties;
+        this.fileWriter = new ArtifactFileWriter(createHashExecutor(artifactResourceProperties));
+        this.deduplicate = artifactResourceProperties.isDeduplicateAcrossTenants() && isLinkCountSupported();
+    }
+
+    private static boolean isLinkCountSupported() {
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("unix")) {
+            return true;
+        }
+
+        LOG.warn("The file-system does not provide link counts, artifacts are not deduplicated across tenants.");
+        return false;
+    }
+
+    private static ExecutorService createHashExecutor(final ArtifactFilesystemProperties properties) {
+        if (!properties.isParallelHashing()) {
+            return MoreExecutors.newDirectExecutorService();
+        }
+
+        // daemon threads as the repository has no life cycle
+        return Executors.newCachedThreadPool(
+                new ThreadFactoryBuilder().setNameFormat("artifact-hash-pool-%d").setDaemon(true).build());
     }
 
     @Override
@@ -72,29 +130,50 @@ public class ArtifactFilesystemRepository implements ArtifactRepository {
     }
 
     @Override
-    // suppress warning, of not strong enough hashing algorithm, SHA-1 and MD5
-    // is not used security related
-    @SuppressWarnings("squid:S2070")
     public ArtifactFilesystem store(final String tenant, final InputStream content, final String filename,
             final String contentType, final DbArtifactHash hash) {
 
-        final MessageDigest mdSHA1;
-        final MessageDigest mdMD5;
+        if (hash != null && hash.getSha1() != null) {
+            final File existing = getFile(tenant, hash.getSha1());
+            if (existing.exists()) {
+                LOG.debug("Artifact {} exists already, only verify the hashes of the upload.", hash.getSha1());
+                return verifyExisting(existing, content, contentType, hash);
+            }
+            if (deduplicate) {
+                final ArtifactFilesystem linked = verifyAndLinkExistingBlob(tenant, content, contentType, hash);
+                if (linked != null) {
+                    return linked;
+                }
+            }
+        }
+
+        final Path file = createTempFile();
         try {
-            mdSHA1 = MessageDigest.getInstance("SHA1");
-            mdMD5 = MessageDigest.getInstance("MD5");
-        } catch (final NoSuchAlgorithmException e) {
+            final WriteResult result = fileWriter.write(content, file);
+            checkHashes(result.getHashes(), hash);
+            return moveFileToSHA1Naming(tenant, file, result, contentType);
+        } catch (final IOException e) {
             throw new ArtifactStoreException(e.getMessage(), e);
+        } finally {
+            deleteTempFile(file);
         }
-
-        final File file = createTempFile();
-        final AbstractDbArtifact artifact = store(content, contentType, hash, mdSHA1, mdMD5, file);
-        return renameFileToSHA1Naming(tenant, file, artifact);
     }
 
     @Override
     public void deleteBySha1(final String tenant, final String sha1Hash) {
-        FileUtils.deleteQuietly(getFile(tenant, sha1Hash));
+        if (!deduplicate) {
+            FileUtils.deleteQuietly(getFile(tenant, sha1Hash));
+            return;
+        }
+
+        final Lock lock = blobLocks.get(sha1Hash);
+        lock.lock();
+        try {
+            FileUtils.deleteQuietly(getFile(tenant, sha1Hash));
+            releaseBlob(sha1Hash);
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
@@ -107,100 +186,216 @@ public class ArtifactFilesystemRepository implements ArtifactRepository {
         return new ArtifactFilesystem(file, sha1, new DbArtifactHash(sha1, null), file.length(), null);
     }
 
-    private AbstractDbArtifact store(final InputStream content, final String contentType, final DbArtifactHash hash,
-            final MessageDigest mdSHA1, final MessageDigest mdMD5, final File file) {
-        AbstractDbArtifact artifact;
-        try (final DigestOutputStream outputstream = openFileOutputStream(file, mdSHA1, mdMD5)) {
-            final long artifactSize = ByteStreams.copy(content, outputstream);
-            outputstream.flush();
-            final String sha1Hash = BaseEncoding.base16().lowerCase().encode(mdSHA1.digest());
-            final String md5Hash = BaseEncoding.base16().lowerCase().encode(mdMD5.digest());
-
-            artifact = new ArtifactFilesystem(file, sha1Hash, new DbArtifactHash(sha1Hash, md5Hash), artifactSize,
+    private ArtifactFilesystem verifyExisting(final File existing, final InputStream content,
+            final String contentType, final DbArtifactHash hash) {
+        try {
+            final WriteResult result = fileWriter.write(content, null);
+            checkHashes(result.getHashes(), hash);
+            return new ArtifactFilesystem(existing, result.getHashes().getSha1(), result.getHashes(), result.getSize(),
                     contentType);
-
-            checkHashes(artifact, hash);
         } catch (final IOException e) {
             throw new ArtifactStoreException(e.getMessage(), e);
-        } catch (final HashNotMatchException e) {
-            if (!file.delete()) {
-                LOG.error("Could not delete temp file {}", file);
+        }
+    }
+
+    /**
+     * Verifies the upload against the shared content of another tenant and
+     * links it for the given tenant. The upload is hashed without the lock of
+     * the hash, i.e. a slow upload does not block the other uploads and
+     * deletions of the same content. The lock is only held to check that the
+     * shared content still exists and to create the link.
+     */
+    private ArtifactFilesystem verifyAndLinkExistingBlob(final String tenant, final InputStream content,
+            final String contentType, final DbArtifactHash hash) {
+        final String sha1 = hash.getSha1();
+        final File blob = getBlobFile(sha1);
+        if (!blob.exists()) {
+            return null;
+        }
+
+        LOG.debug("Artifact {} exists already for another tenant, only verify the hashes of the upload.", sha1);
+        final ArtifactFilesystem verified = verifyExisting(blob, content, contentType, hash);
+
+        final Lock lock = blobLocks.get(sha1);
+        lock.lock();
+        try {
+            // the upload has been consumed, i.e. it cannot be stored anymore
+            // if the shared content has been deleted in the meantime
+            if (!blob.exists()) {
+                throw new ArtifactStoreException(
+                        "The shared content of artifact " + sha1 + " has been deleted during the upload");
             }
-            throw e;
+            return new ArtifactFilesystem(linkBlob(tenant, sha1), verified.getHashes().getSha1(),
+                    verified.getHashes(), verified.getSize(), contentType);
+        } catch (final IOException e) {
+            throw new ArtifactStoreException("Could not link the file " + sha1, e);
+        } finally {
+            lock.unlock();
         }
-        return artifact;
     }
 
-    private ArtifactFilesystem renameFileToSHA1Naming(final String tenant, final File file,
-            final AbstractDbArtifact artifact) {
-        final File fileSHA1Naming = getFile(tenant, artifact.getHashes().getSha1());
-        final ArtifactFilesystem fileSystemArtifact = new ArtifactFilesystem(fileSHA1Naming, artifact.getArtifactId(),
-                artifact.getHashes(), artifact.getSize(), artifact.getContentType());
-        if (fileSHA1Naming.exists()) {
-            FileUtils.deleteQuietly(file);
-        } else {
-            try {
-                Files.move(file, fileSHA1Naming);
-            } catch (final IOException e) {
-                throw new ArtifactStoreException("Could not store the file " + fileSHA1Naming, e);
+    private ArtifactFilesystem moveFileToSHA1Naming(final String tenant, final Path file, final WriteResult result,
+            final String contentType) {
+        final String sha1 = result.getHashes().getSha1();
+        final File fileSHA1Naming = getFile(tenant, sha1);
+
+        try {
+            if (deduplicate) {
+                moveToBlobAndLink(tenant, file, sha1);
+            } else if (!fileSHA1Naming.exists()) {
+                Files.createDirectories(fileSHA1Naming.getParentFile().toPath());
+                moveAtomically(file, fileSHA1Naming.toPath());
+            }
+        } catch (final IOException e) {
+            throw new ArtifactStoreException("Could not store the file " + fileSHA1Naming, e);
+        }
+
+        return new ArtifactFilesystem(fileSHA1Naming, sha1, result.getHashes(), result.getSize(), contentType);
+    }
+
+    private void moveToBlobAndLink(final String tenant, final Path file, final String sha1) throws IOException {
+        final Lock lock = blobLocks.get(sha1);
+        lock.lock();
+        try {
+            final File blob = getBlobFile(sha1);
+            if (!blob.exists()) {
+                Files.createDirectories(blob.getParentFile().toPath());
+                moveAtomically(file, blob.toPath());
             }
+            linkBlob(tenant, sha1);
+        } finally {
+            lock.unlock();
         }
+    }
 
-        if (!file.delete()) {
-            LOG.debug("Could not delete temp file {}", file);
+    private File linkBlob(final String tenant, final String sha1) throws IOException {
+        final File link = getFile(tenant, sha1);
+        if (link.exists()) {
+            return link;
         }
 
-        return fileSystemArtifact;
+        Files.createDirectories(link.getParentFile().toPath());
+        try {
+            Files.createLink(link.toPath(), getBlobFile(sha1).toPath());
+        } catch (final FileAlreadyExistsException e) {
+            LOG.debug("Artifact {} has been linked concurrently.", link, e);
+        } catch (final UnsupportedOperationException e) {
+            LOG.warn("Hard links are not supported, store a copy of {} for tenant {}.", sha1, tenant, e);
+            Files.copy(getBlobFile(sha1).toPath(), link.toPath());
+        }
+        return link;
     }
 
-    private AbstractDbArtifact checkHashes(final AbstractDbArtifact artifact, final DbArtifactHash hash) {
+    /**
+     * Deletes the shared content in case no tenant references it anymore. Has
+     * to be called with the lock of the given hash.
+     */
+    private void releaseBlob(final String sha1) {
+        final Path blob = getBlobFile(sha1).toPath();
+        try {
+            if ((int) Files.getAttribute(blob, LINK_COUNT_ATTRIBUTE) <= 1) {
+                Files.deleteIfExists(blob);
+            }
+        } catch (final NoSuchFileException e) {
+            LOG.trace("Artifact {} has no shared content.", sha1, e);
+        } catch (final IOException e) {
+            LOG.warn("Could not release the shared content of artifact {}", sha1, e);
+        }
+    }
+
+    private static void moveAtomically(final Path source, final Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException e) {
+            LOG.debug("Atomic move of {} is not supported, fall back to replace.", source, e);
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void checkHashes(final DbArtifactHash calculated, final DbArtifactHash hash) {
         if (hash == null) {
-            return artifact;
+            return;
         }
-        if (hash.getSha1() != null && !artifact.getHashes().getSha1().equals(hash.getSha1())) {
+        if (hash.getSha1() != null && !calculated.getSha1().equals(hash.getSha1())) {
             throw new HashNotMatchException("The given sha1 hash " + hash.getSha1()
-                    + " does not match with the calcualted sha1 hash " + artifact.getHashes().getSha1(),
+                    + " does not match with the calcualted sha1 hash " + calculated.getSha1(),
                     HashNotMatchException.SHA1);
         }
-        if (hash.getMd5() != null && !artifact.getHashes().getMd5().equals(hash.getMd5())) {
+        if (hash.getMd5() != null && !calculated.getMd5().equals(hash.getMd5())) {
             throw new HashNotMatchException("The given md5 hash " + hash.getMd5()
-                    + " does not match with the calcualted md5 hash " + artifact.getHashes().getMd5(),
+                    + " does not match with the calcualted md5 hash " + calculated.getMd5(),
                     HashNotMatchException.MD5);
         }
-        return artifact;
     }
 
-    private File createTempFile() {
+    private Path createTempFile() {
         try {
-            return File.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+            final Path tempDirectory = Files
+                    .createDirectories(Paths.get(artifactResourceProperties.getPath(), TEMP_DIRECTORY));
+            // java.io keeps the default file permissions of the artifacts
+            return File.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX, tempDirectory.toFile()).toPath();
         } catch (final IOException e) {
             throw new ArtifactStoreException("Cannot create tempfile", e);
         }
     }
 
+    private static void deleteTempFile(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (final IOException e) {
+            LOG.error("Could not delete temp file {}", file, e);
+        }
+    }
+
     private File getFile(final String tenant, final String sha1) {
-        final File aritfactDirectory = getSha1DirectoryPath(tenant, sha1).toFile();
-        aritfactDirectory.mkdirs();
-        return new File(aritfactDirectory, sha1);
+        return getSha1DirectoryPath(sanitizeTenant(tenant), sha1).resolve(sha1).toFile();
     }
 
-    private Path getSha1DirectoryPath(final String tenant, final String sha1) {
+    private File getBlobFile(final String sha1) {
+        return getSha1DirectoryPath(BLOB_DIRECTORY, sha1).resolve(sha1).toFile();
+    }
+
+    private Path getSha1DirectoryPath(final String directory, final String sha1) {
         final int length = sha1.length();
         final List<String> folders = Splitter.fixedLength(2).splitToList(sha1.substring(length - 4, length));
         final String folder1 = folders.get(0);
         final String folder2 = folders.get(1);
-        return Paths.get(artifactResourceProperties.getPath(), sanitizeTenant(tenant), folder1, folder2);
-    }
-
-    private DigestOutputStream openFileOutputStream(final File file, final MessageDigest mdSHA1,
-            final MessageDigest mdMD5) throws FileNotFoundException {
-        return new DigestOutputStream(
-                new DigestOutputStream(new BufferedOutputStream(new FileOutputStream(file)), mdMD5), mdSHA1);
+        return Paths.get(artifactResourceProperties.getPath(), directory, folder1, folder2);
     }
 
     @Override
     public void deleteByTenant(final String tenant) {
-        FileUtils.deleteQuietly(Paths.get(artifactResourceProperties.getPath(), sanitizeTenant(tenant)).toFile());
+        final Path tenantDirectory = Paths.get(artifactResourceProperties.getPath(), sanitizeTenant(tenant));
+        if (!deduplicate) {
+            FileUtils.deleteQuietly(tenantDirectory.toFile());
+            return;
+        }
+
+        final List<String> sha1Hashes = listFileNames(tenantDirectory);
+        FileUtils.deleteQuietly(tenantDirectory.toFile());
+        sha1Hashes.forEach(sha1 -> {
+            final Lock lock = blobLocks.get(sha1);
+            lock.lock();
+            try {
+                releaseBlob(sha1);
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    private static List<String> listFileNames(final Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return Collections.emptyList();
+        }
+
+        try (final Stream<Path> files = Files.walk(directory)) {
+            return files.filter(Files::isRegularFile).map(file -> file.getFileName().toString())
+                    .collect(Collectors.toList());
+        } catch (final IOException e) {
+            LOG.warn("Could not list the artifacts of {}", directory, e);
+            return Collections.emptyList();
+        }
     }
 
     private static String sanitizeTenant(final String tenant) {
@@ -11,14 +11,26 @@ package org.eclipse.hawkbit.artifact.repository;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.apache.commons.io.IOUtils;
 import org.assertj.core.api.Assertions;
+import org.assertj.core.api.Assumptions;
 import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
 import org.junit.Test;
 
+import com.google.common.hash.Hashing;
+
 import ru.yandex.qatools.allure.annotations.Description;
 import ru.yandex.qatools.allure.annotations.Features;
 import ru.yandex.qatools.allure.annotations.Stories;
@@ -94,6 +106,173 @@ public class ArtifactFilesystemRepositoryTest {
         }
     }
 
+    @Test
+    @Description("Verfies that the hashes of an artifact that spans multiple buffers are computed correctly, "
+            + "with and without parallel hashing, and that no temporary file is left behind")
+    public void storeComputesHashesOfLargeArtifact() {
+        final byte[] fileContent = new byte[300_000];
+        new Random().nextBytes(fileContent);
+
+        final ArtifactFilesystemProperties serialHashingProperties = new ArtifactFilesystemProperties();
+        serialHashingProperties.setParallelHashing(false);
+
+        for (final ArtifactFilesystemRepository underTest : new ArtifactFilesystemRepository[] {
+                artifactFilesystemRepository, new ArtifactFilesystemRepository(serialHashingProperties) }) {
+            final ArtifactFilesystem artifact = underTest.store(TENANT, new ByteArrayInputStream(fileContent),
+                    "filename.tmp", "application/txt");
+
+            assertThat(artifact.getSize()).isEqualTo(fileContent.length);
+            assertThat(artifact.getHashes().getSha1()).isEqualTo(Hashing.sha1().hashBytes(fileContent).toString());
+            assertThat(artifact.getHashes().getMd5()).isEqualTo(Hashing.md5().hashBytes(fileContent).toString());
+            assertNoTempFiles();
+        }
+    }
+
+    @Test
+    @Description("Verfies that an upload of an artifact that exists already is only verified and not stored again")
+    public void storeExistingArtifactWithGivenHashIsDeduplicated() {
+        final byte[] fileContent = randomBytes();
+        final ArtifactFilesystem artifact = storeRandomArtifact(fileContent);
+        final long lastModified = artifact.getFile().lastModified();
+
+        final ArtifactFilesystem duplicate = artifactFilesystemRepository.store(TENANT,
+                new ByteArrayInputStream(fileContent), "filename.tmp", "application/txt",
+                new DbArtifactHash(artifact.getHashes().getSha1(), artifact.getHashes().getMd5()));
+
+        assertThat(duplicate.getFile()).isEqualTo(artifact.getFile());
+        assertThat(duplicate.getFile().lastModified()).isEqualTo(lastModified);
+        assertThat(duplicate.getHashes().getMd5()).isEqualTo(artifact.getHashes().getMd5());
+        assertNoTempFiles();
+    }
+
+    @Test
+    @Description("Verfies that an upload which claims the hash of an existing artifact but has a different content "
+            + "is rejected")
+    public void storeWithHashOfExistingArtifactButDifferentContentFails() {
+        final ArtifactFilesystem artifact = storeRandomArtifact(randomBytes());
+
+        try {
+            artifactFilesystemRepository.store(TENANT, new ByteArrayInputStream(randomBytes()), "filename.tmp",
+                    "application/txt", new DbArtifactHash(artifact.getHashes().getSha1(), null));
+            Assertions.fail("Expected a HashNotMatchException because the content does not match the hash");
+        } catch (final HashNotMatchException e) {
+            assertThat(e.getHashFunction()).isEqualTo(HashNotMatchException.SHA1);
+        }
+    }
+
+    @Test
+    @Description("Verfies that looking up an artifact does not create any directories")
+    public void getArtifactDoesNotCreateDirectories() {
+        assertThat(artifactFilesystemRepository.getArtifactBySha1("tenantWhichDoesNotExist",
+                "sha1HashWhichDoesNotExists")).isNull();
+
+        assertThat(Paths.get(artifactResourceProperties.getPath(), "TENANTWHICHDOESNOTEXIST").toFile()).doesNotExist();
+    }
+
+    @Test
+    @Description("Verfies that the content of an artifact is stored only once for all tenants and deleted with the "
+            + "last reference if deduplication across tenants is enabled")
+    public void artifactIsDeduplicatedAcrossTenants() throws IOException {
+        final ArtifactFilesystemProperties deduplicationProperties = new ArtifactFilesystemProperties();
+        deduplicationProperties.setDeduplicateAcrossTenants(true);
+        final ArtifactFilesystemRepository underTest = new ArtifactFilesystemRepository(deduplicationProperties);
+        final byte[] fileContent = randomBytes();
+
+        final ArtifactFilesystem first = underTest.store("tenant1", new ByteArrayInputStream(fileContent),
+                "filename.tmp", "application/txt");
+        final String sha1 = first.getHashes().getSha1();
+        final ArtifactFilesystem second = underTest.store("tenant2", new ByteArrayInputStream(fileContent),
+                "filename.tmp", "application/txt", new DbArtifactHash(sha1, null));
+
+        final File blob = Paths.get(deduplicationProperties.getPath(), ArtifactFilesystemRepository.BLOB_DIRECTORY,
+                sha1.substring(36, 38), sha1.substring(38, 40), sha1).toFile();
+        Assumptions.assumeThat(blob).as("file-system supports hard links").exists();
+
+        assertThat(second.getFile()).isNotEqualTo(first.getFile());
+        assertThat(Files.isSameFile(first.getFile().toPath(), second.getFile().toPath())).isTrue();
+        assertThat(Files.isSameFile(blob.toPath(), first.getFile().toPath())).isTrue();
+
+        underTest.deleteBySha1("tenant1", sha1);
+        assertThat(underTest.getArtifactBySha1("tenant1", sha1)).isNull();
+        assertThat(underTest.getArtifactBySha1("tenant2", sha1)).isNotNull();
+        assertThat(blob).exists();
+
+        underTest.deleteByTenant("tenant2");
+        assertThat(underTest.getArtifactBySha1("tenant2", sha1)).isNull();
+        assertThat(blob).doesNotExist();
+        assertNoTempFiles();
+    }
+
+    @Test
+    @Description("Verfies that the upload of an artifact whose content is shared with other tenants is verified "
+            + "without blocking the deletion of the same content by another tenant")
+    public void verificationOfDeduplicatedArtifactDoesNotBlockDeletion() {
+        final ArtifactFilesystemProperties deduplicationProperties = new ArtifactFilesystemProperties();
+        deduplicationProperties.setDeduplicateAcrossTenants(true);
+        final ArtifactFilesystemRepository underTest = new ArtifactFilesystemRepository(deduplicationProperties);
+        final byte[] fileContent = randomBytes();
+
+        final String sha1 = underTest
+                .store("tenant1", new ByteArrayInputStream(fileContent), "filename.tmp", "application/txt")
+                .getHashes().getSha1();
+        underTest.store("tenant3", new ByteArrayInputStream(fileContent), "filename.tmp", "application/txt",
+                new DbArtifactHash(sha1, null));
+
+        // the upload of tenant2 deletes the artifact of tenant1 in another
+        // thread while it is read
+        final ArtifactFilesystem uploaded = underTest.store("tenant2",
+                new ReadHookInputStream(fileContent, () -> underTest.deleteBySha1("tenant1", sha1)), "filename.tmp",
+                "application/txt", new DbArtifactHash(sha1, null));
+
+        assertThat(uploaded.getHashes().getSha1()).isEqualTo(sha1);
+        assertThat(underTest.getArtifactBySha1("tenant1", sha1)).isNull();
+        assertThat(underTest.getArtifactBySha1("tenant2", sha1)).isNotNull();
+        assertThat(underTest.getArtifactBySha1("tenant3", sha1)).isNotNull();
+    }
+
+    /**
+     * Runs a hook in another thread on the first read and waits for it.
+     */
+    private static final class ReadHookInputStream extends FilterInputStream {
+        private Runnable hook;
+
+        private ReadHookInputStream(final byte[] content, final Runnable hook) {
+            super(new ByteArrayInputStream(content));
+            this.hook = hook;
+        }
+
+        @Override
+        public int read() throws IOException {
+            runHook();
+            return super.read();
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            runHook();
+            return super.read(b, off, len);
+        }
+
+        private void runHook() throws IOException {
+            if (hook == null) {
+                return;
+            }
+            try {
+                CompletableFuture.runAsync(hook).get(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException | ExecutionException | TimeoutException e) {
+                throw new IOException("Hook did not complete", e);
+            } finally {
+                hook = null;
+            }
+        }
+    }
+
+    private void assertNoTempFiles() {
+        final File tempDirectory = Paths
+                .get(artifactResourceProperties.getPath(), ArtifactFilesystemRepository.TEMP_DIRECTORY).toFile();
+        assertThat(tempDirectory.list()).isEmpty();
+    }
+
     private ArtifactFilesystem storeRandomArtifact(final byte[] fileContent) {
         final String fileName = "filename.tmp";
         final ByteArrayInputStream inputStream = new ByteArrayInputStream(fileContent);
@@ -16,6 +16,10 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * Properties for configuring the cache within a cluster. The TTL (time to live)
  * is used for the lifetime limit of data in caches. After lifetime the data
  * gets reloaded out of the database.
+ *
+ * Changes of the tenant configuration are propagated to all nodes over the
+ * event bus, i.e. the cached tenant configuration values stay coherent within
+ * the cluster even with a long TTL.
  */
 @ConfigurationProperties("hawkbit.cache.global")
 public class CacheProperties {
@@ -8,10 +8,17 @@
  */
 package org.eclipse.hawkbit.autoconfigure.cache;
 
+import java.util.concurrent.ScheduledExecutorService;
+
 import org.eclipse.hawkbit.cache.DefaultDownloadIdCache;
 import org.eclipse.hawkbit.cache.DownloadIdCache;
+import org.eclipse.hawkbit.repository.jpa.DownloadIdRepository;
+import org.eclipse.hawkbit.repository.jpa.JpaDownloadIdCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -19,27 +26,70 @@ import org.springframework.context.annotation.Configuration;
 /**
  * A configuration for configuring a cache for the download id's.
  *
- * This is done by providing a named cache.
+ * By default the download id's are stored in the repository and are shared
+ * within the cluster. With <code>hawkbit.cache.download-id.shared=false</code>
+ * the download id's are stored in a named cache of the node.
  */
 @Configuration
+@EnableConfigurationProperties(DownloadIdCacheProperties.class)
 public class DownloadIdCacheAutoConfiguration {
 
-    @Autowired
-    private CacheManager cacheManager;
-
     /**
-     * Bean for the downloadId cache that returns the DefaultDownloadIdCache.
-     * The DefaultDownloadIdCache cannot be used within a cluster because the
-     * downloadId cache is not shared among notes. This means, a downloadId
-     * which is stored on note A for downloading an artifact can only be used
-     * for downloading the artifact form node A.
-     * 
-     * @return the DefaultDownloadIdCache
+     * Configuration of the {@link JpaDownloadIdCache} which is shared within
+     * the cluster.
      */
-    @Bean
-    @ConditionalOnMissingBean
-    public DownloadIdCache downloadIdCache() {
-        return new DefaultDownloadIdCache(cacheManager);
+    @Configuration
+    @ConditionalOnClass(JpaDownloadIdCache.class)
+    @ConditionalOnProperty(prefix = "hawkbit.cache.download-id", name = "shared", matchIfMissing = true)
+    static class SharedDownloadIdCacheConfiguration {
+
+        /**
+         * Bean for the downloadId cache that stores the download id's in the
+         * repository, i.e. a downloadId which is stored on node A for
+         * downloading an artifact can be used for downloading the artifact
+         * from node B.
+         * 
+         * @param downloadIdRepository
+         *            to store the download id's
+         * @param properties
+         *            of the download id cache
+         * @param executorService
+         *            to schedule the deletion of expired download id's
+         * @return the JpaDownloadIdCache
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public DownloadIdCache sharedDownloadIdCache(final DownloadIdRepository downloadIdRepository,
+                final DownloadIdCacheProperties properties, final ScheduledExecutorService executorService) {
+            return new JpaDownloadIdCache(downloadIdRepository, properties.getTtl(), executorService,
+                    properties.getSweepInterval());
+        }
     }
 
+    /**
+     * Configuration of the {@link DefaultDownloadIdCache} which is used in
+     * case the shared cache is disabled or not available.
+     */
+    @Configuration
+    static class LocalDownloadIdCacheConfiguration {
+
+        @Autowired
+        private CacheManager cacheManager;
+
+        /**
+         * Bean for the downloadId cache that returns the
+         * DefaultDownloadIdCache. The DefaultDownloadIdCache cannot be used
+         * within a cluster because the downloadId cache is not shared among
+         * nodes. This means, a downloadId which is stored on node A for
+         * downloading an artifact can only be used for downloading the
+         * artifact form node A.
+         * 
+         * @return the DefaultDownloadIdCache
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public DownloadIdCache downloadIdCache() {
+            return new DefaultDownloadIdCache(cacheManager);
+        }
+    }
 }
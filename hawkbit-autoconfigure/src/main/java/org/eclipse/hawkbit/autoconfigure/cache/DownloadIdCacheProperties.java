@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.autoconfigure.cache;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Properties for configuring the download-id cache.
+ */
+@ConfigurationProperties("hawkbit.cache.download-id")
+public class DownloadIdCacheProperties {
+
+    /**
+     * Store the download-ids in the repository so that they are shared within
+     * the cluster. If disabled the download-ids are stored in the local cache
+     * of the node.
+     */
+    private boolean shared = true;
+
+    /**
+     * TTL for download-ids in millis.
+     */
+    private long ttl = TimeUnit.MINUTES.toMillis(30);
+
+    /**
+     * Interval in millis in which expired download-ids are deleted from the
+     * repository.
+     */
+    private long sweepInterval = TimeUnit.MINUTES.toMillis(1);
+
+    public boolean isShared() {
+        return shared;
+    }
+
+    public void setShared(final boolean shared) {
+        this.shared = shared;
+    }
+
+    public long getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(final long ttl) {
+        this.ttl = ttl;
+    }
+
+    public long getSweepInterval() {
+        return sweepInterval;
+    }
+
+    public void setSweepInterval(final long sweepInterval) {
+        this.sweepInterval = sweepInterval;
+    }
+}
@@ -8,17 +8,31 @@
  */
 package org.eclipse.hawkbit.autoconfigure.security;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import org.eclipse.hawkbit.im.authentication.PermissionService;
+import org.eclipse.hawkbit.security.ControllerSecurityTokenCache;
+import org.eclipse.hawkbit.security.ControllerSecurityTokenCacheMetrics;
 import org.eclipse.hawkbit.security.DdiSecurityProperties;
+import org.eclipse.hawkbit.security.DdiSecurityProperties.Authentication.Targettoken;
+import org.eclipse.hawkbit.security.DosFilter;
+import org.eclipse.hawkbit.security.DosFilterMetrics;
 import org.eclipse.hawkbit.security.HawkbitSecurityProperties;
+import org.eclipse.hawkbit.security.InMemoryRateLimiter;
+import org.eclipse.hawkbit.security.RateLimiter;
 import org.eclipse.hawkbit.security.SecurityContextTenantAware;
 import org.eclipse.hawkbit.security.SecurityTokenGenerator;
 import org.eclipse.hawkbit.security.SpringSecurityAuditorAware;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.domain.AuditorAware;
@@ -82,4 +96,58 @@ public class SecurityAutoConfiguration {
         return new SecurityTokenGenerator();
     }
 
+    /**
+     * @param ddiSecurityProperties
+     *            for the size and expiry of the cache
+     * @return {@link ControllerSecurityTokenCache} bean
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ControllerSecurityTokenCache controllerSecurityTokenCache(
+            final DdiSecurityProperties ddiSecurityProperties) {
+        final Targettoken targettoken = ddiSecurityProperties.getAuthentication().getTargettoken();
+        return new ControllerSecurityTokenCache(targettoken.getCacheSize(), targettoken.getCacheExpiry());
+    }
+
+    /**
+     * @return {@link InMemoryRateLimiter} for the {@link DosFilter}s, i.e. the
+     *         request limits apply per node. A {@link RateLimiter} bean that is
+     *         backed by a shared store can be provided to apply the limits
+     *         cluster wide.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public RateLimiter rateLimiter() {
+        return new InMemoryRateLimiter();
+    }
+
+    /**
+     * Publishes the {@link ControllerSecurityTokenCache} and {@link DosFilter}
+     * statistics as actuator metrics in case the actuator is on the classpath.
+     */
+    @Configuration
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.PublicMetrics")
+    static class SecurityMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        ControllerSecurityTokenCacheMetrics controllerSecurityTokenCacheMetrics(
+                final ControllerSecurityTokenCache controllerSecurityTokenCache) {
+            return new ControllerSecurityTokenCacheMetrics(controllerSecurityTokenCache);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        DosFilterMetrics dosFilterMetrics(final ObjectProvider<List<FilterRegistrationBean>> filterRegistrations) {
+            return new DosFilterMetrics(() -> {
+                final List<FilterRegistrationBean> registrations = filterRegistrations.getIfAvailable();
+                if (registrations == null) {
+                    return Collections.emptyList();
+                }
+                return registrations.stream().map(FilterRegistrationBean::getFilter)
+                        .filter(DosFilter.class::isInstance).map(DosFilter.class::cast).collect(Collectors.toList());
+            });
+        }
+    }
+
 }
@@ -33,6 +33,7 @@ import org.eclipse.hawkbit.mgmt.rest.resource.MgmtApiConfiguration;
 import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
+import org.eclipse.hawkbit.security.ControllerSecurityTokenCache;
 import org.eclipse.hawkbit.security.ControllerTenantAwareAuthenticationDetailsSource;
 import org.eclipse.hawkbit.security.DdiSecurityProperties;
 import org.eclipse.hawkbit.security.DosFilter;
@@ -43,6 +44,7 @@ import org.eclipse.hawkbit.security.HttpControllerPreAuthenticatedGatewaySecurit
 import org.eclipse.hawkbit.security.HttpControllerPreAuthenticatedSecurityHeaderFilter;
 import org.eclipse.hawkbit.security.HttpDownloadAuthenticationFilter;
 import org.eclipse.hawkbit.security.PreAuthTokenSourceTrustAuthenticationProvider;
+import org.eclipse.hawkbit.security.RateLimiter;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.eclipse.hawkbit.ui.MgmtUiConfiguration;
@@ -156,18 +158,21 @@ public class SecurityManagedConfiguration {
         private final DdiSecurityProperties ddiSecurityConfiguration;
         private final SecurityProperties springSecurityProperties;
         private final SystemSecurityContext systemSecurityContext;
+        private final ControllerSecurityTokenCache securityTokenCache;
 
         @Autowired
         ControllerSecurityConfigurationAdapter(final ControllerManagement controllerManagement,
                 final TenantConfigurationManagement tenantConfigurationManagement, final TenantAware tenantAware,
                 final DdiSecurityProperties ddiSecurityConfiguration, final SecurityProperties springSecurityProperties,
-                final SystemSecurityContext systemSecurityContext) {
+                final SystemSecurityContext systemSecurityContext,
+                final ControllerSecurityTokenCache securityTokenCache) {
             this.controllerManagement = controllerManagement;
             this.tenantConfigurationManagement = tenantConfigurationManagement;
             this.tenantAware = tenantAware;
             this.ddiSecurityConfiguration = ddiSecurityConfiguration;
             this.springSecurityProperties = springSecurityProperties;
             this.systemSecurityContext = systemSecurityContext;
+            this.securityTokenCache = securityTokenCache;
         }
 
         /**
@@ -182,10 +187,11 @@ public class SecurityManagedConfiguration {
          */
         @Bean
         @ConditionalOnProperty(prefix = "hawkbit.server.security.dos.filter", name = "enabled", matchIfMissing = true)
-        public FilterRegistrationBean dosDDiFilter(final HawkbitSecurityProperties securityProperties) {
+        public FilterRegistrationBean dosDDiFilter(final HawkbitSecurityProperties securityProperties,
+                final RateLimiter rateLimiter) {
 
-            final FilterRegistrationBean filterRegBean = dosFilter(Arrays.asList(DDI_ANT_MATCHERS),
-                    securityProperties.getDos().getFilter(), securityProperties.getClients());
+            final FilterRegistrationBean filterRegBean = dosFilter("dosDDiFilter", Arrays.asList(DDI_ANT_MATCHERS),
+                    securityProperties.getDos().getFilter(), securityProperties.getClients(), rateLimiter);
             filterRegBean.setOrder(DOS_FILTER_ORDER);
             filterRegBean.setName("dosDDiFilter");
 
@@ -206,7 +212,8 @@ public class SecurityManagedConfiguration {
             securityHeaderFilter.setAuthenticationDetailsSource(authenticationDetailsSource);
 
             final HttpControllerPreAuthenticateSecurityTokenFilter securityTokenFilter = new HttpControllerPreAuthenticateSecurityTokenFilter(
-                    tenantConfigurationManagement, tenantAware, controllerManagement, systemSecurityContext);
+                    tenantConfigurationManagement, tenantAware, controllerManagement, systemSecurityContext,
+                    securityTokenCache);
             securityTokenFilter.setAuthenticationManager(authenticationManager());
             securityTokenFilter.setCheckForPrincipalChanges(true);
             securityTokenFilter.setAuthenticationDetailsSource(authenticationDetailsSource);
@@ -272,18 +279,21 @@ public class SecurityManagedConfiguration {
         private final DdiSecurityProperties ddiSecurityConfiguration;
         private final SecurityProperties springSecurityProperties;
         private final SystemSecurityContext systemSecurityContext;
+        private final ControllerSecurityTokenCache securityTokenCache;
 
         @Autowired
         ControllerDownloadSecurityConfigurationAdapter(final ControllerManagement controllerManagement,
                 final TenantConfigurationManagement tenantConfigurationManagement, final TenantAware tenantAware,
                 final DdiSecurityProperties ddiSecurityConfiguration, final SecurityProperties springSecurityProperties,
-                final SystemSecurityContext systemSecurityContext) {
+                final SystemSecurityContext systemSecurityContext,
+                final ControllerSecurityTokenCache securityTokenCache) {
             this.controllerManagement = controllerManagement;
             this.tenantConfigurationManagement = tenantConfigurationManagement;
             this.tenantAware = tenantAware;
             this.ddiSecurityConfiguration = ddiSecurityConfiguration;
             this.springSecurityProperties = springSecurityProperties;
             this.systemSecurityContext = systemSecurityContext;
+            this.securityTokenCache = securityTokenCache;
         }
 
         /**
@@ -298,10 +308,12 @@ public class SecurityManagedConfiguration {
          */
         @Bean
         @ConditionalOnProperty(prefix = "hawkbit.server.security.dos.filter", name = "enabled", matchIfMissing = true)
-        public FilterRegistrationBean dosDDiDlFilter(final HawkbitSecurityProperties securityProperties) {
+        public FilterRegistrationBean dosDDiDlFilter(final HawkbitSecurityProperties securityProperties,
+                final RateLimiter rateLimiter) {
 
-            final FilterRegistrationBean filterRegBean = dosFilter(Arrays.asList(DDI_DL_ANT_MATCHER),
-                    securityProperties.getDos().getFilter(), securityProperties.getClients());
+            final FilterRegistrationBean filterRegBean = dosFilter("dosDDiDlFilter",
+                    Arrays.asList(DDI_DL_ANT_MATCHER), securityProperties.getDos().getFilter(),
+                    securityProperties.getClients(), rateLimiter);
             filterRegBean.setOrder(DOS_FILTER_ORDER);
             filterRegBean.setName("dosDDiDlFilter");
 
@@ -322,7 +334,8 @@ public class SecurityManagedConfiguration {
             securityHeaderFilter.setAuthenticationDetailsSource(authenticationDetailsSource);
 
             final HttpControllerPreAuthenticateSecurityTokenFilter securityTokenFilter = new HttpControllerPreAuthenticateSecurityTokenFilter(
-                    tenantConfigurationManagement, tenantAware, controllerManagement, systemSecurityContext);
+                    tenantConfigurationManagement, tenantAware, controllerManagement, systemSecurityContext,
+                    securityTokenCache);
             securityTokenFilter.setAuthenticationManager(authenticationManager());
             securityTokenFilter.setCheckForPrincipalChanges(true);
             securityTokenFilter.setAuthenticationDetailsSource(authenticationDetailsSource);
@@ -388,10 +401,11 @@ public class SecurityManagedConfiguration {
      */
     @Bean
     @ConditionalOnProperty(prefix = "hawkbit.server.security.dos.filter", name = "enabled", matchIfMissing = true)
-    public FilterRegistrationBean dosSystemFilter(final HawkbitSecurityProperties securityProperties) {
+    public FilterRegistrationBean dosSystemFilter(final HawkbitSecurityProperties securityProperties,
+            final RateLimiter rateLimiter) {
 
-        final FilterRegistrationBean filterRegBean = dosFilter(Collections.emptyList(),
-                securityProperties.getDos().getFilter(), securityProperties.getClients());
+        final FilterRegistrationBean filterRegBean = dosFilter("dosSystemFilter", Collections.emptyList(),
+                securityProperties.getDos().getFilter(), securityProperties.getClients(), rateLimiter);
         filterRegBean.setUrlPatterns(Arrays.asList("/system/*"));
         filterRegBean.setOrder(DOS_FILTER_ORDER);
         filterRegBean.setName("dosSystemFilter");
@@ -399,15 +413,15 @@ public class SecurityManagedConfiguration {
         return filterRegBean;
     }
 
-    private static FilterRegistrationBean dosFilter(final Collection<String> includeAntPaths,
+    private static FilterRegistrationBean dosFilter(final String name, final Collection<String> includeAntPaths,
             final HawkbitSecurityProperties.Dos.Filter filterProperties,
-            final HawkbitSecurityProperties.Clients clientProperties) {
+            final HawkbitSecurityProperties.Clients clientProperties, final RateLimiter rateLimiter) {
 
         final FilterRegistrationBean filterRegBean = new FilterRegistrationBean();
 
-        filterRegBean.setFilter(new DosFilter(includeAntPaths, filterProperties.getMaxRead(),
+        filterRegBean.setFilter(new DosFilter(name, includeAntPaths, filterProperties.getMaxRead(),
                 filterProperties.getMaxWrite(), filterProperties.getWhitelist(), clientProperties.getBlacklist(),
-                clientProperties.getRemoteIpHeader()));
+                clientProperties.getRemoteIpHeader(), filterProperties.getRateLimitKey(), rateLimiter));
 
         return filterRegBean;
     }
@@ -482,10 +496,11 @@ public class SecurityManagedConfiguration {
          */
         @Bean
         @ConditionalOnProperty(prefix = "hawkbit.server.security.dos.filter", name = "enabled", matchIfMissing = true)
-        public FilterRegistrationBean dosMgmtFilter(final HawkbitSecurityProperties securityProperties) {
+        public FilterRegistrationBean dosMgmtFilter(final HawkbitSecurityProperties securityProperties,
+                final RateLimiter rateLimiter) {
 
-            final FilterRegistrationBean filterRegBean = dosFilter(null, securityProperties.getDos().getFilter(),
-                    securityProperties.getClients());
+            final FilterRegistrationBean filterRegBean = dosFilter("dosMgmtFilter", null,
+                    securityProperties.getDos().getFilter(), securityProperties.getClients(), rateLimiter);
             filterRegBean.setUrlPatterns(Arrays.asList("/rest/*", "/api/*"));
             filterRegBean.setOrder(DOS_FILTER_ORDER);
             filterRegBean.setName("dosMgmtFilter");
@@ -562,10 +577,11 @@ public class SecurityManagedConfiguration {
          */
         @Bean
         @ConditionalOnProperty(prefix = "hawkbit.server.security.dos.ui-filter", name = "enabled", matchIfMissing = true)
-        public FilterRegistrationBean dosMgmtUiFilter(final HawkbitSecurityProperties securityProperties) {
+        public FilterRegistrationBean dosMgmtUiFilter(final HawkbitSecurityProperties securityProperties,
+                final RateLimiter rateLimiter) {
 
-            final FilterRegistrationBean filterRegBean = dosFilter(null, securityProperties.getDos().getUiFilter(),
-                    securityProperties.getClients());
+            final FilterRegistrationBean filterRegBean = dosFilter("dosMgmtUiFilter", null,
+                    securityProperties.getDos().getUiFilter(), securityProperties.getClients(), rateLimiter);
             // All URLs that can be called anonymous
             filterRegBean.setUrlPatterns(Arrays.asList("/UI/login", "/UI/login/*", "/UI/logout", "/UI/logout/*"));
             filterRegBean.setOrder(DOS_FILTER_ORDER);
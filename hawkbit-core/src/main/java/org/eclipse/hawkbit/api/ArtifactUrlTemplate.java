@@ -0,0 +1,309 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.api;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.api.ArtifactUrlHandlerProperties.UrlProtocol;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.StringUtils;
+
+/**
+ * Compiled {@link UrlProtocol#getRef()} pattern. The pattern is parsed once
+ * into literal and placeholder segments. On rendering only the placeholders
+ * that are referenced by the pattern are resolved.
+ *
+ * Unknown placeholders are kept as they are. The <code>:{port}</code>
+ * placeholder is removed completely in case no port is configured.
+ */
+final class ArtifactUrlTemplate {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ArtifactUrlTemplate.class);
+
+    private static final int INITIAL_BUFFER_CAPACITY = 256;
+    private static final int MAX_BUFFER_CAPACITY = 4096;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal
+            .withInitial(() -> new StringBuilder(INITIAL_BUFFER_CAPACITY));
+
+    private final Segment[] segments;
+
+    private ArtifactUrlTemplate(final List<Segment> segments) {
+        this.segments = segments.toArray(new Segment[segments.size()]);
+    }
+
+    /**
+     * Parses the given pattern.
+     *
+     * @param ref
+     *            the URL pattern, see {@link UrlProtocol#getRef()}
+     * @return the compiled template
+     */
+    static ArtifactUrlTemplate compile(final String ref) {
+        final List<Segment> segments = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+
+        int position = 0;
+        while (position < ref.length()) {
+            final int end = ref.indexOf('}', position);
+            if (end < 0) {
+                literal.append(ref, position, ref.length());
+                break;
+            }
+
+            final int start = ref.lastIndexOf('{', end);
+            if (start < position) {
+                literal.append(ref, position, end + 1);
+                position = end + 1;
+                continue;
+            }
+
+            literal.append(ref, position, start);
+            position = end + 1;
+
+            final Placeholder placeholder = Placeholder.byName(ref.substring(start + 1, end));
+            if (placeholder == null) {
+                literal.append(ref, start, end + 1);
+            } else if (placeholder == Placeholder.PORT) {
+                // only ':{port}' is replaced, i.e. the colon is part of the
+                // segment
+                if (literal.length() > 0 && literal.charAt(literal.length() - 1) == ':') {
+                    literal.setLength(literal.length() - 1);
+                    addLiteral(segments, literal);
+                    segments.add(new PortSegment());
+                } else {
+                    literal.append(ref, start, end + 1);
+                }
+            } else {
+                addLiteral(segments, literal);
+                segments.add(new PlaceholderSegment(placeholder));
+            }
+        }
+        addLiteral(segments, literal);
+
+        return new ArtifactUrlTemplate(segments);
+    }
+
+    private static void addLiteral(final List<Segment> segments, final StringBuilder literal) {
+        if (literal.length() > 0) {
+            segments.add(new LiteralSegment(literal.toString()));
+            literal.setLength(0);
+        }
+    }
+
+    /**
+     * Renders the URL.
+     *
+     * @param protocol
+     *            that is configured for the URL
+     * @param placeholder
+     *            the artifact and target data
+     * @param requestUri
+     *            of the current request, might be <code>null</code>
+     * @return the rendered URL
+     */
+    String render(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+        final Context context = new Context(protocol, placeholder, requestUri);
+        final StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        try {
+            for (final Segment segment : segments) {
+                segment.appendTo(buffer, context);
+            }
+            return buffer.toString();
+        } finally {
+            if (buffer.capacity() > MAX_BUFFER_CAPACITY) {
+                BUFFER.remove();
+            }
+        }
+    }
+
+    private interface Segment {
+        void appendTo(StringBuilder buffer, Context context);
+    }
+
+    private static final class LiteralSegment implements Segment {
+        private final String value;
+
+        private LiteralSegment(final String value) {
+            this.value = value;
+        }
+
+        @Override
+        public void appendTo(final StringBuilder buffer, final Context context) {
+            buffer.append(value);
+        }
+    }
+
+    private static final class PlaceholderSegment implements Segment {
+        private final Placeholder placeholder;
+
+        private PlaceholderSegment(final Placeholder placeholder) {
+            this.placeholder = placeholder;
+        }
+
+        @Override
+        public void appendTo(final StringBuilder buffer, final Context context) {
+            final String value = placeholder.resolve(context);
+            if (value != null) {
+                buffer.append(value);
+            }
+        }
+    }
+
+    private static final class PortSegment implements Segment {
+        @Override
+        public void appendTo(final StringBuilder buffer, final Context context) {
+            final String port = Placeholder.PORT.resolve(context);
+            if (!StringUtils.isEmpty(port)) {
+                buffer.append(':').append(port);
+            }
+        }
+    }
+
+    private static final class Context {
+        private final UrlProtocol protocol;
+        private final URLPlaceholder placeholder;
+        private final URI requestUri;
+
+        private Context(final UrlProtocol protocol, final URLPlaceholder placeholder, final URI requestUri) {
+            this.protocol = protocol;
+            this.placeholder = placeholder;
+            this.requestUri = requestUri;
+        }
+    }
+
+    private enum Placeholder {
+        PROTOCOL("protocol", context -> context.protocol.getProtocol()),
+
+        CONTROLLER_ID("controllerId", context -> context.placeholder.getControllerId()),
+
+        TARGET_ID_BASE10("targetId", context -> String.valueOf(context.placeholder.getTargetId())),
+
+        TARGET_ID_BASE62("targetIdBase62", context -> Base62Util.fromBase10(context.placeholder.getTargetId())),
+
+        IP("ip", context -> context.protocol.getIp()),
+
+        PORT("port", context -> getPort(context.protocol)),
+
+        HOSTNAME("hostname", context -> context.protocol.getHostname()),
+
+        HOSTNAME_REQUEST("hostnameRequest", context -> getRequestHost(context.protocol, context.requestUri)),
+
+        PORT_REQUEST("portRequest", context -> getRequestPort(context.protocol, context.requestUri)),
+
+        HOSTNAME_WITH_DOMAIN_REQUEST("domainRequest",
+                context -> computeHostWithRequestDomain(context.protocol, context.requestUri)),
+
+        ARTIFACT_FILENAME("artifactFileName", context -> encode(context.placeholder.getSoftwareData().getFilename())),
+
+        ARTIFACT_SHA1("artifactSHA1", context -> context.placeholder.getSoftwareData().getSha1Hash()),
+
+        ARTIFACT_ID_BASE10("artifactId",
+                context -> String.valueOf(context.placeholder.getSoftwareData().getArtifactId())),
+
+        ARTIFACT_ID_BASE62("artifactIdBase62",
+                context -> Base62Util.fromBase10(context.placeholder.getSoftwareData().getArtifactId())),
+
+        TENANT("tenant", context -> context.placeholder.getTenant()),
+
+        TENANT_ID_BASE10("tenantId", context -> String.valueOf(context.placeholder.getTenantId())),
+
+        TENANT_ID_BASE62("tenantIdBase62", context -> Base62Util.fromBase10(context.placeholder.getTenantId())),
+
+        SOFTWARE_MODULE_ID_BASE10("softwareModuleId",
+                context -> String.valueOf(context.placeholder.getSoftwareData().getSoftwareModuleId())),
+
+        SOFTWARE_MODULE_ID_BASE62("softwareModuleIdBase62",
+                context -> Base62Util.fromBase10(context.placeholder.getSoftwareData().getSoftwareModuleId()));
+
+        private static final Map<String, Placeholder> BY_NAME = Arrays.stream(values())
+                .collect(Collectors.toMap(placeholder -> placeholder.placeholderName, Function.identity()));
+
+        private final String placeholderName;
+        private final Function<Context, String> resolver;
+
+        Placeholder(final String placeholderName, final Function<Context, String> resolver) {
+            this.placeholderName = placeholderName;
+            this.resolver = resolver;
+        }
+
+        private static Placeholder byName(final String name) {
+            return BY_NAME.get(name);
+        }
+
+        private String resolve(final Context context) {
+            return resolver.apply(context);
+        }
+    }
+
+    private static String encode(final String filename) {
+        try {
+            return URLEncoder.encode(filename, StandardCharsets.UTF_8.toString());
+        } catch (final UnsupportedEncodingException e) {
+            LOG.error("Could not encode {}", filename, e);
+            return null;
+        }
+    }
+
+    private static String getRequestPort(final UrlProtocol protocol, final URI requestUri) {
+        if (requestUri == null) {
+            return getPort(protocol);
+        }
+
+        return requestUri.getPort() > 0 ? String.valueOf(requestUri.getPort()) : getPort(protocol);
+    }
+
+    private static String getRequestHost(final UrlProtocol protocol, final URI requestUri) {
+        if (requestUri == null) {
+            return protocol.getHostname();
+        }
+
+        return Optional.ofNullable(requestUri.getHost()).orElse(protocol.getHostname());
+    }
+
+    private static String getPort(final UrlProtocol protocol) {
+        return protocol.getPort() == null ? null : String.valueOf(protocol.getPort());
+    }
+
+    private static String computeHostWithRequestDomain(final UrlProtocol protocol, final URI requestUri) {
+
+        if (requestUri == null) {
+            return protocol.getHostname();
+        }
+
+        if (!protocol.getHostname().contains(".")) {
+            return protocol.getHostname();
+        }
+
+        final String host = StringUtils.delimitedListToStringArray(protocol.getHostname(), ".")[0].trim();
+
+        final List<String> domainElements = Arrays
+                .asList(StringUtils.delimitedListToStringArray(requestUri.getHost(), "."));
+        final String domain = StringUtils.collectionToDelimitedString(domainElements.subList(1, domainElements.size()),
+                ".");
+
+        if (StringUtils.isEmpty(domain)) {
+            return protocol.getHostname();
+        }
+
+        return host + "." + domain;
+    }
+}
@@ -9,6 +9,8 @@
 package org.eclipse.hawkbit.artifact.repository.model;
 
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.util.Optional;
 
 import org.springframework.util.Assert;
 
@@ -68,4 +70,17 @@ public abstract class AbstractDbArtifact {
      * @return {@link InputStream} to read from artifact.
      */
     public abstract InputStream getFileInputStream();
+
+    /**
+     * Opens a {@link FileChannel} on this artifact if it is stored in a local
+     * file, which allows to read from any position without skipping over the
+     * content before it. Caller has to take care of closing the channel.
+     * 
+     * @return {@link FileChannel} to read from artifact or
+     *         {@link Optional#empty()} if the artifact is not stored in a
+     *         local file
+     */
+    public Optional<FileChannel> getFileChannel() {
+        return Optional.empty();
+    }
 }
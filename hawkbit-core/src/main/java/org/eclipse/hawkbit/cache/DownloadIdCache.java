@@ -46,6 +46,25 @@ public interface DownloadIdCache {
      */
     DownloadArtifactCache get(final String downloadId);
 
+    /**
+     * Retrieves and evicts a {@link DownloadArtifactCache} by a given
+     * downloadId, i.e. the downloadId can be used only once. Implementations
+     * that are shared within a cluster have to ensure that only one of
+     * concurrent calls retrieves the artifact cache object.
+     * 
+     * @param downloadId
+     *            the ID to retrieve the artifact cache object
+     * @return the found {@link DownloadArtifactCache} or {@code null} if none
+     *         exists for the given ID
+     */
+    default DownloadArtifactCache getAndEvict(final String downloadId) {
+        final DownloadArtifactCache downloadArtifactCache = get(downloadId);
+        if (downloadArtifactCache != null) {
+            evict(downloadId);
+        }
+        return downloadArtifactCache;
+    }
+
     /**
      * Evicts a {@link DownloadArtifactCache} for the given downloadId
      * 
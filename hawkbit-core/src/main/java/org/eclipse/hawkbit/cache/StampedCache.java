@@ -0,0 +1,332 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Tenant aware cache for data that is read from the repository and
+ * invalidated by the events of a change, i.e. after the commit of the change.
+ *
+ * A read that overlaps with a change might return the data of before the
+ * change, while the invalidation of that change has already been processed
+ * when the data is put into the cache. In order to prevent that such stale
+ * data is cached every read has to be wrapped into a {@link Stamp} that is
+ * taken before the read and closed after the put:
+ *
+ * <pre>
+ * try (final StampedCache.Stamp stamp = cache.stamp()) {
+ *     final Data data = repository.read(id);
+ *     cache.put(tenant, id, data, stamp);
+ * }
+ * </pre>
+ *
+ * An invalidation removes the matching entries and is recorded by the stamps
+ * that are open at that time. A put is ignored if its stamp recorded an
+ * invalidation of the entry. A put with a stamp that has already been closed
+ * is ignored as well, e.g. if it is deferred until the commit of an outer
+ * transaction. As a result an invalidation of data that is neither cached nor
+ * read does not leave anything in the cache.
+ *
+ * @param <K>
+ *            type of the key within a tenant
+ * @param <V>
+ *            type of the cached values, which have to be immutable as they
+ *            are shared between all readers
+ */
+public class StampedCache<K, V> {
+
+    private final Cache<TenantKey<K>, V> cache;
+    private final boolean enabled;
+    private final Set<Stamp> stamps = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param size
+     *            the maximum number of cached entries, <code>0</code> disables
+     *            the cache
+     * @param expiry
+     *            in {@link TimeUnit#MILLISECONDS} after which an entry expires
+     *            even if it has not been invalidated, <code>0</code> for
+     *            entries that do not expire
+     */
+    public StampedCache(final long size, final long expiry) {
+        this.enabled = size > 0;
+
+        final Caffeine<Object, Object> builder = Caffeine.newBuilder().maximumSize(size);
+        if (expiry > 0) {
+            builder.expireAfterWrite(expiry, TimeUnit.MILLISECONDS);
+        }
+        this.cache = builder.build();
+    }
+
+    /**
+     * @return <code>true</code> if the cache is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return {@link Stamp} to be taken before the data that is put into the
+     *         cache is read from the repository
+     */
+    public Stamp stamp() {
+        final Stamp stamp = new Stamp(this);
+        if (enabled) {
+            stamps.add(stamp);
+        }
+        return stamp;
+    }
+
+    /**
+     * @param tenant
+     *            of the entry
+     * @param key
+     *            of the entry
+     * @return the cached value or {@link Optional#empty()} if not cached
+     */
+    public Optional<V> get(final String tenant, final K key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(cache.getIfPresent(new TenantKey<>(tenant, key)));
+    }
+
+    /**
+     * @param tenant
+     *            of the entries
+     * @param keys
+     *            of the entries
+     * @return the cached values by key, missing if not cached
+     */
+    public Map<K, V> getAll(final String tenant, final Collection<K> keys) {
+        final Map<K, V> result = new HashMap<>();
+        if (enabled) {
+            keys.forEach(key -> get(tenant, key).ifPresent(value -> result.put(key, value)));
+        }
+        return result;
+    }
+
+    /**
+     * Puts a value into the cache unless the stamp recorded an invalidation of
+     * the entry or has been closed.
+     *
+     * @param tenant
+     *            of the entry
+     * @param key
+     *            of the entry
+     * @param value
+     *            to cache
+     * @param stamp
+     *            taken before the value has been read
+     */
+    public void put(final String tenant, final K key, final V value, final Stamp stamp) {
+        putIfValid(new TenantKey<>(tenant, key), old -> value, stamp);
+    }
+
+    /**
+     * Updates a cached value unless the stamp recorded an invalidation of the
+     * entry or has been closed. Nothing is put into the cache if the entry does
+     * not exist.
+     *
+     * @param tenant
+     *            of the entry
+     * @param key
+     *            of the entry
+     * @param update
+     *            of the cached value
+     * @param stamp
+     *            taken before the data of the update has been read
+     */
+    public void update(final String tenant, final K key, final UnaryOperator<V> update, final Stamp stamp) {
+        putIfValid(new TenantKey<>(tenant, key), old -> old == null ? null : update.apply(old), stamp);
+    }
+
+    private void putIfValid(final TenantKey<K> key, final Function<V, V> value, final Stamp stamp) {
+        if (!enabled) {
+            return;
+        }
+        if (stamp.owner != this) {
+            throw new IllegalArgumentException("Stamp has been taken from another cache");
+        }
+        if (stamp.closed) {
+            return;
+        }
+
+        final V cached = cache.asMap().compute(key, (k, old) -> {
+            final V updated = value.apply(old);
+            return updated == null || stamp.isInvalidated(k, updated) ? old : updated;
+        });
+
+        // the invalidation might have missed the entry that has just been put
+        if (cached != null && stamp.isInvalidated(key, cached)) {
+            cache.asMap().remove(key, cached);
+        }
+    }
+
+    /**
+     * Invalidates an entry.
+     *
+     * @param tenant
+     *            of the entry
+     * @param key
+     *            of the entry
+     */
+    public void invalidate(final String tenant, final K key) {
+        if (!enabled) {
+            return;
+        }
+
+        final TenantKey<K> tenantKey = new TenantKey<>(tenant, key);
+        stamps.forEach(stamp -> stamp.invalidate(tenantKey));
+        cache.invalidate(tenantKey);
+    }
+
+    /**
+     * Invalidates all entries of a tenant that match the given predicate.
+     *
+     * @param tenant
+     *            of the entries
+     * @param matching
+     *            predicate on key and value of the entries to invalidate
+     */
+    public void invalidateAll(final String tenant, final BiPredicate<K, V> matching) {
+        if (!enabled) {
+            return;
+        }
+
+        final BiPredicate<TenantKey<K>, V> matchingInTenant = forTenant(tenant, matching);
+        stamps.forEach(stamp -> stamp.invalidate(matchingInTenant));
+        cache.asMap().entrySet().removeIf(entry -> matchingInTenant.test(entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * Invalidates all entries of a tenant.
+     *
+     * @param tenant
+     *            of the entries
+     */
+    public void invalidateAll(final String tenant) {
+        invalidateAll(tenant, (key, value) -> true);
+    }
+
+    /**
+     * Records the invalidation of the entries that match the given predicate
+     * by the open stamps without looking at the entries, i.e. for entries that
+     * cannot be retrieved any longer but might still be put by a read that
+     * overlaps with the invalidation.
+     *
+     * @param tenant
+     *            of the entries
+     * @param matching
+     *            predicate on key and value of the entries to invalidate
+     */
+    public void invalidateStamps(final String tenant, final BiPredicate<K, V> matching) {
+        if (!enabled) {
+            return;
+        }
+
+        final BiPredicate<TenantKey<K>, V> matchingInTenant = forTenant(tenant, matching);
+        stamps.forEach(stamp -> stamp.invalidate(matchingInTenant));
+    }
+
+    /**
+     * @return approximate number of cached entries
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private static <K, V> BiPredicate<TenantKey<K>, V> forTenant(final String tenant,
+            final BiPredicate<K, V> matching) {
+        final TenantKey<K> tenantKey = new TenantKey<>(tenant, null);
+        return (key, value) -> key.isSameTenant(tenantKey) && value != null && matching.test(key.key, value);
+    }
+
+    /**
+     * Read of data that is put into the cache, which records the
+     * invalidations while it is open, see {@link StampedCache#stamp()}.
+     */
+    public static final class Stamp implements AutoCloseable {
+        private final StampedCache<?, ?> owner;
+        private final Set<Object> invalidated = ConcurrentHashMap.newKeySet();
+        private final List<BiPredicate<Object, Object>> matching = new CopyOnWriteArrayList<>();
+        private volatile boolean closed;
+
+        private Stamp(final StampedCache<?, ?> owner) {
+            this.owner = owner;
+        }
+
+        private void invalidate(final Object key) {
+            invalidated.add(key);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void invalidate(final BiPredicate<?, ?> predicate) {
+            matching.add((BiPredicate<Object, Object>) predicate);
+        }
+
+        private boolean isInvalidated(final Object key, final Object value) {
+            return invalidated.contains(key) || matching.stream().anyMatch(match -> match.test(key, value));
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            owner.stamps.remove(this);
+        }
+    }
+
+    private static final class TenantKey<K> {
+        private final String tenant;
+        private final K key;
+
+        private TenantKey(final String tenant, final K key) {
+            this.tenant = tenant == null ? null : tenant.toUpperCase();
+            this.key = key;
+        }
+
+        private boolean isSameTenant(final TenantKey<?> other) {
+            return Objects.equals(tenant, other.tenant);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tenant, key);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final TenantKey<?> other = (TenantKey<?>) obj;
+            return Objects.equals(tenant, other.tenant) && Objects.equals(key, other.key);
+        }
+    }
+}
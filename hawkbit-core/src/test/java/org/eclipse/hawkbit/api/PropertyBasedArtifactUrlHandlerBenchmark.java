@@ -0,0 +1,173 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.api;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.api.ArtifactUrlHandlerProperties.UrlProtocol;
+import org.eclipse.hawkbit.api.URLPlaceholder.SoftwareData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.util.StringUtils;
+
+/**
+ * Micro benchmark that compares the former replacement of every placeholder
+ * with {@link String#replace(CharSequence, CharSequence)} with the compiled
+ * {@link ArtifactUrlTemplate}s of the {@link PropertyBasedArtifactUrlHandler}
+ * for a typical configuration of a HTTP, a HTTPS and a CoAP protocol. The
+ * benchmark is not part of the test run and can be started with the
+ * {@link #main(String[])} method from the test class path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyBasedArtifactUrlHandlerBenchmark {
+
+    private final URLPlaceholder placeholder = new URLPlaceholder("DEFAULT", 2L, "controller-4711", 1_234_567L,
+            new SoftwareData(87_654L, "firmware image 1.0.1.bin", 7_654_321L, "8b6c7b2b9e3b2c1f6a0e2d7f5c4a3b2c1d0e9f8a"));
+
+    private URI requestUri;
+    private ArtifactUrlHandlerProperties properties;
+    private ArtifactUrlHandler handler;
+
+    @Setup
+    public void setup() {
+        requestUri = URI.create("https://device.example.com:8443/DEFAULT/controller/v1/controller-4711");
+
+        properties = new ArtifactUrlHandlerProperties();
+        properties.getProtocols().put("download-http", new UrlProtocol());
+
+        final UrlProtocol https = new UrlProtocol();
+        https.setRel("download");
+        https.setProtocol("https");
+        https.setHostname("update.example.com");
+        https.setPort(null);
+        https.setRef(
+                "{protocol}://{domainRequest}:{port}/{tenant}/controller/v1/{controllerId}/softwaremodules/{softwareModuleId}/artifacts/{artifactFileName}");
+        properties.getProtocols().put("download", https);
+
+        final UrlProtocol coap = new UrlProtocol();
+        coap.setRel("download-udp");
+        coap.setProtocol("coap");
+        coap.setPort(5683);
+        coap.setSupports(Arrays.asList(ApiType.DMF));
+        coap.setRef("{protocol}://{ip}:{port}/fws/{tenantIdBase62}/{targetIdBase62}/{artifactIdBase62}");
+        properties.getProtocols().put("download-udp", coap);
+
+        handler = new PropertyBasedArtifactUrlHandler(properties);
+    }
+
+    @Benchmark
+    public Object replace() {
+        return properties.getProtocols().values().stream()
+                .filter(protocol -> protocol.getSupports().contains(ApiType.DDI)).filter(UrlProtocol::isEnabled)
+                .map(protocol -> new ArtifactUrl(protocol.getProtocol().toUpperCase(), protocol.getRel(),
+                        replace(protocol, placeholder, requestUri)))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Object compiled() {
+        return handler.getUrls(placeholder, ApiType.DDI, requestUri);
+    }
+
+    private static String replace(final UrlProtocol protocol, final URLPlaceholder placeholder,
+            final URI requestUri) {
+        String url = protocol.getRef();
+        for (final Entry<String, String> entry : getReplaceMap(protocol, placeholder, requestUri).entrySet()) {
+            if ("port".equals(entry.getKey())) {
+                url = url.replace(":{port}", StringUtils.isEmpty(entry.getValue()) ? "" : (":" + entry.getValue()));
+            } else if (entry.getValue() != null) {
+                url = url.replace("{" + entry.getKey() + "}", entry.getValue());
+            }
+        }
+        return url;
+    }
+
+    private static Map<String, String> getReplaceMap(final UrlProtocol protocol, final URLPlaceholder placeholder,
+            final URI requestUri) {
+        final SoftwareData softwareData = placeholder.getSoftwareData();
+        final String port = protocol.getPort() == null ? null : String.valueOf(protocol.getPort());
+
+        final Map<String, String> replaceMap = new HashMap<>();
+        replaceMap.put("ip", protocol.getIp());
+        replaceMap.put("hostname", protocol.getHostname());
+        replaceMap.put("hostnameRequest", requestUri.getHost());
+        replaceMap.put("portRequest", requestUri.getPort() > 0 ? String.valueOf(requestUri.getPort()) : port);
+        replaceMap.put("domainRequest", computeHostWithRequestDomain(protocol, requestUri));
+        try {
+            replaceMap.put("artifactFileName",
+                    URLEncoder.encode(softwareData.getFilename(), StandardCharsets.UTF_8.toString()));
+        } catch (final UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+        replaceMap.put("artifactSHA1", softwareData.getSha1Hash());
+        replaceMap.put("protocol", protocol.getProtocol());
+        replaceMap.put("port", port);
+        replaceMap.put("tenant", placeholder.getTenant());
+        replaceMap.put("tenantId", String.valueOf(placeholder.getTenantId()));
+        replaceMap.put("tenantIdBase62", Base62Util.fromBase10(placeholder.getTenantId()));
+        replaceMap.put("controllerId", placeholder.getControllerId());
+        replaceMap.put("targetId", String.valueOf(placeholder.getTargetId()));
+        replaceMap.put("targetIdBase62", Base62Util.fromBase10(placeholder.getTargetId()));
+        replaceMap.put("artifactIdBase62", Base62Util.fromBase10(softwareData.getArtifactId()));
+        replaceMap.put("artifactId", String.valueOf(softwareData.getArtifactId()));
+        replaceMap.put("softwareModuleId", String.valueOf(softwareData.getSoftwareModuleId()));
+        replaceMap.put("softwareModuleIdBase62", Base62Util.fromBase10(softwareData.getSoftwareModuleId()));
+        return replaceMap;
+    }
+
+    private static String computeHostWithRequestDomain(final UrlProtocol protocol, final URI requestUri) {
+        if (!protocol.getHostname().contains(".")) {
+            return protocol.getHostname();
+        }
+
+        final List<String> domainElements = Arrays
+                .asList(StringUtils.delimitedListToStringArray(requestUri.getHost(), "."));
+        return StringUtils.delimitedListToStringArray(protocol.getHostname(), ".")[0].trim() + "."
+                + StringUtils.collectionToDelimitedString(domainElements.subList(1, domainElements.size()), ".");
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args
+     *            not used
+     * @throws RunnerException
+     *             if the benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PropertyBasedArtifactUrlHandlerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
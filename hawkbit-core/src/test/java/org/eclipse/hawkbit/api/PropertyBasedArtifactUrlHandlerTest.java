@@ -187,4 +187,33 @@ public class PropertyBasedArtifactUrlHandlerTest {
                         + SOFTWAREMODULEID + "/artifacts/" + FILENAME_ENCODE));
 
     }
+
+    @Test
+    @Description("Verfies that the port is omitted if not configured and that unknown placeholders are kept as they are.")
+    public void urlGenerationWithoutPortAndUnknownPlaceholder() {
+        final UrlProtocol proto = new UrlProtocol();
+        proto.setPort(null);
+        proto.setRef("{protocol}://{hostname}:{port}/{unknown}/{tenantIdBase62}/{port}/{artifactId}{");
+        properties.getProtocols().put("download-http", proto);
+
+        assertThat(urlHandlerUnderTest.getUrls(placeholder, ApiType.DDI))
+                .containsExactly(new ArtifactUrl("http".toUpperCase(), "download-http", "http://localhost/{unknown}/"
+                        + Base62Util.fromBase10(TENANT_ID) + "/{port}/" + ARTIFACTID + "{"));
+    }
+
+    @Test
+    @Description("Verfies that a changed pattern is applied to the next generated URL.")
+    public void urlGenerationWithChangedPattern() {
+        final UrlProtocol proto = new UrlProtocol();
+        proto.setRef("{protocol}://{ip}:{port}/{controllerId}");
+        properties.getProtocols().put("download-http", proto);
+
+        assertThat(urlHandlerUnderTest.getUrls(placeholder, ApiType.DDI)).containsExactly(
+                new ArtifactUrl("http".toUpperCase(), "download-http", "http://127.0.0.1:8080/" + CONTROLLER_ID));
+
+        proto.setRef("{protocol}://{ip}:{port}/{targetId}");
+
+        assertThat(urlHandlerUnderTest.getUrls(placeholder, ApiType.DDI)).containsExactly(
+                new ArtifactUrl("http".toUpperCase(), "download-http", "http://127.0.0.1:8080/" + TARGETID));
+    }
 }
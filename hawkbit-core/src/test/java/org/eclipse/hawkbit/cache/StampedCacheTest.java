@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Unit Tests - Cache")
+@Stories("Stamped Cache")
+public class StampedCacheTest {
+
+    private static final String TENANT = "DEFAULT";
+
+    private final StampedCache<Long, String> underTest = new StampedCache<>(100, TimeUnit.MINUTES.toMillis(1));
+
+    @Test
+    @Description("Verifies that a value is cached per tenant until it is invalidated.")
+    public void valueIsCachedUntilInvalidated() {
+        try (final StampedCache.Stamp stamp = underTest.stamp()) {
+            underTest.put(TENANT, 1L, "value", stamp);
+        }
+
+        assertThat(underTest.get(TENANT, 1L)).contains("value");
+        assertThat(underTest.get("other", 1L)).isEmpty();
+
+        underTest.invalidate(TENANT, 1L);
+
+        assertThat(underTest.get(TENANT, 1L)).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that a value that has been read before an invalidation is not cached while values that "
+            + "are read afterwards or for other keys are.")
+    public void valueReadBeforeInvalidationIsNotCached() {
+        try (final StampedCache.Stamp stamp = underTest.stamp()) {
+            underTest.invalidate(TENANT, 1L);
+            underTest.put(TENANT, 1L, "stale", stamp);
+            underTest.put(TENANT, 2L, "other", stamp);
+        }
+
+        assertThat(underTest.get(TENANT, 1L)).isEmpty();
+        assertThat(underTest.get(TENANT, 2L)).contains("other");
+
+        try (final StampedCache.Stamp stamp = underTest.stamp()) {
+            underTest.put(TENANT, 1L, "fresh", stamp);
+        }
+        assertThat(underTest.get(TENANT, 1L)).contains("fresh");
+    }
+
+    @Test
+    @Description("Verifies that the invalidation of entries that are neither cached nor read leaves nothing in the "
+            + "cache.")
+    public void invalidationWithoutEntryIsNotCached() {
+        underTest.invalidate(TENANT, 1L);
+        underTest.invalidateAll(TENANT);
+
+        assertThat(underTest.size()).isZero();
+    }
+
+    @Test
+    @Description("Verifies that the invalidation by predicate removes the matching entries of the tenant and "
+            + "prevents that matching values are put by reads that overlap with the invalidation.")
+    public void invalidationByPredicate() {
+        try (final StampedCache.Stamp stamp = underTest.stamp()) {
+            underTest.put(TENANT, 1L, "match", stamp);
+            underTest.put(TENANT, 2L, "other", stamp);
+            underTest.put("other", 3L, "match", stamp);
+        }
+
+        try (final StampedCache.Stamp stamp = underTest.stamp()) {
+            underTest.invalidateAll(TENANT, (key, value) -> value.startsWith("match"));
+            underTest.put(TENANT, 4L, "match-stale", stamp);
+        }
+
+        assertThat(underTest.get(TENANT, 1L)).isEmpty();
+        assertThat(underTest.get(TENANT, 2L)).contains("other");
+        assertThat(underTest.get("other", 3L)).contains("match");
+        assertThat(underTest.get(TENANT, 4L)).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that a value is not cached with a stamp that has already been closed, as the stamp does "
+            + "not record invalidations any longer.")
+    public void closedStampIsIgnored() {
+        final StampedCache.Stamp stamp = underTest.stamp();
+        stamp.close();
+
+        underTest.invalidate(TENANT, 1L);
+        underTest.put(TENANT, 1L, "stale", stamp);
+
+        assertThat(underTest.get(TENANT, 1L)).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that an update is only applied to an existing entry.")
+    public void updateRequiresEntry() {
+        try (final StampedCache.Stamp stamp = underTest.stamp()) {
+            underTest.update(TENANT, 1L, value -> value + "-updated", stamp);
+            assertThat(underTest.get(TENANT, 1L)).isEmpty();
+
+            underTest.put(TENANT, 1L, "value", stamp);
+            underTest.update(TENANT, 1L, value -> value + "-updated", stamp);
+        }
+
+        assertThat(underTest.get(TENANT, 1L)).contains("value-updated");
+    }
+
+    @Test
+    @Description("Verifies that a cache with size zero does not cache anything.")
+    public void disabledCacheDoesNotCache() {
+        final StampedCache<Long, String> disabled = new StampedCache<>(0, 0);
+        try (final StampedCache.Stamp stamp = disabled.stamp()) {
+            disabled.put(TENANT, 1L, "value", stamp);
+        }
+
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(disabled.get(TENANT, 1L)).isEmpty();
+    }
+}
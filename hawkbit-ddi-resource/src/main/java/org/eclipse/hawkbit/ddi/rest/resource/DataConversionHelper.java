@@ -16,6 +16,7 @@ import org.eclipse.hawkbit.api.ApiType;
 import org.eclipse.hawkbit.api.ArtifactUrlHandler;
 import org.eclipse.hawkbit.api.URLPlaceholder;
 import org.eclipse.hawkbit.api.URLPlaceholder.SoftwareData;
+import org.eclipse.hawkbit.cache.StampedCache;
 import org.eclipse.hawkbit.ddi.json.model.DdiArtifact;
 import org.eclipse.hawkbit.ddi.json.model.DdiArtifactHash;
 import org.eclipse.hawkbit.ddi.json.model.DdiChunk;
@@ -24,13 +25,18 @@ import org.eclipse.hawkbit.ddi.json.model.DdiControllerBase;
 import org.eclipse.hawkbit.ddi.json.model.DdiMetadata;
 import org.eclipse.hawkbit.ddi.json.model.DdiPolling;
 import org.eclipse.hawkbit.ddi.rest.api.DdiRestConstants;
+import org.eclipse.hawkbit.ddi.rest.resource.DdiChunkCache.CachedArtifact;
+import org.eclipse.hawkbit.ddi.rest.resource.DdiChunkCache.CachedChunk;
+import org.eclipse.hawkbit.ddi.rest.resource.DdiChunkCache.CachedChunks;
 import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TenantMetaData;
 import org.eclipse.hawkbit.rest.data.ResponseList;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.springframework.hateoas.Link;
@@ -49,19 +55,54 @@ public final class DataConversionHelper {
 
     static List<DdiChunk> createChunks(final Target target, final Action uAction,
             final ArtifactUrlHandler artifactUrlHandler, final SystemManagement systemManagement,
-            final HttpRequest request, final ControllerManagement controllerManagement) {
+            final HttpRequest request, final ControllerManagement controllerManagement,
+            final DdiChunkCache chunkCache) {
+
+        final DistributionSet distributionSet = uAction.getDistributionSet();
+        final CachedChunks cachedChunks = chunkCache.get(target.getTenant(), distributionSet.getId())
+                .filter(cached -> cached.getRevision() == distributionSet.getOptLockRevision()).orElseGet(() -> {
+                    try (final StampedCache.Stamp stamp = chunkCache.stamp()) {
+                        final CachedChunks loaded = loadChunks(distributionSet, systemManagement,
+                                controllerManagement);
+                        chunkCache.put(target.getTenant(), distributionSet.getId(), loaded, stamp);
+                        return loaded;
+                    }
+                });
+
+        return cachedChunks.getChunks().stream()
+                .map(chunk -> new DdiChunk(chunk.getPart(), chunk.getVersion(), chunk.getName(),
+                        new ResponseList<>(chunk.getArtifacts().stream()
+                                .map(artifact -> createArtifact(target, artifactUrlHandler, artifact,
+                                        cachedChunks.getTenant(), cachedChunks.getTenantId(), request))
+                                .collect(Collectors.toList())),
+                        chunk.getMetadata()))
+                .collect(Collectors.toList());
+    }
 
+    private static CachedChunks loadChunks(final DistributionSet distributionSet,
+            final SystemManagement systemManagement, final ControllerManagement controllerManagement) {
         final Map<Long, List<SoftwareModuleMetadata>> metadata = controllerManagement
-                .findTargetVisibleMetaDataBySoftwareModuleId(uAction.getDistributionSet().getModules().stream()
-                        .map(SoftwareModule::getId).collect(Collectors.toList()));
-
-        return uAction.getDistributionSet().getModules().stream()
-                .map(module -> new DdiChunk(mapChunkLegacyKeys(module.getType().getKey()), module.getVersion(),
-                        module.getName(),
-                        createArtifacts(target, module, artifactUrlHandler, systemManagement, request),
-                        mapMetadata(metadata.get(module.getId()))))
-                .collect(Collectors.toList());
+                .findTargetVisibleMetaDataBySoftwareModuleId(
+                        distributionSet.getModules().stream().map(SoftwareModule::getId).collect(Collectors.toList()));
+
+        final TenantMetaData tenantMetaData = systemManagement.getTenantMetadata();
+
+        return new CachedChunks(distributionSet.getOptLockRevision(), tenantMetaData.getTenant(),
+                tenantMetaData.getId(),
+                distributionSet.getModules().stream()
+                        .map(module -> new CachedChunk(module.getId(), mapChunkLegacyKeys(module.getType().getKey()),
+                                module.getVersion(), module.getName(),
+                                module.getArtifacts().stream().map(DataConversionHelper::toCachedArtifact)
+                                        .collect(Collectors.toList()),
+                                mapMetadata(metadata.get(module.getId()))))
+                        .collect(Collectors.toList()));
+    }
 
+    private static CachedArtifact toCachedArtifact(final Artifact artifact) {
+        return new CachedArtifact(artifact.getFilename(), artifact.getSize(),
+                new DdiArtifactHash(artifact.getSha1Hash(), artifact.getMd5Hash()),
+                new SoftwareData(artifact.getSoftwareModule().getId(), artifact.getFilename(), artifact.getId(),
+                        artifact.getSha1Hash()));
     }
 
     private static List<DdiMetadata> mapMetadata(final List<SoftwareModuleMetadata> metadata) {
@@ -84,24 +125,24 @@ public final class DataConversionHelper {
             final ArtifactUrlHandler artifactUrlHandler, final SystemManagement systemManagement,
             final HttpRequest request) {
 
+        final TenantMetaData tenantMetaData = systemManagement.getTenantMetadata();
+
         return new ResponseList<>(module.getArtifacts().stream()
-                .map(artifact -> createArtifact(target, artifactUrlHandler, artifact, systemManagement, request))
+                .map(artifact -> createArtifact(target, artifactUrlHandler, toCachedArtifact(artifact),
+                        tenantMetaData.getTenant(), tenantMetaData.getId(), request))
                 .collect(Collectors.toList()));
     }
 
     private static DdiArtifact createArtifact(final Target target, final ArtifactUrlHandler artifactUrlHandler,
-            final Artifact artifact, final SystemManagement systemManagement, final HttpRequest request) {
+            final CachedArtifact artifact, final String tenant, final Long tenantId, final HttpRequest request) {
         final DdiArtifact file = new DdiArtifact();
-        file.setHashes(new DdiArtifactHash(artifact.getSha1Hash(), artifact.getMd5Hash()));
+        file.setHashes(artifact.getHashes());
         file.setFilename(artifact.getFilename());
         file.setSize(artifact.getSize());
 
         artifactUrlHandler
-                .getUrls(new URLPlaceholder(systemManagement.getTenantMetadata().getTenant(),
-                        systemManagement.getTenantMetadata().getId(), target.getControllerId(), target.getId(),
-                        new SoftwareData(artifact.getSoftwareModule().getId(), artifact.getFilename(), artifact.getId(),
-                                artifact.getSha1Hash())),
-                        ApiType.DDI, request.getURI())
+                .getUrls(new URLPlaceholder(tenant, tenantId, target.getControllerId(), target.getId(),
+                        artifact.getSoftwareData()), ApiType.DDI, request.getURI())
                 .forEach(entry -> file.add(new Link(entry.getRef()).withRel(entry.getRel())));
 
         return file;
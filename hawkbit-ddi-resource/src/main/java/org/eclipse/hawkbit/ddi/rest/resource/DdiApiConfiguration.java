@@ -8,7 +8,9 @@
  */
 package org.eclipse.hawkbit.ddi.rest.resource;
 
+import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.rest.RestConfiguration;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -24,4 +26,14 @@ import org.springframework.stereotype.Controller;
 @Import(RestConfiguration.class)
 public class DdiApiConfiguration {
 
+    /**
+     * @param repositoryProperties
+     *            to configure the size and expiry of the cache
+     * @return {@link DdiChunkCache} for the deploymentBase resource
+     */
+    @Bean
+    public DdiChunkCache ddiChunkCache(final RepositoryProperties repositoryProperties) {
+        return new DdiChunkCache(repositoryProperties.getDdiChunkCacheSize(),
+                repositoryProperties.getDdiChunkCacheExpiry());
+    }
 }
@@ -0,0 +1,234 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.api.URLPlaceholder.SoftwareData;
+import org.eclipse.hawkbit.cache.StampedCache;
+import org.eclipse.hawkbit.ddi.json.model.DdiArtifactHash;
+import org.eclipse.hawkbit.ddi.json.model.DdiMetadata;
+import org.eclipse.hawkbit.repository.event.remote.DistributionSetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.SoftwareModuleDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.DistributionSetUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.SoftwareModuleUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Cache of the target independent part of the chunks of a
+ * {@link DistributionSet} as delivered by the deploymentBase resource, i.e.
+ * modules, artifacts, target visible metadata and the tenant ID. Only the
+ * artifact URLs are generated for every target.
+ *
+ * Entries are invalidated by the remote events of distribution set and
+ * software module changes, which includes changes of the software module
+ * metadata. Changes of the artifacts of a module only increment the revision
+ * of the distribution sets, i.e. the chunks are cached with the revision of
+ * the distribution set they have been read from. Every read of the chunks has
+ * to be wrapped into a {@link #stamp()}, see {@link StampedCache}.
+ *
+ */
+public class DdiChunkCache {
+
+    private final StampedCache<Long, CachedChunks> cache;
+
+    /**
+     * @param size
+     *            the maximum number of cached distribution sets,
+     *            <code>0</code> disables the cache
+     * @param expiry
+     *            in {@link TimeUnit#MILLISECONDS} after which an entry expires
+     *            even if it has not been invalidated
+     */
+    public DdiChunkCache(final long size, final long expiry) {
+        this.cache = new StampedCache<>(size, expiry);
+    }
+
+    /**
+     * @return stamp to be taken before the chunks are read from the repository
+     */
+    public StampedCache.Stamp stamp() {
+        return cache.stamp();
+    }
+
+    /**
+     * @param tenant
+     *            of the distribution set
+     * @param distributionSetId
+     *            of the distribution set
+     * @return the cached chunks or {@link Optional#empty()} if not cached
+     */
+    public Optional<CachedChunks> get(final String tenant, final Long distributionSetId) {
+        return cache.get(tenant, distributionSetId);
+    }
+
+    /**
+     * Puts the chunks of a distribution set into the cache unless they have
+     * been invalidated since the given stamp.
+     *
+     * @param tenant
+     *            of the distribution set
+     * @param distributionSetId
+     *            of the distribution set
+     * @param chunks
+     *            to cache
+     * @param stamp
+     *            taken before the chunks have been read
+     */
+    public void put(final String tenant, final Long distributionSetId, final CachedChunks chunks,
+            final StampedCache.Stamp stamp) {
+        cache.put(tenant, distributionSetId, chunks, stamp);
+    }
+
+    @EventListener(classes = DistributionSetUpdatedEvent.class)
+    void invalidateOnDistributionSetUpdate(final DistributionSetUpdatedEvent event) {
+        cache.invalidate(event.getTenant(), event.getEntityId());
+    }
+
+    @EventListener(classes = DistributionSetDeletedEvent.class)
+    void invalidateOnDistributionSetDelete(final DistributionSetDeletedEvent event) {
+        cache.invalidate(event.getTenant(), event.getEntityId());
+    }
+
+    @EventListener(classes = SoftwareModuleUpdatedEvent.class)
+    void invalidateOnSoftwareModuleUpdate(final SoftwareModuleUpdatedEvent event) {
+        invalidateBySoftwareModule(event.getTenant(), event.getEntityId());
+    }
+
+    @EventListener(classes = SoftwareModuleDeletedEvent.class)
+    void invalidateOnSoftwareModuleDelete(final SoftwareModuleDeletedEvent event) {
+        invalidateBySoftwareModule(event.getTenant(), event.getEntityId());
+    }
+
+    private void invalidateBySoftwareModule(final String tenant, final Long softwareModuleId) {
+        cache.invalidateAll(tenant, (distributionSetId, chunks) -> chunks.containsSoftwareModule(softwareModuleId));
+    }
+
+    /**
+     * The target independent part of the chunks of a distribution set.
+     */
+    static final class CachedChunks {
+        private final int revision;
+        private final String tenant;
+        private final Long tenantId;
+        private final List<CachedChunk> chunks;
+
+        CachedChunks(final int revision, final String tenant, final Long tenantId, final List<CachedChunk> chunks) {
+            this.revision = revision;
+            this.tenant = tenant;
+            this.tenantId = tenantId;
+            this.chunks = Collections.unmodifiableList(chunks);
+        }
+
+        int getRevision() {
+            return revision;
+        }
+
+        String getTenant() {
+            return tenant;
+        }
+
+        Long getTenantId() {
+            return tenantId;
+        }
+
+        List<CachedChunk> getChunks() {
+            return chunks;
+        }
+
+        private boolean containsSoftwareModule(final Long softwareModuleId) {
+            return chunks.stream().anyMatch(chunk -> chunk.getSoftwareModuleId().equals(softwareModuleId));
+        }
+    }
+
+    /**
+     * The target independent part of a chunk, i.e. of a software module.
+     */
+    static final class CachedChunk {
+        private final Long softwareModuleId;
+        private final String part;
+        private final String version;
+        private final String name;
+        private final List<CachedArtifact> artifacts;
+        private final List<DdiMetadata> metadata;
+
+        CachedChunk(final Long softwareModuleId, final String part, final String version, final String name,
+                final List<CachedArtifact> artifacts, final List<DdiMetadata> metadata) {
+            this.softwareModuleId = softwareModuleId;
+            this.part = part;
+            this.version = version;
+            this.name = name;
+            this.artifacts = Collections.unmodifiableList(artifacts);
+            this.metadata = metadata == null ? null : Collections.unmodifiableList(metadata);
+        }
+
+        Long getSoftwareModuleId() {
+            return softwareModuleId;
+        }
+
+        String getPart() {
+            return part;
+        }
+
+        String getVersion() {
+            return version;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        List<CachedArtifact> getArtifacts() {
+            return artifacts;
+        }
+
+        List<DdiMetadata> getMetadata() {
+            return metadata;
+        }
+    }
+
+    /**
+     * The target independent part of an artifact, i.e. everything but the
+     * URLs.
+     */
+    static final class CachedArtifact {
+        private final String filename;
+        private final Long size;
+        private final DdiArtifactHash hashes;
+        private final SoftwareData softwareData;
+
+        CachedArtifact(final String filename, final Long size, final DdiArtifactHash hashes,
+                final SoftwareData softwareData) {
+            this.filename = filename;
+            this.size = size;
+            this.hashes = hashes;
+            this.softwareData = softwareData;
+        }
+
+        String getFilename() {
+            return filename;
+        }
+
+        Long getSize() {
+            return size;
+        }
+
+        DdiArtifactHash getHashes() {
+            return hashes;
+        }
+
+        SoftwareData getSoftwareData() {
+            return softwareData;
+        }
+    }
+}
@@ -10,6 +10,7 @@ package org.eclipse.hawkbit.ddi.rest.resource;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -47,6 +48,7 @@ import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.rest.util.FileStreamingUtil;
@@ -65,6 +67,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -109,6 +112,9 @@ public class DdiRootController implements DdiRootControllerRestApi {
     @Autowired
     private ArtifactUrlHandler artifactUrlHandler;
 
+    @Autowired
+    private DdiChunkCache chunkCache;
+
     @Autowired
     private RequestResponseContextHolder requestResponseContextHolder;
 
@@ -177,14 +183,18 @@ public class DdiRootController implements DdiRootControllerRestApi {
                 final ActionStatus action = checkAndLogDownload(requestResponseContextHolder.getHttpServletRequest(),
                         target, module.getId());
 
+                // a status that is queued for lazy persistence has no ID yet
                 final Long statusId = action.getId();
 
                 result = FileStreamingUtil.writeFileResponse(file, artifact.getFilename(), artifact.getCreatedAt(),
                         requestResponseContextHolder.getHttpServletResponse(),
                         requestResponseContextHolder.getHttpServletRequest(),
-                        (length, shippedSinceLastEvent, total) -> eventPublisher
-                                .publishEvent(new DownloadProgressEvent(tenantAware.getCurrentTenant(), statusId,
-                                        shippedSinceLastEvent, applicationContext.getId())));
+                        (length, shippedSinceLastEvent, total) -> {
+                            if (statusId != null) {
+                                eventPublisher.publishEvent(new DownloadProgressEvent(tenantAware.getCurrentTenant(),
+                                        statusId, shippedSinceLastEvent, applicationContext.getId()));
+                            }
+                        });
 
             }
         }
@@ -268,10 +278,21 @@ public class DdiRootController implements DdiRootControllerRestApi {
 
         if (!action.isCancelingOrCanceled()) {
 
+            // the action history is not covered by the ETag, i.e. the shallow
+            // ETag of the response body is used in that case
+            final String eTag = isActionHistoryRequested(actionHistoryMessageCount) ? null
+                    : createDeploymentETag(action);
+            final String ifNoneMatch = requestResponseContextHolder.getHttpServletRequest()
+                    .getHeader(HttpHeaders.IF_NONE_MATCH);
+            if (eTag != null && ifNoneMatch != null && HttpUtil.matchesHttpHeader(ifNoneMatch, eTag)) {
+                LOG.debug("Deployment of action {} for target {} not modified.", action.getId(), controllerId);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+
             final List<DdiChunk> chunks = DataConversionHelper.createChunks(target, action, artifactUrlHandler,
                     systemManagement,
                     new ServletServerHttpRequest(requestResponseContextHolder.getHttpServletRequest()),
-                    controllerManagement);
+                    controllerManagement, chunkCache);
 
             final HandlingType handlingType = action.isForce() ? HandlingType.FORCED : HandlingType.ATTEMPT;
 
@@ -290,12 +311,40 @@ public class DdiRootController implements DdiRootControllerRestApi {
             controllerManagement.registerRetrieved(action.getId(), RepositoryConstants.SERVER_MESSAGE_PREFIX
                     + "Target retrieved update action and should start now the download.");
 
+            if (eTag != null) {
+                return ResponseEntity.ok().eTag(eTag).body(base);
+            }
             return new ResponseEntity<>(base, HttpStatus.OK);
         }
 
         return ResponseEntity.notFound().build();
     }
 
+    private static boolean isActionHistoryRequested(final Integer actionHistoryMessageCount) {
+        return actionHistoryMessageCount != null
+                && actionHistoryMessageCount != Integer.parseInt(DdiRestConstants.NO_ACTION_HISTORY);
+    }
+
+    /**
+     * Calculates the ETag of a deployment from the handling type of the action
+     * and the revision of its distribution set, i.e. an unchanged deployment
+     * is detected without rendering it. The revision of the action itself is
+     * not included as it changes with every status update. Changes of the
+     * target visible metadata and of the artifacts of the assigned software
+     * modules increment the revision of the distribution set. The host and the
+     * accepted media types of the request are included as the artifact URLs
+     * and the representation (HAL-JSON or JSON) depend on them.
+     */
+    private String createDeploymentETag(final Action action) {
+        final HttpServletRequest request = requestResponseContextHolder.getHttpServletRequest();
+        final DistributionSet distributionSet = action.getDistributionSet();
+        final String revisions = action.getId() + ":" + action.isForce() + ":" + distributionSet.getId() + ":"
+                + distributionSet.getOptLockRevision() + ":" + request.getHeader(HttpHeaders.HOST) + ":"
+                + request.getHeader(HttpHeaders.ACCEPT);
+
+        return "\"" + DigestUtils.md5DigestAsHex(revisions.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
     @Override
     public ResponseEntity<Void> postBasedeploymentActionFeedback(@Valid @RequestBody final DdiActionFeedback feedback,
             @PathVariable("tenant") final String tenant, @PathVariable("controllerId") final String controllerId,
@@ -11,6 +11,7 @@ package org.eclipse.hawkbit.ddi.rest.resource;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -29,6 +30,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.RandomUtils;
 import org.assertj.core.api.Condition;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.ActionCreatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.DistributionSetCreatedEvent;
@@ -49,11 +51,15 @@ import org.eclipse.hawkbit.repository.test.matcher.ExpectEvents;
 import org.eclipse.hawkbit.rest.util.JsonBuilder;
 import org.eclipse.hawkbit.rest.util.MockMvcResultPrinter;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.hateoas.MediaTypes;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
+import com.jayway.awaitility.Awaitility;
 import com.jayway.jsonpath.JsonPath;
 
 import ru.yandex.qatools.allure.annotations.Description;
@@ -69,6 +75,12 @@ public class DdiDeploymentBaseTest extends AbstractDDiApiIntegrationTest {
 
     private static final String HTTP_LOCALHOST = "http://localhost:8080/";
 
+    @Autowired
+    private DdiChunkCache chunkCache;
+
+    @Autowired
+    private RepositoryProperties repositoryProperties;
+
     @Test
     @Description("Ensures that artifacts are not found, when softare module does not exists.")
     public void artifactsNotFound() throws Exception {
@@ -384,6 +396,154 @@ public class DdiDeploymentBaseTest extends AbstractDDiApiIntegrationTest {
         assertThat(actionStatusMessage.getStatus()).isEqualTo(Status.RETRIEVED);
     }
 
+    @Test
+    @Description("Ensures that the deployment of the same distribution set contains the target specific artifact links for every target and reflects changed software module metadata and artifacts.")
+    public void deploymentOfSameDistributionSetForMultipleTargets() throws Exception {
+        final DistributionSet ds = testdataFactory.createDistributionSet("");
+        artifactManagement.create(new ByteArrayInputStream(RandomUtils.nextBytes(1024)), getOsModule(ds), "test1",
+                false);
+        final List<Target> targets = testdataFactory.createTargets(2);
+        assignDistributionSet(ds, targets);
+
+        for (final Target target : targets) {
+            final Long actionId = deploymentManagement.findActiveActionsByTarget(PAGE, target.getControllerId())
+                    .getContent().get(0).getId();
+            mvc.perform(get("/{tenant}/controller/v1/{controllerId}/deploymentBase/{actionId}",
+                    tenantAware.getCurrentTenant(), target.getControllerId(), actionId)
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                    .andExpect(jsonPath("$.deployment.chunks[?(@.part==os)].metadata").doesNotExist())
+                    .andExpect(jsonPath("$.deployment.chunks[?(@.part==os)].artifacts[0]._links.download-http.href",
+                            contains(HTTP_LOCALHOST + tenantAware.getCurrentTenant() + "/controller/v1/"
+                                    + target.getControllerId() + "/softwaremodules/" + getOsModule(ds)
+                                    + "/artifacts/test1")));
+        }
+
+        softwareModuleManagement.createMetaData(entityFactory.softwareModuleMetadata().create(getOsModule(ds))
+                .key("metaDataVisible").value("withValue").targetVisible(true));
+        Awaitility.await().atMost(5, TimeUnit.SECONDS)
+                .until(() -> !chunkCache.get(tenantAware.getCurrentTenant(), ds.getId()).isPresent());
+
+        final Target target = targets.get(0);
+        final Long actionId = deploymentManagement.findActiveActionsByTarget(PAGE, target.getControllerId())
+                .getContent().get(0).getId();
+        mvc.perform(get("/{tenant}/controller/v1/{controllerId}/deploymentBase/{actionId}",
+                tenantAware.getCurrentTenant(), target.getControllerId(), actionId).accept(MediaType.APPLICATION_JSON))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                .andExpect(jsonPath("$.deployment.chunks[?(@.part==os)].metadata[0].key").value("metaDataVisible"));
+
+        artifactManagement.create(new ByteArrayInputStream(RandomUtils.nextBytes(1024)), getOsModule(ds), "test2",
+                false);
+        Awaitility.await().atMost(5, TimeUnit.SECONDS)
+                .until(() -> !chunkCache.get(tenantAware.getCurrentTenant(), ds.getId()).isPresent());
+
+        mvc.perform(get("/{tenant}/controller/v1/{controllerId}/deploymentBase/{actionId}",
+                tenantAware.getCurrentTenant(), target.getControllerId(), actionId).accept(MediaType.APPLICATION_JSON))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                .andExpect(jsonPath("$.deployment.chunks[?(@.part==os)].artifacts[*].filename",
+                        containsInAnyOrder("test1", "test2")));
+    }
+
+    @Test
+    @Description("Ensures that an unchanged deployment is answered with not modified based on the ETag of the action "
+            + "without documenting the retrieval again and that a changed software module results in a new ETag.")
+    public void deploymentNotModified() throws Exception {
+        final DistributionSet ds = testdataFactory.createDistributionSet("");
+        final Target target = testdataFactory.createTarget("4712");
+        final Long actionId = assignDistributionSet(ds, target).getActions().get(0);
+
+        final String eTag = mvc
+                .perform(get("/{tenant}/controller/v1/4712/deploymentBase/{actionId}", tenantAware.getCurrentTenant(),
+                        actionId).accept(MediaType.APPLICATION_JSON))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk()).andReturn().getResponse()
+                .getHeader("ETag");
+        assertThat(eTag).isNotNull();
+        assertThat(deploymentManagement.countActionStatusAll()).isEqualTo(2);
+
+        final String feedback = JsonBuilder.deploymentActionFeedback(actionId.toString(), "proceeding");
+        mvc.perform(post("/{tenant}/controller/v1/4712/deploymentBase/{actionId}/feedback",
+                tenantAware.getCurrentTenant(), actionId).content(feedback).contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+        assertThat(deploymentManagement.countActionStatusAll()).isEqualTo(3);
+
+        mvc.perform(get("/{tenant}/controller/v1/4712/deploymentBase/{actionId}", tenantAware.getCurrentTenant(),
+                actionId).header("If-None-Match", eTag).accept(MediaType.APPLICATION_JSON))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isNotModified());
+        assertThat(deploymentManagement.countActionStatusAll()).isEqualTo(3);
+
+        softwareModuleManagement.createMetaData(entityFactory.softwareModuleMetadata().create(getOsModule(ds))
+                .key("metaDataVisible").value("withValue").targetVisible(true));
+
+        final String changedETag = mvc
+                .perform(get("/{tenant}/controller/v1/4712/deploymentBase/{actionId}", tenantAware.getCurrentTenant(),
+                        actionId).header("If-None-Match", eTag).accept(MediaType.APPLICATION_JSON))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk()).andReturn().getResponse()
+                .getHeader("ETag");
+        assertThat(changedETag).isNotNull().isNotEqualTo(eTag);
+        assertThat(deploymentManagement.countActionStatusAll()).isEqualTo(4);
+    }
+
+    @Test
+    @Description("Ensures that the ETag of a deployment differs for the HAL-JSON and JSON representation and changes "
+            + "if an artifact is added to or deleted from an assigned software module.")
+    public void deploymentETagCoversMediaTypeAndArtifacts() throws Exception {
+        final DistributionSet ds = testdataFactory.createDistributionSet("");
+        final Target target = testdataFactory.createTarget("4712");
+        final Long actionId = assignDistributionSet(ds, target).getActions().get(0);
+
+        final String eTag = getDeploymentETag(actionId, MediaType.APPLICATION_JSON, null);
+        assertThat(getDeploymentETag(actionId, MediaTypes.HAL_JSON, eTag)).isNotNull().isNotEqualTo(eTag);
+
+        final Artifact artifact = artifactManagement.create(new ByteArrayInputStream(RandomUtils.nextBytes(1024)),
+                getOsModule(ds), "test1", false);
+        final String eTagWithArtifact = getDeploymentETag(actionId, MediaType.APPLICATION_JSON, eTag);
+        assertThat(eTagWithArtifact).isNotNull().isNotEqualTo(eTag);
+
+        artifactManagement.delete(artifact.getId());
+        assertThat(getDeploymentETag(actionId, MediaType.APPLICATION_JSON, eTagWithArtifact)).isNotNull()
+                .isNotEqualTo(eTagWithArtifact);
+    }
+
+    private String getDeploymentETag(final Long actionId, final MediaType mediaType, final String ifNoneMatch)
+            throws Exception {
+        final MockHttpServletRequestBuilder request = get("/{tenant}/controller/v1/4712/deploymentBase/{actionId}",
+                tenantAware.getCurrentTenant(), actionId).accept(mediaType);
+        if (ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return mvc.perform(request).andDo(MockMvcResultPrinter.print()).andExpect(status().isOk()).andReturn()
+                .getResponse().getHeader("ETag");
+    }
+
+    @Test
+    @Description("Ensures that only the first retrieval of an action is documented if configured so, even if the "
+            + "controller retrieves the action again after an intermediate feedback.")
+    public void onlyFirstRetrievalIsDocumented() throws Exception {
+        final long interval = repositoryProperties.getActionRetrievedStatusInterval();
+        repositoryProperties.setActionRetrievedStatusInterval(-1);
+        try {
+            final DistributionSet ds = testdataFactory.createDistributionSet("");
+            final Target target = testdataFactory.createTarget("4712");
+            final Long actionId = assignDistributionSet(ds, target).getActions().get(0);
+            final String feedback = JsonBuilder.deploymentActionFeedback(actionId.toString(), "proceeding");
+
+            for (int i = 0; i < 3; i++) {
+                mvc.perform(get("/{tenant}/controller/v1/4712/deploymentBase/{actionId}",
+                        tenantAware.getCurrentTenant(), actionId).accept(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk());
+                mvc.perform(post("/{tenant}/controller/v1/4712/deploymentBase/{actionId}/feedback",
+                        tenantAware.getCurrentTenant(), actionId).content(feedback)
+                                .contentType(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk());
+            }
+
+            assertThat(deploymentManagement.findActionStatusByAction(PAGE, actionId).getContent())
+                    .haveExactly(1, new ActionStatusCondition(Status.RETRIEVED));
+        } finally {
+            repositoryProperties.setActionRetrievedStatusInterval(interval);
+        }
+    }
+
     @Test
     @Description("Attempt/soft deployment to a controller including automated switch to hard. Checks if the resource reponse payload  for a given deployment is as expected.")
     public void deplomentAutoForceAction() throws Exception {
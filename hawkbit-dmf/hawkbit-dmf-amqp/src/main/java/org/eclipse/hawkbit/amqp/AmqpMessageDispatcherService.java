@@ -12,7 +12,6 @@ import java.net.URI;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.stream.Collectors;
 
 import org.eclipse.hawkbit.api.ApiType;
@@ -40,6 +39,7 @@ import org.eclipse.hawkbit.repository.model.Artifact;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TenantMetaData;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.util.IpUtil;
 import org.slf4j.Logger;
@@ -141,13 +141,41 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
                                             new PageRequest(0, RepositoryConstants.MAX_META_DATA_COUNT), module.getId())
                                             .getContent()));
 
-            targetManagement.getByControllerID(assignedEvent.getActions().keySet())
-                    .forEach(target -> sendUpdateMessageToTarget(assignedEvent.getTenant(), target,
-                            assignedEvent.getActions().get(target.getControllerId()), modules));
+            sendUpdateMessageToTargets(assignedEvent.getTenant(),
+                    targetManagement.getByControllerID(assignedEvent.getActions().keySet()),
+                    assignedEvent.getActions(), modules);
 
         });
     }
 
+    /**
+     * Sends the update message to all given targets. The parts of the message
+     * that are the same for all targets, i.e. the software modules, their
+     * metadata and the artifacts except the download URLs, are converted once
+     * and the security tokens of all targets are read in one system call.
+     */
+    private void sendUpdateMessageToTargets(final String tenant, final List<Target> targets,
+            final Map<String, Long> actions, final Map<SoftwareModule, List<SoftwareModuleMetadata>> modules) {
+
+        final List<Target> amqpTargets = targets.stream().filter(target -> IpUtil.isAmqpUri(target.getAddress()))
+                .collect(Collectors.toList());
+        if (amqpTargets.isEmpty()) {
+            return;
+        }
+
+        final List<SoftwareModuleTemplate> moduleTemplates = createSoftwareModuleTemplates(modules);
+        final TenantMetaData tenantMetaData = systemManagement.getTenantMetadata();
+        final Map<String, String> securityTokens = systemSecurityContext.runAsSystem(() -> {
+            final Map<String, String> tokens = Maps.newHashMapWithExpectedSize(amqpTargets.size());
+            amqpTargets.forEach(target -> tokens.put(target.getControllerId(), target.getSecurityToken()));
+            return tokens;
+        });
+
+        amqpTargets.forEach(target -> sendUpdateMessage(tenant, tenantMetaData, target,
+                securityTokens.get(target.getControllerId()), actions.get(target.getControllerId()),
+                moduleTemplates));
+    }
+
     /**
      * Method to send a message to a RabbitMQ Exchange after the assignment of
      * the Distribution set to a Target has been canceled.
@@ -184,27 +212,30 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
     protected void sendUpdateMessageToTarget(final String tenant, final Target target, final Long actionId,
             final Map<SoftwareModule, List<SoftwareModuleMetadata>> modules) {
 
-        final URI targetAdress = target.getAddress();
-        if (!IpUtil.isAmqpUri(targetAdress)) {
+        if (!IpUtil.isAmqpUri(target.getAddress())) {
             return;
         }
 
+        final String targetSecurityToken = systemSecurityContext.runAsSystem(target::getSecurityToken);
+
+        sendUpdateMessage(tenant, systemManagement.getTenantMetadata(), target, targetSecurityToken, actionId,
+                createSoftwareModuleTemplates(modules));
+    }
+
+    private void sendUpdateMessage(final String tenant, final TenantMetaData tenantMetaData, final Target target,
+            final String targetSecurityToken, final Long actionId, final List<SoftwareModuleTemplate> modules) {
+
         final DmfDownloadAndUpdateRequest downloadAndUpdateRequest = new DmfDownloadAndUpdateRequest();
         downloadAndUpdateRequest.setActionId(actionId);
-
-        final String targetSecurityToken = systemSecurityContext.runAsSystem(target::getSecurityToken);
         downloadAndUpdateRequest.setTargetSecurityToken(targetSecurityToken);
 
-        modules.entrySet().forEach(entry -> {
-
-            final DmfSoftwareModule amqpSoftwareModule = convertToAmqpSoftwareModule(target, entry);
-            downloadAndUpdateRequest.addSoftwareModule(amqpSoftwareModule);
-        });
+        modules.forEach(module -> downloadAndUpdateRequest
+                .addSoftwareModule(module.toDmfSoftwareModule(convertArtifacts(tenantMetaData, target, module))));
 
         final Message message = getMessageConverter().toMessage(downloadAndUpdateRequest,
                 createConnectorMessagePropertiesEvent(tenant, target.getControllerId(),
                         EventTopic.DOWNLOAD_AND_INSTALL));
-        amqpSenderService.sendMessage(message, targetAdress);
+        amqpSenderService.sendMessage(message, target.getAddress());
     }
 
     protected void sendPingReponseToDmfReceiver(final Message ping, final String tenant, final String virtualHost) {
@@ -272,49 +303,86 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         return messageProperties;
     }
 
-    private DmfSoftwareModule convertToAmqpSoftwareModule(final Target target,
-            final Entry<SoftwareModule, List<SoftwareModuleMetadata>> entry) {
-        final DmfSoftwareModule amqpSoftwareModule = new DmfSoftwareModule();
-        amqpSoftwareModule.setModuleId(entry.getKey().getId());
-        amqpSoftwareModule.setModuleType(entry.getKey().getType().getKey());
-        amqpSoftwareModule.setModuleVersion(entry.getKey().getVersion());
-        amqpSoftwareModule.setArtifacts(convertArtifacts(target, entry.getKey().getArtifacts()));
-
-        if (!CollectionUtils.isEmpty(entry.getValue())) {
-            amqpSoftwareModule.setMetadata(convertMetadata(entry.getValue()));
-        }
-
-        return amqpSoftwareModule;
-    }
-
-    private List<DmfMetadata> convertMetadata(final List<SoftwareModuleMetadata> metadata) {
-        return metadata.stream().map(md -> new DmfMetadata(md.getKey(), md.getValue())).collect(Collectors.toList());
+    private static List<SoftwareModuleTemplate> createSoftwareModuleTemplates(
+            final Map<SoftwareModule, List<SoftwareModuleMetadata>> modules) {
+        return modules.entrySet().stream().map(entry -> new SoftwareModuleTemplate(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
     }
 
-    private List<DmfArtifact> convertArtifacts(final Target target, final List<Artifact> localArtifacts) {
-        if (localArtifacts.isEmpty()) {
+    private List<DmfArtifact> convertArtifacts(final TenantMetaData tenantMetaData, final Target target,
+            final SoftwareModuleTemplate module) {
+        if (module.artifacts.isEmpty()) {
             return Collections.emptyList();
         }
 
-        return localArtifacts.stream().map(localArtifact -> convertArtifact(target, localArtifact))
+        return module.artifacts.stream().map(artifact -> convertArtifact(tenantMetaData, target, artifact))
                 .collect(Collectors.toList());
     }
 
-    private DmfArtifact convertArtifact(final Target target, final Artifact localArtifact) {
+    private DmfArtifact convertArtifact(final TenantMetaData tenantMetaData, final Target target,
+            final ArtifactTemplate localArtifact) {
         final DmfArtifact artifact = new DmfArtifact();
 
         artifact.setUrls(artifactUrlHandler
-                .getUrls(new URLPlaceholder(systemManagement.getTenantMetadata().getTenant(),
-                        systemManagement.getTenantMetadata().getId(), target.getControllerId(), target.getId(),
-                        new SoftwareData(localArtifact.getSoftwareModule().getId(), localArtifact.getFilename(),
-                                localArtifact.getId(), localArtifact.getSha1Hash())),
-                        ApiType.DMF)
+                .getUrls(new URLPlaceholder(tenantMetaData.getTenant(), tenantMetaData.getId(),
+                        target.getControllerId(), target.getId(), localArtifact.softwareData), ApiType.DMF)
                 .stream().collect(Collectors.toMap(ArtifactUrl::getProtocol, ArtifactUrl::getRef)));
 
-        artifact.setFilename(localArtifact.getFilename());
-        artifact.setHashes(new DmfArtifactHash(localArtifact.getSha1Hash(), localArtifact.getMd5Hash()));
-        artifact.setSize(localArtifact.getSize());
+        artifact.setFilename(localArtifact.softwareData.getFilename());
+        artifact.setHashes(localArtifact.hashes);
+        artifact.setSize(localArtifact.size);
         return artifact;
     }
 
+    /**
+     * Target independent part of a {@link DmfSoftwareModule}.
+     */
+    private static final class SoftwareModuleTemplate {
+        private final Long moduleId;
+        private final String moduleType;
+        private final String moduleVersion;
+        private final List<DmfMetadata> metadata;
+        private final List<ArtifactTemplate> artifacts;
+
+        private SoftwareModuleTemplate(final SoftwareModule module, final List<SoftwareModuleMetadata> metadata) {
+            this.moduleId = module.getId();
+            this.moduleType = module.getType().getKey();
+            this.moduleVersion = module.getVersion();
+            this.metadata = CollectionUtils.isEmpty(metadata) ? null
+                    : metadata.stream().map(md -> new DmfMetadata(md.getKey(), md.getValue()))
+                            .collect(Collectors.toList());
+            this.artifacts = module.getArtifacts().stream().map(ArtifactTemplate::new).collect(Collectors.toList());
+        }
+
+        private DmfSoftwareModule toDmfSoftwareModule(final List<DmfArtifact> dmfArtifacts) {
+            final DmfSoftwareModule amqpSoftwareModule = new DmfSoftwareModule();
+            amqpSoftwareModule.setModuleId(moduleId);
+            amqpSoftwareModule.setModuleType(moduleType);
+            amqpSoftwareModule.setModuleVersion(moduleVersion);
+            amqpSoftwareModule.setArtifacts(dmfArtifacts);
+
+            if (metadata != null) {
+                amqpSoftwareModule.setMetadata(metadata);
+            }
+
+            return amqpSoftwareModule;
+        }
+    }
+
+    /**
+     * Target independent part of a {@link DmfArtifact}.
+     */
+    private static final class ArtifactTemplate {
+        private final SoftwareData softwareData;
+        private final DmfArtifactHash hashes;
+        private final long size;
+
+        private ArtifactTemplate(final Artifact artifact) {
+            this.softwareData = new SoftwareData(artifact.getSoftwareModule().getId(), artifact.getFilename(),
+                    artifact.getId(), artifact.getSha1Hash());
+            this.hashes = new DmfArtifactHash(artifact.getSha1Hash(), artifact.getMd5Hash());
+            this.size = artifact.getSize();
+        }
+    }
+
 }
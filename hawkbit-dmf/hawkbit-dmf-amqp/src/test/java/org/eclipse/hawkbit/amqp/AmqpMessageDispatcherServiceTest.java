@@ -15,6 +15,7 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
@@ -24,6 +25,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import org.eclipse.hawkbit.api.ArtifactUrl;
 import org.eclipse.hawkbit.api.ArtifactUrlHandler;
@@ -213,6 +215,40 @@ public class AmqpMessageDispatcherServiceTest extends AbstractIntegrationTest {
         }
     }
 
+    @Test
+    @Description("Verifies that an assignment to multiple targets sends a download and install message to every "
+            + "target with its own action and security token while the tenant metadata is read only once")
+    public void testSendDownloadRequestToMultipleTargets() {
+        final DistributionSet ds = testdataFactory.createDistributionSet(UUID.randomUUID().toString());
+        testdataFactory.createArtifacts(ds.getModules().iterator().next().getId());
+
+        final List<Target> targets = Arrays.asList(testTarget,
+                targetManagement.create(entityFactory.target().create().controllerId("2").securityToken("token2")
+                        .address(IpUtil.createAmqpUri("vHost", "other").toString())),
+                targetManagement.create(entityFactory.target().create().controllerId("3")));
+        final List<Action> actions = assignDistributionSet(ds, targets).getActions().stream()
+                .map(actionId -> deploymentManagement.findAction(actionId).get()).collect(Collectors.toList());
+
+        final TargetAssignDistributionSetEvent targetAssignDistributionSetEvent = new TargetAssignDistributionSetEvent(
+                TENANT, ds.getId(), actions, serviceMatcher.getServiceId());
+        amqpMessageDispatcherService.targetAssignDistributionSet(targetAssignDistributionSetEvent);
+
+        final ArgumentCaptor<Message> messageCaptor = ArgumentCaptor.forClass(Message.class);
+        Mockito.verify(senderService, times(2)).sendMessage(messageCaptor.capture(), any());
+        Mockito.verify(systemManagement, times(1)).getTenantMetadata();
+
+        for (final Message message : messageCaptor.getAllValues()) {
+            final String controllerId = (String) message.getMessageProperties().getHeaders()
+                    .get(MessageHeaderKey.THING_ID);
+            final DmfDownloadAndUpdateRequest request = convertMessage(message, DmfDownloadAndUpdateRequest.class);
+
+            assertThat(request.getActionId())
+                    .isEqualTo(targetAssignDistributionSetEvent.getActions().get(controllerId));
+            assertThat(request.getTargetSecurityToken()).isEqualTo("1".equals(controllerId) ? TEST_TOKEN : "token2");
+            assertThat(request.getSoftwareModules()).hasSize(ds.getModules().size());
+        }
+    }
+
     @Test
     @Description("Verifies that send cancel event works")
     public void testSendCancelRequest() {
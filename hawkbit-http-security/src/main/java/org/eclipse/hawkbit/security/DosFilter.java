@@ -10,9 +10,16 @@ package org.eclipse.hawkbit.security;
 
 import java.io.IOException;
 import java.util.Collection;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -24,16 +31,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
-
 /**
  * Filter for protection against denial of service attacks. It reduces the
  * maximum number of request per seconds which can be separately configured for
  * read (GET) and write (PUT/POST/DELETE) requests.
+ *
+ * The requests are counted by a {@link RateLimiter} per client IP address and
+ * optionally per tenant and controller (see {@link RateLimitKey}).
  */
 public class DosFilter extends OncePerRequestFilter {
 
@@ -42,16 +48,17 @@ public class DosFilter extends OncePerRequestFilter {
     private static final Logger LOG_BLACKLIST = LoggerFactory
             .getLogger(SecurityConstants.SECURITY_LOG_PREFIX + ".blacklist");
 
-    private final AntPathMatcher antMatcher = new AntPathMatcher();
-    private final Collection<String> includeAntPaths;
+    private static final String TENANT_VARIABLE = "tenant";
+    private static final String CONTROLLER_VARIABLE = "controllerId";
 
-    private final Pattern ipAdressBlacklist;
+    private final String name;
 
-    private final Cache<String, AtomicInteger> readCountCache = Caffeine.newBuilder()
-            .expireAfterWrite(1, TimeUnit.SECONDS).build();
+    private final List<IncludePath> includePaths;
+
+    private final Pattern ipAdressBlacklist;
 
-    private final Cache<String, AtomicInteger> writeCountCache = Caffeine.newBuilder()
-            .expireAfterWrite(1, TimeUnit.SECONDS).build();
+    private final RateLimiter rateLimiter;
+    private final RateLimitKey rateLimitKey;
 
     private final int maxRead;
     private final int maxWrite;
@@ -60,8 +67,13 @@ public class DosFilter extends OncePerRequestFilter {
 
     private final String forwardHeader;
 
+    private final LongAdder rejectedReadRequests = new LongAdder();
+    private final LongAdder rejectedWriteRequests = new LongAdder();
+    private final LongAdder blacklistedRequests = new LongAdder();
+
     /**
-     * Filter constructor including configuration.
+     * Filter constructor including configuration. The requests are counted
+     * per client IP address in memory.
      * 
      * @param includeAntPaths
      *            paths where filter should hit
@@ -83,11 +95,53 @@ public class DosFilter extends OncePerRequestFilter {
      */
     public DosFilter(final Collection<String> includeAntPaths, final int maxRead, final int maxWrite,
             final String ipDosWhiteListPattern, final String ipBlackListPattern, final String forwardHeader) {
+        this("dos", includeAntPaths, maxRead, maxWrite, ipDosWhiteListPattern, ipBlackListPattern, forwardHeader,
+                RateLimitKey.IP, new InMemoryRateLimiter());
+    }
 
-        this.includeAntPaths = includeAntPaths;
+    /**
+     * Filter constructor including configuration.
+     * 
+     * @param name
+     *            of the filter, which separates its counts from the counts of
+     *            other filters that share the same {@link RateLimiter}
+     * @param includeAntPaths
+     *            paths where filter should hit, the path variables
+     *            <code>{tenant}</code> and <code>{controllerId}</code> are
+     *            used for the {@link RateLimitKey}
+     * @param maxRead
+     *            Maximum number of allowed REST read/GET requests per second
+     *            per client
+     * @param maxWrite
+     *            Maximum number of allowed REST write/(PUT/POST/etc.) requests
+     *            per second per client
+     * @param ipDosWhiteListPattern
+     *            {@link Pattern} with with white list of peer IP addresses for
+     *            DOS filter
+     * @param ipBlackListPattern
+     *            {@link Pattern} with black listed IP addresses
+     * @param forwardHeader
+     *            the header containing the forwarded IP address e.g.
+     *            {@code x-forwarded-for}
+     * @param rateLimitKey
+     *            for what the requests are counted
+     * @param rateLimiter
+     *            that counts the requests
+     */
+    // Exception squid:S00107 - the filter is created by the configuration only
+    @SuppressWarnings("squid:S00107")
+    public DosFilter(final String name, final Collection<String> includeAntPaths, final int maxRead,
+            final int maxWrite, final String ipDosWhiteListPattern, final String ipBlackListPattern,
+            final String forwardHeader, final RateLimitKey rateLimitKey, final RateLimiter rateLimiter) {
+
+        this.name = name;
+        this.includePaths = includeAntPaths == null ? Collections.emptyList()
+                : includeAntPaths.stream().map(IncludePath::new).collect(Collectors.toList());
         this.maxRead = maxRead;
         this.maxWrite = maxWrite;
         this.forwardHeader = forwardHeader;
+        this.rateLimitKey = rateLimitKey;
+        this.rateLimiter = rateLimiter;
 
         if (ipBlackListPattern != null && !ipBlackListPattern.isEmpty()) {
             ipAdressBlacklist = Pattern.compile(ipBlackListPattern);
@@ -102,20 +156,38 @@ public class DosFilter extends OncePerRequestFilter {
         }
     }
 
-    private boolean shouldInclude(final HttpServletRequest request) {
-        if (includeAntPaths == null || includeAntPaths.isEmpty()) {
-            return true;
+    /**
+     * @return the values of the path variables of the include path that
+     *         matches the request, an empty map if the filter has no include
+     *         paths or <code>null</code> if the request is not included
+     */
+    private Map<String, String> matchIncludePath(final HttpServletRequest request) {
+        if (includePaths.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        final String uri = request.getRequestURI();
+        final String contextPath = request.getContextPath();
+        final String path = contextPath != null && uri.startsWith(contextPath) ? uri.substring(contextPath.length())
+                : uri;
+
+        for (final IncludePath includePath : includePaths) {
+            final Matcher matcher = includePath.pattern.matcher(path);
+            if (matcher.matches()) {
+                return includePath.variables.stream()
+                        .collect(Collectors.toMap(Function.identity(), matcher::group));
+            }
         }
 
-        return includeAntPaths.stream()
-                .anyMatch(pattern -> antMatcher.match(request.getContextPath() + pattern, request.getRequestURI()));
+        return null;
     }
 
     @Override
     protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
             final FilterChain filterChain) throws ServletException, IOException {
 
-        if (!shouldInclude(request)) {
+        final Map<String, String> pathVariables = matchIncludePath(request);
+        if (pathVariables == null) {
             filterChain.doFilter(request, response);
             return;
         }
@@ -130,13 +202,14 @@ public class DosFilter extends OncePerRequestFilter {
             processChain = checkAgainstBlacklist(response, ip);
 
             if (processChain && (whitelist == null || !whitelist.matcher(ip).find())) {
+                final String key = getKey(ip, pathVariables);
                 // read request
-                if (HttpMethod.valueOf(request.getMethod()) == HttpMethod.GET) {
-                    processChain = handleReadRequest(response, ip);
+                if (HttpMethod.GET.matches(request.getMethod())) {
+                    processChain = handleReadRequest(response, key);
                 }
                 // write request
                 else {
-                    processChain = handleWriteRequest(response, ip);
+                    processChain = handleWriteRequest(response, key);
                 }
             }
         }
@@ -146,6 +219,17 @@ public class DosFilter extends OncePerRequestFilter {
         }
     }
 
+    private String getKey(final String ip, final Map<String, String> pathVariables) {
+        final StringBuilder key = new StringBuilder(ip);
+        if (rateLimitKey != RateLimitKey.IP && pathVariables.containsKey(TENANT_VARIABLE)) {
+            key.append('/').append(pathVariables.get(TENANT_VARIABLE).toUpperCase());
+        }
+        if (rateLimitKey == RateLimitKey.CONTROLLER && pathVariables.containsKey(CONTROLLER_VARIABLE)) {
+            key.append('/').append(pathVariables.get(CONTROLLER_VARIABLE));
+        }
+        return key.toString();
+    }
+
     /**
      * @return false if the given ip address is on the blacklist and further
      *         processing of the request if forbidden
@@ -153,6 +237,7 @@ public class DosFilter extends OncePerRequestFilter {
     private boolean checkAgainstBlacklist(final HttpServletResponse response, final String ip) {
         if (ipAdressBlacklist != null && ipAdressBlacklist.matcher(ip).find()) {
             LOG_BLACKLIST.info("Blacklisted client ({}) tries to access the server!", ip);
+            blacklistedRequests.increment();
             response.setStatus(HttpStatus.FORBIDDEN.value());
             return false;
         }
@@ -169,35 +254,127 @@ public class DosFilter extends OncePerRequestFilter {
         return false;
     }
 
-    private boolean handleWriteRequest(final HttpServletResponse response, final String ip) {
-        boolean processChain = true;
-        final AtomicInteger count = writeCountCache.getIfPresent(ip);
+    private boolean handleWriteRequest(final HttpServletResponse response, final String key) {
+        if (rateLimiter.tryAcquire(name + ":write:" + key, maxWrite)) {
+            return true;
+        }
+
+        LOG_DOS.info("Registered DOS attack! Client {} is above configured WRITE request threshold ({})!", key,
+                maxWrite);
+        rejectedWriteRequests.increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        return false;
+    }
 
-        if (count == null) {
-            writeCountCache.put(ip, new AtomicInteger());
-        } else if (count.getAndIncrement() > maxWrite) {
-            LOG_DOS.info("Registered DOS attack! Client {} is above configured WRITE request threshold ({})!", ip,
-                    maxWrite);
-            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-            processChain = false;
+    private boolean handleReadRequest(final HttpServletResponse response, final String key) {
+        if (rateLimiter.tryAcquire(name + ":read:" + key, maxRead)) {
+            return true;
         }
 
-        return processChain;
+        LOG_DOS.info("Registered DOS attack! Client {} is above configured READ request threshold ({})!", key,
+                maxRead);
+        rejectedReadRequests.increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        return false;
     }
 
-    private boolean handleReadRequest(final HttpServletResponse response, final String ip) {
-        boolean processChain = true;
-        final AtomicInteger count = readCountCache.getIfPresent(ip);
+    /**
+     * @return name of the filter
+     */
+    public String getName() {
+        return name;
+    }
 
-        if (count == null) {
-            readCountCache.put(ip, new AtomicInteger());
-        } else if (count.getAndIncrement() > maxRead) {
-            LOG_DOS.info("Registered DOS attack! Client {} is above configured READ request threshold ({})!", ip,
-                    maxRead);
-            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-            processChain = false;
+    /**
+     * @return number of read requests that have been rejected as the client
+     *         exceeded the threshold
+     */
+    public long getRejectedReadRequests() {
+        return rejectedReadRequests.sum();
+    }
+
+    /**
+     * @return number of write requests that have been rejected as the client
+     *         exceeded the threshold
+     */
+    public long getRejectedWriteRequests() {
+        return rejectedWriteRequests.sum();
+    }
+
+    /**
+     * @return number of requests that have been rejected as the client is on
+     *         the blacklist
+     */
+    public long getBlacklistedRequests() {
+        return blacklistedRequests.sum();
+    }
+
+    /**
+     * Ant path that is compiled into a regular expression once, so matching a
+     * request does not require to parse the path again. The path variables
+     * that are used for the {@link RateLimitKey} are captured as named groups.
+     */
+    private static final class IncludePath {
+        private static final Pattern VARIABLE = Pattern.compile("\\{([^/}:]+)(?::([^/}]+))?\\}");
+        private static final String REGEX_SPECIAL_CHARACTERS = "\\.[]{}()<>*+-=!?^$|";
+
+        private final Pattern pattern;
+        private final Set<String> variables = new HashSet<>();
+
+        private IncludePath(final String antPath) {
+            this.pattern = Pattern.compile(toRegex(antPath));
+        }
+
+        private String toRegex(final String antPath) {
+            final StringBuilder regex = new StringBuilder();
+            int i = 0;
+            while (i < antPath.length()) {
+                final char c = antPath.charAt(i);
+                if (antPath.startsWith("/**", i) && (i + 3 == antPath.length() || antPath.charAt(i + 3) == '/')) {
+                    regex.append("(?:/.*)?");
+                    i += 3;
+                } else if (antPath.startsWith("**", i)) {
+                    regex.append(".*");
+                    i += 2;
+                } else if (c == '*') {
+                    regex.append("[^/]*");
+                    i++;
+                } else if (c == '?') {
+                    regex.append("[^/]");
+                    i++;
+                } else if (c == '{') {
+                    i = appendVariable(regex, antPath, i);
+                } else {
+                    appendLiteral(regex, c);
+                    i++;
+                }
+            }
+            return regex.toString();
         }
 
-        return processChain;
+        private int appendVariable(final StringBuilder regex, final String antPath, final int start) {
+            final Matcher variable = VARIABLE.matcher(antPath);
+            if (!variable.find(start) || variable.start() != start) {
+                appendLiteral(regex, '{');
+                return start + 1;
+            }
+
+            final String variableName = variable.group(1);
+            final String variablePattern = variable.group(2) != null ? variable.group(2) : "[^/]+";
+            if ((TENANT_VARIABLE.equals(variableName) || CONTROLLER_VARIABLE.equals(variableName))
+                    && variables.add(variableName)) {
+                regex.append("(?<").append(variableName).append('>').append(variablePattern).append(')');
+            } else {
+                regex.append("(?:").append(variablePattern).append(')');
+            }
+            return variable.end();
+        }
+
+        private static void appendLiteral(final StringBuilder regex, final char c) {
+            if (REGEX_SPECIAL_CHARACTERS.indexOf(c) >= 0) {
+                regex.append('\\');
+            }
+            regex.append(c);
+        }
     }
 }
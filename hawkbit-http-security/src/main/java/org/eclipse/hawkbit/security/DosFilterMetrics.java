@@ -0,0 +1,49 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.security;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+
+/**
+ * {@link PublicMetrics} of the requests that have been rejected by the
+ * {@link DosFilter}s.
+ *
+ */
+public class DosFilterMetrics implements PublicMetrics {
+    private static final String PREFIX = "hawkbit.security.dos.";
+
+    private final Supplier<Collection<DosFilter>> filters;
+
+    /**
+     * @param filters
+     *            supplier of the registered filters to publish the statistics
+     *            of
+     */
+    public DosFilterMetrics(final Supplier<Collection<DosFilter>> filters) {
+        this.filters = filters;
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        final List<Metric<?>> metrics = new ArrayList<>();
+        for (final DosFilter filter : filters.get()) {
+            final String prefix = PREFIX + filter.getName() + ".rejected.";
+            metrics.add(new Metric<>(prefix + "read", filter.getRejectedReadRequests()));
+            metrics.add(new Metric<>(prefix + "write", filter.getRejectedWriteRequests()));
+            metrics.add(new Metric<>(prefix + "blacklisted", filter.getBlacklistedRequests()));
+        }
+        return metrics;
+    }
+}
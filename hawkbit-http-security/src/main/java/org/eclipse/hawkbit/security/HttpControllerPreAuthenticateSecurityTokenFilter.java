@@ -31,6 +31,7 @@ import org.eclipse.hawkbit.tenancy.TenantAware;
 public class HttpControllerPreAuthenticateSecurityTokenFilter extends AbstractHttpControllerAuthenticationFilter {
 
     private final ControllerManagement controllerManagement;
+    private final ControllerSecurityTokenCache securityTokenCache;
 
     /**
      * Constructor.
@@ -46,18 +47,22 @@ public class HttpControllerPreAuthenticateSecurityTokenFilter extends AbstractHt
      *            security token to verify
      * @param systemSecurityContext
      *            the system security context
+     * @param securityTokenCache
+     *            the cache of verified target security tokens
      */
     public HttpControllerPreAuthenticateSecurityTokenFilter(
             final TenantConfigurationManagement tenantConfigurationManagement, final TenantAware tenantAware,
-            final ControllerManagement controllerManagement, final SystemSecurityContext systemSecurityContext) {
+            final ControllerManagement controllerManagement, final SystemSecurityContext systemSecurityContext,
+            final ControllerSecurityTokenCache securityTokenCache) {
         super(tenantConfigurationManagement, tenantAware, systemSecurityContext);
         this.controllerManagement = controllerManagement;
+        this.securityTokenCache = securityTokenCache;
     }
 
     @Override
     protected PreAuthenticationFilter createControllerAuthenticationFilter() {
         return new ControllerPreAuthenticateSecurityTokenFilter(tenantConfigurationManagement, controllerManagement,
-                tenantAware, systemSecurityContext);
+                tenantAware, systemSecurityContext, securityTokenCache);
     }
 
 }
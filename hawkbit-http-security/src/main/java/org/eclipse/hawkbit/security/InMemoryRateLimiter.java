@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.security;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+/**
+ * {@link RateLimiter} that keeps its state in memory, i.e. the limit applies
+ * per node.
+ *
+ * The limiter works like a token bucket with a capacity of one second, which
+ * is refilled continuously. Instead of the tokens only the time at which the
+ * bucket is full again is kept per key and updated with a compare-and-set,
+ * i.e. without locking.
+ */
+public class InMemoryRateLimiter implements RateLimiter {
+    private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Ticker ticker;
+
+    // a bucket that has not been used for one second is full again, i.e. it
+    // can be removed
+    private final Cache<String, AtomicLong> buckets;
+
+    /**
+     * Constructor.
+     */
+    public InMemoryRateLimiter() {
+        this(Ticker.systemTicker());
+    }
+
+    InMemoryRateLimiter(final Ticker ticker) {
+        this.ticker = ticker;
+        this.buckets = Caffeine.newBuilder().expireAfterAccess(1, TimeUnit.SECONDS).ticker(ticker).build();
+    }
+
+    @Override
+    public boolean tryAcquire(final String key, final int permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            return false;
+        }
+
+        final long interval = ONE_SECOND / permitsPerSecond;
+        final long now = ticker.read();
+        final AtomicLong full = buckets.get(key, k -> new AtomicLong(now));
+
+        long current;
+        long next;
+        do {
+            current = full.get();
+            final long start = current - now > 0 ? current : now;
+            if (start - now > ONE_SECOND - interval) {
+                return false;
+            }
+            next = start + interval;
+        } while (!full.compareAndSet(current, next));
+
+        return true;
+    }
+}
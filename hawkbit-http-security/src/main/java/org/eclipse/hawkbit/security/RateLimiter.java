@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.security;
+
+/**
+ * Limits the number of requests per second for a key, e.g. a client IP
+ * address. The state of the limiter is either kept per node, i.e. the limit
+ * applies per node, or in a backend that is shared by all nodes of the
+ * cluster, i.e. the limit applies cluster wide.
+ *
+ * @see InMemoryRateLimiter
+ */
+@FunctionalInterface
+public interface RateLimiter {
+
+    /**
+     * Acquires a permit for the given key if available.
+     *
+     * @param key
+     *            to acquire the permit for
+     * @param permitsPerSecond
+     *            the maximum number of permits per second for the key, which
+     *            can also be used up at once
+     *
+     * @return <code>true</code> if the permit has been acquired,
+     *         <code>false</code> if the limit has been reached
+     */
+    boolean tryAcquire(String key, int permitsPerSecond);
+}
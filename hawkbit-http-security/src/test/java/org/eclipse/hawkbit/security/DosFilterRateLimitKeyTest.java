@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Unit Tests - Security")
+@Stories("Denial of Service protection filter")
+public class DosFilterRateLimitKeyTest {
+
+    private static final List<String> INCLUDE_PATHS = Arrays.asList("/{tenant}/controller/v1/{controllerId}",
+            "/{tenant}/controller/v1/{controllerId}/deploymentBase/**");
+
+    @Test
+    @Description("Verifies that only requests on the include paths are limited.")
+    public void onlyIncludedPathsAreLimited() throws Exception {
+        final DosFilter underTest = createFilter(RateLimitKey.IP);
+
+        assertThat(perform(underTest, "/DEFAULT/controller/v1/4711")).isEqualTo(HttpStatus.OK.value());
+        assertThat(perform(underTest, "/DEFAULT/controller/v1/4711/deploymentBase/1"))
+                .isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(perform(underTest, "/DEFAULT/controller/v1/4711/configData")).isEqualTo(HttpStatus.OK.value());
+        assertThat(perform(underTest, "/DEFAULT/controller/v1/4711/configData")).isEqualTo(HttpStatus.OK.value());
+        assertThat(underTest.getRejectedReadRequests()).isEqualTo(1);
+    }
+
+    @Test
+    @Description("Verifies that the requests of one IP address are counted per controller if configured.")
+    public void requestsAreCountedPerController() throws Exception {
+        final DosFilter underTest = createFilter(RateLimitKey.CONTROLLER);
+
+        assertThat(perform(underTest, "/DEFAULT/controller/v1/4711")).isEqualTo(HttpStatus.OK.value());
+        assertThat(perform(underTest, "/DEFAULT/controller/v1/4712")).isEqualTo(HttpStatus.OK.value());
+        assertThat(perform(underTest, "/default/controller/v1/4711")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    @Test
+    @Description("Verifies that the requests of one IP address are counted per tenant if configured.")
+    public void requestsAreCountedPerTenant() throws Exception {
+        final DosFilter underTest = createFilter(RateLimitKey.TENANT);
+
+        assertThat(perform(underTest, "/DEFAULT/controller/v1/4711")).isEqualTo(HttpStatus.OK.value());
+        assertThat(perform(underTest, "/OTHER/controller/v1/4711")).isEqualTo(HttpStatus.OK.value());
+        assertThat(perform(underTest, "/DEFAULT/controller/v1/4712")).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    private static DosFilter createFilter(final RateLimitKey rateLimitKey) {
+        return new DosFilter("test", INCLUDE_PATHS, 1, 1, null, null, "X-Forwarded-For", rateLimitKey,
+                new InMemoryRateLimiter());
+    }
+
+    private static int perform(final DosFilter filter, final String uri) throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr("10.0.0.1");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Unit Tests - Security")
+@Stories("Denial of Service protection filter")
+public class InMemoryRateLimiterTest {
+
+    private final AtomicLong time = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    private final InMemoryRateLimiter underTest = new InMemoryRateLimiter(time::get);
+
+    @Test
+    @Description("Verifies that the permits of one second can be acquired at once but not more.")
+    public void permitsPerSecondCanBeAcquiredAtOnce() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(underTest.tryAcquire("client", 10)).isTrue();
+        }
+        assertThat(underTest.tryAcquire("client", 10)).isFalse();
+        assertThat(underTest.tryAcquire("other", 10)).isTrue();
+    }
+
+    @Test
+    @Description("Verifies that permits become available again continuously instead of at the end of a fixed window.")
+    public void permitsAreRefilledContinuously() {
+        for (int i = 0; i < 10; i++) {
+            underTest.tryAcquire("client", 10);
+        }
+
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(underTest.tryAcquire("client", 10)).isTrue();
+        assertThat(underTest.tryAcquire("client", 10)).isFalse();
+
+        time.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        for (int i = 0; i < 10; i++) {
+            assertThat(underTest.tryAcquire("client", 10)).isTrue();
+        }
+        assertThat(underTest.tryAcquire("client", 10)).isFalse();
+    }
+
+    @Test
+    @Description("Verifies that the rejected requests do not use up permits.")
+    public void rejectedRequestsDoNotDelayPermits() {
+        for (int i = 0; i < 100; i++) {
+            underTest.tryAcquire("client", 10);
+        }
+
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(underTest.tryAcquire("client", 10)).isTrue();
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.rest.api;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * Api for exporting targets, actions and action status entries. In contrast to
+ * the paged resources the entities are streamed within a single response
+ * without paging limits.
+ */
+@RequestMapping(MgmtRestConstants.EXPORT_V1_REQUEST_MAPPING)
+public interface MgmtExportRestApi {
+
+    /**
+     * Handles the GET request of exporting all targets as one JSON document per
+     * line.
+     *
+     * @param rsqlParam
+     *            the search parameter in the request URL, syntax
+     *            {@code q=name==abc}
+     * @return status OK, the targets are written to the response body. In any
+     *         failure the JsonResponseExceptionHandler is handling the
+     *         response.
+     */
+    @RequestMapping(method = RequestMethod.GET, value = "/targets", produces = MgmtRestConstants.MEDIA_TYPE_NDJSON)
+    ResponseEntity<Void> exportTargets(
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) String rsqlParam);
+
+    /**
+     * Handles the GET request of exporting the actions of a specific target as
+     * one JSON document per line.
+     *
+     * @param controllerId
+     *            to export actions for
+     * @param rsqlParam
+     *            the search parameter in the request URL, syntax
+     *            {@code q=status==pending}
+     * @return status OK, the actions are written to the response body. In any
+     *         failure the JsonResponseExceptionHandler is handling the
+     *         response.
+     */
+    @RequestMapping(method = RequestMethod.GET, value = "/targets/{controllerId}/actions", produces = MgmtRestConstants.MEDIA_TYPE_NDJSON)
+    ResponseEntity<Void> exportActions(@PathVariable("controllerId") String controllerId,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) String rsqlParam);
+
+    /**
+     * Handles the GET request of exporting the status entries of a specific
+     * action as one JSON document per line.
+     *
+     * @param controllerId
+     *            of the target the action belongs to
+     * @param actionId
+     *            to export the status entries for
+     * @return status OK, the status entries are written to the response body.
+     *         Not found if the action does not belong to the target. In any
+     *         failure the JsonResponseExceptionHandler is handling the
+     *         response.
+     */
+    @RequestMapping(method = RequestMethod.GET, value = "/targets/{controllerId}/actions/{actionId}/status", produces = MgmtRestConstants.MEDIA_TYPE_NDJSON)
+    ResponseEntity<Void> exportActionStatus(@PathVariable("controllerId") String controllerId,
+            @PathVariable("actionId") Long actionId);
+}
@@ -90,6 +90,16 @@ public final class MgmtRestConstants {
      */
     public static final String TARGET_V1_REQUEST_MAPPING = BASE_V1_REQUEST_MAPPING + "/targets";
 
+    /**
+     * The export URL mapping rest resource.
+     */
+    public static final String EXPORT_V1_REQUEST_MAPPING = BASE_V1_REQUEST_MAPPING + "/export";
+
+    /**
+     * Media type of the exports with one JSON document per line.
+     */
+    public static final String MEDIA_TYPE_NDJSON = "application/x-ndjson";
+
     /**
      * The tag URL mapping rest resource.
      */
@@ -51,33 +51,30 @@ public class MgmtDownloadResource implements MgmtDownloadRestApi {
     public ResponseEntity<InputStream> downloadArtifactByDownloadId(@PathVariable("tenant") final String tenant,
             @PathVariable("downloadId") final String downloadId) {
 
-        try {
-            final DownloadArtifactCache artifactCache = downloadIdCache.get(downloadId);
-            if (artifactCache == null) {
-                LOGGER.warn("Download Id {} could not be found", downloadId);
-                return ResponseEntity.notFound().build();
-            }
+        // the download id is valid for a single download only
+        final DownloadArtifactCache artifactCache = downloadIdCache.getAndEvict(downloadId);
+        if (artifactCache == null) {
+            LOGGER.warn("Download Id {} could not be found", downloadId);
+            return ResponseEntity.notFound().build();
+        }
 
-            AbstractDbArtifact artifact = null;
+        AbstractDbArtifact artifact = null;
 
-            if (DownloadType.BY_SHA1.equals(artifactCache.getDownloadType())) {
-                artifact = artifactRepository.getArtifactBySha1(tenant, artifactCache.getId());
-            } else {
-                LOGGER.warn("Download Type {} not supported", artifactCache.getDownloadType());
-            }
+        if (DownloadType.BY_SHA1.equals(artifactCache.getDownloadType())) {
+            artifact = artifactRepository.getArtifactBySha1(tenant, artifactCache.getId());
+        } else {
+            LOGGER.warn("Download Type {} not supported", artifactCache.getDownloadType());
+        }
 
-            if (artifact == null) {
-                LOGGER.warn("Artifact with cached id {} and download type {} could not be found.",
-                        artifactCache.getId(), artifactCache.getDownloadType());
-                return ResponseEntity.notFound().build();
-            }
+        if (artifact == null) {
+            LOGGER.warn("Artifact with cached id {} and download type {} could not be found.",
+                    artifactCache.getId(), artifactCache.getDownloadType());
+            return ResponseEntity.notFound().build();
+        }
 
-            return FileStreamingUtil.writeFileResponse(artifact, downloadId, 0L,
-                    requestResponseContextHolder.getHttpServletResponse(),
-                    requestResponseContextHolder.getHttpServletRequest(), null);
+        return FileStreamingUtil.writeFileResponse(artifact, downloadId, 0L,
+                requestResponseContextHolder.getHttpServletResponse(),
+                requestResponseContextHolder.getHttpServletRequest(), null);
 
-        } finally {
-            downloadIdCache.evict(downloadId);
-        }
     }
 }
@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.rest.resource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.hawkbit.mgmt.rest.api.MgmtExportRestApi;
+import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
+import org.eclipse.hawkbit.repository.DeploymentManagement;
+import org.eclipse.hawkbit.repository.TargetManagement;
+import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.rest.util.RequestResponseContextHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Scope;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * REST Resource for exporting targets, actions and action status entries. The
+ * entities are fetched in batches and written to the response one by one, i.e.
+ * the memory consumption is independent of the size of the export.
+ */
+@RestController
+@Scope(value = WebApplicationContext.SCOPE_REQUEST)
+public class MgmtExportResource implements MgmtExportRestApi {
+    private static final Logger LOG = LoggerFactory.getLogger(MgmtExportResource.class);
+
+    /**
+     * Number of entities that are fetched and written at once.
+     */
+    private static final int EXPORT_BATCH_SIZE = 500;
+
+    @Autowired
+    private TargetManagement targetManagement;
+
+    @Autowired
+    private DeploymentManagement deploymentManagement;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RequestResponseContextHolder requestResponseContextHolder;
+
+    @Override
+    public ResponseEntity<Void> exportTargets(
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam) {
+        try (final JsonGenerator generator = createNdjsonGenerator()) {
+            forEachTarget(rsqlParam, targets -> writeNdjson(generator, MgmtTargetMapper.toResponse(targets)));
+        } catch (final IOException e) {
+            throw exportFailed("targets", e);
+        }
+
+        return ResponseEntity.ok().build();
+    }
+
+    @Override
+    public ResponseEntity<Void> exportActions(@PathVariable("controllerId") final String controllerId,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam) {
+        try (final JsonGenerator generator = createNdjsonGenerator()) {
+            final Consumer<List<Action>> writer = actions -> writeNdjson(generator,
+                    MgmtTargetMapper.toResponse(controllerId, actions));
+            if (rsqlParam != null) {
+                deploymentManagement.forEachActionByTarget(EXPORT_BATCH_SIZE, rsqlParam, controllerId, writer);
+            } else {
+                deploymentManagement.forEachActionByTarget(EXPORT_BATCH_SIZE, controllerId, writer);
+            }
+        } catch (final IOException e) {
+            throw exportFailed("actions of target " + controllerId, e);
+        }
+
+        return ResponseEntity.ok().build();
+    }
+
+    @Override
+    public ResponseEntity<Void> exportActionStatus(@PathVariable("controllerId") final String controllerId,
+            @PathVariable("actionId") final Long actionId) {
+        final Action action = deploymentManagement.findAction(actionId)
+                .orElseThrow(() -> new EntityNotFoundException(Action.class, actionId));
+        if (!action.getTarget().getControllerId().equals(controllerId)) {
+            LOG.warn("given action ({}) is not assigned to given target ({}).", actionId, controllerId);
+            return ResponseEntity.notFound().build();
+        }
+
+        try (final JsonGenerator generator = createNdjsonGenerator()) {
+            deploymentManagement.forEachActionStatusByAction(EXPORT_BATCH_SIZE, actionId, statusList -> writeNdjson(
+                    generator, MgmtTargetMapper.toActionStatusRestResponse(statusList, deploymentManagement)));
+        } catch (final IOException e) {
+            throw exportFailed("status of action " + actionId, e);
+        }
+
+        return ResponseEntity.ok().build();
+    }
+
+    private void forEachTarget(final String rsqlParam, final Consumer<List<Target>> consumer) {
+        if (rsqlParam != null) {
+            targetManagement.forEachByRsql(EXPORT_BATCH_SIZE, rsqlParam, consumer);
+        } else {
+            targetManagement.forEach(EXPORT_BATCH_SIZE, consumer);
+        }
+    }
+
+    private HttpServletResponse startExport(final String contentType) {
+        final HttpServletResponse response = requestResponseContextHolder.getHttpServletResponse();
+        response.setContentType(contentType);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        return response;
+    }
+
+    private JsonGenerator createNdjsonGenerator() throws IOException {
+        final JsonGenerator generator = objectMapper.getFactory()
+                .createGenerator(startExport(MgmtRestConstants.MEDIA_TYPE_NDJSON).getOutputStream());
+        // lines are separated explicitly as every line has to be terminated
+        generator.setRootValueSeparator(null);
+        // the response stream is closed by the container, i.e. an error
+        // response can still be written in case of an invalid query
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return generator;
+    }
+
+    private void writeNdjson(final JsonGenerator generator, final List<?> values) {
+        try {
+            for (final Object value : values) {
+                objectMapper.writeValue(generator, value);
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static UncheckedIOException exportFailed(final String export, final IOException e) {
+        LOG.warn("Export of {} failed", export, e);
+        return new UncheckedIOException(e);
+    }
+}
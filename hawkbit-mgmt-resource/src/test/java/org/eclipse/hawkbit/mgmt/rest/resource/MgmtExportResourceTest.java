@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.mgmt.rest.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.rest.util.MockMvcResultPrinter;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+/**
+ * Spring MVC Tests against the MgmtExportResource.
+ *
+ */
+@Features("Component Tests - Management API")
+@Stories("Export Resource")
+public class MgmtExportResourceTest extends AbstractManagementApiIntegrationTest {
+
+    private static final String EXPORT_TARGETS = MgmtRestConstants.EXPORT_V1_REQUEST_MAPPING + "/targets";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    @Description("Verifies that all targets matching the query are exported as one JSON document per line.")
+    public void exportTargetsAsNdjson() throws Exception {
+        testdataFactory.createTargets(3, "other");
+        final List<String> controllerIds = testdataFactory.createTargets(1_200, "export").stream()
+                .map(Target::getControllerId).collect(Collectors.toList());
+
+        final String body = mvc
+                .perform(get(EXPORT_TARGETS).param(MgmtRestConstants.REQUEST_PARAMETER_SEARCH, "controllerId==export*")
+                        .accept(MgmtRestConstants.MEDIA_TYPE_NDJSON))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+
+        final List<JsonNode> lines = readLines(body);
+        assertThat(lines).hasSize(controllerIds.size());
+        assertThat(lines.stream().map(line -> line.get("controllerId").asText()).collect(Collectors.toList()))
+                .containsOnlyElementsOf(controllerIds).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @Description("Verifies that an invalid query is answered with bad request instead of an export.")
+    public void exportTargetsWithInvalidQuery() throws Exception {
+        mvc.perform(get(EXPORT_TARGETS).param(MgmtRestConstants.REQUEST_PARAMETER_SEARCH, "unknownField==1")
+                .accept(MgmtRestConstants.MEDIA_TYPE_NDJSON)).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Description("Verifies that the actions and action status entries of a target are exported as one JSON document per line.")
+    public void exportActionsAndActionStatus() throws Exception {
+        final Target target = testdataFactory.createTarget("exported");
+        final DistributionSet ds = testdataFactory.createDistributionSet("");
+        final Long actionId = assignDistributionSet(ds, target).getActions().get(0);
+
+        final String actions = mvc
+                .perform(get(EXPORT_TARGETS + "/{controllerId}/actions", target.getControllerId())
+                        .accept(MgmtRestConstants.MEDIA_TYPE_NDJSON))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        assertThat(readLines(actions)).hasSize(1);
+        assertThat(readLines(actions).get(0).get("id").asLong()).isEqualTo(actionId);
+
+        final String statusList = mvc
+                .perform(get(EXPORT_TARGETS + "/{controllerId}/actions/{actionId}/status", target.getControllerId(),
+                        actionId).accept(MgmtRestConstants.MEDIA_TYPE_NDJSON))
+                .andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        assertThat(readLines(statusList)).hasSize(1);
+        assertThat(readLines(statusList).get(0).get("type").asText())
+                .isEqualTo(Action.Status.RUNNING.name().toLowerCase());
+
+        mvc.perform(get(EXPORT_TARGETS + "/{controllerId}/actions/{actionId}/status",
+                testdataFactory.createTarget("other").getControllerId(), actionId)
+                        .accept(MgmtRestConstants.MEDIA_TYPE_NDJSON))
+                .andExpect(status().isNotFound());
+    }
+
+    private List<JsonNode> readLines(final String body) {
+        return Arrays.stream(body.split("\n")).filter(line -> !line.isEmpty()).map(line -> {
+            try {
+                return mapper.readTree(line);
+            } catch (final IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }).collect(Collectors.toList());
+    }
+}
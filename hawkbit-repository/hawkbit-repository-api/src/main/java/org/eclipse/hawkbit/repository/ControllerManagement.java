@@ -97,7 +97,8 @@ public interface ControllerManagement {
      * @param create
      *            to add to the action
      * 
-     * @return created {@link ActionStatus} entity
+     * @return created {@link ActionStatus} entity, which has no ID yet if it
+     *         has been queued for lazy persistence
      * 
      * @throws QuotaExceededException
      *             if more than the allowed number of status entries or messages
@@ -262,7 +263,8 @@ public interface ControllerManagement {
 
     /**
      * Registers retrieved status for given {@link Target} and {@link Action} if
-     * it does not exist yet.
+     * it does not exist yet. Repeated retrievals are documented at most once
+     * per {@link RepositoryProperties#getActionRetrievedStatusInterval()}.
      *
      * @param actionId
      *            to the handle status for
@@ -9,7 +9,9 @@
 package org.eclipse.hawkbit.repository;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
@@ -306,6 +308,71 @@ public interface DeploymentManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
     Page<ActionStatus> findActionStatusByAction(@NotNull Pageable pageReq, long actionId);
 
+    /**
+     * Runs the consumer for all {@link Action}s of the given {@link Target} in
+     * batches ordered by ID. The actions are selected by ID (keyset
+     * pagination) without a count query. Every batch is read in its own
+     * transaction and handed over to the consumer detached after the commit.
+     *
+     * @param batchSize
+     *            maximum number of actions per batch
+     * @param controllerId
+     *            the target to find actions for
+     * @param consumer
+     *            to process the batches
+     *
+     * @throws EntityNotFoundException
+     *             if target with given ID does not exist
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    void forEachActionByTarget(int batchSize, @NotEmpty String controllerId, @NotNull Consumer<List<Action>> consumer);
+
+    /**
+     * Runs the consumer for all {@link Action}s of the given {@link Target}
+     * that match the given RSQL query in batches ordered by ID. See
+     * {@link #forEachActionByTarget(int, String, Consumer)}.
+     *
+     * @param batchSize
+     *            maximum number of actions per batch
+     * @param rsqlParam
+     *            rsql query string
+     * @param controllerId
+     *            the target to find actions for
+     * @param consumer
+     *            to process the batches
+     *
+     * @throws EntityNotFoundException
+     *             if target with given ID does not exist
+     * @throws RSQLParameterUnsupportedFieldException
+     *             if a field in the RSQL string is used but not provided by the
+     *             given {@code fieldNameProvider}
+     * @throws RSQLParameterSyntaxException
+     *             if the RSQL syntax is wrong
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    void forEachActionByTarget(int batchSize, @NotNull String rsqlParam, @NotEmpty String controllerId,
+            @NotNull Consumer<List<Action>> consumer);
+
+    /**
+     * Runs the consumer for all {@link ActionStatus} entries of the given
+     * {@link Action} in batches ordered by ID. The entries are selected by ID
+     * (keyset pagination) without a count query. Every batch is read in its
+     * own transaction and handed over to the consumer detached after the
+     * commit.
+     *
+     * @param batchSize
+     *            maximum number of entries per batch
+     * @param actionId
+     *            to be filtered on
+     * @param consumer
+     *            to process the batches
+     *
+     * @throws EntityNotFoundException
+     *             if action with given ID does not exist
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    void forEachActionStatusByAction(int batchSize, long actionId, @NotNull Consumer<List<ActionStatus>> consumer);
+
     /**
      * Retrieves all messages for an {@link ActionStatus}.
      *
@@ -145,6 +145,17 @@ public interface DistributionSetManagement
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_REPOSITORY)
     Optional<DistributionSet> getWithDetails(long setId);
 
+    /**
+     * Finds the {@link DistributionSet}s with the given IDs including their
+     * details, e.g. {@link DistributionSet#getModules()}, with one query.
+     *
+     * @param ids
+     *            to look for.
+     * @return {@link List} of found {@link DistributionSet}s
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_REPOSITORY)
+    List<DistributionSet> getWithDetails(@NotEmpty Collection<Long> ids);
+
     /**
      * Find distribution set by name and version.
      *
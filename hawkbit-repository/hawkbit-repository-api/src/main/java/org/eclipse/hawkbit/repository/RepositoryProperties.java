@@ -46,11 +46,236 @@ public class RepositoryProperties {
      */
     private long pollPersistenceFlushTime = TimeUnit.SECONDS.toMillis(10);
 
+    /**
+     * Number of shards of the poll queue. Every shard is flushed by its own
+     * scheduled task, i.e. up to this number of flushes run in parallel if
+     * the scheduler has enough threads.
+     */
+    private int pollPersistenceFlushParallelism = 4;
+
+    /**
+     * Number of tenants that are processed in parallel by each of the rollout
+     * and auto assign schedulers.
+     */
+    private int schedulerTenantParallelism = 4;
+
     /**
      * Set to true to persist polls immediately.
      */
     private boolean eagerPollPersistence;
 
+    /**
+     * Set to <code>false</code> to buffer non terminal {@link ActionStatus}
+     * updates of the controllers and persist them in batches. Note that no
+     * download progress is published for a buffered download status.
+     */
+    private boolean eagerActionStatusPersistence = true;
+
+    /**
+     * Maximum number of action status updates queued before flush.
+     */
+    private int actionStatusPersistenceQueueSize = 10_000;
+
+    /**
+     * Maximum time before action status queue is flushed in
+     * {@link TimeUnit#MILLISECONDS}.
+     */
+    private long actionStatusPersistenceFlushTime = TimeUnit.SECONDS.toMillis(1);
+
+    /**
+     * Maximum number of targets per tenant kept in the poll cache. Set to
+     * <code>0</code> to disable the cache.
+     */
+    private long targetPollCacheSize = 100_000;
+
+    /**
+     * Time in {@link TimeUnit#MILLISECONDS} after which a poll cache entry
+     * expires even if it has not been invalidated by an event.
+     */
+    private long targetPollCacheExpiry = TimeUnit.MINUTES.toMillis(30);
+
+    /**
+     * Maximum number of distribution sets whose chunks are kept in the cache
+     * of the deploymentBase resource of the DDI API. Set to <code>0</code> to
+     * disable the cache.
+     */
+    private long ddiChunkCacheSize = 1_000;
+
+    /**
+     * Time in {@link TimeUnit#MILLISECONDS} after which a chunk cache entry
+     * expires even if it has not been invalidated by an event.
+     */
+    private long ddiChunkCacheExpiry = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * Set to <code>true</code> to evaluate created and updated targets as
+     * well as changed target filter queries against the auto assignments
+     * right away instead of waiting for the next full check of the auto
+     * assign scheduler.
+     */
+    private boolean eventDrivenAutoAssign;
+
+    /**
+     * Time in {@link TimeUnit#MILLISECONDS} the targets of the event driven
+     * auto assignment are collected before they are checked in one batch.
+     */
+    private long eventDrivenAutoAssignDelay = 500;
+
+    /**
+     * Maximum number of cached action status counts of rollouts and rollout
+     * groups, <code>0</code> disables the cache.
+     */
+    private long rolloutStatusCacheSize = 50_000;
+
+    /**
+     * Time in {@link TimeUnit#MILLISECONDS} after which the cached action
+     * status counts of rollouts and rollout groups expire even if they have
+     * not been invalidated by an event.
+     */
+    private long rolloutStatusCacheExpiry = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * Set to <code>true</code> to process a rollout right away after the
+     * status of one of its actions has changed instead of waiting for the
+     * next run of the rollout scheduler.
+     */
+    private boolean eventDrivenRollouts;
+
+    /**
+     * Time in {@link TimeUnit#MILLISECONDS} the changed rollouts of the event
+     * driven rollout processing are collected before they are processed.
+     */
+    private long eventDrivenRolloutsDelay = 500;
+
+    /**
+     * Time in {@link TimeUnit#MILLISECONDS} in which a repeated retrieval of
+     * an action by the controller is not documented by another
+     * {@link ActionStatus} entry. Set to a negative value to document the
+     * first retrieval only. <code>0</code> documents every retrieval that
+     * follows another status.
+     */
+    private long actionRetrievedStatusInterval;
+
+    public long getActionRetrievedStatusInterval() {
+        return actionRetrievedStatusInterval;
+    }
+
+    public void setActionRetrievedStatusInterval(final long actionRetrievedStatusInterval) {
+        this.actionRetrievedStatusInterval = actionRetrievedStatusInterval;
+    }
+
+    public boolean isEventDrivenRollouts() {
+        return eventDrivenRollouts;
+    }
+
+    public void setEventDrivenRollouts(final boolean eventDrivenRollouts) {
+        this.eventDrivenRollouts = eventDrivenRollouts;
+    }
+
+    public long getEventDrivenRolloutsDelay() {
+        return eventDrivenRolloutsDelay;
+    }
+
+    public void setEventDrivenRolloutsDelay(final long eventDrivenRolloutsDelay) {
+        this.eventDrivenRolloutsDelay = eventDrivenRolloutsDelay;
+    }
+
+    public long getRolloutStatusCacheSize() {
+        return rolloutStatusCacheSize;
+    }
+
+    public void setRolloutStatusCacheSize(final long rolloutStatusCacheSize) {
+        this.rolloutStatusCacheSize = rolloutStatusCacheSize;
+    }
+
+    public long getRolloutStatusCacheExpiry() {
+        return rolloutStatusCacheExpiry;
+    }
+
+    public void setRolloutStatusCacheExpiry(final long rolloutStatusCacheExpiry) {
+        this.rolloutStatusCacheExpiry = rolloutStatusCacheExpiry;
+    }
+
+    public boolean isEventDrivenAutoAssign() {
+        return eventDrivenAutoAssign;
+    }
+
+    public void setEventDrivenAutoAssign(final boolean eventDrivenAutoAssign) {
+        this.eventDrivenAutoAssign = eventDrivenAutoAssign;
+    }
+
+    public long getEventDrivenAutoAssignDelay() {
+        return eventDrivenAutoAssignDelay;
+    }
+
+    public void setEventDrivenAutoAssignDelay(final long eventDrivenAutoAssignDelay) {
+        this.eventDrivenAutoAssignDelay = eventDrivenAutoAssignDelay;
+    }
+
+    public boolean isEagerActionStatusPersistence() {
+        return eagerActionStatusPersistence;
+    }
+
+    public void setEagerActionStatusPersistence(final boolean eagerActionStatusPersistence) {
+        this.eagerActionStatusPersistence = eagerActionStatusPersistence;
+    }
+
+    public int getActionStatusPersistenceQueueSize() {
+        return actionStatusPersistenceQueueSize;
+    }
+
+    public void setActionStatusPersistenceQueueSize(final int actionStatusPersistenceQueueSize) {
+        this.actionStatusPersistenceQueueSize = actionStatusPersistenceQueueSize;
+    }
+
+    public long getActionStatusPersistenceFlushTime() {
+        return actionStatusPersistenceFlushTime;
+    }
+
+    public void setActionStatusPersistenceFlushTime(final long actionStatusPersistenceFlushTime) {
+        this.actionStatusPersistenceFlushTime = actionStatusPersistenceFlushTime;
+    }
+
+    public long getTargetPollCacheSize() {
+        return targetPollCacheSize;
+    }
+
+    public void setTargetPollCacheSize(final long targetPollCacheSize) {
+        this.targetPollCacheSize = targetPollCacheSize;
+    }
+
+    public long getTargetPollCacheExpiry() {
+        return targetPollCacheExpiry;
+    }
+
+    public void setTargetPollCacheExpiry(final long targetPollCacheExpiry) {
+        this.targetPollCacheExpiry = targetPollCacheExpiry;
+    }
+
+    public long getDdiChunkCacheSize() {
+        return ddiChunkCacheSize;
+    }
+
+    public void setDdiChunkCacheSize(final long ddiChunkCacheSize) {
+        this.ddiChunkCacheSize = ddiChunkCacheSize;
+    }
+
+    public long getDdiChunkCacheExpiry() {
+        return ddiChunkCacheExpiry;
+    }
+
+    public void setDdiChunkCacheExpiry(final long ddiChunkCacheExpiry) {
+        this.ddiChunkCacheExpiry = ddiChunkCacheExpiry;
+    }
+
+    public int getSchedulerTenantParallelism() {
+        return schedulerTenantParallelism;
+    }
+
+    public void setSchedulerTenantParallelism(final int schedulerTenantParallelism) {
+        this.schedulerTenantParallelism = schedulerTenantParallelism;
+    }
+
     public boolean isEagerPollPersistence() {
         return eagerPollPersistence;
     }
@@ -67,6 +292,14 @@ public class RepositoryProperties {
         this.pollPersistenceFlushTime = pollPersistenceFlushTime;
     }
 
+    public int getPollPersistenceFlushParallelism() {
+        return pollPersistenceFlushParallelism;
+    }
+
+    public void setPollPersistenceFlushParallelism(final int pollPersistenceFlushParallelism) {
+        this.pollPersistenceFlushParallelism = pollPersistenceFlushParallelism;
+    }
+
     public int getPollPersistenceQueueSize() {
         return pollPersistenceQueueSize;
     }
@@ -8,6 +8,7 @@
  */
 package org.eclipse.hawkbit.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -75,6 +76,20 @@ public interface RolloutManagement {
     @PreAuthorize(SpringEvalExpressions.IS_SYSTEM_CODE)
     void handleRollouts();
 
+    /**
+     * Process the given rollouts the same way as {@link #handleRollouts()},
+     * e.g. after the status of their actions has changed. Rollouts that are
+     * not active anymore are ignored.
+     * 
+     * @param rolloutIds
+     *            of the rollouts to process
+     * @return <code>false</code> if the rollouts of the tenant are currently
+     *         processed by someone else, i.e. the given rollouts have not been
+     *         processed
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_SYSTEM_CODE)
+    boolean handleRollouts(Collection<Long> rolloutIds);
+
     /**
      * Counts all {@link Rollout}s in the repository that are not marked as
      * deleted.
@@ -12,6 +12,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import javax.validation.ConstraintViolationException;
 import javax.validation.Valid;
@@ -33,6 +34,7 @@ import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
 import org.eclipse.hawkbit.repository.model.TargetTag;
 import org.eclipse.hawkbit.repository.model.TargetTagAssignmentResult;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
+import org.eclipse.hawkbit.repository.model.TargetWithDistributionSets;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
@@ -234,6 +236,56 @@ public interface TargetManagement {
     Page<Target> findByTargetFilterQueryAndNonDS(@NotNull Pageable pageRequest, long distributionSetId,
             @NotNull String rsqlParam);
 
+    /**
+     * Finds the next targets ordered by ID that match the given
+     * {@link TargetFilterQuery} and that don't have the specified distribution
+     * set in their action history. In contrast to
+     * {@link #findByTargetFilterQueryAndNonDS(Pageable, long, String)} the
+     * targets are selected by ID (keyset pagination) instead of an offset and
+     * no count query is executed, which makes it the preferred variant for
+     * batch processing of all matching targets.
+     *
+     * @param limit
+     *            maximum number of targets to return
+     * @param lastTargetId
+     *            the ID of the last target of the previous batch, only targets
+     *            with a greater ID are returned. <code>-1</code> to start with
+     *            the first batch.
+     * @param distributionSetId
+     *            id of the {@link DistributionSet}
+     * @param rsqlParam
+     *            filter definition in RSQL syntax
+     * @return a slice of the found {@link Target}s ordered by ID
+     *
+     * @throws EntityNotFoundException
+     *             if distribution set with given ID does not exist
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    Slice<Target> findByTargetFilterQueryAndNonDSAfterId(int limit, long lastTargetId, long distributionSetId,
+            @NotNull String rsqlParam);
+
+    /**
+     * Finds the targets out of the given controller IDs that match the given
+     * {@link TargetFilterQuery} and that don't have the specified distribution
+     * set in their action history.
+     *
+     * @param pageRequest
+     *            the pageRequest to enhance the query for paging and sorting
+     * @param controllerIds
+     *            of the targets to evaluate
+     * @param distributionSetId
+     *            id of the {@link DistributionSet}
+     * @param rsqlParam
+     *            filter definition in RSQL syntax
+     * @return a page of the found {@link Target}s
+     *
+     * @throws EntityNotFoundException
+     *             if distribution set with given ID does not exist
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    Page<Target> findByControllerIdsAndTargetFilterQueryAndNonDS(@NotNull Pageable pageRequest,
+            @NotEmpty Collection<String> controllerIds, long distributionSetId, @NotNull String rsqlParam);
+
     /**
      * Counts all targets for all the given parameter {@link TargetFilterQuery}
      * and that don't have the specified distribution set in their action
@@ -267,6 +319,28 @@ public interface TargetManagement {
     Page<Target> findByTargetFilterQueryAndNotInRolloutGroups(@NotNull Pageable pageRequest,
             @NotEmpty Collection<Long> groups, @NotNull String rsqlParam);
 
+    /**
+     * Finds the next targets ordered by ID for the given parameter
+     * {@link TargetFilterQuery} that are not assigned to one of the
+     * {@link RolloutGroup}s. The targets are selected by ID (keyset pagination)
+     * and no count query is executed.
+     *
+     * @param limit
+     *            maximum number of targets to return
+     * @param lastTargetId
+     *            the ID of the last target of the previous batch, only targets
+     *            with a greater ID are returned. <code>-1</code> to start with
+     *            the first batch.
+     * @param groups
+     *            the list of {@link RolloutGroup}s
+     * @param rsqlParam
+     *            filter definition in RSQL syntax
+     * @return a slice of the found {@link Target}s ordered by ID
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    Slice<Target> findByTargetFilterQueryAndNotInRolloutGroupsAfterId(int limit, long lastTargetId,
+            @NotEmpty Collection<Long> groups, @NotNull String rsqlParam);
+
     /**
      * Counts all targets for all the given parameter {@link TargetFilterQuery}
      * and that are not assigned to one of the {@link RolloutGroup}s
@@ -296,6 +370,27 @@ public interface TargetManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
     Page<Target> findByInRolloutGroupWithoutAction(@NotNull Pageable pageRequest, long group);
 
+    /**
+     * Finds the next targets ordered by ID of the provided {@link RolloutGroup}
+     * that have no Action for the RolloutGroup. The targets are selected by ID
+     * (keyset pagination) and no count query is executed.
+     *
+     * @param limit
+     *            maximum number of targets to return
+     * @param lastTargetId
+     *            the ID of the last target of the previous batch, only targets
+     *            with a greater ID are returned. <code>-1</code> to start with
+     *            the first batch.
+     * @param group
+     *            the {@link RolloutGroup}
+     * @return a slice of the found {@link Target}s ordered by ID
+     *
+     * @throws EntityNotFoundException
+     *             if rollout group with given ID does not exist
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    Slice<Target> findByInRolloutGroupWithoutActionAfterId(int limit, long lastTargetId, long group);
+
     /**
      * retrieves {@link Target}s by the assigned {@link DistributionSet}.
      * 
@@ -460,6 +555,41 @@ public interface TargetManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
     Page<Target> findByRsql(@NotNull Pageable pageable, @NotNull String rsqlParam);
 
+    /**
+     * Runs the consumer for all targets in batches ordered by ID. The targets
+     * are selected by ID (keyset pagination) without a count query. Every
+     * batch is read in its own transaction and handed over to the consumer
+     * detached after the commit, i.e. the memory consumption is bounded by the
+     * batch size independent of the number of targets.
+     *
+     * @param batchSize
+     *            maximum number of targets per batch
+     * @param consumer
+     *            to process the batches
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    void forEach(int batchSize, @NotNull Consumer<List<Target>> consumer);
+
+    /**
+     * Runs the consumer for all targets that match the given RSQL query in
+     * batches ordered by ID. See {@link #forEach(int, Consumer)}.
+     *
+     * @param batchSize
+     *            maximum number of targets per batch
+     * @param rsqlParam
+     *            in RSQL notation
+     * @param consumer
+     *            to process the batches
+     *
+     * @throws RSQLParameterUnsupportedFieldException
+     *             if a field in the RSQL string is used but not provided by the
+     *             given {@code fieldNameProvider}
+     * @throws RSQLParameterSyntaxException
+     *             if the RSQL syntax is wrong
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    void forEachByRsql(int batchSize, @NotNull String rsqlParam, @NotNull Consumer<List<Target>> consumer);
+
     /**
      * Retrieves all target based on {@link TargetFilterQuery}.
      * 
@@ -511,6 +641,26 @@ public interface TargetManagement {
     Slice<Target> findByFilterOrderByLinkedDistributionSet(@NotNull Pageable pageable, long orderByDistributionId,
             @NotNull FilterParams filterParams);
 
+    /**
+     * Retrieves {@link Target}s in the same order as
+     * {@link #findByFilterOrderByLinkedDistributionSet(Pageable, long, FilterParams)}
+     * together with ID, name and version of their assigned and installed
+     * {@link DistributionSet}, i.e. the page is read with a single query.
+     *
+     * @param pageable
+     *            the page request to page the result set
+     * @param orderByDistributionId
+     *            {@link DistributionSet#getId()} to be ordered by
+     * @param filterParams
+     *            the filters to apply; only filters are enabled that have
+     *            non-null value; filters are AND-gated
+     * @return a paged result {@link Slice} of the {@link Target}s with their
+     *         {@link DistributionSet}s in a defined order.
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_REPOSITORY_AND_READ_TARGET)
+    Slice<TargetWithDistributionSets> findWithDistributionSetsByFilterOrderByLinkedDistributionSet(
+            @NotNull Pageable pageable, long orderByDistributionId, @NotNull FilterParams filterParams);
+
     /**
      * Find targets by tag name.
      * 
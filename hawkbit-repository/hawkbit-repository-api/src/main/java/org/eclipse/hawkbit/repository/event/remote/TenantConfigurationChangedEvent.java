@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.event.remote;
+
+import org.eclipse.hawkbit.repository.model.TenantConfiguration;
+
+/**
+ * Defines the remote event of creating, updating or deleting a
+ * {@link TenantConfiguration}. It is used to invalidate the cached
+ * configuration values on all nodes of the cluster.
+ */
+public class TenantConfigurationChangedEvent extends RemoteTenantAwareEvent {
+
+    private static final long serialVersionUID = 1L;
+
+    private String configurationKeyName;
+
+    /**
+     * Default constructor.
+     */
+    public TenantConfigurationChangedEvent() {
+        // for serialization libs like jackson
+    }
+
+    /**
+     * Constructor.
+     * 
+     * @param tenant
+     *            the tenant
+     * @param configurationKeyName
+     *            the key of the changed configuration
+     * @param applicationId
+     *            the origin application id
+     */
+    public TenantConfigurationChangedEvent(final String tenant, final String configurationKeyName,
+            final String applicationId) {
+        super(configurationKeyName, tenant, applicationId);
+        this.configurationKeyName = configurationKeyName;
+    }
+
+    public String getConfigurationKeyName() {
+        return configurationKeyName;
+    }
+
+}
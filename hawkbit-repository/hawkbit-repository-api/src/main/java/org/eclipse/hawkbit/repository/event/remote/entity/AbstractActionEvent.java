@@ -9,6 +9,7 @@
 package org.eclipse.hawkbit.repository.event.remote.entity;
 
 import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.BaseEntity;
 
 /**
  * Defines the remote event of creating a new {@link Action}.
@@ -18,6 +19,7 @@ public abstract class AbstractActionEvent extends RemoteEntityEvent<Action> {
 
     private Long rolloutId;
     private Long rolloutGroupId;
+    private Long targetId;
 
     /**
      * Default constructor.
@@ -43,6 +45,11 @@ public abstract class AbstractActionEvent extends RemoteEntityEvent<Action> {
         super(action, applicationId);
         this.rolloutId = rolloutId;
         this.rolloutGroupId = rolloutGroupId;
+        this.targetId = BaseEntity.getIdOrNull(action.getTarget());
+    }
+
+    public Long getTargetId() {
+        return targetId;
     }
 
     public Long getRolloutId() {
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.model;
+
+/**
+ * 
+ * Target with ID, name and version of its assigned and installed
+ * {@link DistributionSet}.
+ *
+ */
+public class TargetWithDistributionSets {
+
+    private final Target target;
+
+    private final Long assignedDistributionSetId;
+    private final String assignedDistributionSetName;
+    private final String assignedDistributionSetVersion;
+
+    private final Long installedDistributionSetId;
+    private final String installedDistributionSetName;
+    private final String installedDistributionSetVersion;
+
+    /**
+     * Constructor.
+     * 
+     * @param target
+     *            the target
+     * @param assignedDistributionSetId
+     *            ID of the assigned {@link DistributionSet} or
+     *            <code>null</code> if none is assigned
+     * @param assignedDistributionSetName
+     *            name of the assigned {@link DistributionSet}
+     * @param assignedDistributionSetVersion
+     *            version of the assigned {@link DistributionSet}
+     * @param installedDistributionSetId
+     *            ID of the installed {@link DistributionSet} or
+     *            <code>null</code> if none is installed
+     * @param installedDistributionSetName
+     *            name of the installed {@link DistributionSet}
+     * @param installedDistributionSetVersion
+     *            version of the installed {@link DistributionSet}
+     */
+    public TargetWithDistributionSets(final Target target, final Long assignedDistributionSetId,
+            final String assignedDistributionSetName, final String assignedDistributionSetVersion,
+            final Long installedDistributionSetId, final String installedDistributionSetName,
+            final String installedDistributionSetVersion) {
+        this.target = target;
+        this.assignedDistributionSetId = assignedDistributionSetId;
+        this.assignedDistributionSetName = assignedDistributionSetName;
+        this.assignedDistributionSetVersion = assignedDistributionSetVersion;
+        this.installedDistributionSetId = installedDistributionSetId;
+        this.installedDistributionSetName = installedDistributionSetName;
+        this.installedDistributionSetVersion = installedDistributionSetVersion;
+    }
+
+    public Target getTarget() {
+        return target;
+    }
+
+    public Long getAssignedDistributionSetId() {
+        return assignedDistributionSetId;
+    }
+
+    public String getAssignedDistributionSetName() {
+        return assignedDistributionSetName;
+    }
+
+    public String getAssignedDistributionSetVersion() {
+        return assignedDistributionSetVersion;
+    }
+
+    public Long getInstalledDistributionSetId() {
+        return installedDistributionSetId;
+    }
+
+    public String getInstalledDistributionSetName() {
+        return installedDistributionSetName;
+    }
+
+    public String getInstalledDistributionSetVersion() {
+        return installedDistributionSetVersion;
+    }
+
+}
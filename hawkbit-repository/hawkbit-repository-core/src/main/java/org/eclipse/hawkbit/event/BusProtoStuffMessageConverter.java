@@ -8,6 +8,11 @@
  */
 package org.eclipse.hawkbit.event;
 
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cloud.bus.event.RemoteApplicationEvent;
@@ -19,6 +24,7 @@ import org.springframework.util.MimeType;
 
 import io.protostuff.LinkedBuffer;
 import io.protostuff.ProtobufIOUtil;
+import io.protostuff.ProtobufOutput;
 import io.protostuff.Schema;
 import io.protostuff.runtime.RuntimeSchema;
 
@@ -32,7 +38,11 @@ import io.protostuff.runtime.RuntimeSchema;
  * message header information will get lost. So in this implementation the
  * information about the event-type is encoded in the payload of the message
  * directly using the encoded values of {@link EventType}.
- *
+ * 
+ * The schemas of all {@link EventType}s are resolved once. The event-type and
+ * the event are written in one pass into a thread local buffer and read
+ * directly from the payload, i.e. the payload is copied only once into the
+ * resulting message.
  */
 public class BusProtoStuffMessageConverter extends AbstractMessageConverter {
 
@@ -43,6 +53,26 @@ public class BusProtoStuffMessageConverter extends AbstractMessageConverter {
      */
     private static final byte EVENT_TYPE_LENGTH = 2;
 
+    private static final Schema<EventType> EVENT_TYPE_SCHEMA = RuntimeSchema.getSchema(EventType.class);
+
+    private static final ThreadLocal<LinkedBuffer> BUFFER = ThreadLocal.withInitial(LinkedBuffer::allocate);
+
+    private static final Map<Integer, Schema<Object>> SCHEMAS_BY_VALUE;
+    private static final Map<Class<?>, EventSchema> SCHEMAS_BY_CLASS;
+
+    static {
+        final Map<Integer, Schema<Object>> byValue = new HashMap<>();
+        final Map<Class<?>, EventSchema> byClass = new HashMap<>();
+        EventType.getTypes().forEach((value, clazz) -> {
+            @SuppressWarnings("unchecked")
+            final Schema<Object> schema = (Schema<Object>) RuntimeSchema.getSchema(clazz);
+            byValue.put(value, schema);
+            byClass.put(clazz, new EventSchema(new EventType(value), schema));
+        });
+        SCHEMAS_BY_VALUE = Collections.unmodifiableMap(byValue);
+        SCHEMAS_BY_CLASS = Collections.unmodifiableMap(byClass);
+    }
+
     /**
      * Constructor.
      */
@@ -62,11 +92,8 @@ public class BusProtoStuffMessageConverter extends AbstractMessageConverter {
         if (objectPayload instanceof byte[]) {
 
             final byte[] payload = (byte[]) objectPayload;
-            final byte[] clazzHeader = extractClazzHeader(payload);
-            final byte[] content = extraxtContent(payload);
-
-            final EventType eventType = readClassHeader(clazzHeader);
-            return readContent(eventType, content);
+            final EventType eventType = readClassHeader(payload);
+            return readContent(eventType, payload);
         }
         return null;
     }
@@ -75,70 +102,51 @@ public class BusProtoStuffMessageConverter extends AbstractMessageConverter {
     protected Object convertToInternal(final Object payload, final MessageHeaders headers,
             final Object conversionHint) {
 
-        final byte[] clazzHeader = writeClassHeader(payload.getClass());
-
-        final byte[] writeContent = writeContent(payload);
+        final EventSchema eventSchema = SCHEMAS_BY_CLASS.get(payload.getClass());
+        if (eventSchema == null) {
+            LOG.error("There is no mapping to EventType for the given clazz {}", payload.getClass());
+            throw new MessageConversionException("Missing EventType for given class : " + payload.getClass());
+        }
 
-        return mergeClassHeaderAndContent(clazzHeader, writeContent);
+        final LinkedBuffer buffer = BUFFER.get();
+        try {
+            final ProtobufOutput output = new ProtobufOutput(buffer);
+            EVENT_TYPE_SCHEMA.writeTo(output, eventSchema.eventType);
+            eventSchema.schema.writeTo(output, payload);
+            return output.toByteArray();
+        } catch (final IOException e) {
+            // cannot happen as there is no underlying stream
+            throw new MessageConversionException("Failed to serialize event " + payload.getClass(), e);
+        } finally {
+            buffer.clear();
+        }
     }
 
-    private static Object readContent(final EventType eventType, final byte[] content) {
-        final Class<?> targetClass = eventType.getTargetClass();
-        if (targetClass == null) {
+    private static Object readContent(final EventType eventType, final byte[] payload) {
+        final Schema<Object> schema = SCHEMAS_BY_VALUE.get(eventType.getValue());
+        if (schema == null) {
             LOG.error("Cannot read clazz header for given EventType value {}, missing mapping", eventType.getValue());
             throw new MessageConversionException("Missing mapping of EventType for value " + eventType.getValue());
         }
-        @SuppressWarnings("unchecked")
-        final Schema<Object> schema = (Schema<Object>) RuntimeSchema.getSchema(targetClass);
         final Object deserializeEvent = schema.newMessage();
-        ProtobufIOUtil.mergeFrom(content, deserializeEvent, schema);
+        ProtobufIOUtil.mergeFrom(payload, EVENT_TYPE_LENGTH, payload.length - EVENT_TYPE_LENGTH, deserializeEvent,
+                schema);
         return deserializeEvent;
     }
 
-    private static byte[] mergeClassHeaderAndContent(final byte[] clazzHeader, final byte[] writeContent) {
-        final byte[] body = new byte[clazzHeader.length + writeContent.length];
-        System.arraycopy(clazzHeader, 0, body, 0, clazzHeader.length);
-        System.arraycopy(writeContent, 0, body, clazzHeader.length, writeContent.length);
-        return body;
-    }
-
-    private static byte[] extractClazzHeader(final byte[] payload) {
-        final byte[] clazzHeader = new byte[EVENT_TYPE_LENGTH];
-        System.arraycopy(payload, 0, clazzHeader, 0, EVENT_TYPE_LENGTH);
-        return clazzHeader;
-    }
-
-    private static byte[] extraxtContent(final byte[] payload) {
-        final byte[] content = new byte[payload.length - EVENT_TYPE_LENGTH];
-        System.arraycopy(payload, EVENT_TYPE_LENGTH, content, 0, content.length);
-        return content;
-    }
-
-    private static EventType readClassHeader(final byte[] typeInformation) {
-        final Schema<EventType> schema = RuntimeSchema.getSchema(EventType.class);
-        final EventType deserializedType = schema.newMessage();
-        ProtobufIOUtil.mergeFrom(typeInformation, deserializedType, schema);
+    private static EventType readClassHeader(final byte[] payload) {
+        final EventType deserializedType = EVENT_TYPE_SCHEMA.newMessage();
+        ProtobufIOUtil.mergeFrom(payload, 0, EVENT_TYPE_LENGTH, deserializedType, EVENT_TYPE_SCHEMA);
         return deserializedType;
     }
 
-    private static byte[] writeContent(final Object payload) {
-        final Class<? extends Object> serializeClass = payload.getClass();
-        @SuppressWarnings("unchecked")
-        final Schema<Object> schema = (Schema<Object>) RuntimeSchema.getSchema(serializeClass);
-        final LinkedBuffer buffer = LinkedBuffer.allocate();
-        return ProtobufIOUtil.toByteArray(payload, schema, buffer);
-    }
+    private static final class EventSchema {
+        private final EventType eventType;
+        private final Schema<Object> schema;
 
-    private static byte[] writeClassHeader(final Class<?> clazz) {
-        final EventType clazzEventType = EventType.from(clazz);
-        if (clazzEventType == null) {
-            LOG.error("There is no mapping to EventType for the given clazz {}", clazzEventType);
-            throw new MessageConversionException("Missing EventType for given class : " + clazz);
+        private EventSchema(final EventType eventType, final Schema<Object> schema) {
+            this.eventType = eventType;
+            this.schema = schema;
         }
-        @SuppressWarnings("unchecked")
-        final Schema<Object> schema = (Schema<Object>) RuntimeSchema
-                .getSchema((Class<? extends Object>) EventType.class);
-        final LinkedBuffer buffer = LinkedBuffer.allocate();
-        return ProtobufIOUtil.toByteArray(clazzEventType, schema, buffer);
     }
 }
@@ -8,9 +8,9 @@
  */
 package org.eclipse.hawkbit.event;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
 
 import org.eclipse.hawkbit.repository.event.remote.DistributionSetDeletedEvent;
 import org.eclipse.hawkbit.repository.event.remote.DistributionSetTagDeletedEvent;
@@ -22,6 +22,7 @@ import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEv
 import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
 import org.eclipse.hawkbit.repository.event.remote.TargetTagDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TenantConfigurationChangedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.ActionCreatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.ActionUpdatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.CancelTargetAssignmentEvent;
@@ -51,6 +52,7 @@ import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
 public class EventType {
 
     private static final Map<Integer, Class<?>> TYPES = new HashMap<>();
+    private static final Map<Class<?>, Integer> VALUES = new HashMap<>();
 
     /**
      * The associated event-type-value must remain the same as initially
@@ -101,6 +103,10 @@ public class EventType {
         TYPES.put(24, TargetPollEvent.class);
         TYPES.put(25, RolloutDeletedEvent.class);
         TYPES.put(26, RolloutGroupDeletedEvent.class);
+
+        TYPES.put(27, TenantConfigurationChangedEvent.class);
+
+        TYPES.forEach((value, clazz) -> VALUES.put(clazz, value));
     }
 
     private int value;
@@ -140,11 +146,17 @@ public class EventType {
      *         does not have a {@link EventType}.
      */
     public static EventType from(final Class<?> clazz) {
-        final Optional<Integer> foundEventType = TYPES.entrySet().stream()
-                .filter(entry -> entry.getValue().equals(clazz)).map(entry -> entry.getKey()).findAny();
-        if (!foundEventType.isPresent()) {
+        final Integer value = VALUES.get(clazz);
+        if (value == null) {
             return null;
         }
-        return new EventType(foundEventType.get());
+        return new EventType(value);
+    }
+
+    /**
+     * @return all declared event-types with their encoding value
+     */
+    public static Map<Integer, Class<?>> getTypes() {
+        return Collections.unmodifiableMap(TYPES);
     }
 }
@@ -12,32 +12,33 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
-import org.eclipse.hawkbit.cache.TenancyCacheManager;
-import org.eclipse.hawkbit.cache.TenantAwareCacheManager;
+import org.eclipse.hawkbit.cache.StampedCache;
 import org.eclipse.hawkbit.repository.event.remote.RolloutDeletedEvent;
 import org.eclipse.hawkbit.repository.event.remote.RolloutGroupDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.AbstractActionEvent;
 import org.eclipse.hawkbit.repository.model.Rollout;
 import org.eclipse.hawkbit.repository.model.RolloutGroup;
 import org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus;
 import org.eclipse.hawkbit.tenancy.TenantAware;
-import org.springframework.cache.Cache;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.event.EventListener;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
-
 /**
  * Internal cache for Rollout status.
  *
+ * Entries are invalidated by the action events after the commit of the
+ * change, i.e. a count that has been read from the database before the commit
+ * could be put into the cache after the invalidation. Every read of the
+ * counts has to be wrapped into a {@link #stamp()}, see {@link StampedCache}.
+ *
  */
 public class RolloutStatusCache {
-    private static final String CACHE_RO_NAME = "RolloutStatus";
-    private static final String CACHE_GR_NAME = "RolloutGroupStatus";
-    private static final long DEFAULT_SIZE = 50_000;
-    private final TenancyCacheManager cacheManager;
+    public static final long DEFAULT_SIZE = 50_000;
+
+    private final StampedCache<StatusKey, List<TotalTargetCountActionStatus>> cache;
     private final TenantAware tenantAware;
 
     /**
@@ -45,15 +46,23 @@ public class RolloutStatusCache {
      *            to get current tenant
      * @param size
      *            the maximum size of the cache
+     * @param expiry
+     *            in {@link TimeUnit#MILLISECONDS} after which an entry expires
+     *            even if it has not been invalidated by an event
      */
-    public RolloutStatusCache(final TenantAware tenantAware, final long size) {
+    public RolloutStatusCache(final TenantAware tenantAware, final long size, final long expiry) {
         this.tenantAware = tenantAware;
+        this.cache = new StampedCache<>(size, expiry);
+    }
 
-        final Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder().maximumSize(size);
-        final CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
-        caffeineCacheManager.setCaffeine(cacheBuilder);
-
-        this.cacheManager = new TenantAwareCacheManager(caffeineCacheManager, tenantAware);
+    /**
+     * @param tenantAware
+     *            to get current tenant
+     * @param size
+     *            the maximum size of the cache
+     */
+    public RolloutStatusCache(final TenantAware tenantAware, final long size) {
+        this(tenantAware, size, 0);
     }
 
     /**
@@ -64,6 +73,13 @@ public class RolloutStatusCache {
         this(tenantAware, DEFAULT_SIZE);
     }
 
+    /**
+     * @return stamp to be taken before the status is read from the repository
+     */
+    public StampedCache.Stamp stamp() {
+        return cache.stamp();
+    }
+
     /**
      * Retrieves cached list of {@link TotalTargetCountActionStatus} of
      * {@link Rollout}s.
@@ -73,9 +89,7 @@ public class RolloutStatusCache {
      * @return map of cached entries
      */
     public Map<Long, List<TotalTargetCountActionStatus>> getRolloutStatus(final List<Long> rollouts) {
-        final Cache cache = cacheManager.getCache(CACHE_RO_NAME);
-
-        return retrieveFromCache(rollouts, cache);
+        return retrieveFromCache(rollouts, false);
     }
 
     /**
@@ -87,9 +101,7 @@ public class RolloutStatusCache {
      * @return map of cached entries
      */
     public List<TotalTargetCountActionStatus> getRolloutStatus(final Long rolloutId) {
-        final Cache cache = cacheManager.getCache(CACHE_RO_NAME);
-
-        return retrieveFromCache(rolloutId, cache);
+        return retrieveFromCache(new StatusKey(false, rolloutId));
     }
 
     /**
@@ -101,9 +113,7 @@ public class RolloutStatusCache {
      * @return map of cached entries
      */
     public Map<Long, List<TotalTargetCountActionStatus>> getRolloutGroupStatus(final List<Long> rolloutGroups) {
-        final Cache cache = cacheManager.getCache(CACHE_GR_NAME);
-
-        return retrieveFromCache(rolloutGroups, cache);
+        return retrieveFromCache(rolloutGroups, true);
     }
 
     /**
@@ -115,9 +125,7 @@ public class RolloutStatusCache {
      * @return map of cached entries
      */
     public List<TotalTargetCountActionStatus> getRolloutGroupStatus(final Long groupId) {
-        final Cache cache = cacheManager.getCache(CACHE_GR_NAME);
-
-        return retrieveFromCache(groupId, cache);
+        return retrieveFromCache(new StatusKey(true, groupId));
     }
 
     /**
@@ -126,10 +134,12 @@ public class RolloutStatusCache {
      * 
      * @param put
      *            map of cached entries
+     * @param stamp
+     *            taken before the status has been read
      */
-    public void putRolloutStatus(final Map<Long, List<TotalTargetCountActionStatus>> put) {
-        final Cache cache = cacheManager.getCache(CACHE_RO_NAME);
-        putIntoCache(put, cache);
+    public void putRolloutStatus(final Map<Long, List<TotalTargetCountActionStatus>> put,
+            final StampedCache.Stamp stamp) {
+        putIntoCache(put, false, stamp);
     }
 
     /**
@@ -140,11 +150,12 @@ public class RolloutStatusCache {
      *            the cache entries belong to
      * @param status
      *            list to cache
-     * 
+     * @param stamp
+     *            taken before the status has been read
      */
-    public void putRolloutStatus(final Long rolloutId, final List<TotalTargetCountActionStatus> status) {
-        final Cache cache = cacheManager.getCache(CACHE_RO_NAME);
-        putIntoCache(rolloutId, status, cache);
+    public void putRolloutStatus(final Long rolloutId, final List<TotalTargetCountActionStatus> status,
+            final StampedCache.Stamp stamp) {
+        putIntoCache(new StatusKey(false, rolloutId), status, stamp);
     }
 
     /**
@@ -153,74 +164,81 @@ public class RolloutStatusCache {
      * 
      * @param put
      *            map of cached entries
+     * @param stamp
+     *            taken before the status has been read
      */
-    public void putRolloutGroupStatus(final Map<Long, List<TotalTargetCountActionStatus>> put) {
-        final Cache cache = cacheManager.getCache(CACHE_GR_NAME);
-        putIntoCache(put, cache);
+    public void putRolloutGroupStatus(final Map<Long, List<TotalTargetCountActionStatus>> put,
+            final StampedCache.Stamp stamp) {
+        putIntoCache(put, true, stamp);
     }
 
     /**
-     * Put {@link TotalTargetCountActionStatus} for multiple
-     * {@link RolloutGroup}s into cache.
+     * Put {@link TotalTargetCountActionStatus} for one {@link RolloutGroup}
+     * into cache.
      * 
      * @param groupId
      *            the cache entries belong to
      * @param status
      *            list to cache
+     * @param stamp
+     *            taken before the status has been read
      */
-    public void putRolloutGroupStatus(final Long groupId, final List<TotalTargetCountActionStatus> status) {
-        final Cache cache = cacheManager.getCache(CACHE_GR_NAME);
-        putIntoCache(groupId, status, cache);
+    public void putRolloutGroupStatus(final Long groupId, final List<TotalTargetCountActionStatus> status,
+            final StampedCache.Stamp stamp) {
+        putIntoCache(new StatusKey(true, groupId), status, stamp);
     }
 
-    private Map<Long, List<TotalTargetCountActionStatus>> retrieveFromCache(final List<Long> ids, final Cache cache) {
-        return ids.stream().map(id -> cache.get(id, CachedTotalTargetCountActionStatus.class)).filter(Objects::nonNull)
-                .collect(Collectors.toMap(CachedTotalTargetCountActionStatus::getId,
-                        CachedTotalTargetCountActionStatus::getStatus));
+    private Map<Long, List<TotalTargetCountActionStatus>> retrieveFromCache(final List<Long> ids,
+            final boolean group) {
+        return cache
+                .getAll(tenantAware.getCurrentTenant(),
+                        ids.stream().map(id -> new StatusKey(group, id)).collect(Collectors.toList()))
+                .entrySet().stream().collect(Collectors.toMap(entry -> entry.getKey().id, Map.Entry::getValue));
     }
 
-    private List<TotalTargetCountActionStatus> retrieveFromCache(final Long id, final Cache cache) {
-        final CachedTotalTargetCountActionStatus cacheItem = cache.get(id, CachedTotalTargetCountActionStatus.class);
-
-        if (cacheItem == null) {
-            return Collections.emptyList();
-        }
-
-        return cacheItem.getStatus();
+    private List<TotalTargetCountActionStatus> retrieveFromCache(final StatusKey key) {
+        return cache.get(tenantAware.getCurrentTenant(), key).orElse(Collections.emptyList());
     }
 
-    private void putIntoCache(final Long id, final List<TotalTargetCountActionStatus> status, final Cache cache) {
-        cache.put(id, new CachedTotalTargetCountActionStatus(id, status));
+    private void putIntoCache(final StatusKey key, final List<TotalTargetCountActionStatus> status,
+            final StampedCache.Stamp stamp) {
+        cache.put(tenantAware.getCurrentTenant(), key, status, stamp);
     }
 
-    private void putIntoCache(final Map<Long, List<TotalTargetCountActionStatus>> put, final Cache cache) {
-        put.entrySet().forEach(entry -> cache.put(entry.getKey(),
-                new CachedTotalTargetCountActionStatus(entry.getKey(), entry.getValue())));
+    private void putIntoCache(final Map<Long, List<TotalTargetCountActionStatus>> put, final boolean group,
+            final StampedCache.Stamp stamp) {
+        put.entrySet().forEach(entry -> putIntoCache(new StatusKey(group, entry.getKey()), entry.getValue(), stamp));
     }
 
     @EventListener(classes = AbstractActionEvent.class)
     void invalidateCachedTotalTargetCountActionStatus(final AbstractActionEvent event) {
         if (event.getRolloutId() != null) {
-            final Cache cache = tenantAware.runAsTenant(event.getTenant(), () -> cacheManager.getCache(CACHE_RO_NAME));
-            cache.evict(event.getRolloutId());
+            cache.invalidate(event.getTenant(), new StatusKey(false, event.getRolloutId()));
         }
 
         if (event.getRolloutGroupId() != null) {
-            final Cache cache = tenantAware.runAsTenant(event.getTenant(), () -> cacheManager.getCache(CACHE_GR_NAME));
-            cache.evict(event.getRolloutGroupId());
+            cache.invalidate(event.getTenant(), new StatusKey(true, event.getRolloutGroupId()));
         }
     }
 
+    /**
+     * The actions of deleted targets are deleted without action events, i.e.
+     * the counts of all rollouts and groups of the tenant are invalidated as
+     * the rollouts of the target are unknown.
+     */
+    @EventListener(classes = TargetDeletedEvent.class)
+    void invalidateCachedTotalTargetCountOnTargetDelete(final TargetDeletedEvent event) {
+        cache.invalidateAll(event.getTenant());
+    }
+
     @EventListener(classes = RolloutDeletedEvent.class)
     void invalidateCachedTotalTargetCountOnRolloutDelete(final RolloutDeletedEvent event) {
-        final Cache cache = tenantAware.runAsTenant(event.getTenant(), () -> cacheManager.getCache(CACHE_RO_NAME));
-        cache.evict(event.getEntityId());
+        cache.invalidate(event.getTenant(), new StatusKey(false, event.getEntityId()));
     }
 
     @EventListener(classes = RolloutGroupDeletedEvent.class)
     void invalidateCachedTotalTargetCountOnRolloutGroupDelete(final RolloutGroupDeletedEvent event) {
-        final Cache cache = tenantAware.runAsTenant(event.getTenant(), () -> cacheManager.getCache(CACHE_GR_NAME));
-        cache.evict(event.getEntityId());
+        cache.invalidate(event.getTenant(), new StatusKey(true, event.getEntityId()));
     }
 
     /**
@@ -231,24 +249,33 @@ public class RolloutStatusCache {
      *            the tenant to evict caches
      */
     public void evictCaches(final String tenant) {
-        cacheManager.evictCaches(tenant);
+        cache.invalidateAll(tenant);
     }
 
-    private static final class CachedTotalTargetCountActionStatus {
-        private final long id;
-        private final List<TotalTargetCountActionStatus> status;
+    private static final class StatusKey {
+        private final boolean group;
+        private final Long id;
 
-        private CachedTotalTargetCountActionStatus(final long id, final List<TotalTargetCountActionStatus> status) {
+        private StatusKey(final boolean group, final Long id) {
+            this.group = group;
             this.id = id;
-            this.status = status;
         }
 
-        public long getId() {
-            return id;
+        @Override
+        public int hashCode() {
+            return Objects.hash(group, id);
         }
 
-        public List<TotalTargetCountActionStatus> getStatus() {
-            return status;
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final StatusKey other = (StatusKey) obj;
+            return group == other.group && Objects.equals(id, other.id);
         }
     }
 }
@@ -0,0 +1,283 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.cache.StampedCache;
+import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.AbstractActionEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.CancelTargetAssignmentEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.springframework.context.event.EventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Internal cache for the {@link Target} state that is needed to answer
+ * controller polls, i.e. an immutable snapshot of the target (identity,
+ * address, update status) and the information if the target has an active
+ * action.
+ *
+ * Entries are keyed by the ID of the target and invalidated by the remote
+ * events that indicate a change of that state. The controller ID of a poll is
+ * only resolved to the target ID through a second cache, i.e. if that mapping
+ * is evicted the target has to be read again while the invalidation still
+ * reaches the entry. Every read of a target has to be wrapped into a
+ * {@link #stamp()}, see {@link StampedCache}.
+ *
+ */
+public class TargetPollCache {
+    private static final long DEFAULT_SIZE = 100_000;
+    private static final long DEFAULT_EXPIRY = TimeUnit.MINUTES.toMillis(30);
+
+    private final StampedCache<Long, CachedTargetPoll> cache;
+    private final Cache<CacheKey, Long> idCache;
+    private final TenantAware tenantAware;
+    private final boolean enabled;
+
+    /**
+     * @param tenantAware
+     *            to get current tenant
+     * @param size
+     *            the maximum number of cached targets, <code>0</code> disables
+     *            the cache
+     * @param expiry
+     *            in {@link TimeUnit#MILLISECONDS} after which an entry expires
+     *            even if it has not been invalidated
+     */
+    public TargetPollCache(final TenantAware tenantAware, final long size, final long expiry) {
+        this.tenantAware = tenantAware;
+        this.enabled = size > 0;
+        this.cache = new StampedCache<>(size, expiry);
+        this.idCache = Caffeine.newBuilder().maximumSize(size).expireAfterWrite(expiry, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * @param tenantAware
+     *            to get current tenant
+     */
+    public TargetPollCache(final TenantAware tenantAware) {
+        this(tenantAware, DEFAULT_SIZE, DEFAULT_EXPIRY);
+    }
+
+    /**
+     * @return stamp to be taken before the data that is put into the cache is
+     *         read from the repository
+     */
+    public StampedCache.Stamp stamp() {
+        return cache.stamp();
+    }
+
+    /**
+     * Retrieves cached {@link Target} of the current tenant.
+     *
+     * @param controllerId
+     *            of the target
+     * @return cached target or {@link Optional#empty()} if not cached
+     */
+    public Optional<Target> getTarget(final String controllerId) {
+        return getEntry(controllerId).map(CachedTargetPoll::getTarget);
+    }
+
+    /**
+     * Retrieves the cached information if the target of the current tenant has
+     * an active action.
+     *
+     * @param controllerId
+     *            of the target
+     * @return <code>true</code> if the target has an active action,
+     *         <code>false</code> if not or {@link Optional#empty()} if not
+     *         cached
+     */
+    public Optional<Boolean> hasActiveAction(final String controllerId) {
+        return getEntry(controllerId).map(CachedTargetPoll::getActiveAction);
+    }
+
+    /**
+     * Put {@link Target} of the current tenant into cache.
+     *
+     * @param target
+     *            immutable snapshot of the target to cache
+     * @param stamp
+     *            taken before the target has been read
+     */
+    public void putTarget(final Target target, final StampedCache.Stamp stamp) {
+        if (!enabled) {
+            return;
+        }
+
+        final String tenant = tenantAware.getCurrentTenant();
+        cache.put(tenant, target.getId(), new CachedTargetPoll(target, null), stamp);
+        idCache.put(new CacheKey(tenant, target.getControllerId()), target.getId());
+    }
+
+    /**
+     * Put the information if the target of the current tenant has an active
+     * action into cache. Ignored if the target itself is not cached.
+     *
+     * @param controllerId
+     *            of the target
+     * @param activeAction
+     *            <code>true</code> if the target has an active action
+     * @param stamp
+     *            taken before the information has been read
+     */
+    public void putActiveAction(final String controllerId, final boolean activeAction,
+            final StampedCache.Stamp stamp) {
+        if (!enabled) {
+            return;
+        }
+
+        final String tenant = tenantAware.getCurrentTenant();
+        final Long targetId = idCache.getIfPresent(new CacheKey(tenant, controllerId));
+        if (targetId == null) {
+            return;
+        }
+
+        cache.update(tenant, targetId, entry -> new CachedTargetPoll(entry.getTarget(), activeAction), stamp);
+    }
+
+    @EventListener(classes = TargetUpdatedEvent.class)
+    void invalidateOnTargetUpdate(final TargetUpdatedEvent event) {
+        invalidate(event.getTenant(), event.getEntityId());
+    }
+
+    @EventListener(classes = TargetDeletedEvent.class)
+    void invalidateOnTargetDelete(final TargetDeletedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        idCache.invalidate(new CacheKey(event.getTenant(), event.getControllerId()));
+        invalidate(event.getTenant(), event.getEntityId());
+    }
+
+    @EventListener(classes = CancelTargetAssignmentEvent.class)
+    void invalidateOnCancelTargetAssignment(final CancelTargetAssignmentEvent event) {
+        invalidate(event.getTenant(), event.getEntityId());
+    }
+
+    @EventListener(classes = TargetAssignDistributionSetEvent.class)
+    void invalidateOnTargetAssignDistributionSet(final TargetAssignDistributionSetEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        final Set<String> controllerIds = event.getActions().keySet();
+        controllerIds.forEach(controllerId -> invalidate(event.getTenant(),
+                idCache.getIfPresent(new CacheKey(event.getTenant(), controllerId))));
+
+        // targets without mapping cannot be retrieved but might still be put
+        // by a poll that overlaps with the assignment
+        cache.invalidateStamps(event.getTenant(),
+                (targetId, entry) -> controllerIds.contains(entry.getTarget().getControllerId()));
+    }
+
+    @EventListener(classes = AbstractActionEvent.class)
+    void invalidateOnActionChange(final AbstractActionEvent event) {
+        invalidate(event.getTenant(), event.getTargetId());
+    }
+
+    private void invalidate(final String tenant, final Long targetId) {
+        if (!enabled || targetId == null) {
+            return;
+        }
+
+        cache.invalidate(tenant, targetId);
+    }
+
+    /**
+     * Evicts all caches for a given tenant. All caches under a certain tenant
+     * gets evicted.
+     *
+     * @param tenant
+     *            the tenant to evict caches
+     */
+    public void evictCaches(final String tenant) {
+        if (!enabled) {
+            return;
+        }
+
+        final CacheKey tenantKey = new CacheKey(tenant, null);
+        idCache.asMap().keySet().removeIf(key -> key.isSameTenant(tenantKey));
+        cache.invalidateAll(tenant);
+    }
+
+    private Optional<CachedTargetPoll> getEntry(final String controllerId) {
+        if (!enabled || controllerId == null) {
+            return Optional.empty();
+        }
+
+        final String tenant = tenantAware.getCurrentTenant();
+        final Long targetId = idCache.getIfPresent(new CacheKey(tenant, controllerId));
+        if (targetId == null) {
+            return Optional.empty();
+        }
+
+        return cache.get(tenant, targetId).filter(entry -> controllerId.equals(entry.getTarget().getControllerId()));
+    }
+
+    private static final class CacheKey {
+        private final String tenant;
+        private final String controllerId;
+
+        private CacheKey(final String tenant, final String controllerId) {
+            this.tenant = tenant == null ? null : tenant.toUpperCase();
+            this.controllerId = controllerId;
+        }
+
+        private boolean isSameTenant(final CacheKey other) {
+            return Objects.equals(tenant, other.tenant);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tenant, controllerId);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final CacheKey other = (CacheKey) obj;
+            return Objects.equals(tenant, other.tenant) && Objects.equals(controllerId, other.controllerId);
+        }
+    }
+
+    private static final class CachedTargetPoll {
+        private final Target target;
+        private final Boolean activeAction;
+
+        private CachedTargetPoll(final Target target, final Boolean activeAction) {
+            this.target = target;
+            this.activeAction = activeAction;
+        }
+
+        private Target getTarget() {
+            return target;
+        }
+
+        private Boolean getActiveAction() {
+            return activeAction;
+        }
+    }
+}
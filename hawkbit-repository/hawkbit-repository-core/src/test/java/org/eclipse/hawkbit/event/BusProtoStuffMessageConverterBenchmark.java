@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.event;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+
+/**
+ * Micro benchmark that compares the {@link BusProtoStuffMessageConverter} with
+ * the {@link LegacyBusProtoStuffMessageConverter} for a {@link TargetPollEvent}
+ * which is the most frequent event in the cluster. The benchmark is not part of
+ * the test run and can be started with the {@link #main(String[])} method from
+ * the test class path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BusProtoStuffMessageConverterBenchmark {
+
+    private static final MessageHeaders HEADERS = new MessageHeaders(Collections.emptyMap());
+
+    private final BusProtoStuffMessageConverter converter = new BusProtoStuffMessageConverter();
+    private final LegacyBusProtoStuffMessageConverter legacyConverter = new LegacyBusProtoStuffMessageConverter();
+
+    private TargetPollEvent event;
+    private Message<Object> message;
+
+    @Setup
+    public void setup() {
+        event = new TargetPollEvent("controller-4711", "DEFAULT", "hawkbit-node-1");
+        message = MessageBuilder.withPayload(converter.convertToInternal(event, HEADERS, null)).build();
+    }
+
+    @Benchmark
+    public Object serialize() {
+        return converter.convertToInternal(event, HEADERS, null);
+    }
+
+    @Benchmark
+    public Object serializeLegacy() {
+        return legacyConverter.convertToInternal(event, HEADERS, null);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return converter.convertFromInternal(message, Object.class, null);
+    }
+
+    @Benchmark
+    public Object deserializeLegacy() {
+        return legacyConverter.convertFromInternal(message, Object.class, null);
+    }
+
+    /**
+     * Runs the benchmark.
+     * 
+     * @param args
+     *            not used
+     * @throws RunnerException
+     *             if the benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BusProtoStuffMessageConverterBenchmark.class.getSimpleName()).build())
+                .run();
+    }
+}
@@ -13,7 +13,9 @@ import static org.mockito.Mockito.when;
 
 import java.util.HashMap;
 
+import org.apache.commons.lang3.StringUtils;
 import org.assertj.core.api.Assertions;
+import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.RemoteEntityEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
 import org.eclipse.hawkbit.repository.model.Target;
@@ -61,6 +63,49 @@ public class BusProtoStuffMessageConverterTest {
         assertThat(deserializedEvent).isEqualTo(targetCreatedEvent);
     }
 
+    @Test
+    @Description("Verifies that the converter writes the same payload as the former implementation and that both "
+            + "read the payload of each other, i.e. nodes of both versions can be operated in the same cluster")
+    public void payloadIsCompatibleWithFormerConverter() {
+        final LegacyBusProtoStuffMessageConverter legacy = new LegacyBusProtoStuffMessageConverter();
+        final TargetPollEvent targetPollEvent = new TargetPollEvent("controller", "tenant", "1");
+
+        final Object serializedEvent = underTest.convertToInternal(targetPollEvent,
+                new MessageHeaders(new HashMap<>()), null);
+        final Object legacySerializedEvent = legacy.convertToInternal(targetPollEvent,
+                new MessageHeaders(new HashMap<>()), null);
+        assertThat(serializedEvent).isEqualTo(legacySerializedEvent);
+
+        when(messageMock.getPayload()).thenReturn(serializedEvent);
+        final TargetPollEvent legacyDeserializedEvent = (TargetPollEvent) legacy.convertFromInternal(messageMock,
+                RemoteApplicationEvent.class, null);
+        assertThat(legacyDeserializedEvent).isEqualTo(targetPollEvent);
+        assertThat(legacyDeserializedEvent.getControllerId()).isEqualTo("controller");
+
+        when(messageMock.getPayload()).thenReturn(legacySerializedEvent);
+        final TargetPollEvent deserializedEvent = (TargetPollEvent) underTest.convertFromInternal(messageMock,
+                RemoteApplicationEvent.class, null);
+        assertThat(deserializedEvent).isEqualTo(targetPollEvent);
+        assertThat(deserializedEvent.getControllerId()).isEqualTo("controller");
+        assertThat(deserializedEvent.getTenant()).isEqualTo("tenant");
+    }
+
+    @Test
+    @Description("Verifies that events which exceed the reused buffer are serialized and deserialized completely")
+    public void successfullySerializeAndDeserializeLargeEvent() {
+        final String controllerId = StringUtils.repeat('x', 10_000);
+        final TargetPollEvent targetPollEvent = new TargetPollEvent(controllerId, "tenant", "1");
+
+        for (int i = 0; i < 2; i++) {
+            final Object serializedEvent = underTest.convertToInternal(targetPollEvent,
+                    new MessageHeaders(new HashMap<>()), null);
+            when(messageMock.getPayload()).thenReturn(serializedEvent);
+            final TargetPollEvent deserializedEvent = (TargetPollEvent) underTest.convertFromInternal(messageMock,
+                    RemoteApplicationEvent.class, null);
+            assertThat(deserializedEvent.getControllerId()).isEqualTo(controllerId);
+        }
+    }
+
     @Test
     @Description("Verifies that a MessageConversationException is thrown on missing event-type information encoding")
     public void missingEventTypeMappingThrowsMessageConversationException() {
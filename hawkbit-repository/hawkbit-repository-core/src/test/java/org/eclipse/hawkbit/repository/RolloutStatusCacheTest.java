@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.cache.StampedCache;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.ActionUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.eclipse.hawkbit.tenancy.TenantAware.TenantRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Unit Tests - Repository")
+@Stories("Rollout status cache")
+@RunWith(MockitoJUnitRunner.class)
+public class RolloutStatusCacheTest {
+
+    private static final String TENANT = "DEFAULT";
+
+    private static final List<TotalTargetCountActionStatus> STATUS = Arrays
+            .asList(new TotalTargetCountActionStatus(Action.Status.FINISHED, 5L));
+
+    @Mock
+    private TenantAware tenantAware;
+
+    @Mock
+    private Action actionMock;
+
+    private RolloutStatusCache underTest;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void before() {
+        when(tenantAware.getCurrentTenant()).thenReturn(TENANT);
+        when(tenantAware.runAsTenant(anyString(), any(TenantRunner.class)))
+                .thenAnswer(invocation -> ((TenantRunner<?>) invocation.getArguments()[1]).run());
+        when(actionMock.getId()).thenReturn(1L);
+        when(actionMock.getTenant()).thenReturn(TENANT);
+
+        underTest = new RolloutStatusCache(tenantAware, 100, TimeUnit.MINUTES.toMillis(1));
+    }
+
+    @Test
+    @Description("Verifies that the cached status of a rollout group is returned until an action of the group is updated.")
+    public void actionUpdateInvalidatesGroupStatus() {
+        try (final StampedCache.Stamp stamp = underTest.stamp()) {
+            underTest.putRolloutGroupStatus(1L, STATUS, stamp);
+            underTest.putRolloutGroupStatus(2L, STATUS, stamp);
+        }
+
+        assertThat(underTest.getRolloutGroupStatus(1L)).isEqualTo(STATUS);
+
+        underTest.invalidateCachedTotalTargetCountActionStatus(new ActionUpdatedEvent(actionMock, 10L, 1L, "node"));
+
+        assertThat(underTest.getRolloutGroupStatus(1L)).isEmpty();
+        assertThat(underTest.getRolloutGroupStatus(2L)).isEqualTo(STATUS);
+    }
+
+    @Test
+    @Description("Verifies that the status of a rollout group that has been read before an action of the group was "
+            + "updated is not cached while the status of other groups is.")
+    public void statusReadBeforeActionUpdateIsNotCached() {
+        try (final StampedCache.Stamp stamp = underTest.stamp()) {
+            underTest.invalidateCachedTotalTargetCountActionStatus(
+                    new ActionUpdatedEvent(actionMock, 10L, 1L, "node"));
+
+            underTest.putRolloutGroupStatus(1L, STATUS, stamp);
+            underTest.putRolloutGroupStatus(2L, STATUS, stamp);
+        }
+        assertThat(underTest.getRolloutGroupStatus(1L)).isEmpty();
+        assertThat(underTest.getRolloutGroupStatus(2L)).isEqualTo(STATUS);
+
+        try (final StampedCache.Stamp stamp = underTest.stamp()) {
+            underTest.putRolloutGroupStatus(1L, STATUS, stamp);
+        }
+        assertThat(underTest.getRolloutGroupStatus(1L)).isEqualTo(STATUS);
+    }
+
+    @Test
+    @Description("Verifies that a target deletion invalidates the status of all rollouts and groups of the tenant as "
+            + "the actions of the target are deleted without action events.")
+    public void targetDeletionInvalidatesAllStatus() {
+        try (final StampedCache.Stamp stamp = underTest.stamp()) {
+            underTest.putRolloutStatus(10L, STATUS, stamp);
+            underTest.putRolloutGroupStatus(1L, STATUS, stamp);
+        }
+
+        underTest.invalidateCachedTotalTargetCountOnTargetDelete(
+                new TargetDeletedEvent(TENANT, 1L, "controller", null, Target.class.getName(), "node"));
+
+        assertThat(underTest.getRolloutStatus(10L)).isEmpty();
+        assertThat(underTest.getRolloutGroupStatus(1L)).isEmpty();
+    }
+}
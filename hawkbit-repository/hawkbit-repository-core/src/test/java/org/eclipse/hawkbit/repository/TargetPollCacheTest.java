@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.cache.StampedCache;
+import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Unit Tests - Repository")
+@Stories("Target poll cache")
+@RunWith(MockitoJUnitRunner.class)
+public class TargetPollCacheTest {
+
+    private static final String TENANT = "DEFAULT";
+    private static final String CONTROLLER_ID = "controller";
+    private static final Long TARGET_ID = 1L;
+
+    @Mock
+    private TenantAware tenantAware;
+
+    @Mock
+    private Target targetMock;
+
+    @Mock
+    private Action actionMock;
+
+    @Mock
+    private DistributionSet distributionSetMock;
+
+    private TargetPollCache underTest;
+
+    @Before
+    public void before() {
+        when(tenantAware.getCurrentTenant()).thenReturn(TENANT);
+        when(targetMock.getId()).thenReturn(TARGET_ID);
+        when(targetMock.getControllerId()).thenReturn(CONTROLLER_ID);
+        when(targetMock.getTenant()).thenReturn(TENANT);
+
+        underTest = new TargetPollCache(tenantAware, 100, TimeUnit.MINUTES.toMillis(1));
+    }
+
+    @Test
+    @Description("Verifies that cached target and active action state are returned until the target is updated.")
+    public void targetUpdateInvalidatesEntry() {
+        try (final StampedCache.Stamp stamp = underTest.stamp()) {
+            underTest.putTarget(targetMock, stamp);
+            underTest.putActiveAction(CONTROLLER_ID, false, stamp);
+        }
+
+        assertThat(underTest.getTarget(CONTROLLER_ID)).contains(targetMock);
+        assertThat(underTest.hasActiveAction(CONTROLLER_ID)).contains(false);
+
+        underTest.invalidateOnTargetUpdate(new TargetUpdatedEvent(targetMock, "node"));
+
+        assertThat(underTest.getTarget(CONTROLLER_ID)).isEmpty();
+        assertThat(underTest.hasActiveAction(CONTROLLER_ID)).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that the cache is not populated with data that was read before an invalidation.")
+    public void putReadBeforeInvalidationIsIgnored() {
+        try (final StampedCache.Stamp stamp = underTest.stamp()) {
+            underTest.invalidateOnTargetDelete(
+                    new TargetDeletedEvent(TENANT, TARGET_ID, CONTROLLER_ID, null, Target.class.getName(), "node"));
+            underTest.putTarget(targetMock, stamp);
+        }
+
+        assertThat(underTest.getTarget(CONTROLLER_ID)).isEmpty();
+
+        try (final StampedCache.Stamp stamp = underTest.stamp()) {
+            underTest.putTarget(targetMock, stamp);
+        }
+        assertThat(underTest.getTarget(CONTROLLER_ID)).contains(targetMock);
+    }
+
+    @Test
+    @Description("Verifies that an assignment invalidates a target that is read concurrently, even if only its "
+            + "controller ID is known to the cache at that time.")
+    public void assignmentInvalidatesConcurrentRead() {
+        when(distributionSetMock.getId()).thenReturn(2L);
+        when(actionMock.getId()).thenReturn(3L);
+        when(actionMock.getDistributionSet()).thenReturn(distributionSetMock);
+        when(actionMock.getTarget()).thenReturn(targetMock);
+
+        try (final StampedCache.Stamp stamp = underTest.stamp()) {
+            underTest.invalidateOnTargetAssignDistributionSet(
+                    new TargetAssignDistributionSetEvent(TENANT, 2L, Collections.singletonList(actionMock), "node"));
+            underTest.putTarget(targetMock, stamp);
+        }
+
+        assertThat(underTest.getTarget(CONTROLLER_ID)).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that the active action state is only cached together with the target.")
+    public void activeActionStateRequiresCachedTarget() {
+        try (final StampedCache.Stamp stamp = underTest.stamp()) {
+            underTest.putActiveAction(CONTROLLER_ID, false, stamp);
+        }
+
+        assertThat(underTest.hasActiveAction(CONTROLLER_ID)).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that a cache with size zero does not cache anything.")
+    public void disabledCacheDoesNotCache() {
+        final TargetPollCache disabled = new TargetPollCache(tenantAware, 0, 0);
+        try (final StampedCache.Stamp stamp = disabled.stamp()) {
+            disabled.putTarget(targetMock, stamp);
+        }
+
+        assertThat(disabled.getTarget(CONTROLLER_ID)).isEmpty();
+    }
+}
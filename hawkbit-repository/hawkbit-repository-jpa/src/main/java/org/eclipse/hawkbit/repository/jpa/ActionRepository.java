@@ -127,6 +127,16 @@ public interface ActionRepository extends BaseEntityRepository<JpaAction, Long>,
     @Query("SELECT CASE WHEN COUNT(a)>0 THEN 'true' ELSE 'false' END FROM JpaAction a JOIN a.target t WHERE t.controllerId=:controllerId AND a.active=1")
     boolean activeActionExistsForControllerId(@Param("controllerId") String controllerId);
 
+    /**
+     * Retrieves the IDs of the given actions that (still) exist.
+     * 
+     * @param actionIds
+     *            to check
+     * @return the IDs of the existing actions
+     */
+    @Query("SELECT a.id FROM JpaAction a WHERE a.id IN :actionIds")
+    List<Long> findExistingIds(@Param("actionIds") Collection<Long> actionIds);
+
     /**
      * Retrieves latest {@link Action} for given target and
      * {@link SoftwareModule}.
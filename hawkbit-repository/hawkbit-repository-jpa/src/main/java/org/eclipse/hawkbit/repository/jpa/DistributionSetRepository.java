@@ -23,6 +23,8 @@ import org.eclipse.hawkbit.repository.model.Tag;
 import org.eclipse.hawkbit.repository.model.TenantAwareBaseEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -84,6 +86,31 @@ public interface DistributionSetRepository
      */
     Long countByModulesId(Long moduleId);
 
+    /**
+     * Finds the IDs of the {@link DistributionSet}s where given
+     * {@link SoftwareModule} is assigned.
+     *
+     * @param moduleId
+     *            to search for
+     * @return list of {@link DistributionSet#getId()}
+     */
+    @Query("select d.id from JpaDistributionSet d join d.modules m where m.id = :moduleId")
+    List<Long> findIdsByModulesId(@Param("moduleId") Long moduleId);
+
+    /**
+     * Increments the optimistic lock revision of the {@link DistributionSet}s
+     * with the given IDs, e.g. if the artifacts of an assigned
+     * {@link SoftwareModule} have been changed. No entity events are published
+     * for the bulk update.
+     *
+     * @param ids
+     *            of the {@link DistributionSet}s to update
+     */
+    @Modifying
+    @Transactional
+    @Query("update JpaDistributionSet d set d.optLockRevision = d.optLockRevision + 1 where d.id in :ids")
+    void incrementOptLockRevision(@Param("ids") Collection<Long> ids);
+
     /**
      * Finds {@link DistributionSet}s based on given ID that are assigned yet to
      * an {@link Action}, i.e. in use.
@@ -149,6 +176,19 @@ public interface DistributionSetRepository
     @Query("SELECT d FROM JpaDistributionSet d WHERE d.id IN ?1")
     List<JpaDistributionSet> findAll(Iterable<Long> ids);
 
+    /**
+     * Finds the {@link DistributionSet}s with the given IDs including their
+     * modules, tags and type.
+     *
+     * @param ids
+     *            to search for
+     * @return list of found {@link DistributionSet}s
+     */
+    @EntityGraph(value = "DistributionSet.detail", type = EntityGraphType.LOAD)
+    // Workaround for https://bugs.eclipse.org/bugs/show_bug.cgi?id=349477
+    @Query("SELECT d FROM JpaDistributionSet d WHERE d.id IN ?1")
+    List<DistributionSet> findWithDetailsByIdIn(Collection<Long> ids);
+
     /**
      * Deletes all {@link TenantAwareBaseEntity} of a given tenant. For safety
      * reasons (this is a "delete everything" query after all) we add the tenant
@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import org.eclipse.hawkbit.repository.jpa.model.JpaDownloadId;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Repository for operations on {@link JpaDownloadId} entities.
+ *
+ */
+@Transactional(readOnly = true)
+public interface DownloadIdRepository extends CrudRepository<JpaDownloadId, String> {
+
+    /**
+     * Deletes a download-id. Only one of concurrent calls for the same ID
+     * succeeds, i.e. the result can be used to consume the ID exactly once.
+     *
+     * @param downloadId
+     *            to delete
+     * @return number of deleted entries
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM JpaDownloadId d WHERE d.downloadId = :downloadId")
+    int deleteByDownloadId(@Param("downloadId") String downloadId);
+
+    /**
+     * Deletes all download-ids that expired before the given time.
+     *
+     * @param now
+     *            current time in millis
+     * @return number of deleted entries
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM JpaDownloadId d WHERE d.expiresAt <= :now")
+    int deleteExpired(@Param("now") long now);
+
+}
@@ -9,6 +9,7 @@
 package org.eclipse.hawkbit.repository.jpa;
 
 import java.io.InputStream;
+import java.util.List;
 import java.util.Optional;
 
 import org.eclipse.hawkbit.artifact.repository.ArtifactRepository;
@@ -27,6 +28,7 @@ import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
 import org.eclipse.hawkbit.repository.jpa.model.JpaArtifact;
 import org.eclipse.hawkbit.repository.jpa.model.JpaSoftwareModule;
 import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.slf4j.Logger;
@@ -53,15 +55,19 @@ public class JpaArtifactManagement implements ArtifactManagement {
 
     private final SoftwareModuleRepository softwareModuleRepository;
 
+    private final DistributionSetRepository distributionSetRepository;
+
     private final ArtifactRepository artifactRepository;
 
     private final TenantAware tenantAware;
 
     JpaArtifactManagement(final LocalArtifactRepository localArtifactRepository,
-            final SoftwareModuleRepository softwareModuleRepository, final ArtifactRepository artifactRepository,
+            final SoftwareModuleRepository softwareModuleRepository,
+            final DistributionSetRepository distributionSetRepository, final ArtifactRepository artifactRepository,
             final TenantAware tenantAware) {
         this.localArtifactRepository = localArtifactRepository;
         this.softwareModuleRepository = softwareModuleRepository;
+        this.distributionSetRepository = distributionSetRepository;
         this.artifactRepository = artifactRepository;
         this.tenantAware = tenantAware;
     }
@@ -146,6 +152,22 @@ public class JpaArtifactManagement implements ArtifactManagement {
         ((JpaSoftwareModule) existing.getSoftwareModule()).removeArtifact(existing);
         softwareModuleRepository.save((JpaSoftwareModule) existing.getSoftwareModule());
         localArtifactRepository.delete(id);
+        touchDistributionSets(existing.getSoftwareModule().getId());
+    }
+
+    /**
+     * Increments the revision of the {@link DistributionSet}s the module is
+     * assigned to as the revision of the module itself is not changed by its
+     * artifacts, i.e. the deployment of the sets has changed.
+     *
+     * @param moduleId
+     *            of the module with changed artifacts
+     */
+    private void touchDistributionSets(final Long moduleId) {
+        final List<Long> setIds = distributionSetRepository.findIdsByModulesId(moduleId);
+        if (!setIds.isEmpty()) {
+            distributionSetRepository.incrementOptLockRevision(setIds);
+        }
     }
 
     @Override
@@ -199,7 +221,9 @@ public class JpaArtifactManagement implements ArtifactManagement {
         artifact.setSize(result.getSize());
 
         LOG.debug("storing new artifact into repository {}", artifact);
-        return localArtifactRepository.save(artifact);
+        final Artifact saved = localArtifactRepository.save(artifact);
+        touchDistributionSets(softwareModule.getId());
+        return saved;
     }
 
     @Override
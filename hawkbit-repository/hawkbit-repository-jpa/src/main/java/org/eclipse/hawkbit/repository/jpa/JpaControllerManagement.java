@@ -9,16 +9,21 @@
 package org.eclipse.hawkbit.repository.jpa;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.BlockingDeque;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import javax.persistence.EntityManager;
@@ -27,17 +32,20 @@ import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
 
+import org.eclipse.hawkbit.cache.StampedCache;
 import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.EntityFactory;
 import org.eclipse.hawkbit.repository.QuotaManagement;
 import org.eclipse.hawkbit.repository.RepositoryConstants;
 import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.TargetPollCache;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
 import org.eclipse.hawkbit.repository.builder.ActionStatusCreate;
 import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
 import org.eclipse.hawkbit.repository.exception.CancelActionNotAllowedException;
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
 import org.eclipse.hawkbit.repository.exception.QuotaExceededException;
+import org.eclipse.hawkbit.repository.jpa.TargetPollQueue.TargetPoll;
 import org.eclipse.hawkbit.repository.jpa.builder.JpaActionStatusCreate;
 import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
 import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
@@ -73,9 +81,14 @@ import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.DefaultTransactionDefinition;
 import org.springframework.transaction.support.TransactionCallback;
@@ -85,7 +98,7 @@ import org.springframework.validation.annotation.Validated;
 import com.google.common.base.Joiner;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Striped;
 
 /**
  * JPA based {@link ControllerManagement} implementation.
@@ -96,7 +109,20 @@ import com.google.common.collect.Sets;
 public class JpaControllerManagement implements ControllerManagement {
     private static final Logger LOG = LoggerFactory.getLogger(ControllerManagement.class);
 
-    private final BlockingDeque<TargetPoll> queue;
+    private final TargetPollQueue queue;
+
+    /**
+     * Queued {@link ActionStatus} entries per action ID.
+     */
+    private final ConcurrentMap<Long, List<ActionStatusWrite>> actionStatusQueue;
+
+    private final AtomicInteger actionStatusQueueSize = new AtomicInteger();
+
+    /**
+     * Serializes the flush of queued {@link ActionStatus} entries with the
+     * synchronous status updates of the same action.
+     */
+    private final Striped<Lock> actionStatusLocks = Striped.lock(256);
 
     @Autowired
     private EntityManager entityManager;
@@ -143,21 +169,37 @@ public class JpaControllerManagement implements ControllerManagement {
     @Autowired
     private TenantAware tenantAware;
 
+    @Autowired
+    private TargetPollCache targetPollCache;
+
     private final RepositoryProperties repositoryProperties;
 
     JpaControllerManagement(final ScheduledExecutorService executorService,
-            final RepositoryProperties repositoryProperties) {
+            final RepositoryProperties repositoryProperties, final TargetPollQueue targetPollQueue) {
 
         if (!repositoryProperties.isEagerPollPersistence()) {
-            executorService.scheduleWithFixedDelay(this::flushUpdateQueue,
-                    repositoryProperties.getPollPersistenceFlushTime(),
-                    repositoryProperties.getPollPersistenceFlushTime(), TimeUnit.MILLISECONDS);
+            for (int shard = 0; shard < targetPollQueue.getShards(); shard++) {
+                final int flushShard = shard;
+                executorService.scheduleWithFixedDelay(() -> flushUpdateQueue(flushShard),
+                        repositoryProperties.getPollPersistenceFlushTime(),
+                        repositoryProperties.getPollPersistenceFlushTime(), TimeUnit.MILLISECONDS);
+            }
 
-            queue = new LinkedBlockingDeque<>(repositoryProperties.getPollPersistenceQueueSize());
+            queue = targetPollQueue;
         } else {
             queue = null;
         }
 
+        if (!repositoryProperties.isEagerActionStatusPersistence()) {
+            executorService.scheduleWithFixedDelay(this::flushActionStatusQueue,
+                    repositoryProperties.getActionStatusPersistenceFlushTime(),
+                    repositoryProperties.getActionStatusPersistenceFlushTime(), TimeUnit.MILLISECONDS);
+
+            actionStatusQueue = new ConcurrentHashMap<>();
+        } else {
+            actionStatusQueue = null;
+        }
+
         this.repositoryProperties = repositoryProperties;
     }
 
@@ -169,6 +211,14 @@ public class JpaControllerManagement implements ControllerManagement {
         return new TransactionTemplate(txManager, def).execute(action);
     }
 
+    private <T> T runInTransaction(final String transactionName, final TransactionCallback<T> action) {
+        final DefaultTransactionDefinition def = new DefaultTransactionDefinition();
+        def.setName(transactionName);
+        def.setReadOnly(false);
+        def.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
+        return new TransactionTemplate(txManager, def).execute(action);
+    }
+
     @Override
     public String getPollingTime() {
         return systemSecurityContext.runAsSystem(() -> tenantConfigurationManagement
@@ -222,10 +272,17 @@ public class JpaControllerManagement implements ControllerManagement {
 
     @Override
     public Optional<Action> findOldestActiveActionByTarget(final String controllerId) {
-        if (!actionRepository.activeActionExistsForControllerId(controllerId)) {
+        if (!targetPollCache.hasActiveAction(controllerId).orElse(true)) {
             return Optional.empty();
         }
 
+        try (final StampedCache.Stamp stamp = targetPollCache.stamp()) {
+            if (!actionRepository.activeActionExistsForControllerId(controllerId)) {
+                targetPollCache.putActiveAction(controllerId, false, stamp);
+                return Optional.empty();
+            }
+        }
+
         // used in favorite to findFirstByTargetAndActiveOrderByIdAsc due to
         // DATAJPA-841 issue.
         return actionRepository.findFirstByTargetControllerIdAndActive(new Sort(Direction.ASC, "id"), controllerId,
@@ -237,52 +294,76 @@ public class JpaControllerManagement implements ControllerManagement {
         return actionRepository.getById(actionId);
     }
 
+    /**
+     * Answers the poll from the {@link TargetPollCache} without touching the
+     * database if the target is cached, its address and update status are
+     * unchanged and the poll can be queued for lazy persistence. Otherwise the
+     * target is read, registered or updated within a transaction.
+     */
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.SUPPORTS)
     @Retryable(include = {
             ConcurrencyFailureException.class }, maxAttempts = Constants.TX_RT_MAX, backoff = @Backoff(delay = Constants.TX_RT_DELAY))
     public Target findOrRegisterTargetIfItDoesNotexist(final String controllerId, final URI address) {
+        final Optional<Target> cached = targetPollCache.getTarget(controllerId);
+        if (cached.isPresent() && isPollQueueable(cached.get(), address) && queue.offer(cached.get())) {
+            return cached.get();
+        }
+
+        try (final StampedCache.Stamp stamp = targetPollCache.stamp()) {
+            return runInTransaction("findOrRegisterTarget",
+                    status -> findOrRegisterTarget(controllerId, address, stamp));
+        }
+    }
+
+    private boolean isPollQueueable(final Target target, final URI address) {
+        return !repositoryProperties.isEagerPollPersistence()
+                && !TargetUpdateStatus.UNKNOWN.equals(target.getUpdateStatus()) && target.getAddress() != null
+                && target.getAddress().equals(address);
+    }
+
+    private Target findOrRegisterTarget(final String controllerId, final URI address,
+            final StampedCache.Stamp stamp) {
         final Specification<JpaTarget> spec = (targetRoot, query, cb) -> cb
                 .equal(targetRoot.get(JpaTarget_.controllerId), controllerId);
 
         final JpaTarget target = targetRepository.findOne(spec);
 
         if (target == null) {
-            final Target result = targetRepository.save((JpaTarget) entityFactory.target().create()
+            final JpaTarget result = targetRepository.save((JpaTarget) entityFactory.target().create()
                     .controllerId(controllerId).description("Plug and Play target: " + controllerId).name(controllerId)
                     .status(TargetUpdateStatus.REGISTERED).lastTargetQuery(System.currentTimeMillis())
                     .address(Optional.ofNullable(address).map(URI::toString).orElse(null)).build());
 
             afterCommit.afterCommit(
                     () -> eventPublisher.publishEvent(new TargetPollEvent(result, applicationContext.getId())));
+            afterCommit.afterCommit(() -> targetPollCache.putTarget(result.snapshot(), stamp));
 
             return result;
         }
 
-        return updateTargetStatus(target, address);
+        final JpaTarget result = updateTargetStatus(target, address);
+        afterCommit.afterCommit(() -> targetPollCache.putTarget(result.snapshot(), stamp));
+
+        return result;
     }
 
     /**
-     * Flush the update queue by means to persisting
+     * Flush a shard of the update queue by means to persisting
      * {@link Target#getLastTargetQuery()}.
      */
-    private void flushUpdateQueue() {
-        LOG.debug("Run flushUpdateQueue.");
-
-        final int size = queue.size();
-        if (size <= 0) {
-            return;
-        }
-
-        LOG.debug("{} events in flushUpdateQueue.", size);
+    private void flushUpdateQueue(final int shard) {
+        LOG.debug("Run flushUpdateQueue for shard {}.", shard);
 
-        final Set<TargetPoll> events = Sets.newHashSetWithExpectedSize(queue.size());
-        final int drained = queue.drainTo(events);
+        final List<TargetPoll> events = queue.drain(shard);
 
-        if (drained <= 0) {
+        if (events.isEmpty()) {
             return;
         }
 
+        LOG.debug("{} events in flushUpdateQueue for shard {}.", events.size(), shard);
+
+        final long start = System.nanoTime();
         try {
             events.stream().collect(Collectors.groupingBy(TargetPoll::getTenant)).forEach((tenant, polls) -> {
                 final TransactionCallback<Void> createTransaction = status -> updateLastTargetQueries(tenant, polls);
@@ -291,9 +372,11 @@ public class JpaControllerManagement implements ControllerManagement {
         } catch (final RuntimeException ex) {
             LOG.error("Failed to persist UpdateQueue content.", ex);
             return;
+        } finally {
+            queue.recordFlush(events.size(), System.nanoTime() - start);
         }
 
-        LOG.debug("{} events persisted.", drained);
+        LOG.debug("{} events persisted.", events.size());
     }
 
     private Void updateLastTargetQueries(final String tenant, final List<TargetPoll> polls) {
@@ -343,12 +426,206 @@ public class JpaControllerManagement implements ControllerManagement {
         return "#" + Joiner.on(",#").join(paramNames);
     }
 
+    /**
+     * Flush the action status queue by means of persisting the queued
+     * {@link ActionStatus} entries in one new transaction per chunk of actions
+     * and tenant so that the inserts can be batched. The actions of the chunk
+     * are locked until the transaction is committed so that a synchronous
+     * status update of one of the actions is stored after the queued entries.
+     * If the transaction fails the entries are persisted one by one and the
+     * entries that still fail are queued again, i.e. no entry is dropped.
+     */
+    private void flushActionStatusQueue() {
+        LOG.debug("Run flushActionStatusQueue.");
+
+        if (actionStatusQueue.isEmpty()) {
+            return;
+        }
+
+        Lists.partition(new ArrayList<>(actionStatusQueue.keySet()), Constants.MAX_ENTRIES_IN_STATEMENT)
+                .forEach(this::flushActionStatusChunk);
+    }
+
+    private void flushActionStatusChunk(final List<Long> actionIds) {
+        // bulkGet returns the locks in a stable order
+        final Iterable<Lock> locks = actionStatusLocks.bulkGet(actionIds);
+        locks.forEach(Lock::lock);
+        try {
+            final List<ActionStatusWrite> writes = actionIds.stream().map(this::drainQueuedActionStatus)
+                    .flatMap(List::stream).collect(Collectors.toList());
+
+            LOG.debug("{} action status entries in flushActionStatusQueue.", writes.size());
+
+            writes.stream().collect(Collectors.groupingBy(ActionStatusWrite::getTenant))
+                    .forEach(this::flushActionStatusOfTenant);
+        } finally {
+            locks.forEach(Lock::unlock);
+        }
+    }
+
+    private void flushActionStatusOfTenant(final String tenant, final List<ActionStatusWrite> writes) {
+        try {
+            persistActionStatusInNewTransaction(tenant, writes);
+        } catch (final RuntimeException ex) {
+            LOG.warn("Failed to persist {} action status entries of tenant {}, persisting them one by one.",
+                    writes.size(), tenant, ex);
+            persistActionStatusOneByOne(tenant, writes);
+            return;
+        }
+
+        LOG.debug("{} action status entries persisted.", writes.size());
+    }
+
+    private void persistActionStatusOneByOne(final String tenant, final List<ActionStatusWrite> writes) {
+        final Set<Long> failedActions = new HashSet<>();
+        writes.forEach(write -> {
+            // the remaining entries of an action are queued again after the
+            // first failure in order to keep the order of the status history
+            if (!failedActions.contains(write.getActionId())) {
+                try {
+                    persistActionStatusInNewTransaction(tenant, Collections.singletonList(write));
+                    return;
+                } catch (final RuntimeException ex) {
+                    LOG.error("Failed to persist action status entry of action {}, queued again.",
+                            write.getActionId(), ex);
+                    failedActions.add(write.getActionId());
+                }
+            }
+            requeueActionStatus(write);
+        });
+    }
+
+    private void persistActionStatusInNewTransaction(final String tenant, final List<ActionStatusWrite> writes) {
+        final TransactionCallback<Void> createTransaction = status -> persistActionStatus(writes);
+        tenantAware.runAsTenant(tenant, () -> runInNewTransaction("flushActionStatusQueue", createTransaction));
+    }
+
+    private boolean queueActionStatus(final long actionId, final JpaActionStatus actionStatus) {
+        if (actionStatusQueueSize.incrementAndGet() > repositoryProperties.getActionStatusPersistenceQueueSize()) {
+            actionStatusQueueSize.decrementAndGet();
+            return false;
+        }
+
+        final ActionStatusWrite write = new ActionStatusWrite(tenantAware.getCurrentTenant(), actionId, actionStatus);
+        actionStatusQueue.compute(actionId, (id, writes) -> {
+            final List<ActionStatusWrite> queued = writes == null ? new ArrayList<>() : writes;
+            queued.add(write);
+            return queued;
+        });
+        return true;
+    }
+
+    /**
+     * Queues an entry again that could not be persisted, regardless of the
+     * size of the queue. Has to be called with the action locked, i.e. no
+     * entries of the action have been queued since the queue was drained.
+     */
+    private void requeueActionStatus(final ActionStatusWrite write) {
+        actionStatusQueueSize.incrementAndGet();
+        actionStatusQueue.compute(write.getActionId(), (id, writes) -> {
+            final List<ActionStatusWrite> queued = writes == null ? new ArrayList<>() : writes;
+            queued.add(write);
+            return queued;
+        });
+    }
+
+    private List<ActionStatusWrite> drainQueuedActionStatus(final long actionId) {
+        final List<ActionStatusWrite> writes = actionStatusQueue.remove(actionId);
+        if (writes == null) {
+            return Collections.emptyList();
+        }
+
+        actionStatusQueueSize.addAndGet(-writes.size());
+        return writes;
+    }
+
+    private int countQueuedActionStatus(final long actionId) {
+        if (actionStatusQueue == null) {
+            return 0;
+        }
+
+        final AtomicInteger count = new AtomicInteger();
+        actionStatusQueue.computeIfPresent(actionId, (id, writes) -> {
+            count.set(writes.size());
+            return writes;
+        });
+        return count.get();
+    }
+
+    /**
+     * Runs a status update of the given action with the action locked against
+     * the flush of the action status queue. The entries are inserted before
+     * the lock is released, i.e. the order of the status history is kept.
+     */
+    private <T> T runWithActionStatusLock(final long actionId, final Supplier<T> update) {
+        if (actionStatusQueue == null) {
+            return update.get();
+        }
+
+        final Lock lock = actionStatusLocks.get(actionId);
+        lock.lock();
+        try {
+            final T result = update.get();
+            entityManager.flush();
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Persists the queued {@link ActionStatus} entries of the given action in
+     * the current transaction so that the order of the status history is kept
+     * if a subsequent status is stored synchronously. Has to be called within
+     * {@link #runWithActionStatusLock(long, Supplier)}.
+     */
+    private void persistQueuedActionStatus(final long actionId) {
+        if (actionStatusQueue == null) {
+            return;
+        }
+
+        final List<ActionStatusWrite> pending = drainQueuedActionStatus(actionId);
+        if (!pending.isEmpty()) {
+            persistActionStatus(pending);
+            // the unit of work does not guarantee the insert order
+            entityManager.flush();
+        }
+    }
+
+    private Void persistActionStatus(final List<ActionStatusWrite> writes) {
+        final Set<Long> actionIds = writes.stream().map(ActionStatusWrite::getActionId).collect(Collectors.toSet());
+        final Set<Long> existingActions = new HashSet<>(actionRepository.findExistingIds(actionIds));
+        if (existingActions.size() < actionIds.size()) {
+            LOG.warn("Action status entries of {} deleted actions are dropped.",
+                    actionIds.size() - existingActions.size());
+        }
+
+        final SecurityContext originalContext = SecurityContextHolder.getContext();
+        try {
+            writes.stream().filter(write -> existingActions.contains(write.getActionId())).forEach(write -> {
+                final JpaActionStatus actionStatus = write.newActionStatus();
+                actionStatus.setAction(entityManager.getReference(JpaAction.class, write.getActionId()));
+
+                // auditing takes place on persist, i.e. it has to run with
+                // the authentication of the original request
+                final SecurityContext context = new SecurityContextImpl();
+                context.setAuthentication(write.getAuthentication());
+                SecurityContextHolder.setContext(context);
+                entityManager.persist(actionStatus);
+            });
+        } finally {
+            SecurityContextHolder.setContext(originalContext);
+        }
+
+        return null;
+    }
+
     /**
      * Stores target directly to DB in case either {@link Target#getAddress()}
      * or {@link Target#getUpdateStatus()} changes or the buffer queue is full.
      * 
      */
-    private Target updateTargetStatus(final JpaTarget toUpdate, final URI address) {
+    private JpaTarget updateTargetStatus(final JpaTarget toUpdate, final URI address) {
         boolean storeEager = isStoreEager(toUpdate, address);
 
         if (TargetUpdateStatus.UNKNOWN.equals(toUpdate.getUpdateStatus())) {
@@ -356,7 +633,7 @@ public class JpaControllerManagement implements ControllerManagement {
             storeEager = true;
         }
 
-        if (storeEager || !queue.offer(new TargetPoll(toUpdate))) {
+        if (storeEager || !queue.offer(toUpdate)) {
             toUpdate.setAddress(address.toString());
             toUpdate.setLastTargetQuery(System.currentTimeMillis());
 
@@ -385,7 +662,10 @@ public class JpaControllerManagement implements ControllerManagement {
             ConcurrencyFailureException.class }, maxAttempts = Constants.TX_RT_MAX, backoff = @Backoff(delay = Constants.TX_RT_DELAY))
     public Action addCancelActionStatus(final ActionStatusCreate c) {
         final JpaActionStatusCreate create = (JpaActionStatusCreate) c;
+        return runWithActionStatusLock(create.getActionId(), () -> storeCancelActionStatus(create));
+    }
 
+    private Action storeCancelActionStatus(final JpaActionStatusCreate create) {
         final JpaAction action = getActionAndThrowExceptionIfNotFound(create.getActionId());
 
         if (!action.isCancelingOrCanceled()) {
@@ -411,6 +691,7 @@ public class JpaControllerManagement implements ControllerManagement {
             break;
         }
 
+        persistQueuedActionStatus(action.getId());
         actionStatus.setAction(actionRepository.save(action));
         actionStatusRepository.save(actionStatus);
 
@@ -439,6 +720,10 @@ public class JpaControllerManagement implements ControllerManagement {
             ConcurrencyFailureException.class }, maxAttempts = Constants.TX_RT_MAX, backoff = @Backoff(delay = Constants.TX_RT_DELAY))
     public Action addUpdateActionStatus(final ActionStatusCreate c) {
         final JpaActionStatusCreate create = (JpaActionStatusCreate) c;
+        return runWithActionStatusLock(create.getActionId(), () -> storeUpdateActionStatus(create));
+    }
+
+    private Action storeUpdateActionStatus(final JpaActionStatusCreate create) {
         final JpaAction action = getActionAndThrowExceptionIfNotFound(create.getActionId());
         final JpaActionStatus actionStatus = create.build();
 
@@ -480,9 +765,15 @@ public class JpaControllerManagement implements ControllerManagement {
             // information status entry - check for a potential DOS attack
             checkForTooManyStatusEntries(action);
             checkForTooManyStatusMessages(actionStatus);
+
+            if (actionStatusQueue != null && queueActionStatus(action.getId(), actionStatus)) {
+                LOG.debug("addUpdateActionStatus for action {} queued.", action.getId());
+                return action;
+            }
             break;
         }
 
+        persistQueuedActionStatus(action.getId());
         actionStatus.setAction(action);
         actionStatusRepository.save(actionStatus);
 
@@ -502,7 +793,9 @@ public class JpaControllerManagement implements ControllerManagement {
     private void checkForTooManyStatusEntries(final JpaAction action) {
         if (quotaManagement.getMaxStatusEntriesPerAction() > 0) {
 
-            final Long statusCount = actionStatusRepository.countByAction(action);
+            // queued entries are not yet persisted but count nevertheless
+            final long statusCount = actionStatusRepository.countByAction(action)
+                    + countQueuedActionStatus(action.getId());
 
             if (statusCount >= quotaManagement.getMaxStatusEntriesPerAction()) {
                 throw new QuotaExceededException(ActionStatus.class, statusCount,
@@ -596,7 +889,8 @@ public class JpaControllerManagement implements ControllerManagement {
         // retrieves after the other we don't want to store to protect to
         // overflood action status in
         // case controller retrieves a action multiple times.
-        if (resultList.isEmpty() || !Status.RETRIEVED.equals(resultList.get(0)[1])) {
+        if ((resultList.isEmpty() || !Status.RETRIEVED.equals(resultList.get(0)[1]))
+                && (action.isCancelingOrCanceled() || !isRetrievedWithinInterval(actionId))) {
             // document that the status has been retrieved
             actionStatusRepository
                     .save(new JpaActionStatus(action, Status.RETRIEVED, System.currentTimeMillis(), message));
@@ -613,12 +907,39 @@ public class JpaControllerManagement implements ControllerManagement {
         return action;
     }
 
+    /**
+     * Checks if the retrieval of the action has been documented within the
+     * configured {@link RepositoryProperties#getActionRetrievedStatusInterval()}
+     * already, e.g. by a controller that retries the download after an
+     * intermediate feedback.
+     */
+    private boolean isRetrievedWithinInterval(final Long actionId) {
+        final long interval = repositoryProperties.getActionRetrievedStatusInterval();
+        if (interval == 0) {
+            return false;
+        }
+
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        final Root<JpaActionStatus> actionStatusRoot = query.from(JpaActionStatus.class);
+        query.select(cb.max(actionStatusRoot.get(JpaActionStatus_.occurredAt))).where(
+                cb.equal(actionStatusRoot.get(JpaActionStatus_.action).get(JpaAction_.id), actionId),
+                cb.equal(actionStatusRoot.get(JpaActionStatus_.status), Status.RETRIEVED));
+        final Long lastRetrieved = entityManager.createQuery(query).getSingleResult();
+
+        return lastRetrieved != null && (interval < 0 || System.currentTimeMillis() - lastRetrieved < interval);
+    }
+
     @Override
     @Transactional
     @Retryable(include = {
             ConcurrencyFailureException.class }, maxAttempts = Constants.TX_RT_MAX, backoff = @Backoff(delay = Constants.TX_RT_DELAY))
     public ActionStatus addInformationalActionStatus(final ActionStatusCreate c) {
         final JpaActionStatusCreate create = (JpaActionStatusCreate) c;
+        return runWithActionStatusLock(create.getActionId(), () -> storeInformationalActionStatus(create));
+    }
+
+    private ActionStatus storeInformationalActionStatus(final JpaActionStatusCreate create) {
         final JpaAction action = getActionAndThrowExceptionIfNotFound(create.getActionId());
         final JpaActionStatus statusMessage = create.build();
         statusMessage.setAction(action);
@@ -626,6 +947,12 @@ public class JpaControllerManagement implements ControllerManagement {
         checkForTooManyStatusEntries(action);
         checkForTooManyStatusMessages(statusMessage);
 
+        if (actionStatusQueue != null && queueActionStatus(action.getId(), statusMessage)) {
+            LOG.debug("addInformationalActionStatus for action {} queued.", action.getId());
+            return statusMessage;
+        }
+
+        persistQueuedActionStatus(action.getId());
         return actionStatusRepository.save(statusMessage);
     }
 
@@ -691,61 +1018,45 @@ public class JpaControllerManagement implements ControllerManagement {
                         Collectors.mapping(o -> (SoftwareModuleMetadata) o[1], Collectors.toList())));
     }
 
-    private static class TargetPoll {
+    private static final class ActionStatusWrite {
 
         private final String tenant;
-        private final String controllerId;
-
-        TargetPoll(final Target target) {
-            this.tenant = target.getTenant();
-            this.controllerId = target.getControllerId();
+        private final long actionId;
+        private final Status status;
+        private final long occurredAt;
+        private final List<String> messages;
+        private final Authentication authentication;
+
+        ActionStatusWrite(final String tenant, final long actionId, final JpaActionStatus actionStatus) {
+            this.tenant = tenant;
+            this.actionId = actionId;
+            this.status = actionStatus.getStatus();
+            this.occurredAt = actionStatus.getOccurredAt();
+            this.messages = new ArrayList<>(actionStatus.getMessages());
+            this.authentication = SecurityContextHolder.getContext().getAuthentication();
         }
 
         public String getTenant() {
             return tenant;
         }
 
-        public String getControllerId() {
-            return controllerId;
+        public long getActionId() {
+            return actionId;
         }
 
-        @Override
-        public int hashCode() {
-            final int prime = 31;
-            int result = 1;
-            result = prime * result + ((controllerId == null) ? 0 : controllerId.hashCode());
-            result = prime * result + ((tenant == null) ? 0 : tenant.hashCode());
-            return result;
+        /**
+         * @return new {@link JpaActionStatus} for every attempt to persist the
+         *         entry as the entity of a rolled back attempt cannot be
+         *         persisted again
+         */
+        public JpaActionStatus newActionStatus() {
+            final JpaActionStatus actionStatus = new JpaActionStatus(status, occurredAt);
+            messages.forEach(actionStatus::addMessage);
+            return actionStatus;
         }
 
-        @Override
-        public boolean equals(final Object obj) {
-            if (this == obj) {
-                return true;
-            }
-            if (obj == null) {
-                return false;
-            }
-            if (getClass() != obj.getClass()) {
-                return false;
-            }
-            final TargetPoll other = (TargetPoll) obj;
-            if (controllerId == null) {
-                if (other.controllerId != null) {
-                    return false;
-                }
-            } else if (!controllerId.equals(other.controllerId)) {
-                return false;
-            }
-            if (tenant == null) {
-                if (other.tenant != null) {
-                    return false;
-                }
-            } else if (!tenant.equals(other.tenant)) {
-                return false;
-            }
-            return true;
+        public Authentication getAuthentication() {
+            return authentication;
         }
-
     }
 }
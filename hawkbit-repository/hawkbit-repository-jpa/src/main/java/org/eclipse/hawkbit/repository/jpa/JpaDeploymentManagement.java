@@ -16,6 +16,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -77,6 +78,7 @@ import org.springframework.retry.annotation.Retryable;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.DefaultTransactionDefinition;
 import org.springframework.transaction.support.TransactionTemplate;
@@ -84,6 +86,7 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.validation.annotation.Validated;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 
 /**
  * JPA implementation for {@link DeploymentManagement}.
@@ -290,24 +293,21 @@ public class JpaDeploymentManagement implements DeploymentManagement {
 
         assignmentStrategy.updateTargetStatus(set, targetIds, currentUser);
 
-        final Map<String, JpaAction> targetIdsToActions = targets.stream()
-                .map(t -> actionRepository.save(assignmentStrategy.createTargetAction(targetsWithActionMap, t, set)))
-                .collect(Collectors.toMap(a -> a.getTarget().getControllerId(), Function.identity()));
+        final Map<String, JpaAction> targetIdsToActions = Maps.newHashMapWithExpectedSize(targets.size());
 
-        // create initial action status when action is created so we remember
-        // the initial running status because we will change the status
-        // of the action itself and with this action status we have a nicer
-        // action history.
-        actionStatusRepository.save(targetIdsToActions.values().stream()
-                .map(action -> assignmentStrategy.createActionStatus(action, actionMessage))
-                .collect(Collectors.toList()));
+        // create and send the assignments in chunks in order to keep the
+        // persistence context small and to let the events scale with the
+        // chunk size instead of the overall number of targets
+        Lists.partition(targets, Constants.MAX_ENTRIES_IN_STATEMENT).forEach(targetChunk -> {
+            final Map<String, JpaAction> chunkActions = createActions(targetChunk, targetsWithActionMap, set,
+                    actionMessage, assignmentStrategy);
+            targetIdsToActions.putAll(chunkActions);
+
+            assignmentStrategy.sendAssignmentEvents(set, targetChunk, targetIdsCancellList, chunkActions);
+        });
 
         // detaching as it is not necessary to persist the set itself
         entityManager.detach(set);
-        // detaching as the entity has been updated by the JPQL query above
-        targets.forEach(entityManager::detach);
-
-        assignmentStrategy.sendAssignmentEvents(set, targets, targetIdsCancellList, targetIdsToActions);
 
         return new DistributionSetAssignmentResult(
                 targets.stream().map(Target::getControllerId).collect(Collectors.toList()), targets.size(),
@@ -315,6 +315,45 @@ public class JpaDeploymentManagement implements DeploymentManagement {
                 targetManagement);
     }
 
+    /**
+     * Creates the {@link Action}s and their initial {@link ActionStatus} for a
+     * chunk of targets. The chunk is flushed as a whole and detached
+     * afterwards so that the persistence context does not grow with the
+     * overall number of assigned targets. The status messages are inserted
+     * by means of JDBC batch writing while the actions are inserted one by
+     * one as their IDs are generated by the database.
+     */
+    private Map<String, JpaAction> createActions(final List<JpaTarget> targets,
+            final Map<String, TargetWithActionType> targetsWithActionMap, final JpaDistributionSet set,
+            final String actionMessage, final AbstractDsAssignmentStrategy assignmentStrategy) {
+
+        final Map<String, JpaAction> targetIdsToActions = Maps.newHashMapWithExpectedSize(targets.size());
+        final List<JpaActionStatus> actionStatus = new ArrayList<>(targets.size());
+
+        targets.forEach(target -> {
+            final JpaAction action = assignmentStrategy.createTargetAction(targetsWithActionMap, target, set);
+            entityManager.persist(action);
+            targetIdsToActions.put(target.getControllerId(), action);
+
+            // create initial action status when action is created so we
+            // remember the initial running status because we will change the
+            // status of the action itself and with this action status we have
+            // a nicer action history.
+            final JpaActionStatus status = assignmentStrategy.createActionStatus(action, actionMessage);
+            entityManager.persist(status);
+            actionStatus.add(status);
+        });
+
+        entityManager.flush();
+
+        actionStatus.forEach(entityManager::detach);
+        targetIdsToActions.values().forEach(entityManager::detach);
+        // detaching as the entity has been updated by the JPQL query above
+        targets.forEach(entityManager::detach);
+
+        return targetIdsToActions;
+    }
+
     @Override
     @Transactional(isolation = Isolation.READ_COMMITTED)
     @Retryable(include = {
@@ -582,6 +621,40 @@ public class JpaDeploymentManagement implements DeploymentManagement {
         return actionStatusRepository.findByActionId(pageReq, actionId);
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachActionByTarget(final int batchSize, final String controllerId,
+            final Consumer<List<Action>> consumer) {
+        throwExceptionIfTargetDoesNotExist(controllerId);
+
+        KeysetBatchReader.forEachAfterId(txManager, entityManager, JpaAction.class,
+                (root, query, cb) -> cb.equal(root.get(JpaAction_.target).get(JpaTarget_.controllerId), controllerId),
+                batchSize, consumer);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachActionByTarget(final int batchSize, final String rsqlParam, final String controllerId,
+            final Consumer<List<Action>> consumer) {
+        throwExceptionIfTargetDoesNotExist(controllerId);
+
+        KeysetBatchReader.forEachAfterId(txManager, entityManager, JpaAction.class,
+                createSpecificationFor(controllerId, rsqlParam), batchSize, consumer);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachActionStatusByAction(final int batchSize, final long actionId,
+            final Consumer<List<ActionStatus>> consumer) {
+        if (!actionRepository.exists(actionId)) {
+            throw new EntityNotFoundException(Action.class, actionId);
+        }
+
+        KeysetBatchReader.forEachAfterId(txManager, entityManager, JpaActionStatus.class,
+                (root, query, cb) -> cb.equal(root.get(JpaActionStatus_.action).get(JpaAction_.id), actionId),
+                batchSize, consumer);
+    }
+
     @Override
     public Page<String> findMessagesByActionStatusId(final Pageable pageable, final long actionStatusId) {
         final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
@@ -135,6 +135,11 @@ public class JpaDistributionSetManagement implements DistributionSetManagement {
         return Optional.ofNullable(distributionSetRepository.findOne(DistributionSetSpecification.byId(distid)));
     }
 
+    @Override
+    public List<DistributionSet> getWithDetails(final Collection<Long> ids) {
+        return Collections.unmodifiableList(distributionSetRepository.findWithDetailsByIdIn(ids));
+    }
+
     @Override
     public long countByTypeId(final long typeId) {
         if (!distributionSetTypeManagement.exists(typeId)) {
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.cache.DownloadArtifactCache;
+import org.eclipse.hawkbit.cache.DownloadIdCache;
+import org.eclipse.hawkbit.repository.jpa.model.JpaDownloadId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link DownloadIdCache} that stores the download-ids in the repository, i.e.
+ * a download-id that has been issued by one node of the cluster can be used for
+ * the download on every other node.
+ *
+ * The download-ids expire after the configured TTL and can be consumed only
+ * once by {@link #getAndEvict(String)}. Expired download-ids are deleted
+ * periodically with the configured sweep interval.
+ */
+public class JpaDownloadIdCache implements DownloadIdCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JpaDownloadIdCache.class);
+
+    private final DownloadIdRepository downloadIdRepository;
+    private final long ttl;
+
+    /**
+     * @param downloadIdRepository
+     *            to store the download-ids
+     * @param ttl
+     *            in {@link TimeUnit#MILLISECONDS} after which a download-id
+     *            expires
+     * @param executorService
+     *            to schedule the deletion of expired download-ids
+     * @param sweepInterval
+     *            in {@link TimeUnit#MILLISECONDS} between two deletions of
+     *            expired download-ids
+     */
+    public JpaDownloadIdCache(final DownloadIdRepository downloadIdRepository, final long ttl,
+            final ScheduledExecutorService executorService, final long sweepInterval) {
+        this.downloadIdRepository = downloadIdRepository;
+        this.ttl = ttl;
+
+        executorService.scheduleWithFixedDelay(this::sweep, sweepInterval, sweepInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void put(final String downloadId, final DownloadArtifactCache downloadArtifactCacheObject) {
+        downloadIdRepository
+                .save(new JpaDownloadId(downloadId, downloadArtifactCacheObject, System.currentTimeMillis() + ttl));
+    }
+
+    @Override
+    public DownloadArtifactCache get(final String downloadId) {
+        final JpaDownloadId entry = downloadIdRepository.findOne(downloadId);
+        if (entry == null || entry.isExpired(System.currentTimeMillis())) {
+            return null;
+        }
+        return entry.toDownloadArtifactCache();
+    }
+
+    @Override
+    public DownloadArtifactCache getAndEvict(final String downloadId) {
+        final DownloadArtifactCache artifact = get(downloadId);
+        // the download-id is valid only for the caller that deletes it
+        if (artifact == null || downloadIdRepository.deleteByDownloadId(downloadId) == 0) {
+            return null;
+        }
+        return artifact;
+    }
+
+    @Override
+    public void evict(final String downloadId) {
+        downloadIdRepository.deleteByDownloadId(downloadId);
+    }
+
+    /**
+     * Deletes the expired download-ids. The sweep runs on every node but the
+     * deletion is idempotent.
+     */
+    public void sweepExpired() {
+        final int deleted = downloadIdRepository.deleteExpired(System.currentTimeMillis());
+        LOG.debug("Deleted {} expired download-ids", deleted);
+    }
+
+    private void sweep() {
+        // an exception would cancel all further sweeps
+        try {
+            sweepExpired();
+        } catch (final RuntimeException e) {
+            LOG.error("Failed to delete expired download-ids", e);
+        }
+    }
+}
@@ -22,6 +22,7 @@ import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.ListJoin;
 import javax.persistence.criteria.Root;
 
+import org.eclipse.hawkbit.cache.StampedCache;
 import org.eclipse.hawkbit.repository.RolloutGroupFields;
 import org.eclipse.hawkbit.repository.RolloutGroupManagement;
 import org.eclipse.hawkbit.repository.RolloutStatusCache;
@@ -167,8 +168,10 @@ public class JpaRolloutGroupManagement implements RolloutGroupManagement {
                 .getRolloutGroupStatus(rolloutGroupId);
 
         if (CollectionUtils.isEmpty(rolloutStatusCountItems)) {
-            rolloutStatusCountItems = actionRepository.getStatusCountByRolloutGroupId(rolloutGroupId);
-            rolloutStatusCache.putRolloutGroupStatus(rolloutGroupId, rolloutStatusCountItems);
+            try (final StampedCache.Stamp stamp = rolloutStatusCache.stamp()) {
+                rolloutStatusCountItems = actionRepository.getStatusCountByRolloutGroupId(rolloutGroupId);
+                rolloutStatusCache.putRolloutGroupStatus(rolloutGroupId, rolloutStatusCountItems, stamp);
+            }
         }
 
         final TotalTargetCountStatus totalTargetCountStatus = new TotalTargetCountStatus(rolloutStatusCountItems,
@@ -186,14 +189,16 @@ public class JpaRolloutGroupManagement implements RolloutGroupManagement {
                 .collect(Collectors.toList());
 
         if (!rolloutGroupIds.isEmpty()) {
-            final List<TotalTargetCountActionStatus> resultList = actionRepository
-                    .getStatusCountByRolloutGroupId(rolloutGroupIds);
-            final Map<Long, List<TotalTargetCountActionStatus>> fromDb = resultList.stream()
-                    .collect(Collectors.groupingBy(TotalTargetCountActionStatus::getId));
+            try (final StampedCache.Stamp stamp = rolloutStatusCache.stamp()) {
+                final List<TotalTargetCountActionStatus> resultList = actionRepository
+                        .getStatusCountByRolloutGroupId(rolloutGroupIds);
+                final Map<Long, List<TotalTargetCountActionStatus>> fromDb = resultList.stream()
+                        .collect(Collectors.groupingBy(TotalTargetCountActionStatus::getId));
 
-            rolloutStatusCache.putRolloutGroupStatus(fromDb);
+                rolloutStatusCache.putRolloutGroupStatus(fromDb, stamp);
 
-            fromCache.putAll(fromDb);
+                fromCache.putAll(fromDb);
+            }
         }
 
         return fromCache;
@@ -8,12 +8,14 @@
  */
 package org.eclipse.hawkbit.repository.jpa;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -21,6 +23,7 @@ import javax.persistence.EntityManager;
 import javax.validation.ConstraintDeclarationException;
 import javax.validation.ValidationException;
 
+import org.eclipse.hawkbit.cache.StampedCache;
 import org.eclipse.hawkbit.repository.AbstractRolloutManagement;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
 import org.eclipse.hawkbit.repository.DistributionSetManagement;
@@ -30,6 +33,7 @@ import org.eclipse.hawkbit.repository.RolloutGroupManagement;
 import org.eclipse.hawkbit.repository.RolloutHelper;
 import org.eclipse.hawkbit.repository.RolloutManagement;
 import org.eclipse.hawkbit.repository.RolloutStatusCache;
+import org.eclipse.hawkbit.repository.TargetFields;
 import org.eclipse.hawkbit.repository.TargetManagement;
 import org.eclipse.hawkbit.repository.builder.GenericRolloutUpdate;
 import org.eclipse.hawkbit.repository.builder.RolloutCreate;
@@ -46,7 +50,8 @@ import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecuto
 import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroup;
-import org.eclipse.hawkbit.repository.jpa.model.RolloutTargetGroup;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCount;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCounter;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.RolloutGroupActionEvaluator;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.RolloutGroupConditionEvaluator;
 import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility;
@@ -145,6 +150,9 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
     @Autowired
     private RolloutStatusCache rolloutStatusCache;
 
+    @Autowired
+    private RolloutGroupStatusCounter rolloutGroupStatusCounter;
+
     @Autowired
     private ApplicationContext applicationContext;
 
@@ -385,8 +393,13 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
             do {
                 // Add up to TRANSACTION_TARGETS of the left targets
                 // In case a TransactionException is thrown this loop aborts
-                targetsLeftToAdd -= assignTargetsToGroupInNewTransaction(rollout, group, groupTargetFilter,
-                        Math.min(TRANSACTION_TARGETS, targetsLeftToAdd));
+                final long added = assignTargetsToGroupInNewTransaction(rollout, group, groupTargetFilter,
+                        targetsLeftToAdd);
+                if (added == 0) {
+                    // no matching targets left, e.g. as they have been deleted
+                    break;
+                }
+                targetsLeftToAdd -= added;
             } while (targetsLeftToAdd > 0);
 
             group.setStatus(RolloutGroupStatus.READY);
@@ -404,22 +417,18 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
             final String targetFilter, final long limit) {
 
         return runInNewTransaction("assignTargetsToRolloutGroup", status -> {
-            final PageRequest pageRequest = new PageRequest(0, Math.toIntExact(limit));
             final List<Long> readyGroups = RolloutHelper.getGroupsByStatusIncludingGroup(rollout.getRolloutGroups(),
                     RolloutGroupStatus.READY, group);
-            final Page<Target> targets = targetManagement.findByTargetFilterQueryAndNotInRolloutGroups(pageRequest,
-                    readyGroups, targetFilter);
 
-            createAssignmentOfTargetsToGroup(targets, group);
-
-            return Long.valueOf(targets.getNumberOfElements());
+            // targets that have been added in a previous transaction are
+            // not in the result anymore, i.e. always start with the first
+            // batch
+            return RolloutTargetGroupAssigner.assignTargets(entityManager,
+                    RSQLUtility.parse(targetFilter, TargetFields.class, virtualPropertyReplacer), readyGroups,
+                    group.getId(), Math.toIntExact(Math.min(TRANSACTION_TARGETS, limit)));
         });
     }
 
-    private void createAssignmentOfTargetsToGroup(final Page<Target> targets, final RolloutGroup group) {
-        targets.forEach(target -> rolloutTargetGroupRepository.save(new RolloutTargetGroup(group, target)));
-    }
-
     @Override
     @Async
     public ListenableFuture<RolloutGroupsValidation> validateTargetsInGroups(final List<RolloutGroupCreate> groups,
@@ -506,12 +515,16 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
     private long createActionsForRolloutGroup(final Rollout rollout, final RolloutGroup group) {
         long totalActionsCreated = 0;
         try {
-            long actionsCreated;
+            long lastTargetId = -1;
+            List<Target> targets;
             do {
-                actionsCreated = createActionsForTargetsInNewTransaction(rollout.getId(), group.getId(),
-                        TRANSACTION_TARGETS);
-                totalActionsCreated += actionsCreated;
-            } while (actionsCreated > 0);
+                targets = createActionsForTargetsInNewTransaction(rollout.getId(), group.getId(),
+                        TRANSACTION_TARGETS, lastTargetId);
+                if (!targets.isEmpty()) {
+                    lastTargetId = targets.get(targets.size() - 1).getId();
+                }
+                totalActionsCreated += targets.size();
+            } while (!targets.isEmpty());
 
         } catch (final TransactionException e) {
             LOGGER.warn("Transaction assigning Targets to RolloutGroup failed", e);
@@ -520,9 +533,9 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
         return totalActionsCreated;
     }
 
-    private Long createActionsForTargetsInNewTransaction(final long rolloutId, final long groupId, final int limit) {
+    private List<Target> createActionsForTargetsInNewTransaction(final long rolloutId, final long groupId,
+            final int limit, final long lastTargetId) {
         return runInNewTransaction("createActionsForTargets", status -> {
-            final PageRequest pageRequest = new PageRequest(0, limit);
             final Rollout rollout = rolloutRepository.findOne(rolloutId);
             final RolloutGroup group = rolloutGroupRepository.findOne(groupId);
 
@@ -530,12 +543,13 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
             final ActionType actionType = rollout.getActionType();
             final long forceTime = rollout.getForcedTime();
 
-            final Page<Target> targets = targetManagement.findByInRolloutGroupWithoutAction(pageRequest, groupId);
-            if (targets.getTotalElements() > 0) {
-                createScheduledAction(targets.getContent(), distributionSet, actionType, forceTime, rollout, group);
+            final List<Target> targets = targetManagement
+                    .findByInRolloutGroupWithoutActionAfterId(limit, lastTargetId, groupId).getContent();
+            if (!targets.isEmpty()) {
+                createScheduledAction(targets, distributionSet, actionType, forceTime, rollout, group);
             }
 
-            return Long.valueOf(targets.getNumberOfElements());
+            return targets;
         });
     }
 
@@ -626,15 +640,20 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
 
     private void executeRolloutGroups(final JpaRollout rollout, final List<JpaRolloutGroup> rolloutGroups) {
         for (final JpaRolloutGroup rolloutGroup : rolloutGroups) {
-
-            final long targetCount = countTargetsFrom(rolloutGroup);
-            if (rolloutGroup.getTotalTargets() != targetCount) {
-                updateTotalTargetCount(rolloutGroup, targetCount);
+            final RolloutGroupStatusCount statusCount = rolloutGroupStatusCounter.count(rolloutGroup.getId());
+
+            // every target of a running group has an action, i.e. less
+            // actions indicate deleted targets
+            if (rolloutGroup.getTotalTargets() != statusCount.countActions()) {
+                final long targetCount = countTargetsFrom(rolloutGroup);
+                if (rolloutGroup.getTotalTargets() != targetCount) {
+                    updateTotalTargetCount(rolloutGroup, targetCount);
+                }
             }
 
             // error state check, do we need to stop the whole
             // rollout because of error?
-            final boolean isError = checkErrorState(rollout, rolloutGroup);
+            final boolean isError = checkErrorState(rollout, rolloutGroup, statusCount);
             if (isError) {
                 LOGGER.info("Rollout {} {} has error, calling error action", rollout.getName(), rollout.getId());
                 callErrorAction(rollout, rolloutGroup);
@@ -642,8 +661,8 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
                 // not in error so check finished state, do we need to
                 // start the next group?
                 final RolloutGroupSuccessCondition finishedCondition = rolloutGroup.getSuccessCondition();
-                checkFinishCondition(rollout, rolloutGroup, finishedCondition);
-                if (isRolloutGroupComplete(rollout, rolloutGroup)) {
+                checkFinishCondition(rollout, rolloutGroup, finishedCondition, statusCount);
+                if (isRolloutGroupComplete(statusCount)) {
                     rolloutGroup.setStatus(RolloutGroupStatus.FINISHED);
                     rolloutGroupRepository.save(rolloutGroup);
                 }
@@ -692,14 +711,14 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
         return groupsActiveLeft == 0;
     }
 
-    private boolean isRolloutGroupComplete(final JpaRollout rollout, final JpaRolloutGroup rolloutGroup) {
-        final Long actionsLeftForRollout = actionRepository
-                .countByRolloutAndRolloutGroupAndStatusNotAndStatusNotAndStatusNot(rollout, rolloutGroup,
-                        Action.Status.ERROR, Action.Status.FINISHED, Action.Status.CANCELED);
+    private static boolean isRolloutGroupComplete(final RolloutGroupStatusCount statusCount) {
+        final long actionsLeftForRollout = statusCount.countActions()
+                - statusCount.countActions(Action.Status.ERROR, Action.Status.FINISHED, Action.Status.CANCELED);
         return actionsLeftForRollout == 0;
     }
 
-    private boolean checkErrorState(final Rollout rollout, final RolloutGroup rolloutGroup) {
+    private boolean checkErrorState(final Rollout rollout, final RolloutGroup rolloutGroup,
+            final RolloutGroupStatusCount statusCount) {
 
         final RolloutGroupErrorCondition errorCondition = rolloutGroup.getErrorCondition();
 
@@ -709,7 +728,7 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
         }
         try {
             return context.getBean(errorCondition.getBeanName(), RolloutGroupConditionEvaluator.class).eval(rollout,
-                    rolloutGroup, rolloutGroup.getErrorConditionExp());
+                    rolloutGroup, statusCount, rolloutGroup.getErrorConditionExp());
         } catch (final BeansException e) {
             LOGGER.error("Something bad happend when accessing the error condition bean {}",
                     errorCondition.getBeanName(), e);
@@ -718,12 +737,12 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
     }
 
     private boolean checkFinishCondition(final Rollout rollout, final RolloutGroup rolloutGroup,
-            final RolloutGroupSuccessCondition finishCondition) {
+            final RolloutGroupSuccessCondition finishCondition, final RolloutGroupStatusCount statusCount) {
         LOGGER.trace("Checking finish condition {} on rolloutgroup {}", finishCondition, rolloutGroup);
         try {
             final boolean isFinished = context
                     .getBean(finishCondition.getBeanName(), RolloutGroupConditionEvaluator.class)
-                    .eval(rollout, rolloutGroup, rolloutGroup.getSuccessConditionExp());
+                    .eval(rollout, rolloutGroup, statusCount, rolloutGroup.getSuccessConditionExp());
             if (isFinished) {
                 LOGGER.info("Rolloutgroup {} is finished, starting next group", rolloutGroup);
                 executeRolloutGroupSuccessAction(rollout, rolloutGroup);
@@ -753,20 +772,41 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
             return;
         }
 
+        executeFittingHandlers(() -> rollouts);
+    }
+
+    @Override
+    // No transaction, will be created per handled rollout
+    @Transactional(propagation = Propagation.NEVER)
+    public boolean handleRollouts(final Collection<Long> rolloutIds) {
+        if (rolloutIds.isEmpty()) {
+            return true;
+        }
+
+        // the rollouts might have been finished or deleted in the meantime
+        return executeFittingHandlers(
+                () -> Lists.partition(new ArrayList<>(rolloutIds), Constants.MAX_ENTRIES_IN_STATEMENT).stream()
+                        .flatMap(ids -> rolloutRepository.findByIdInAndStatusIn(ids, ACTIVE_ROLLOUTS).stream())
+                        .collect(Collectors.toList()));
+    }
+
+    private boolean executeFittingHandlers(final Supplier<List<Long>> rollouts) {
         final String tenant = tenantAware.getCurrentTenant();
 
         final String handlerId = tenant + "-rollout";
         final Lock lock = lockRegistry.obtain(handlerId);
         if (!lock.tryLock()) {
-            return;
+            return false;
         }
 
         try {
-            rollouts.forEach(rolloutId -> runInNewTransaction(handlerId + "-" + rolloutId,
+            rollouts.get().forEach(rolloutId -> runInNewTransaction(handlerId + "-" + rolloutId,
                     status -> executeFittingHandler(rolloutId)));
         } finally {
             lock.unlock();
         }
+
+        return true;
     }
 
     private long executeFittingHandler(final Long rolloutId) {
@@ -992,8 +1032,10 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
         List<TotalTargetCountActionStatus> rolloutStatusCountItems = rolloutStatusCache.getRolloutStatus(rolloutId);
 
         if (CollectionUtils.isEmpty(rolloutStatusCountItems)) {
-            rolloutStatusCountItems = actionRepository.getStatusCountByRolloutId(rolloutId);
-            rolloutStatusCache.putRolloutStatus(rolloutId, rolloutStatusCountItems);
+            try (final StampedCache.Stamp stamp = rolloutStatusCache.stamp()) {
+                rolloutStatusCountItems = actionRepository.getStatusCountByRolloutId(rolloutId);
+                rolloutStatusCache.putRolloutStatus(rolloutId, rolloutStatusCountItems, stamp);
+            }
         }
 
         final TotalTargetCountStatus totalTargetCountStatus = new TotalTargetCountStatus(rolloutStatusCountItems,
@@ -1013,14 +1055,16 @@ public class JpaRolloutManagement extends AbstractRolloutManagement {
                 .collect(Collectors.toList());
 
         if (!rolloutIds.isEmpty()) {
-            final List<TotalTargetCountActionStatus> resultList = actionRepository
-                    .getStatusCountByRolloutId(rolloutIds);
-            final Map<Long, List<TotalTargetCountActionStatus>> fromDb = resultList.stream()
-                    .collect(Collectors.groupingBy(TotalTargetCountActionStatus::getId));
+            try (final StampedCache.Stamp stamp = rolloutStatusCache.stamp()) {
+                final List<TotalTargetCountActionStatus> resultList = actionRepository
+                        .getStatusCountByRolloutId(rolloutIds);
+                final Map<Long, List<TotalTargetCountActionStatus>> fromDb = resultList.stream()
+                        .collect(Collectors.groupingBy(TotalTargetCountActionStatus::getId));
 
-            rolloutStatusCache.putRolloutStatus(fromDb);
+                rolloutStatusCache.putRolloutStatus(fromDb, stamp);
 
-            fromCache.putAll(fromDb);
+                fromCache.putAll(fromDb);
+            }
         }
 
         return fromCache;
@@ -508,6 +508,13 @@ public class JpaSoftwareModuleManagement implements SoftwareModuleManagement {
         final JpaSoftwareModule result = entityManager.merge((JpaSoftwareModule) latestModule);
         result.setLastModifiedAt(0L);
 
+        // the target visible metadata is part of the deployment of the
+        // distribution sets the module is assigned to
+        final List<Long> setIds = distributionSetRepository.findIdsByModulesId(result.getId());
+        if (!setIds.isEmpty()) {
+            distributionSetRepository.incrementOptLockRevision(setIds);
+        }
+
         return result;
     }
 
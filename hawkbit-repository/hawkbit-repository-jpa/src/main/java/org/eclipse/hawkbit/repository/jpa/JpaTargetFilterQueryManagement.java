@@ -21,8 +21,10 @@ import org.eclipse.hawkbit.repository.builder.GenericTargetFilterQueryUpdate;
 import org.eclipse.hawkbit.repository.builder.TargetFilterQueryCreate;
 import org.eclipse.hawkbit.repository.builder.TargetFilterQueryUpdate;
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
+import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignFilterChangedEvent;
 import org.eclipse.hawkbit.repository.jpa.builder.JpaTargetFilterQueryCreate;
 import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
 import org.eclipse.hawkbit.repository.jpa.model.JpaDistributionSet;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTargetFilterQuery;
 import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility;
@@ -32,6 +34,7 @@ import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
 import org.eclipse.hawkbit.repository.rsql.VirtualPropertyReplacer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -61,6 +64,12 @@ public class JpaTargetFilterQueryManagement implements TargetFilterQueryManageme
 
     private final DistributionSetManagement distributionSetManagement;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private AfterTransactionCommitExecutor afterCommit;
+
     @Autowired
     JpaTargetFilterQueryManagement(final TargetFilterQueryRepository targetFilterQueryRepository,
             final VirtualPropertyReplacer virtualPropertyReplacer,
@@ -77,7 +86,7 @@ public class JpaTargetFilterQueryManagement implements TargetFilterQueryManageme
     public TargetFilterQuery create(final TargetFilterQueryCreate c) {
         final JpaTargetFilterQueryCreate create = (JpaTargetFilterQueryCreate) c;
 
-        return targetFilterQueryRepository.save(create.build());
+        return publishAutoAssignFilterChangedEventAfterCommit(targetFilterQueryRepository.save(create.build()));
     }
 
     @Override
@@ -187,7 +196,13 @@ public class JpaTargetFilterQueryManagement implements TargetFilterQueryManageme
         update.getName().ifPresent(targetFilterQuery::setName);
         update.getQuery().ifPresent(targetFilterQuery::setQuery);
 
-        return targetFilterQueryRepository.save(targetFilterQuery);
+        final TargetFilterQuery result = targetFilterQueryRepository.save(targetFilterQuery);
+
+        if (update.getQuery().isPresent()) {
+            publishAutoAssignFilterChangedEventAfterCommit(result);
+        }
+
+        return result;
     }
 
     @Override
@@ -198,7 +213,17 @@ public class JpaTargetFilterQueryManagement implements TargetFilterQueryManageme
         targetFilterQuery.setAutoAssignDistributionSet(
                 Optional.ofNullable(dsId).map(this::findDistributionSetAndThrowExceptionIfNotFound).orElse(null));
 
-        return targetFilterQueryRepository.save(targetFilterQuery);
+        return publishAutoAssignFilterChangedEventAfterCommit(targetFilterQueryRepository.save(targetFilterQuery));
+    }
+
+    private TargetFilterQuery publishAutoAssignFilterChangedEventAfterCommit(
+            final TargetFilterQuery targetFilterQuery) {
+        if (targetFilterQuery.getAutoAssignDistributionSet() != null) {
+            afterCommit.afterCommit(
+                    () -> eventPublisher.publishEvent(new AutoAssignFilterChangedEvent(targetFilterQuery)));
+        }
+
+        return targetFilterQuery;
     }
 
     private JpaDistributionSet findDistributionSetAndThrowExceptionIfNotFound(final Long setId) {
@@ -16,12 +16,15 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import javax.persistence.EntityManager;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
 
@@ -36,7 +39,9 @@ import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
 import org.eclipse.hawkbit.repository.jpa.builder.JpaTargetCreate;
 import org.eclipse.hawkbit.repository.jpa.builder.JpaTargetUpdate;
 import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.jpa.event.TargetFieldsChangedEvent;
 import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
+import org.eclipse.hawkbit.repository.jpa.model.JpaDistributionSet;
 import org.eclipse.hawkbit.repository.jpa.model.JpaDistributionSet_;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTargetTag;
@@ -51,6 +56,7 @@ import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
 import org.eclipse.hawkbit.repository.model.TargetTag;
 import org.eclipse.hawkbit.repository.model.TargetTagAssignmentResult;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
+import org.eclipse.hawkbit.repository.model.TargetWithDistributionSets;
 import org.eclipse.hawkbit.repository.rsql.VirtualPropertyReplacer;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -59,12 +65,16 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
@@ -114,6 +124,9 @@ public class JpaTargetManagement implements TargetManagement {
     @Autowired
     private VirtualPropertyReplacer virtualPropertyReplacer;
 
+    @Autowired
+    private PlatformTransactionManager txManager;
+
     @Override
     public Optional<Target> getByControllerID(final String controllerId) {
         return targetRepository.findByControllerId(controllerId);
@@ -349,6 +362,7 @@ public class JpaTargetManagement implements TargetManagement {
         // all are already assigned -> unassign
         if (alreadyAssignedTargets.size() == allTargets.size()) {
             alreadyAssignedTargets.forEach(target -> target.removeTag(tag));
+            publishTagsChanged(alreadyAssignedTargets);
             return new TargetTagAssignmentResult(0, 0, alreadyAssignedTargets.size(), Collections.emptyList(),
                     Collections.unmodifiableList(alreadyAssignedTargets), tag);
         }
@@ -356,6 +370,7 @@ public class JpaTargetManagement implements TargetManagement {
         allTargets.removeAll(alreadyAssignedTargets);
         // some or none are assigned -> assign
         allTargets.forEach(target -> target.addTag(tag));
+        publishTagsChanged(allTargets);
         final TargetTagAssignmentResult result = new TargetTagAssignmentResult(alreadyAssignedTargets.size(),
                 allTargets.size(), 0,
                 Collections
@@ -385,6 +400,7 @@ public class JpaTargetManagement implements TargetManagement {
                 .orElseThrow(() -> new EntityNotFoundException(TargetTag.class, tagId));
 
         allTargets.forEach(target -> target.addTag(tag));
+        publishTagsChanged(allTargets);
 
         final List<Target> result = Collections
                 .unmodifiableList(allTargets.stream().map(targetRepository::save).collect(Collectors.toList()));
@@ -406,6 +422,7 @@ public class JpaTargetManagement implements TargetManagement {
                 .orElseThrow(() -> new EntityNotFoundException(TargetTag.class, targetTagId));
 
         target.removeTag(tag);
+        publishTagsChanged(Collections.singletonList(target));
 
         final Target result = targetRepository.save(target);
 
@@ -414,6 +431,19 @@ public class JpaTargetManagement implements TargetManagement {
         return result;
     }
 
+    /**
+     * Publishes the changed tags of the targets after commit, as changing the
+     * tags only changes the join table and does not fire an update of the
+     * targets.
+     */
+    private void publishTagsChanged(final Collection<? extends Target> targets) {
+        final List<TargetFieldsChangedEvent> events = targets.stream()
+                .map(target -> new TargetFieldsChangedEvent(target,
+                        Collections.singletonList(TargetFieldsChangedEvent.TAGS)))
+                .collect(Collectors.toList());
+        afterCommit.afterCommit(() -> events.forEach(eventPublisher::publishEvent));
+    }
+
     @Override
     public Slice<Target> findByFilterOrderByLinkedDistributionSet(final Pageable pageable,
             final long orderByDistributionId, final FilterParams filterParams) {
@@ -459,6 +489,47 @@ public class JpaTargetManagement implements TargetManagement {
         return new SliceImpl<>(Collections.unmodifiableList(resultList), pageable, hasNext);
     }
 
+    @Override
+    public Slice<TargetWithDistributionSets> findWithDistributionSetsByFilterOrderByLinkedDistributionSet(
+            final Pageable pageable, final long orderByDistributionId, final FilterParams filterParams) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        final Root<JpaTarget> targetRoot = query.from(JpaTarget.class);
+        final Join<JpaTarget, JpaDistributionSet> assigned = targetRoot.join(JpaTarget_.assignedDistributionSet,
+                JoinType.LEFT);
+        final Join<JpaTarget, JpaDistributionSet> installed = targetRoot.join(JpaTarget_.installedDistributionSet,
+                JoinType.LEFT);
+
+        // same order as findByFilterOrderByLinkedDistributionSet, the ID, name
+        // and version of the distribution sets are selected with the target
+        // instead of being loaded target by target afterwards
+        final Expression<Integer> selectCase = cb.<Integer> selectCase()
+                .when(cb.equal(installed.get(JpaDistributionSet_.id), orderByDistributionId), 1)
+                .when(cb.equal(assigned.get(JpaDistributionSet_.id), orderByDistributionId), 2).otherwise(100);
+        query.multiselect(targetRoot, assigned.get(JpaDistributionSet_.id), assigned.get(JpaDistributionSet_.name),
+                assigned.get(JpaDistributionSet_.version), installed.get(JpaDistributionSet_.id),
+                installed.get(JpaDistributionSet_.name), installed.get(JpaDistributionSet_.version), selectCase);
+        query.distinct(true);
+
+        final Predicate[] predicates = specificationsToPredicate(buildSpecificationList(filterParams), targetRoot,
+                query, cb);
+        if (predicates.length > 0) {
+            query.where(predicates);
+        }
+        query.orderBy(cb.asc(selectCase), cb.desc(targetRoot.get(JpaTarget_.id)));
+
+        final int pageSize = pageable.getPageSize();
+        final List<Object[]> resultList = entityManager.createQuery(query).setFirstResult(pageable.getOffset())
+                .setMaxResults(pageSize + 1).getResultList();
+        final boolean hasNext = resultList.size() > pageSize;
+
+        final List<TargetWithDistributionSets> content = resultList.stream().limit(pageSize)
+                .map(row -> new TargetWithDistributionSets((Target) row[0], (Long) row[1], (String) row[2],
+                        (String) row[3], (Long) row[4], (String) row[5], (String) row[6]))
+                .collect(Collectors.toList());
+        return new SliceImpl<>(Collections.unmodifiableList(content), pageable, hasNext);
+    }
+
     private static Predicate[] specificationsToPredicate(final List<Specification<JpaTarget>> specifications,
             final Root<JpaTarget> root, final CriteriaQuery<?> query, final CriteriaBuilder cb) {
         final Predicate[] predicates = new Predicate[specifications.size()];
@@ -498,6 +569,21 @@ public class JpaTargetManagement implements TargetManagement {
 
     }
 
+    @Override
+    public Page<Target> findByControllerIdsAndTargetFilterQueryAndNonDS(final Pageable pageRequest,
+            final Collection<String> controllerIds, final long distributionSetId, final String targetFilterQuery) {
+        throwEntityNotFoundIfDsDoesNotExist(distributionSetId);
+
+        final Specification<JpaTarget> spec = RSQLUtility.parse(targetFilterQuery, TargetFields.class,
+                virtualPropertyReplacer);
+
+        return findTargetsBySpec((root, cq, cb) -> cb.and(
+                TargetSpecifications.hasControllerIdIn(controllerIds).toPredicate(root, cq, cb),
+                spec.toPredicate(root, cq, cb),
+                TargetSpecifications.hasNotDistributionSetInActions(distributionSetId).toPredicate(root, cq, cb)),
+                pageRequest);
+    }
+
     @Override
     public Page<Target> findByTargetFilterQueryAndNotInRolloutGroups(final Pageable pageRequest,
             final Collection<Long> groups, final String targetFilterQuery) {
@@ -521,6 +607,70 @@ public class JpaTargetManagement implements TargetManagement {
                 pageRequest);
     }
 
+    @Override
+    public Slice<Target> findByTargetFilterQueryAndNonDSAfterId(final int limit, final long lastTargetId,
+            final long distributionSetId, final String targetFilterQuery) {
+        throwEntityNotFoundIfDsDoesNotExist(distributionSetId);
+
+        return findTargetsAfterId(Arrays.asList(
+                RSQLUtility.parse(targetFilterQuery, TargetFields.class, virtualPropertyReplacer),
+                TargetSpecifications.hasNotDistributionSetInActions(distributionSetId)), limit, lastTargetId);
+    }
+
+    @Override
+    public Slice<Target> findByTargetFilterQueryAndNotInRolloutGroupsAfterId(final int limit,
+            final long lastTargetId, final Collection<Long> groups, final String targetFilterQuery) {
+
+        return findTargetsAfterId(
+                Arrays.asList(RSQLUtility.parse(targetFilterQuery, TargetFields.class, virtualPropertyReplacer),
+                        TargetSpecifications.isNotInRolloutGroups(groups)),
+                limit, lastTargetId);
+    }
+
+    @Override
+    public Slice<Target> findByInRolloutGroupWithoutActionAfterId(final int limit, final long lastTargetId,
+            final long group) {
+        if (!rolloutGroupRepository.exists(group)) {
+            throw new EntityNotFoundException(RolloutGroup.class, group);
+        }
+
+        return findTargetsAfterId(Collections.singletonList(TargetSpecifications.hasNoActionInRolloutGroup(group)),
+                limit, lastTargetId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEach(final int batchSize, final Consumer<List<Target>> consumer) {
+        KeysetBatchReader.forEachAfterId(txManager, entityManager, JpaTarget.class,
+                (root, query, cb) -> cb.conjunction(), batchSize, consumer);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachByRsql(final int batchSize, final String targetFilterQuery,
+            final Consumer<List<Target>> consumer) {
+        KeysetBatchReader.forEachAfterId(txManager, entityManager, JpaTarget.class,
+                RSQLUtility.parse(targetFilterQuery, TargetFields.class, virtualPropertyReplacer), batchSize,
+                consumer);
+    }
+
+    /**
+     * Keyset pagination: selects up to the given limit of targets ordered by
+     * ID that are greater than the given ID. Neither an offset nor a count
+     * query is needed, i.e. the costs are independent of the position of the
+     * batch.
+     */
+    private Slice<Target> findTargetsAfterId(final List<Specification<JpaTarget>> specList, final int limit,
+            final long lastTargetId) {
+        final Pageable pageable = new PageRequest(0, limit, Direction.ASC, "id");
+        final List<Specification<JpaTarget>> specs = new ArrayList<>(specList);
+        specs.add(TargetSpecifications.hasIdGreaterThan(lastTargetId));
+
+        return convertPage(
+                criteriaNoCountDao.findAll(SpecificationsBuilder.combineWithAnd(specs), pageable, JpaTarget.class),
+                pageable);
+    }
+
     @Override
     public long countByRsqlAndNotInRolloutGroups(final Collection<Long> groups, final String targetFilterQuery) {
         final Specification<JpaTarget> spec = RSQLUtility.parse(targetFilterQuery, TargetFields.class,
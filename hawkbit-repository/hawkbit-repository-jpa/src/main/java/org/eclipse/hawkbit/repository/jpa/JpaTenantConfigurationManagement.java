@@ -11,10 +11,13 @@ package org.eclipse.hawkbit.repository.jpa;
 import java.io.Serializable;
 
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
+import org.eclipse.hawkbit.repository.event.remote.TenantConfigurationChangedEvent;
 import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTenantConfiguration;
 import org.eclipse.hawkbit.repository.model.TenantConfiguration;
 import org.eclipse.hawkbit.repository.model.TenantConfigurationValue;
+import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
 import org.eclipse.hawkbit.tenancy.configuration.validator.TenantConfigurationValidatorException;
@@ -37,6 +40,11 @@ import org.springframework.validation.annotation.Validated;
 @Validated
 public class JpaTenantConfigurationManagement implements TenantConfigurationManagement {
 
+    /**
+     * Name of the cache of the configuration values.
+     */
+    public static final String CACHE_NAME = "tenantConfiguration";
+
     @Autowired
     private TenantConfigurationRepository tenantConfigurationRepository;
 
@@ -46,10 +54,16 @@ public class JpaTenantConfigurationManagement implements TenantConfigurationMana
     @Autowired
     private ApplicationContext applicationContext;
 
+    @Autowired
+    private TenantAware tenantAware;
+
+    @Autowired
+    private AfterTransactionCommitExecutor afterCommit;
+
     private static final ConfigurableConversionService conversionService = new DefaultConversionService();
 
     @Override
-    @Cacheable(value = "tenantConfiguration", key = "#configurationKeyName")
+    @Cacheable(value = CACHE_NAME, key = "#configurationKeyName")
     public <T extends Serializable> TenantConfigurationValue<T> getConfigurationValue(final String configurationKeyName,
             final Class<T> propertyType) {
 
@@ -124,7 +138,7 @@ public class JpaTenantConfigurationManagement implements TenantConfigurationMana
     }
 
     @Override
-    @CacheEvict(value = "tenantConfiguration", key = "#configurationKeyName")
+    @CacheEvict(value = CACHE_NAME, key = "#configurationKeyName")
     @Transactional
     @Retryable(include = {
             ConcurrencyFailureException.class }, maxAttempts = Constants.TX_RT_MAX, backoff = @Backoff(delay = Constants.TX_RT_DELAY))
@@ -153,6 +167,8 @@ public class JpaTenantConfigurationManagement implements TenantConfigurationMana
         final JpaTenantConfiguration updatedTenantConfiguration = tenantConfigurationRepository
                 .save(tenantConfiguration);
 
+        sendTenantConfigurationChangedEvent(configurationKeyName);
+
         @SuppressWarnings("unchecked")
         final Class<T> clazzT = (Class<T>) value.getClass();
 
@@ -164,11 +180,25 @@ public class JpaTenantConfigurationManagement implements TenantConfigurationMana
     }
 
     @Override
-    @CacheEvict(value = "tenantConfiguration", key = "#configurationKeyName")
+    @CacheEvict(value = CACHE_NAME, key = "#configurationKeyName")
     @Transactional
     @Retryable(include = {
             ConcurrencyFailureException.class }, maxAttempts = Constants.TX_RT_MAX, backoff = @Backoff(delay = Constants.TX_RT_DELAY))
     public void deleteConfiguration(final String configurationKeyName) {
         tenantConfigurationRepository.deleteByKey(configurationKeyName);
+
+        sendTenantConfigurationChangedEvent(configurationKeyName);
+    }
+
+    /**
+     * The local cache entry is evicted with the method call, the event
+     * evicts the entries of all nodes, including this one, once the change is
+     * committed. So a value that has been read concurrently before the commit
+     * does not stay in the cache.
+     */
+    private void sendTenantConfigurationChangedEvent(final String configurationKeyName) {
+        final String tenant = tenantAware.getCurrentTenant();
+        afterCommit.afterCommit(() -> applicationContext.publishEvent(
+                new TenantConfigurationChangedEvent(tenant, configurationKeyName, applicationContext.getId())));
     }
 }
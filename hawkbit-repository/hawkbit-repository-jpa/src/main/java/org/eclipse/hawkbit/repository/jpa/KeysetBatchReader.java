@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.persistence.EntityManager;
+
+import org.eclipse.hawkbit.repository.jpa.NoCountPagingRepository.SimpleJpaNoCountRepository;
+import org.eclipse.hawkbit.repository.jpa.model.AbstractJpaBaseEntity;
+import org.eclipse.hawkbit.repository.jpa.model.AbstractJpaBaseEntity_;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keyset pagination over the entities that match a {@link Specification}. The
+ * entities are read in batches ordered by ID, each starting after the last ID
+ * of the previous batch, i.e. neither an offset nor a count query is needed.
+ *
+ * Every batch is read in its own read-only transaction and detached before
+ * the transaction is committed. The batch is processed afterwards, i.e.
+ * neither a transaction nor a database connection is held while a batch is
+ * written, e.g. while a long export is streamed to a slow client.
+ */
+final class KeysetBatchReader {
+
+    private KeysetBatchReader() {
+        // utility class
+    }
+
+    /**
+     * Runs the consumer for the entities matching the specification in
+     * batches ordered by ID. The entities of type T implement R, i.e. the
+     * batches can be handed over as lists of R. The consumer is called outside
+     * of the transaction with the detached entities of the batch.
+     *
+     * @param txManager
+     *            to read every batch in a new transaction
+     * @param entityManager
+     *            to read and detach the entities
+     * @param domainClass
+     *            of the entities
+     * @param spec
+     *            the entities have to match
+     * @param batchSize
+     *            maximum number of entities per batch
+     * @param consumer
+     *            to process the batches
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends AbstractJpaBaseEntity, R> void forEachAfterId(final PlatformTransactionManager txManager,
+            final EntityManager entityManager, final Class<T> domainClass, final Specification<T> spec,
+            final int batchSize, final Consumer<List<R>> consumer) {
+        final SimpleJpaNoCountRepository<T, Long> noCountDao = new SimpleJpaNoCountRepository<>(domainClass,
+                entityManager);
+        final Pageable pageable = new PageRequest(0, batchSize, Direction.ASC, "id");
+
+        final DefaultTransactionDefinition def = new DefaultTransactionDefinition();
+        def.setName("forEachAfterId-" + domainClass.getSimpleName());
+        def.setReadOnly(true);
+        def.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(txManager, def);
+
+        long lastId = -1;
+        int size;
+        do {
+            final long afterId = lastId;
+            final List<T> batch = transactionTemplate.execute(status -> {
+                final List<T> entities = noCountDao
+                        .findAll((root, query, cb) -> cb.and(spec.toPredicate(root, query, cb),
+                                cb.greaterThan(root.get(AbstractJpaBaseEntity_.id), afterId)), pageable)
+                        .getContent();
+                entities.forEach(entityManager::detach);
+                return entities;
+            });
+
+            size = batch.size();
+            if (size > 0) {
+                consumer.accept((List<R>) Collections.unmodifiableList(batch));
+                lastId = batch.get(size - 1).getId();
+            }
+        } while (size == batchSize);
+    }
+}
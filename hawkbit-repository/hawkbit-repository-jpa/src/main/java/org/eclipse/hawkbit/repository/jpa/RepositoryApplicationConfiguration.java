@@ -15,6 +15,7 @@ import javax.persistence.EntityManager;
 import javax.sql.DataSource;
 
 import org.eclipse.hawkbit.artifact.repository.ArtifactRepository;
+import org.eclipse.hawkbit.cache.TenancyCacheManager;
 import org.eclipse.hawkbit.repository.ArtifactManagement;
 import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
@@ -33,6 +34,7 @@ import org.eclipse.hawkbit.repository.SoftwareModuleTypeManagement;
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.TargetFilterQueryManagement;
 import org.eclipse.hawkbit.repository.TargetManagement;
+import org.eclipse.hawkbit.repository.TargetPollCache;
 import org.eclipse.hawkbit.repository.TargetTagManagement;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
 import org.eclipse.hawkbit.repository.TenantStatsManagement;
@@ -48,6 +50,7 @@ import org.eclipse.hawkbit.repository.event.remote.EventEntityManagerHolder;
 import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
 import org.eclipse.hawkbit.repository.jpa.aspects.ExceptionMappingAspectHandler;
 import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignChecker;
+import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignEventListener;
 import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignScheduler;
 import org.eclipse.hawkbit.repository.jpa.builder.JpaDistributionSetBuilder;
 import org.eclipse.hawkbit.repository.jpa.builder.JpaDistributionSetTypeBuilder;
@@ -63,6 +66,8 @@ import org.eclipse.hawkbit.repository.jpa.model.helper.EntityInterceptorHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.SecurityTokenGeneratorHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.SystemSecurityContextHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.TenantAwareHolder;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutEventListener;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCounter;
 import org.eclipse.hawkbit.repository.jpa.rollout.RolloutScheduler;
 import org.eclipse.hawkbit.repository.jpa.rsql.RsqlParserValidationOracle;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
@@ -81,6 +86,7 @@ import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.eclipse.persistence.config.PersistenceUnitProperties;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.orm.jpa.JpaBaseConfiguration;
@@ -147,8 +153,39 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    RolloutStatusCache rolloutStatusCache(final TenantAware tenantAware) {
-        return new RolloutStatusCache(tenantAware);
+    RolloutStatusCache rolloutStatusCache(final TenantAware tenantAware,
+            final RepositoryProperties repositoryProperties) {
+        return new RolloutStatusCache(tenantAware, repositoryProperties.getRolloutStatusCacheSize(),
+                repositoryProperties.getRolloutStatusCacheExpiry());
+    }
+
+    /**
+     * @param actionRepository
+     *            to aggregate the action status of a rollout group
+     * @param rolloutStatusCache
+     *            to cache the aggregated status
+     * @return the {@link RolloutGroupStatusCounter} that provides the action
+     *         status counts of running rollout groups
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    RolloutGroupStatusCounter rolloutGroupStatusCounter(final ActionRepository actionRepository,
+            final RolloutStatusCache rolloutStatusCache) {
+        return new RolloutGroupStatusCounter(actionRepository, rolloutStatusCache);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    TargetPollCache targetPollCache(final TenantAware tenantAware, final RepositoryProperties repositoryProperties) {
+        return new TargetPollCache(tenantAware, repositoryProperties.getTargetPollCacheSize(),
+                repositoryProperties.getTargetPollCacheExpiry());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    TargetPollQueue targetPollQueue(final RepositoryProperties repositoryProperties) {
+        return new TargetPollQueue(repositoryProperties.getPollPersistenceQueueSize(),
+                repositoryProperties.getPollPersistenceFlushParallelism());
     }
 
     @Bean
@@ -416,6 +453,22 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
         return new JpaTenantConfigurationManagement();
     }
 
+    /**
+     * {@link TenantConfigurationEventListener} bean.
+     *
+     * @param cacheManager
+     *            holding the cached configuration values
+     * @param tenantAware
+     *            to access the cache of the tenant of an event
+     * @return a new {@link TenantConfigurationEventListener}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    TenantConfigurationEventListener tenantConfigurationEventListener(final TenancyCacheManager cacheManager,
+            final TenantAware tenantAware) {
+        return new TenantConfigurationEventListener(cacheManager, tenantAware);
+    }
+
     /**
      * {@link JpaTenantConfigurationManagement} bean.
      *
@@ -556,17 +609,18 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
     @Bean
     @ConditionalOnMissingBean
     ControllerManagement controllerManagement(final ScheduledExecutorService executorService,
-            final RepositoryProperties repositoryProperties) {
-        return new JpaControllerManagement(executorService, repositoryProperties);
+            final RepositoryProperties repositoryProperties, final TargetPollQueue targetPollQueue) {
+        return new JpaControllerManagement(executorService, repositoryProperties, targetPollQueue);
     }
 
     @Bean
     @ConditionalOnMissingBean
     ArtifactManagement artifactManagement(final LocalArtifactRepository localArtifactRepository,
-            final SoftwareModuleRepository softwareModuleRepository, final ArtifactRepository artifactRepository,
+            final SoftwareModuleRepository softwareModuleRepository,
+            final DistributionSetRepository distributionSetRepository, final ArtifactRepository artifactRepository,
             final TenantAware tenantAware) {
-        return new JpaArtifactManagement(localArtifactRepository, softwareModuleRepository, artifactRepository,
-                tenantAware);
+        return new JpaArtifactManagement(localArtifactRepository, softwareModuleRepository,
+                distributionSetRepository, artifactRepository, tenantAware);
     }
 
     /**
@@ -644,9 +698,11 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
      *            to run a check as tenant
      * @param lockRegistry
      *            to lock the tenant for auto assignment
+     * @param repositoryProperties
+     *            for the number of tenants checked in parallel
      * @return a new {@link AutoAssignChecker}
      */
-    @Bean
+    @Bean(destroyMethod = "shutdown")
     @ConditionalOnMissingBean
     // don't active the auto assign scheduler in test, otherwise it is hard to
     // test
@@ -654,8 +710,37 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
     @ConditionalOnProperty(prefix = "hawkbit.autoassign.scheduler", name = "enabled", matchIfMissing = true)
     AutoAssignScheduler autoAssignScheduler(final TenantAware tenantAware, final SystemManagement systemManagement,
             final SystemSecurityContext systemSecurityContext, final AutoAssignChecker autoAssignChecker,
-            final LockRegistry lockRegistry) {
-        return new AutoAssignScheduler(systemManagement, systemSecurityContext, autoAssignChecker, lockRegistry);
+            final LockRegistry lockRegistry, final RepositoryProperties repositoryProperties) {
+        return new AutoAssignScheduler(systemManagement, systemSecurityContext, autoAssignChecker, lockRegistry,
+                repositoryProperties.getSchedulerTenantParallelism());
+    }
+
+    /**
+     * {@link AutoAssignEventListener} bean.
+     *
+     * @param autoAssignChecker
+     *            to check the affected targets
+     * @param systemSecurityContext
+     *            to run as system
+     * @param lockRegistry
+     *            to lock the tenant for auto assignment
+     * @param executorService
+     *            to schedule the checks
+     * @param repositoryProperties
+     *            for the delay between two checks
+     * @param applicationContext
+     *            for the id of this node
+     * @return a new {@link AutoAssignEventListener}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "hawkbit.server.repository", name = "eventDrivenAutoAssign")
+    AutoAssignEventListener autoAssignEventListener(final AutoAssignChecker autoAssignChecker,
+            final SystemSecurityContext systemSecurityContext, final LockRegistry lockRegistry,
+            final ScheduledExecutorService executorService, final RepositoryProperties repositoryProperties,
+            final ApplicationContext applicationContext) {
+        return new AutoAssignEventListener(autoAssignChecker, systemSecurityContext, lockRegistry, executorService,
+                repositoryProperties.getEventDrivenAutoAssignDelay(), applicationContext.getId());
     }
 
     /**
@@ -670,14 +755,60 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
      *            to run the rollout handler
      * @param systemSecurityContext
      *            to run as system
+     * @param lockRegistry
+     *            to lock the tenant for rollout handling
+     * @param repositoryProperties
+     *            for the number of tenants handled in parallel
      * @return a new {@link RolloutScheduler} bean.
      */
-    @Bean
+    @Bean(destroyMethod = "shutdown")
     @ConditionalOnMissingBean
     @Profile("!test")
     @ConditionalOnProperty(prefix = "hawkbit.rollout.scheduler", name = "enabled", matchIfMissing = true)
     RolloutScheduler rolloutScheduler(final TenantAware tenantAware, final SystemManagement systemManagement,
-            final RolloutManagement rolloutManagement, final SystemSecurityContext systemSecurityContext) {
-        return new RolloutScheduler(systemManagement, rolloutManagement, systemSecurityContext);
+            final RolloutManagement rolloutManagement, final SystemSecurityContext systemSecurityContext,
+            final LockRegistry lockRegistry, final RepositoryProperties repositoryProperties) {
+        return new RolloutScheduler(systemManagement, rolloutManagement, systemSecurityContext, lockRegistry,
+                repositoryProperties.getSchedulerTenantParallelism());
+    }
+
+    /**
+     * {@link RolloutEventListener} bean.
+     *
+     * @param rolloutManagement
+     *            to process the changed rollouts
+     * @param systemSecurityContext
+     *            to run as system
+     * @param executorService
+     *            to schedule the processing
+     * @param repositoryProperties
+     *            for the delay between two runs
+     * @param applicationContext
+     *            for the id of this node
+     * @return a new {@link RolloutEventListener}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "hawkbit.server.repository", name = "eventDrivenRollouts")
+    RolloutEventListener rolloutEventListener(final RolloutManagement rolloutManagement,
+            final SystemSecurityContext systemSecurityContext, final ScheduledExecutorService executorService,
+            final RepositoryProperties repositoryProperties, final ApplicationContext applicationContext) {
+        return new RolloutEventListener(rolloutManagement, systemSecurityContext, executorService,
+                repositoryProperties.getEventDrivenRolloutsDelay(), applicationContext.getId());
+    }
+
+    /**
+     * Publishes the {@link TargetPollQueue} statistics as actuator metrics in
+     * case the actuator is on the classpath.
+     */
+    @Configuration
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.PublicMetrics")
+    static class TargetPollQueueMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        TargetPollQueueMetrics targetPollQueueMetrics(final TargetPollQueue targetPollQueue) {
+            return new TargetPollQueueMetrics(targetPollQueue);
+        }
     }
 }
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget_;
+import org.eclipse.hawkbit.repository.jpa.specifications.TargetSpecifications;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Assigns targets to a {@link RolloutGroup} without loading the target
+ * entities into the JVM.
+ *
+ * The assignment takes two steps. First a criteria query on the target filter
+ * {@link Specification} selects the ids of the targets. The filter, the
+ * exclusion of the targets of other groups and the limit are evaluated by the
+ * database, and RSQL, virtual properties and the tenant restriction stay in
+ * one place. Then the ids are assigned by a native
+ * <code>INSERT INTO sp_rollouttargetgroup ... SELECT</code> statement per
+ * {@link Constants#MAX_ENTRIES_IN_STATEMENT} ids instead of persisting one
+ * entity per target, i.e. a group is not filled by a single statement.
+ *
+ * The ids are not inserted by one statement that embeds the filter as
+ * neither JPQL nor the criteria API support an <code>INSERT</code> and the
+ * SQL of the compiled predicate is only accessible through internals of the
+ * JPA provider.
+ */
+final class RolloutTargetGroupAssigner {
+
+    private RolloutTargetGroupAssigner() {
+    }
+
+    /**
+     * Assigns up to the given number of targets that match the filter and are
+     * not in one of the given groups to the given group, in the order of their
+     * ids. Runs one query for the ids and one insert per
+     * {@link Constants#MAX_ENTRIES_IN_STATEMENT} ids.
+     *
+     * @param entityManager
+     *            of the current transaction
+     * @param targetFilter
+     *            the targets have to match
+     * @param excludedGroups
+     *            the targets must not be in, including the given group
+     * @param groupId
+     *            of the {@link RolloutGroup} to assign the targets to
+     * @param limit
+     *            maximum number of targets to assign
+     * @return number of assigned targets
+     */
+    static long assignTargets(final EntityManager entityManager, final Specification<JpaTarget> targetFilter,
+            final Collection<Long> excludedGroups, final long groupId, final int limit) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        final Root<JpaTarget> targetRoot = query.from(JpaTarget.class);
+        query.select(targetRoot.get(JpaTarget_.id)).distinct(true)
+                .where(targetFilter.toPredicate(targetRoot, query, cb),
+                        TargetSpecifications.isNotInRolloutGroups(excludedGroups).toPredicate(targetRoot, query, cb))
+                .orderBy(cb.asc(targetRoot.get(JpaTarget_.id)));
+
+        final List<Long> targetIds = entityManager.createQuery(query).setMaxResults(limit).getResultList();
+
+        return Lists.partition(targetIds, Constants.MAX_ENTRIES_IN_STATEMENT).stream()
+                .mapToLong(chunk -> insertAssignments(entityManager, groupId, chunk)).sum();
+    }
+
+    private static int insertAssignments(final EntityManager entityManager, final long groupId,
+            final List<Long> targetIds) {
+        // the group id is not bound as some databases cannot derive the type
+        // of a parameter in the select list
+        final Query insert = entityManager.createNativeQuery("INSERT INTO sp_rollouttargetgroup "
+                + "(rolloutGroup_Id, target_id) SELECT " + groupId + ", t.id FROM sp_target t WHERE t.id IN ("
+                + IntStream.range(0, targetIds.size()).mapToObj(i -> "#tid" + i).collect(Collectors.joining(","))
+                + ")");
+
+        for (int i = 0; i < targetIds.size(); i++) {
+            insert.setParameter("tid" + i, targetIds.get(i));
+        }
+
+        return insert.executeUpdate();
+    }
+}
@@ -0,0 +1,237 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.hawkbit.repository.model.Target;
+
+/**
+ * Bounded queue of target polls that are persisted lazily. The queue is
+ * striped into shards of concurrent sets so that concurrent offers do not
+ * contend on a single lock, a poll of a target that is already queued is
+ * deduplicated and every shard can be drained independently.
+ *
+ * The queue keeps statistics about its depth, dropped and deduplicated polls
+ * and the flush latency.
+ *
+ */
+class TargetPollQueue {
+
+    private final List<Set<TargetPoll>> shards;
+    private final int capacity;
+    private final AtomicInteger depth = new AtomicInteger();
+
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder deduplicated = new LongAdder();
+    private final LongAdder flushed = new LongAdder();
+    private final AtomicLong lastFlushLatency = new AtomicLong();
+    private final AtomicLong maxFlushLatency = new AtomicLong();
+
+    /**
+     * @param capacity
+     *            maximum number of polls in the queue over all shards
+     * @param shards
+     *            number of shards
+     */
+    TargetPollQueue(final int capacity, final int shards) {
+        this.capacity = capacity;
+        this.shards = new ArrayList<>(Math.max(1, shards));
+        for (int i = 0; i < Math.max(1, shards); i++) {
+            this.shards.add(ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /**
+     * Queues a poll of the given target.
+     *
+     * @param target
+     *            that polled
+     * @return <code>true</code> if the poll is queued or a poll of the same
+     *         target is already queued, <code>false</code> if the queue is
+     *         full
+     */
+    boolean offer(final Target target) {
+        final TargetPoll poll = new TargetPoll(target.getTenant(), target.getControllerId());
+        final Set<TargetPoll> shard = shards.get(shardOf(poll));
+
+        if (shard.contains(poll)) {
+            deduplicated.increment();
+            return true;
+        }
+
+        if (depth.incrementAndGet() > capacity) {
+            depth.decrementAndGet();
+            dropped.increment();
+            return false;
+        }
+
+        if (!shard.add(poll)) {
+            depth.decrementAndGet();
+            deduplicated.increment();
+        }
+
+        return true;
+    }
+
+    /**
+     * Removes all polls of a shard.
+     *
+     * @param shard
+     *            index of the shard
+     * @return the removed polls
+     */
+    List<TargetPoll> drain(final int shard) {
+        final List<TargetPoll> result = new ArrayList<>();
+        final Iterator<TargetPoll> iterator = shards.get(shard).iterator();
+
+        while (iterator.hasNext()) {
+            result.add(iterator.next());
+            iterator.remove();
+            depth.decrementAndGet();
+        }
+
+        return result;
+    }
+
+    /**
+     * Records a finished flush of a shard.
+     *
+     * @param polls
+     *            number of flushed polls
+     * @param latencyNanos
+     *            duration of the flush in {@link TimeUnit#NANOSECONDS}
+     */
+    void recordFlush(final int polls, final long latencyNanos) {
+        final long latency = TimeUnit.NANOSECONDS.toMillis(latencyNanos);
+        flushed.add(polls);
+        lastFlushLatency.set(latency);
+        maxFlushLatency.accumulateAndGet(latency, Math::max);
+    }
+
+    int getShards() {
+        return shards.size();
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return number of queued polls
+     */
+    int getDepth() {
+        return depth.get();
+    }
+
+    /**
+     * @return number of polls that have not been queued as the queue was full
+     */
+    long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return number of polls that have been merged into an already queued
+     *         poll of the same target
+     */
+    long getDeduplicated() {
+        return deduplicated.sum();
+    }
+
+    /**
+     * @return number of polls that have been flushed
+     */
+    long getFlushed() {
+        return flushed.sum();
+    }
+
+    /**
+     * @return duration of the last flush in {@link TimeUnit#MILLISECONDS}
+     */
+    long getLastFlushLatency() {
+        return lastFlushLatency.get();
+    }
+
+    /**
+     * @return maximum duration of a flush in {@link TimeUnit#MILLISECONDS}
+     */
+    long getMaxFlushLatency() {
+        return maxFlushLatency.get();
+    }
+
+    private int shardOf(final TargetPoll poll) {
+        return Math.floorMod(poll.hashCode(), shards.size());
+    }
+
+    static final class TargetPoll {
+
+        private final String tenant;
+        private final String controllerId;
+
+        TargetPoll(final String tenant, final String controllerId) {
+            this.tenant = tenant;
+            this.controllerId = controllerId;
+        }
+
+        public String getTenant() {
+            return tenant;
+        }
+
+        public String getControllerId() {
+            return controllerId;
+        }
+
+        @Override
+        public int hashCode() {
+            final int prime = 31;
+            int result = 1;
+            result = prime * result + ((controllerId == null) ? 0 : controllerId.hashCode());
+            result = prime * result + ((tenant == null) ? 0 : tenant.hashCode());
+            return result;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null) {
+                return false;
+            }
+            if (getClass() != obj.getClass()) {
+                return false;
+            }
+            final TargetPoll other = (TargetPoll) obj;
+            if (controllerId == null) {
+                if (other.controllerId != null) {
+                    return false;
+                }
+            } else if (!controllerId.equals(other.controllerId)) {
+                return false;
+            }
+            if (tenant == null) {
+                if (other.tenant != null) {
+                    return false;
+                }
+            } else if (!tenant.equals(other.tenant)) {
+                return false;
+            }
+            return true;
+        }
+    }
+}
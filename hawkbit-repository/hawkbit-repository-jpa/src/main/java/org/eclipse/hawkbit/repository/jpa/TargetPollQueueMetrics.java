@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+
+/**
+ * {@link PublicMetrics} of the {@link TargetPollQueue} that is used for the
+ * lazy poll persistence.
+ *
+ */
+class TargetPollQueueMetrics implements PublicMetrics {
+    private static final String PREFIX = "hawkbit.repository.pollqueue.";
+
+    private final TargetPollQueue queue;
+
+    TargetPollQueueMetrics(final TargetPollQueue queue) {
+        this.queue = queue;
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        return Arrays.asList(new Metric<>(PREFIX + "capacity", queue.getCapacity()),
+                new Metric<>(PREFIX + "depth", queue.getDepth()),
+                new Metric<>(PREFIX + "dropped", queue.getDropped()),
+                new Metric<>(PREFIX + "deduplicated", queue.getDeduplicated()),
+                new Metric<>(PREFIX + "flushed", queue.getFlushed()),
+                new Metric<>(PREFIX + "flush.latency.last", queue.getLastFlushLatency()),
+                new Metric<>(PREFIX + "flush.latency.max", queue.getMaxFlushLatency()));
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import org.eclipse.hawkbit.cache.TenancyCacheManager;
+import org.eclipse.hawkbit.repository.event.remote.TenantConfigurationChangedEvent;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.springframework.cache.Cache;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Evicts the cached value of a tenant configuration as soon as it has been
+ * changed on any node of the cluster. As the event is distributed over the
+ * event bus the cached configuration values stay coherent within the cluster
+ * independent of the TTL of the cache.
+ */
+public class TenantConfigurationEventListener {
+
+    private final TenancyCacheManager cacheManager;
+    private final TenantAware tenantAware;
+
+    /**
+     * Constructor.
+     *
+     * @param cacheManager
+     *            holding the cached configuration values
+     * @param tenantAware
+     *            to access the cache of the tenant of the event
+     */
+    public TenantConfigurationEventListener(final TenancyCacheManager cacheManager, final TenantAware tenantAware) {
+        this.cacheManager = cacheManager;
+        this.tenantAware = tenantAware;
+    }
+
+    @EventListener(classes = TenantConfigurationChangedEvent.class)
+    void invalidateCachedConfigurationValue(final TenantConfigurationChangedEvent event) {
+        final Cache cache = tenantAware.runAsTenant(event.getTenant(),
+                () -> cacheManager.getCache(JpaTenantConfigurationManagement.CACHE_NAME));
+        if (cache != null) {
+            cache.evict(event.getConfigurationKeyName());
+        }
+    }
+}
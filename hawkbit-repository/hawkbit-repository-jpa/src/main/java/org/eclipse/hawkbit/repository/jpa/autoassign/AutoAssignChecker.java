@@ -8,7 +8,9 @@
  */
 package org.eclipse.hawkbit.repository.jpa.autoassign;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import javax.persistence.PersistenceException;
@@ -27,6 +29,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Isolation;
@@ -41,6 +44,10 @@ import org.springframework.transaction.support.TransactionTemplate;
  * queries are listed. For every target filter query (TFQ) the auto assign DS is
  * retrieved. All targets get listed per target filter query, that match the TFQ
  * and that don't have the auto assign DS in their action history.
+ *
+ * Besides the full check the checker is able to evaluate only given targets,
+ * e.g. newly created or updated ones, or only a single target filter query,
+ * e.g. a query whose auto assign DS has changed.
  */
 public class AutoAssignChecker {
 
@@ -113,6 +120,48 @@ public class AutoAssignChecker {
 
     }
 
+    /**
+     * Checks the given target filter query and triggers the assignment of its
+     * auto assign distribution set to the matching targets that don't have
+     * the DS yet.
+     *
+     * @param targetFilterQueryId
+     *            of the target filter query to check
+     */
+    public void checkFilterQuery(final long targetFilterQueryId) {
+        LOGGER.debug("Auto assigned check call for target filter query {}", targetFilterQueryId);
+
+        targetFilterQueryManagement.get(targetFilterQueryId)
+                .filter(query -> query.getAutoAssignDistributionSet() != null)
+                .ifPresent(this::checkByTargetFilterQueryAndAssignDS);
+    }
+
+    /**
+     * Checks the given targets against all target filter queries with an auto
+     * assign distribution set and triggers the assignment to the targets that
+     * match and don't have the DS yet. Targets that are not contained in the
+     * given collection are not evaluated.
+     *
+     * @param controllerIds
+     *            of the targets to check
+     */
+    public void checkTargets(final Collection<String> controllerIds) {
+        if (controllerIds.isEmpty()) {
+            return;
+        }
+
+        LOGGER.debug("Auto assigned check call for {} targets", controllerIds.size());
+
+        final Page<TargetFilterQuery> filterQueries = targetFilterQueryManagement
+                .findWithAutoAssignDS(new PageRequest(0, PAGE_SIZE));
+
+        for (final TargetFilterQuery filterQuery : filterQueries) {
+            checkAndAssignDS(filterQuery, (lastTargetId, dsId) -> targetManagement
+                    .findByControllerIdsAndTargetFilterQueryAndNonDS(new PageRequest(0, PAGE_SIZE), controllerIds,
+                            dsId, filterQuery.getQuery()));
+        }
+    }
+
     /**
      * Fetches the distribution set, gets all controllerIds and assigns the DS
      * to them. Catches PersistenceException and own exceptions derived from
@@ -122,15 +171,26 @@ public class AutoAssignChecker {
      *            the target filter query
      */
     private void checkByTargetFilterQueryAndAssignDS(final TargetFilterQuery targetFilterQuery) {
+        checkAndAssignDS(targetFilterQuery, (lastTargetId, dsId) -> targetManagement
+                .findByTargetFilterQueryAndNonDSAfterId(PAGE_SIZE, lastTargetId, dsId, targetFilterQuery.getQuery()));
+    }
+
+    private void checkAndAssignDS(final TargetFilterQuery targetFilterQuery, final TargetFinder targetFinder) {
         try {
             final DistributionSet distributionSet = targetFilterQuery.getAutoAssignDistributionSet();
 
-            int count;
+            long lastTargetId = -1;
+            List<Target> targets;
             do {
 
-                count = runTransactionalAssignment(targetFilterQuery, distributionSet.getId());
+                final long afterTargetId = lastTargetId;
+                targets = runTransactionalAssignment(targetFilterQuery, distributionSet.getId(),
+                        () -> targetFinder.find(afterTargetId, distributionSet.getId()));
+                if (!targets.isEmpty()) {
+                    lastTargetId = targets.get(targets.size() - 1).getId();
+                }
 
-            } while (count == PAGE_SIZE);
+            } while (targets.size() == PAGE_SIZE);
 
         } catch (PersistenceException | AbstractServerRtException e) {
             LOGGER.error("Error during auto assign check of target filter query " + targetFilterQuery.getId(), e);
@@ -139,47 +199,48 @@ public class AutoAssignChecker {
     }
 
     /**
-     * Runs one page of target assignments within a dedicated transaction
+     * Runs one batch of target assignments within a dedicated transaction
      *
      * @param targetFilterQuery
      *            the target filter query
      * @param dsId
      *            distribution set id to assign
-     * @return count of targets
+     * @param targetFinder
+     *            to find the next batch of targets that need the assignment
+     * @return the targets of the batch
      */
-    private int runTransactionalAssignment(final TargetFilterQuery targetFilterQuery, final Long dsId) {
+    private List<Target> runTransactionalAssignment(final TargetFilterQuery targetFilterQuery, final Long dsId,
+            final Supplier<Slice<Target>> targetFinder) {
         final String actionMessage = String.format(ACTION_MESSAGE, targetFilterQuery.getName());
         return transactionTemplate.execute(status -> {
-            final List<TargetWithActionType> targets = getTargetsWithActionType(targetFilterQuery.getQuery(), dsId,
-                    PAGE_SIZE);
-            final int count = targets.size();
-            if (count > 0) {
-                deploymentManagement.assignDistributionSet(dsId, targets, actionMessage);
+            final List<Target> targets = targetFinder.get().getContent();
+            if (!targets.isEmpty()) {
+                deploymentManagement.assignDistributionSet(dsId, getTargetsWithActionType(targets), actionMessage);
             }
-            return count;
+            return targets;
         });
     }
 
     /**
-     * Gets all matching targets with the designated action from the target
-     * management
+     * Maps the targets to targets with the designated action.
      *
-     * @param targetFilterQuery
-     *            the query the targets have to match
-     * @param dsId
-     *            dsId the targets are not allowed to have in their action
-     *            history
-     * @param count
-     *            maximum amount of targets to retrieve
+     * @param targets
+     *            that match the query and that don't have the DS in their
+     *            action history
      * @return list of targets with action type
      */
-    private List<TargetWithActionType> getTargetsWithActionType(final String targetFilterQuery, final Long dsId,
-            final int count) {
-        final Page<Target> targets = targetManagement
-                .findByTargetFilterQueryAndNonDS(new PageRequest(0, count), dsId, targetFilterQuery);
-
-        return targets.getContent().stream().map(t -> new TargetWithActionType(t.getControllerId(),
+    private static List<TargetWithActionType> getTargetsWithActionType(final List<Target> targets) {
+        return targets.stream().map(t -> new TargetWithActionType(t.getControllerId(),
                 Action.ActionType.FORCED, RepositoryModelConstants.NO_FORCE_TIME)).collect(Collectors.toList());
     }
 
+    /**
+     * Finds the next batch of targets that match a target filter query and
+     * don't have its auto assign DS in their action history.
+     */
+    @FunctionalInterface
+    private interface TargetFinder {
+        Slice<Target> find(long lastTargetId, long dsId);
+    }
+
 }
@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.autoassign;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.jpa.event.TargetFieldsChangedEvent;
+import org.eclipse.hawkbit.repository.jpa.executor.TenantBatchExecutor;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.integration.support.locks.LockRegistry;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Event driven auto assignment that checks created targets, targets with
+ * changed fields that target filter queries match on and changed target filter
+ * queries right away instead of waiting for the next full check of the
+ * {@link AutoAssignScheduler}, which becomes a reconciliation of changes that
+ * are not covered by events.
+ *
+ * Updates of the assigned or installed distribution set and of the update
+ * status are caused by deployments, e.g. by the auto assignment itself, and do
+ * not trigger a check, neither do changes of the address or the last poll
+ * time. Assigned or unassigned tags are reported by the target management as
+ * they do not update the target itself. The affected targets are collected per
+ * tenant and checked in batches by
+ * a {@link TenantBatchExecutor}. Created targets are only considered if they
+ * have been created by this node.
+ */
+public class AutoAssignEventListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AutoAssignEventListener.class);
+
+    /**
+     * Fields of a {@link Target} that can change the result of a target filter
+     * query and are neither changed by deployments nor by every poll of the
+     * controller, like the address.
+     */
+    static final Set<String> FILTER_FIELDS = Collections
+            .unmodifiableSet(new HashSet<>(
+                    Arrays.asList("name", "description", "controllerAttributes", TargetFieldsChangedEvent.TAGS)));
+
+    private final SystemSecurityContext systemSecurityContext;
+    private final LockRegistry lockRegistry;
+    private final String applicationId;
+
+    private final TenantBatchExecutor<String> targetChecks;
+    private final TenantBatchExecutor<Long> filterQueryChecks;
+
+    /**
+     * Constructor.
+     *
+     * @param autoAssignChecker
+     *            to check the affected targets
+     * @param systemSecurityContext
+     *            to run as system
+     * @param lockRegistry
+     *            to lock the tenant for auto assignment
+     * @param executorService
+     *            to schedule the checks
+     * @param delay
+     *            in {@link TimeUnit#MILLISECONDS} between two checks
+     * @param applicationId
+     *            of this node to filter out the events of other nodes
+     */
+    public AutoAssignEventListener(final AutoAssignChecker autoAssignChecker,
+            final SystemSecurityContext systemSecurityContext, final LockRegistry lockRegistry,
+            final ScheduledExecutorService executorService, final long delay, final String applicationId) {
+        this.systemSecurityContext = systemSecurityContext;
+        this.lockRegistry = lockRegistry;
+        this.applicationId = applicationId;
+
+        this.targetChecks = new TenantBatchExecutor<>("Auto assign check of targets", executorService, delay,
+                (tenant, controllerIds) -> checkLocked(tenant, () -> Lists
+                        .partition(controllerIds, Constants.MAX_ENTRIES_IN_STATEMENT)
+                        .forEach(autoAssignChecker::checkTargets)));
+        this.filterQueryChecks = new TenantBatchExecutor<>("Auto assign check of target filter queries",
+                executorService, delay, (tenant, filterQueryIds) -> checkLocked(tenant,
+                        () -> filterQueryIds.forEach(autoAssignChecker::checkFilterQuery)));
+    }
+
+    @EventListener(classes = TargetCreatedEvent.class)
+    void onTargetCreated(final TargetCreatedEvent event) {
+        final Target target = event.getEntity();
+        if (target != null && applicationId.equals(event.getOriginService())) {
+            targetChecks.add(event.getTenant(), target.getControllerId());
+        }
+    }
+
+    @EventListener(classes = TargetFieldsChangedEvent.class)
+    void onTargetFieldsChanged(final TargetFieldsChangedEvent event) {
+        if (event.getChangedFields().stream().anyMatch(FILTER_FIELDS::contains)) {
+            targetChecks.add(event.getTenant(), event.getControllerId());
+        }
+    }
+
+    @EventListener(classes = AutoAssignFilterChangedEvent.class)
+    void onFilterChanged(final AutoAssignFilterChangedEvent event) {
+        filterQueryChecks.add(event.getTenant(), event.getTargetFilterQueryId());
+    }
+
+    /**
+     * Checks the collected target filter queries and targets of all tenants. A
+     * tenant that is locked, e.g. by a running full check, is checked with the
+     * next run.
+     */
+    void checkPending() {
+        filterQueryChecks.run();
+        targetChecks.run();
+    }
+
+    private boolean checkLocked(final String tenant, final Runnable check) {
+        final Lock lock = lockRegistry.obtain(tenant + "-" + AutoAssignScheduler.TASK_NAME);
+        if (!lock.tryLock()) {
+            LOGGER.debug("Auto assignment for tenant {} is locked, postpone the check.", tenant);
+            return false;
+        }
+
+        try {
+            systemSecurityContext.runAsSystemAsTenant(() -> {
+                check.run();
+                return null;
+            }, tenant);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.autoassign;
+
+import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Local event that is published after a {@link TargetFilterQuery} with an
+ * auto assign distribution set has been created or changed, i.e. its targets
+ * have to be checked for the auto assignment. The event is not distributed in
+ * the cluster as the check is done by the node that changed the query.
+ */
+public class AutoAssignFilterChangedEvent extends ApplicationEvent {
+    private static final long serialVersionUID = 1L;
+
+    private final String tenant;
+    private final long targetFilterQueryId;
+
+    /**
+     * Constructor.
+     *
+     * @param targetFilterQuery
+     *            that has been changed
+     */
+    public AutoAssignFilterChangedEvent(final TargetFilterQuery targetFilterQuery) {
+        super(targetFilterQuery.getId());
+        this.tenant = targetFilterQuery.getTenant();
+        this.targetFilterQueryId = targetFilterQuery.getId();
+    }
+
+    public String getTenant() {
+        return tenant;
+    }
+
+    public long getTargetFilterQueryId() {
+        return targetFilterQueryId;
+    }
+}
@@ -8,9 +8,8 @@
  */
 package org.eclipse.hawkbit.repository.jpa.autoassign;
 
-import java.util.concurrent.locks.Lock;
-
 import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.repository.jpa.executor.ParallelTenantExecutor;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,20 +17,25 @@ import org.springframework.integration.support.locks.LockRegistry;
 import org.springframework.scheduling.annotation.Scheduled;
 
 /**
- * Scheduler to check target filters for auto assignment of distribution sets
+ * Scheduler to check target filters for auto assignment of distribution sets.
+ * The tenants are checked in parallel by a {@link ParallelTenantExecutor}.
  */
 public class AutoAssignScheduler {
     private static final Logger LOGGER = LoggerFactory.getLogger(AutoAssignScheduler.class);
 
-    private static final String PROP_SCHEDULER_DELAY_PLACEHOLDER = "${hawkbit.autoassign.scheduler.fixedDelay:2000}";
+    /**
+     * Name of the task, also used for the lock per tenant that is shared with
+     * the {@link AutoAssignEventListener}.
+     */
+    static final String TASK_NAME = "autoassign";
 
-    private final SystemManagement systemManagement;
+    private static final String PROP_SCHEDULER_DELAY_PLACEHOLDER = "${hawkbit.autoassign.scheduler.fixedDelay:2000}";
 
     private final SystemSecurityContext systemSecurityContext;
 
     private final AutoAssignChecker autoAssignChecker;
 
-    private final LockRegistry lockRegistry;
+    private final ParallelTenantExecutor tenantExecutor;
 
     /**
      * Instantiates a new AutoAssignScheduler
@@ -44,14 +48,16 @@ public class AutoAssignScheduler {
      *            to run a check as tenant
      * @param lockRegistry
      *            to acquire a lock per tenant
+     * @param threads
+     *            number of tenants that are checked in parallel
      */
     public AutoAssignScheduler(final SystemManagement systemManagement,
             final SystemSecurityContext systemSecurityContext, final AutoAssignChecker autoAssignChecker,
-            final LockRegistry lockRegistry) {
-        this.systemManagement = systemManagement;
+            final LockRegistry lockRegistry, final int threads) {
         this.systemSecurityContext = systemSecurityContext;
         this.autoAssignChecker = autoAssignChecker;
-        this.lockRegistry = lockRegistry;
+        this.tenantExecutor = new ParallelTenantExecutor(TASK_NAME, systemManagement, systemSecurityContext,
+                lockRegistry, threads);
     }
 
     /**
@@ -69,23 +75,14 @@ public class AutoAssignScheduler {
     }
 
     private Object executeAutoAssign() {
-        // workaround eclipselink that is currently not possible to
-        // execute a query without multitenancy if MultiTenant
-        // annotation is used.
-        // https://bugs.eclipse.org/bugs/show_bug.cgi?id=355458. So
-        // iterate through all tenants and execute the rollout check for
-        // each tenant separately.
-        final Lock lock = lockRegistry.obtain("autoassign");
-        if (!lock.tryLock()) {
-            return null;
-        }
-
-        try {
-            systemManagement.forEachTenant(tenant -> autoAssignChecker.check());
-        } finally {
-            lock.unlock();
-        }
-
+        tenantExecutor.forEachTenant(autoAssignChecker::check);
         return null;
     }
+
+    /**
+     * Shuts the tenant worker pool down.
+     */
+    public void shutdown() {
+        tenantExecutor.shutdown();
+    }
 }
@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.event;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.hawkbit.repository.model.Target;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Local event that is published after a {@link Target} has been updated and
+ * that contains the names of the changed fields. The event is not distributed
+ * in the cluster.
+ */
+public class TargetFieldsChangedEvent extends ApplicationEvent {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Name of the changed field if tags have been assigned to or unassigned
+     * from the target, which only changes the join table, i.e. no update of
+     * the target itself is fired.
+     */
+    public static final String TAGS = "tags";
+
+    private final String tenant;
+    private final String controllerId;
+    private final Set<String> changedFields;
+
+    /**
+     * Constructor.
+     *
+     * @param target
+     *            that has been updated
+     * @param changedFields
+     *            names of the changed fields
+     */
+    public TargetFieldsChangedEvent(final Target target, final Collection<String> changedFields) {
+        super(target.getId());
+        this.tenant = target.getTenant();
+        this.controllerId = target.getControllerId();
+        this.changedFields = Collections.unmodifiableSet(new HashSet<>(changedFields));
+    }
+
+    public String getTenant() {
+        return tenant;
+    }
+
+    public String getControllerId() {
+        return controllerId;
+    }
+
+    public Set<String> getChangedFields() {
+        return changedFields;
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.executor;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Lock;
+
+import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.integration.support.locks.LockRegistry;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Executes a scheduled task for all tenants in parallel on a pool of worker
+ * threads.
+ *
+ * Fairness between the tenants is ensured by running at most one task per
+ * tenant at a time, i.e. a tenant whose task of a previous run is still queued
+ * or running is skipped instead of blocking the other tenants. In addition
+ * the task of a tenant runs under a lock per tenant of the {@link LockRegistry}
+ * so that the nodes of a cluster split the tenants between them.
+ */
+public class ParallelTenantExecutor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelTenantExecutor.class);
+
+    private final String name;
+    private final SystemManagement systemManagement;
+    private final SystemSecurityContext systemSecurityContext;
+    private final LockRegistry lockRegistry;
+    private final ExecutorService workers;
+    private final Set<String> scheduledTenants = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor.
+     *
+     * @param name
+     *            of the task, used for the per tenant lock and the worker
+     *            thread names
+     * @param systemManagement
+     *            to find all tenants
+     * @param systemSecurityContext
+     *            to run as system
+     * @param lockRegistry
+     *            to acquire a lock per tenant
+     * @param threads
+     *            number of tenants that are processed in parallel
+     */
+    public ParallelTenantExecutor(final String name, final SystemManagement systemManagement,
+            final SystemSecurityContext systemSecurityContext, final LockRegistry lockRegistry, final int threads) {
+        this.name = name;
+        this.systemManagement = systemManagement;
+        this.systemSecurityContext = systemSecurityContext;
+        this.lockRegistry = lockRegistry;
+        this.workers = Executors.newFixedThreadPool(Math.max(1, threads),
+                new ThreadFactoryBuilder().setNameFormat(name + "-executor-pool-%d").build());
+    }
+
+    /**
+     * Submits the given task for every tenant that has no task queued or
+     * running. Returns without waiting for the tasks to finish.
+     *
+     * Note: has to be called as system code.
+     *
+     * @param task
+     *            to run as system code for each tenant
+     */
+    public void forEachTenant(final Runnable task) {
+        // workaround eclipselink that is currently not possible to
+        // execute a query without multitenancy if MultiTenant
+        // annotation is used.
+        // https://bugs.eclipse.org/bugs/show_bug.cgi?id=355458. So
+        // iterate through all tenants and execute the task for
+        // each tenant separately.
+        systemManagement.forEachTenant(tenant -> {
+            if (!scheduledTenants.add(tenant)) {
+                LOGGER.debug("{} for tenant {} still in progress, skipped.", name, tenant);
+                return;
+            }
+
+            try {
+                workers.execute(() -> runForTenant(tenant, task));
+            } catch (final RejectedExecutionException e) {
+                scheduledTenants.remove(tenant);
+                throw e;
+            }
+        });
+    }
+
+    private void runForTenant(final String tenant, final Runnable task) {
+        try {
+            final Lock lock = lockRegistry.obtain(tenant + "-" + name);
+            if (!lock.tryLock()) {
+                LOGGER.debug("{} for tenant {} is locked by another node, skipped.", name, tenant);
+                return;
+            }
+
+            try {
+                systemSecurityContext.runAsSystemAsTenant(() -> {
+                    task.run();
+                    return null;
+                }, tenant);
+            } catch (final RuntimeException ex) {
+                LOGGER.error("Exception on {} execution for tenant {}. Continue with next tenant.", name, tenant, ex);
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            scheduledTenants.remove(tenant);
+        }
+    }
+
+    /**
+     * Shuts the worker pool down. Tasks that are already submitted are
+     * executed.
+     */
+    public void shutdown() {
+        workers.shutdown();
+    }
+}
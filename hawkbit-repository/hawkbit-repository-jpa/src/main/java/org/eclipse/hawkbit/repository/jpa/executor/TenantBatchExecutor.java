@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.executor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects changes per tenant and hands them over to a handler in batches with
+ * a fixed delay, e.g. to process the changes that a node has made itself
+ * instead of waiting for the next run of a scheduler over all tenants.
+ *
+ * A change that is added several times within one delay is handed over once.
+ * The handler can postpone the changes of a tenant to the next run, e.g. if
+ * the tenant is locked. Tenants without pending changes are not kept.
+ *
+ * @param <T>
+ *            type of the changes
+ */
+public class TenantBatchExecutor<T> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TenantBatchExecutor.class);
+
+    private final String name;
+    private final BiPredicate<String, List<T>> handler;
+
+    /**
+     * Pending changes per tenant. The sets are only modified within the
+     * atomic operations of the map.
+     */
+    private final ConcurrentMap<String, Set<T>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param name
+     *            of the batches for logging
+     * @param executorService
+     *            to schedule the handling
+     * @param delay
+     *            in {@link TimeUnit#MILLISECONDS} between two runs
+     * @param handler
+     *            that is called with the tenant and its changes and returns
+     *            <code>false</code> to postpone the changes to the next run
+     */
+    public TenantBatchExecutor(final String name, final ScheduledExecutorService executorService, final long delay,
+            final BiPredicate<String, List<T>> handler) {
+        this.name = name;
+        this.handler = handler;
+
+        executorService.scheduleWithFixedDelay(this::run, delay, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param tenant
+     *            of the change
+     * @param change
+     *            to hand over with the next run
+     */
+    public void add(final String tenant, final T change) {
+        pending.compute(tenant, (key, changes) -> {
+            final Set<T> result = changes == null ? new LinkedHashSet<>() : changes;
+            result.add(change);
+            return result;
+        });
+    }
+
+    private void addAll(final String tenant, final Collection<T> postponed) {
+        pending.compute(tenant, (key, changes) -> {
+            final Set<T> result = new LinkedHashSet<>(postponed);
+            if (changes != null) {
+                result.addAll(changes);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Hands the pending changes of all tenants over to the handler.
+     */
+    public void run() {
+        new ArrayList<>(pending.keySet()).forEach(tenant -> {
+            final Set<T> changes = pending.remove(tenant);
+            if (changes == null || changes.isEmpty()) {
+                return;
+            }
+
+            final List<T> batch = new ArrayList<>(changes);
+            try {
+                if (!handler.test(tenant, batch)) {
+                    LOGGER.debug("{} for tenant {} postponed.", name, tenant);
+                    addAll(tenant, batch);
+                }
+            } catch (final RuntimeException ex) {
+                LOGGER.error("Exception on {} of {} changes for tenant {}.", name, batch.size(), tenant, ex);
+            }
+        });
+    }
+
+    /**
+     * @return the tenants with pending changes
+     */
+    public Set<String> getPendingTenants() {
+        return pending.keySet();
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.model;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+import org.eclipse.hawkbit.cache.DownloadArtifactCache;
+import org.eclipse.hawkbit.cache.DownloadType;
+
+/**
+ * Download-id that has been issued for a single artifact download, shared by
+ * all nodes of the cluster. The entity is not tenant aware as the download-id
+ * is looked up before the tenant of the request is known.
+ *
+ */
+@Table(name = "sp_download_id", indexes = { @Index(name = "sp_idx_download_id_01", columnList = "expires_at") })
+@Entity
+public class JpaDownloadId implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "download_id", nullable = false, updatable = false, length = 64)
+    @Size(min = 1, max = 64)
+    @NotNull
+    private String downloadId;
+
+    @Column(name = "download_type", nullable = false, updatable = false, length = 16)
+    @Enumerated(EnumType.STRING)
+    @NotNull
+    private DownloadType downloadType;
+
+    @Column(name = "artifact_id", nullable = false, updatable = false, length = 128)
+    @Size(min = 1, max = 128)
+    @NotNull
+    private String artifactId;
+
+    @Column(name = "expires_at", nullable = false, updatable = false)
+    private long expiresAt;
+
+    /**
+     * Default constructor needed for JPA entities.
+     */
+    public JpaDownloadId() {
+        // Default constructor needed for JPA entities.
+    }
+
+    /**
+     * Standard constructor.
+     *
+     * @param downloadId
+     *            the issued ID
+     * @param artifact
+     *            to download with the ID
+     * @param expiresAt
+     *            point in time in millis after which the ID is not valid
+     *            anymore
+     */
+    public JpaDownloadId(final String downloadId, final DownloadArtifactCache artifact, final long expiresAt) {
+        this.downloadId = downloadId;
+        this.downloadType = artifact.getDownloadType();
+        this.artifactId = artifact.getId();
+        this.expiresAt = expiresAt;
+    }
+
+    public String getDownloadId() {
+        return downloadId;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * @param now
+     *            current time in millis
+     * @return <code>true</code> if the ID is not valid anymore
+     */
+    public boolean isExpired(final long now) {
+        return expiresAt <= now;
+    }
+
+    /**
+     * @return the artifact to download with the ID
+     */
+    public DownloadArtifactCache toDownloadArtifactCache() {
+        return new DownloadArtifactCache(downloadType, artifactId);
+    }
+
+    @Override
+    public int hashCode() {
+        return downloadId == null ? 0 : downloadId.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final JpaDownloadId other = (JpaDownloadId) obj;
+        return downloadId != null && downloadId.equals(other.downloadId);
+    }
+}
@@ -47,6 +47,7 @@ import org.eclipse.hawkbit.im.authentication.SpPermission;
 import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.jpa.event.TargetFieldsChangedEvent;
 import org.eclipse.hawkbit.repository.jpa.model.helper.SecurityChecker;
 import org.eclipse.hawkbit.repository.jpa.model.helper.SecurityTokenGeneratorHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.SystemSecurityContextHolder;
@@ -65,6 +66,7 @@ import org.eclipse.persistence.annotations.ConversionValue;
 import org.eclipse.persistence.annotations.Convert;
 import org.eclipse.persistence.annotations.ObjectTypeConverter;
 import org.eclipse.persistence.descriptors.DescriptorEvent;
+import org.eclipse.persistence.queries.UpdateObjectQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -268,6 +270,10 @@ public class JpaTarget extends AbstractJpaNamedEntity implements Target, EventAw
      */
     @Override
     public String getSecurityToken() {
+        return readSecurityToken(securityToken);
+    }
+
+    static String readSecurityToken(final String securityToken) {
         if (SystemSecurityContextHolder.getInstance().getSystemSecurityContext().isCurrentThreadSystemCode()
                 || SecurityChecker.hasPermission(SpPermission.READ_TARGET_SEC_TOKEN)) {
             return securityToken;
@@ -303,6 +309,10 @@ public class JpaTarget extends AbstractJpaNamedEntity implements Target, EventAw
      */
     @Override
     public PollStatus getPollStatus() {
+        return calculatePollStatus(lastTargetQuery);
+    }
+
+    static PollStatus calculatePollStatus(final Long lastTargetQuery) {
         if (lastTargetQuery == null) {
             return null;
         }
@@ -351,6 +361,15 @@ public class JpaTarget extends AbstractJpaNamedEntity implements Target, EventAw
         return requestControllerAttributes;
     }
 
+    /**
+     * @return immutable copy of the state of the target that is needed to
+     *         answer controller polls, which can be shared between threads
+     *         after the persistence context has been closed
+     */
+    public Target snapshot() {
+        return new TargetSnapshot(this, securityToken);
+    }
+
     @Override
     public String toString() {
         return "JpaTarget [controllerId=" + controllerId + ", revision=" + getOptLockRevision() + ", id=" + getId()
@@ -396,6 +415,8 @@ public class JpaTarget extends AbstractJpaNamedEntity implements Target, EventAw
     public void fireUpdateEvent(final DescriptorEvent descriptorEvent) {
         EventPublisherHolder.getInstance().getEventPublisher()
                 .publishEvent(new TargetUpdatedEvent(this, EventPublisherHolder.getInstance().getApplicationId()));
+        EventPublisherHolder.getInstance().getEventPublisher().publishEvent(new TargetFieldsChangedEvent(this,
+                ((UpdateObjectQuery) descriptorEvent.getQuery()).getObjectChangeSet().getChangedAttributeNames()));
     }
 
     @Override
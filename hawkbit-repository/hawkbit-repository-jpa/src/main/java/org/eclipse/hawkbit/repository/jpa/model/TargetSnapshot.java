@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.model;
+
+import java.net.URI;
+
+import org.eclipse.hawkbit.repository.model.PollStatus;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
+
+/**
+ * Immutable copy of a {@link JpaTarget}, see {@link JpaTarget#snapshot()}.
+ * The security token and the poll status are provided with the same
+ * restrictions as by the entity.
+ *
+ */
+final class TargetSnapshot implements Target {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String tenant;
+    private final String controllerId;
+    private final String name;
+    private final String description;
+    private final long createdAt;
+    private final String createdBy;
+    private final long lastModifiedAt;
+    private final String lastModifiedBy;
+    private final int optLockRevision;
+    private final String securityToken;
+    private final URI address;
+    private final Long lastTargetQuery;
+    private final Long installationDate;
+    private final TargetUpdateStatus updateStatus;
+    private final boolean requestControllerAttributes;
+
+    TargetSnapshot(final JpaTarget target, final String securityToken) {
+        this.id = target.getId();
+        this.tenant = target.getTenant();
+        this.controllerId = target.getControllerId();
+        this.name = target.getName();
+        this.description = target.getDescription();
+        this.createdAt = target.getCreatedAt();
+        this.createdBy = target.getCreatedBy();
+        this.lastModifiedAt = target.getLastModifiedAt();
+        this.lastModifiedBy = target.getLastModifiedBy();
+        this.optLockRevision = target.getOptLockRevision();
+        this.securityToken = securityToken;
+        this.address = target.getAddress();
+        this.lastTargetQuery = target.getLastTargetQuery();
+        this.installationDate = target.getInstallationDate();
+        this.updateStatus = target.getUpdateStatus();
+        this.requestControllerAttributes = target.isRequestControllerAttributes();
+    }
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getTenant() {
+        return tenant;
+    }
+
+    @Override
+    public String getControllerId() {
+        return controllerId;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    @Override
+    public long getLastModifiedAt() {
+        return lastModifiedAt;
+    }
+
+    @Override
+    public String getLastModifiedBy() {
+        return lastModifiedBy;
+    }
+
+    @Override
+    public int getOptLockRevision() {
+        return optLockRevision;
+    }
+
+    @Override
+    public String getSecurityToken() {
+        return JpaTarget.readSecurityToken(securityToken);
+    }
+
+    @Override
+    public URI getAddress() {
+        return address;
+    }
+
+    @Override
+    public Long getLastTargetQuery() {
+        return lastTargetQuery;
+    }
+
+    @Override
+    public Long getInstallationDate() {
+        return installationDate;
+    }
+
+    @Override
+    public TargetUpdateStatus getUpdateStatus() {
+        return updateStatus;
+    }
+
+    @Override
+    public PollStatus getPollStatus() {
+        return JpaTarget.calculatePollStatus(lastTargetQuery);
+    }
+
+    @Override
+    public boolean isRequestControllerAttributes() {
+        return requestControllerAttributes;
+    }
+
+    @Override
+    public String toString() {
+        return "TargetSnapshot [controllerId=" + controllerId + ", revision=" + optLockRevision + ", id=" + id + "]";
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.repository.RolloutManagement;
+import org.eclipse.hawkbit.repository.event.remote.entity.ActionUpdatedEvent;
+import org.eclipse.hawkbit.repository.jpa.executor.TenantBatchExecutor;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Event driven rollout processing that handles a rollout right away after the
+ * status of one of its actions has changed instead of waiting for the next run
+ * of the {@link RolloutScheduler}, which stays as the reconciliation of changes
+ * that are not covered by events, e.g. a scheduled start.
+ *
+ * A rollout is handled once per delay of the {@link TenantBatchExecutor} no
+ * matter how many of its actions have changed in the meantime. Action updates
+ * of other nodes are left to the node that has made them.
+ */
+public class RolloutEventListener {
+
+    private final SystemSecurityContext systemSecurityContext;
+    private final String applicationId;
+
+    private final TenantBatchExecutor<Long> changedRollouts;
+
+    /**
+     * Constructor.
+     *
+     * @param rolloutManagement
+     *            to handle the changed rollouts
+     * @param systemSecurityContext
+     *            to run as system
+     * @param executorService
+     *            to schedule the handling
+     * @param delay
+     *            in {@link TimeUnit#MILLISECONDS} between two runs
+     * @param applicationId
+     *            of this node to filter out the events of other nodes
+     */
+    public RolloutEventListener(final RolloutManagement rolloutManagement,
+            final SystemSecurityContext systemSecurityContext, final ScheduledExecutorService executorService,
+            final long delay, final String applicationId) {
+        this.systemSecurityContext = systemSecurityContext;
+        this.applicationId = applicationId;
+
+        this.changedRollouts = new TenantBatchExecutor<>("Rollout handling", executorService, delay,
+                (tenant, rolloutIds) -> handle(rolloutManagement, tenant, rolloutIds));
+    }
+
+    @EventListener(classes = ActionUpdatedEvent.class)
+    void onActionUpdated(final ActionUpdatedEvent event) {
+        if (event.getRolloutId() != null && applicationId.equals(event.getOriginService())) {
+            changedRollouts.add(event.getTenant(), event.getRolloutId());
+        }
+    }
+
+    /**
+     * Handles the changed rollouts of all tenants. The rollouts of a tenant
+     * that is locked, e.g. by the {@link RolloutScheduler}, are handled with
+     * the next run.
+     */
+    void handleChanged() {
+        changedRollouts.run();
+    }
+
+    private boolean handle(final RolloutManagement rolloutManagement, final String tenant,
+            final List<Long> rolloutIds) {
+        return systemSecurityContext.runAsSystemAsTenant(() -> rolloutManagement.handleRollouts(rolloutIds), tenant);
+    }
+}
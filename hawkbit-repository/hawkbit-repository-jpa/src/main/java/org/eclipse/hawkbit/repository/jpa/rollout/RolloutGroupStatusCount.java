@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
+import org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus;
+
+/**
+ * Number of actions per {@link Action.Status} of a {@link RolloutGroup} as
+ * aggregated once for an evaluation of the group, see
+ * {@link RolloutGroupStatusCounter#count(long)}.
+ */
+public final class RolloutGroupStatusCount {
+
+    private final List<TotalTargetCountActionStatus> status;
+
+    /**
+     * @param status
+     *            aggregated action status of the group
+     */
+    public RolloutGroupStatusCount(final List<TotalTargetCountActionStatus> status) {
+        this.status = Collections.unmodifiableList(status);
+    }
+
+    /**
+     * @return the number of all actions of the group
+     */
+    public long countActions() {
+        return status.stream().mapToLong(TotalTargetCountActionStatus::getCount).sum();
+    }
+
+    /**
+     * @param status
+     *            to count
+     * @return the number of actions of the group in one of the given status
+     */
+    public long countActions(final Action.Status... status) {
+        final List<Action.Status> statusToCount = Arrays.asList(status);
+        return this.status.stream().filter(count -> statusToCount.contains(count.getStatus()))
+                .mapToLong(TotalTargetCountActionStatus::getCount).sum();
+    }
+}
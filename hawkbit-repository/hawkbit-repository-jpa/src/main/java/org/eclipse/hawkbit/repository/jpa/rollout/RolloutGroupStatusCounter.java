@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import java.util.List;
+
+import org.eclipse.hawkbit.cache.StampedCache;
+import org.eclipse.hawkbit.repository.RolloutStatusCache;
+import org.eclipse.hawkbit.repository.jpa.ActionRepository;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
+import org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus;
+
+/**
+ * Provides the number of actions per status of a {@link RolloutGroup} for
+ * the evaluation of running groups.
+ *
+ * The numbers are read from the {@link RolloutStatusCache}, which is
+ * invalidated by the action events of the group and expires periodically. As
+ * a result a running group costs one aggregate query after its actions have
+ * changed instead of several count queries on every run of the rollout
+ * handling. A count that is read while an action of the group changes is
+ * not cached, see {@link RolloutStatusCache#stamp()}, while the counts of the
+ * other groups stay cached.
+ */
+public class RolloutGroupStatusCounter {
+
+    private final ActionRepository actionRepository;
+    private final RolloutStatusCache rolloutStatusCache;
+
+    /**
+     * Constructor.
+     *
+     * @param actionRepository
+     *            to aggregate the status of the actions of a group
+     * @param rolloutStatusCache
+     *            to cache the aggregated status
+     */
+    public RolloutGroupStatusCounter(final ActionRepository actionRepository,
+            final RolloutStatusCache rolloutStatusCache) {
+        this.actionRepository = actionRepository;
+        this.rolloutStatusCache = rolloutStatusCache;
+    }
+
+    /**
+     * @param rolloutGroupId
+     *            of the group
+     * @return the number of actions per status of the group, to be shared by
+     *         all checks of one evaluation of the group
+     */
+    public RolloutGroupStatusCount count(final long rolloutGroupId) {
+        return new RolloutGroupStatusCount(getStatus(rolloutGroupId));
+    }
+
+    private List<TotalTargetCountActionStatus> getStatus(final long rolloutGroupId) {
+        List<TotalTargetCountActionStatus> status = rolloutStatusCache.getRolloutGroupStatus(rolloutGroupId);
+
+        if (status.isEmpty()) {
+            try (final StampedCache.Stamp stamp = rolloutStatusCache.stamp()) {
+                status = actionRepository.getStatusCountByRolloutGroupId(rolloutGroupId);
+                rolloutStatusCache.putRolloutGroupStatus(rolloutGroupId, status, stamp);
+            }
+        }
+
+        return status;
+    }
+}
@@ -10,15 +10,18 @@ package org.eclipse.hawkbit.repository.jpa.rollout;
 
 import org.eclipse.hawkbit.repository.RolloutManagement;
 import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.repository.jpa.executor.ParallelTenantExecutor;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.integration.support.locks.LockRegistry;
 import org.springframework.scheduling.annotation.Scheduled;
 
 /**
  * Scheduler to schedule the {@link RolloutManagement#handleRollouts()}. The
  * delay between the checks be be configured using the property from
- * {#PROP_SCHEDULER_DELAY_PLACEHOLDER}.
+ * {#PROP_SCHEDULER_DELAY_PLACEHOLDER}. The tenants are handled in parallel
+ * by a {@link ParallelTenantExecutor}.
  */
 public class RolloutScheduler {
 
@@ -26,12 +29,12 @@ public class RolloutScheduler {
 
     private static final String PROP_SCHEDULER_DELAY_PLACEHOLDER = "${hawkbit.rollout.scheduler.fixedDelay:2000}";
 
-    private final SystemManagement systemManagement;
-
     private final RolloutManagement rolloutManagement;
 
     private final SystemSecurityContext systemSecurityContext;
 
+    private final ParallelTenantExecutor tenantExecutor;
+
     /**
      * Constructor.
      * 
@@ -41,18 +44,23 @@ public class RolloutScheduler {
      *            to run the rollout handler
      * @param systemSecurityContext
      *            to run as system
+     * @param lockRegistry
+     *            to acquire a lock per tenant
+     * @param threads
+     *            number of tenants that are handled in parallel
      */
     public RolloutScheduler(final SystemManagement systemManagement, final RolloutManagement rolloutManagement,
-            final SystemSecurityContext systemSecurityContext) {
-        this.systemManagement = systemManagement;
+            final SystemSecurityContext systemSecurityContext, final LockRegistry lockRegistry, final int threads) {
         this.rolloutManagement = rolloutManagement;
         this.systemSecurityContext = systemSecurityContext;
+        this.tenantExecutor = new ParallelTenantExecutor("rollout-scheduler", systemManagement,
+                systemSecurityContext, lockRegistry, threads);
     }
 
     /**
      * Scheduler method called by the spring-async mechanism. Retrieves all
-     * tenants from the {@link SystemManagement#findTenants()} and runs for each
-     * tenant the {@link RolloutManagement#handleRollouts()} in the
+     * tenants from the {@link SystemManagement#findTenants()} and submits for
+     * each tenant the {@link RolloutManagement#handleRollouts()} in the
      * {@link SystemSecurityContext}.
      */
     @Scheduled(initialDelayString = PROP_SCHEDULER_DELAY_PLACEHOLDER, fixedDelayString = PROP_SCHEDULER_DELAY_PLACEHOLDER)
@@ -62,17 +70,16 @@ public class RolloutScheduler {
         // run this code in system code privileged to have the necessary
         // permission to query and create entities.
         systemSecurityContext.runAsSystem(() -> {
-            // workaround eclipselink that is currently not possible to
-            // execute a query without multitenancy if MultiTenant
-            // annotation is used.
-            // https://bugs.eclipse.org/bugs/show_bug.cgi?id=355458. So
-            // iterate through all tenants and execute the rollout check for
-            // each tenant seperately.
-
-            systemManagement.forEachTenant(tenant -> rolloutManagement.handleRollouts());
-
+            tenantExecutor.forEachTenant(rolloutManagement::handleRollouts);
             return null;
         });
     }
 
+    /**
+     * Shuts the tenant worker pool down.
+     */
+    public void shutdown() {
+        tenantExecutor.shutdown();
+    }
+
 }
@@ -8,6 +8,7 @@
  */
 package org.eclipse.hawkbit.repository.jpa.rollout.condition;
 
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCount;
 import org.eclipse.hawkbit.repository.model.Rollout;
 import org.eclipse.hawkbit.repository.model.RolloutGroup;
 
@@ -27,5 +28,17 @@ public interface RolloutGroupConditionEvaluator {
         }
     }
 
-    boolean eval(Rollout rollout, RolloutGroup rolloutGroup, final String expression);
+    /**
+     * @param rollout
+     *            of the group
+     * @param rolloutGroup
+     *            to evaluate
+     * @param statusCount
+     *            of the actions of the group, aggregated once per evaluation
+     * @param expression
+     *            of the condition
+     * @return <code>true</code> if the condition is met
+     */
+    boolean eval(Rollout rollout, RolloutGroup rolloutGroup, RolloutGroupStatusCount statusCount,
+            final String expression);
 }
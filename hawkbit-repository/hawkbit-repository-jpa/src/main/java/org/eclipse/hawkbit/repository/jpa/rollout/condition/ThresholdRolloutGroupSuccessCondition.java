@@ -8,13 +8,12 @@
  */
 package org.eclipse.hawkbit.repository.jpa.rollout.condition;
 
-import org.eclipse.hawkbit.repository.jpa.ActionRepository;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutGroupStatusCount;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Rollout;
 import org.eclipse.hawkbit.repository.model.RolloutGroup;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
@@ -25,11 +24,9 @@ import org.springframework.stereotype.Component;
 public class ThresholdRolloutGroupSuccessCondition implements RolloutGroupConditionEvaluator {
     private static final Logger LOGGER = LoggerFactory.getLogger(ThresholdRolloutGroupSuccessCondition.class);
 
-    @Autowired
-    private ActionRepository actionRepository;
-
     @Override
-    public boolean eval(final Rollout rollout, final RolloutGroup rolloutGroup, final String expression) {
+    public boolean eval(final Rollout rollout, final RolloutGroup rolloutGroup,
+            final RolloutGroupStatusCount statusCount, final String expression) {
 
         final long totalGroup = rolloutGroup.getTotalTargets();
         if (totalGroup == 0) {
@@ -38,8 +35,7 @@ public class ThresholdRolloutGroupSuccessCondition implements RolloutGroupCondit
             return true;
         }
 
-        final long finished = this.actionRepository.countByRolloutIdAndRolloutGroupIdAndStatus(rollout.getId(),
-                rolloutGroup.getId(), Action.Status.FINISHED);
+        final long finished = statusCount.countActions(Action.Status.FINISHED);
         try {
             final Integer threshold = Integer.valueOf(expression);
             // calculate threshold
@@ -13,6 +13,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -45,6 +46,9 @@ import org.springframework.beans.TypeMismatchException;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.CollectionUtils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import cz.jirutka.rsql.parser.RSQLParser;
 import cz.jirutka.rsql.parser.RSQLParserException;
 import cz.jirutka.rsql.parser.ast.AndNode;
@@ -94,6 +98,17 @@ public final class RSQLUtility {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RSQLUtility.class);
 
+    /**
+     * Maximum number of parsed and validated RSQL queries that are kept for
+     * reuse.
+     */
+    private static final int COMPILED_RSQL_CACHE_SIZE = 1_000;
+
+    private static final RSQLParser RSQL_PARSER = createParser();
+
+    private static final Cache<CompiledRsqlKey, CompiledRsql<?>> COMPILED_RSQL = Caffeine.newBuilder()
+            .maximumSize(COMPILED_RSQL_CACHE_SIZE).build();
+
     /**
      * private constructor due utility class.
      */
@@ -136,12 +151,16 @@ public final class RSQLUtility {
         parseRsql(rsql);
     }
 
+    private static RSQLParser createParser() {
+        final Set<ComparisonOperator> operators = RSQLOperators.defaultOperators();
+        operators.add(new ComparisonOperator("=li=", false));
+        return new RSQLParser(operators);
+    }
+
     private static Node parseRsql(final String rsql) {
         try {
             LOGGER.debug("parsing rsql string {}", rsql);
-            final Set<ComparisonOperator> operators = RSQLOperators.defaultOperators();
-            operators.add(new ComparisonOperator("=li=", false));
-            return new RSQLParser(operators).parse(rsql);
+            return RSQL_PARSER.parse(rsql);
         } catch (final IllegalArgumentException e) {
             throw new RSQLParameterSyntaxException("rsql filter must not be null", e);
         } catch (final RSQLParserException e) {
@@ -164,11 +183,12 @@ public final class RSQLUtility {
 
         @Override
         public Predicate toPredicate(final Root<T> root, final CriteriaQuery<?> query, final CriteriaBuilder cb) {
-            final Node rootNode = parseRsql(rsql);
+            final CompiledRsql<A> compiledRsql = compile(rsql, enumType);
 
-            final JpqQueryRSQLVisitor<A, T> jpqQueryRSQLVisitor = new JpqQueryRSQLVisitor<>(root, cb, enumType,
+            final JpqQueryRSQLVisitor<A, T> jpqQueryRSQLVisitor = new JpqQueryRSQLVisitor<>(root, cb, compiledRsql,
                     virtualPropertyReplacer);
-            final List<Predicate> accept = rootNode.<List<Predicate>, String> accept(jpqQueryRSQLVisitor);
+            final List<Predicate> accept = compiledRsql.getRootNode()
+                    .<List<Predicate>, String> accept(jpqQueryRSQLVisitor);
 
             if (!CollectionUtils.isEmpty(accept)) {
                 return cb.and(accept.toArray(new Predicate[accept.size()]));
@@ -178,6 +198,221 @@ public final class RSQLUtility {
         }
     }
 
+    /**
+     * Returns the {@link CompiledRsql} for the given RSQL string and field
+     * enum, parsing and validating it only if it is not already cached.
+     */
+    @SuppressWarnings("unchecked")
+    static <A extends Enum<A> & FieldNameProvider> CompiledRsql<A> compile(final String rsql,
+            final Class<A> enumType) {
+        return (CompiledRsql<A>) COMPILED_RSQL.get(new CompiledRsqlKey(rsql, enumType),
+                key -> new CompiledRsql<>(rsql, enumType));
+    }
+
+    /**
+     * Cache key of a {@link CompiledRsql}, i.e. the RSQL string and the field
+     * enum it has been validated against.
+     */
+    private static final class CompiledRsqlKey {
+        private final String rsql;
+        private final Class<?> enumType;
+
+        private CompiledRsqlKey(final String rsql, final Class<?> enumType) {
+            this.rsql = rsql;
+            this.enumType = enumType;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * rsql.hashCode() + enumType.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CompiledRsqlKey)) {
+                return false;
+            }
+            final CompiledRsqlKey other = (CompiledRsqlKey) obj;
+            return rsql.equals(other.rsql) && enumType.equals(other.enumType);
+        }
+    }
+
+    /**
+     * A parsed RSQL query whose fields have been resolved and validated against
+     * a {@link FieldNameProvider} enum. It does not depend on the query it is
+     * used in, i.e. it is reused for all queries with the same RSQL string and
+     * only the JPA predicates are built per query. Virtual properties are not
+     * resolved here as their values may change over time.
+     *
+     * @param <A>
+     *            the enum for providing the field name of the entity field to
+     *            filter on.
+     */
+    static final class CompiledRsql<A extends Enum<A> & FieldNameProvider> {
+        private final Node rootNode;
+        private final Class<A> enumType;
+        private final Map<ComparisonNode, ComparisonField<A>> fields = new IdentityHashMap<>();
+
+        CompiledRsql(final String rsql, final Class<A> enumType) {
+            this.rootNode = parseRsql(rsql);
+            this.enumType = enumType;
+            resolveFields(rootNode);
+        }
+
+        private Node getRootNode() {
+            return rootNode;
+        }
+
+        private ComparisonField<A> getField(final ComparisonNode node) {
+            return fields.get(node);
+        }
+
+        private void resolveFields(final Node node) {
+            if (node instanceof LogicalNode) {
+                ((LogicalNode) node).getChildren().forEach(this::resolveFields);
+            } else if (node instanceof ComparisonNode) {
+                final ComparisonNode comparisonNode = (ComparisonNode) node;
+                final A enumField = getFieldEnumByName(comparisonNode);
+                fields.put(comparisonNode, new ComparisonField<>(enumField,
+                        getAndValidatePropertyFieldName(enumField, comparisonNode)));
+            }
+        }
+
+        // Exception squid:S2095 - see
+        // https://jira.sonarsource.com/browse/SONARJAVA-1478
+        @SuppressWarnings({ "squid:S2095" })
+        private A getFieldEnumByName(final ComparisonNode node) {
+            String enumName = node.getSelector();
+            final String[] graph = enumName.split("\\" + FieldNameProvider.SUB_ATTRIBUTE_SEPERATOR);
+            if (graph.length != 0) {
+                enumName = graph[0];
+            }
+            LOGGER.debug("get fieldidentifier by name {} of enum type {}", enumName, enumType);
+            try {
+                return Enum.valueOf(enumType, enumName.toUpperCase());
+            } catch (final IllegalArgumentException e) {
+                throw new RSQLParameterUnsupportedFieldException("The given search parameter field {"
+                        + node.getSelector() + "} does not exist, must be one of the following fields {"
+                        + Arrays.stream(enumType.getEnumConstants()).map(v -> v.name().toLowerCase())
+                                .collect(Collectors.toList())
+                        + "}", e);
+            }
+        }
+
+        private String getAndValidatePropertyFieldName(final A propertyEnum, final ComparisonNode node) {
+
+            final String[] graph = node.getSelector().split("\\" + FieldNameProvider.SUB_ATTRIBUTE_SEPERATOR);
+
+            validateMapParamter(propertyEnum, node, graph);
+
+            // sub entity need minium 1 dot
+            if (!propertyEnum.getSubEntityAttributes().isEmpty() && graph.length < 2) {
+                throw createRSQLParameterUnsupportedException(node);
+            }
+
+            final StringBuilder fieldNameBuilder = new StringBuilder(propertyEnum.getFieldName());
+
+            for (int i = 1; i < graph.length; i++) {
+
+                final String propertyField = graph[i];
+                fieldNameBuilder.append(FieldNameProvider.SUB_ATTRIBUTE_SEPERATOR).append(propertyField);
+
+                // the key of map is not in the graph
+                if (propertyEnum.isMap() && graph.length == (i + 1)) {
+                    continue;
+                }
+
+                if (!propertyEnum.containsSubEntityAttribute(propertyField)) {
+                    throw createRSQLParameterUnsupportedException(node);
+                }
+            }
+
+            return fieldNameBuilder.toString();
+        }
+
+        private void validateMapParamter(final A propertyEnum, final ComparisonNode node, final String[] graph) {
+            if (!propertyEnum.isMap()) {
+                return;
+
+            }
+            if (!propertyEnum.getSubEntityAttributes().isEmpty()) {
+                throw new UnsupportedOperationException("Currently subentity attributes for maps are not supported");
+            }
+
+            // enum.key
+            final int minAttributeForMap = 2;
+            if (graph.length != minAttributeForMap) {
+                throw new RSQLParameterUnsupportedFieldException("The syntax of the given map search parameter field {"
+                        + node.getSelector() + "} is wrong. Syntax is: fieldname.keyname", new Exception());
+            }
+        }
+
+        private RSQLParameterUnsupportedFieldException createRSQLParameterUnsupportedException(
+                final ComparisonNode node) {
+            return new RSQLParameterUnsupportedFieldException(
+                    "The given search parameter field {" + node.getSelector()
+                            + "} does not exist, must be one of the following fields {" + getExpectedFieldList() + "}",
+                    new Exception());
+        }
+
+        // Exception squid:S2095 - see
+        // https://jira.sonarsource.com/browse/SONARJAVA-1478
+        @SuppressWarnings({ "squid:S2095" })
+        private List<String> getExpectedFieldList() {
+            final List<String> expectedFieldList = Arrays.stream(enumType.getEnumConstants())
+                    .filter(enumField -> enumField.getSubEntityAttributes().isEmpty()).map(enumField -> {
+                        final String enumFieldName = enumField.name().toLowerCase();
+
+                        if (enumField.isMap()) {
+                            return enumFieldName + FieldNameProvider.SUB_ATTRIBUTE_SEPERATOR + "keyName";
+                        }
+
+                        return enumFieldName;
+                    }).collect(Collectors.toList());
+
+            final List<String> expectedSubFieldList = Arrays.stream(enumType.getEnumConstants())
+                    .filter(enumField -> !enumField.getSubEntityAttributes().isEmpty()).flatMap(enumField -> {
+                        final List<String> subEntity = enumField.getSubEntityAttributes().stream()
+                                .map(fieldName -> enumField.name().toLowerCase()
+                                        + FieldNameProvider.SUB_ATTRIBUTE_SEPERATOR + fieldName)
+                                .collect(Collectors.toList());
+
+                        return subEntity.stream();
+                    }).collect(Collectors.toList());
+            expectedFieldList.addAll(expectedSubFieldList);
+            return expectedFieldList;
+        }
+    }
+
+    /**
+     * A field of a {@link ComparisonNode} resolved against a
+     * {@link FieldNameProvider} enum.
+     *
+     * @param <A>
+     *            the enum for providing the field name of the entity field to
+     *            filter on.
+     */
+    private static final class ComparisonField<A extends Enum<A> & FieldNameProvider> {
+        private final A enumField;
+        private final String[] propertyPath;
+
+        private ComparisonField(final A enumField, final String property) {
+            this.enumField = enumField;
+            this.propertyPath = property.split("\\" + FieldNameProvider.SUB_ATTRIBUTE_SEPERATOR);
+        }
+
+        private A getEnumField() {
+            return enumField;
+        }
+
+        private String[] getPropertyPath() {
+            return propertyPath;
+        }
+    }
+
     /**
      * An implementation of the {@link RSQLVisitor} to visit the parsed tokens
      * and build jpa where clauses.
@@ -196,7 +431,7 @@ public final class RSQLUtility {
 
         private final Root<T> root;
         private final CriteriaBuilder cb;
-        private final Class<A> enumType;
+        private final CompiledRsql<A> compiledRsql;
         private final VirtualPropertyReplacer virtualPropertyReplacer;
         private int level;
         private boolean isOrLevel;
@@ -204,11 +439,11 @@ public final class RSQLUtility {
 
         private final SimpleTypeConverter simpleTypeConverter;
 
-        private JpqQueryRSQLVisitor(final Root<T> root, final CriteriaBuilder cb, final Class<A> enumType,
+        private JpqQueryRSQLVisitor(final Root<T> root, final CriteriaBuilder cb, final CompiledRsql<A> compiledRsql,
                 final VirtualPropertyReplacer virtualPropertyReplacer) {
             this.root = root;
             this.cb = cb;
-            this.enumType = enumType;
+            this.compiledRsql = compiledRsql;
             this.virtualPropertyReplacer = virtualPropertyReplacer;
             simpleTypeConverter = new SimpleTypeConverter();
         }
@@ -268,62 +503,6 @@ public final class RSQLUtility {
             return Collections.singletonList(predicate);
         }
 
-        private String getAndValidatePropertyFieldName(final A propertyEnum, final ComparisonNode node) {
-
-            final String[] graph = node.getSelector().split("\\" + FieldNameProvider.SUB_ATTRIBUTE_SEPERATOR);
-
-            validateMapParamter(propertyEnum, node, graph);
-
-            // sub entity need minium 1 dot
-            if (!propertyEnum.getSubEntityAttributes().isEmpty() && graph.length < 2) {
-                throw createRSQLParameterUnsupportedException(node);
-            }
-
-            final StringBuilder fieldNameBuilder = new StringBuilder(propertyEnum.getFieldName());
-
-            for (int i = 1; i < graph.length; i++) {
-
-                final String propertyField = graph[i];
-                fieldNameBuilder.append(FieldNameProvider.SUB_ATTRIBUTE_SEPERATOR).append(propertyField);
-
-                // the key of map is not in the graph
-                if (propertyEnum.isMap() && graph.length == (i + 1)) {
-                    continue;
-                }
-
-                if (!propertyEnum.containsSubEntityAttribute(propertyField)) {
-                    throw createRSQLParameterUnsupportedException(node);
-                }
-            }
-
-            return fieldNameBuilder.toString();
-        }
-
-        private void validateMapParamter(final A propertyEnum, final ComparisonNode node, final String[] graph) {
-            if (!propertyEnum.isMap()) {
-                return;
-
-            }
-            if (!propertyEnum.getSubEntityAttributes().isEmpty()) {
-                throw new UnsupportedOperationException("Currently subentity attributes for maps are not supported");
-            }
-
-            // enum.key
-            final int minAttributeForMap = 2;
-            if (graph.length != minAttributeForMap) {
-                throw new RSQLParameterUnsupportedFieldException("The syntax of the given map search parameter field {"
-                        + node.getSelector() + "} is wrong. Syntax is: fieldname.keyname", new Exception());
-            }
-        }
-
-        private RSQLParameterUnsupportedFieldException createRSQLParameterUnsupportedException(
-                final ComparisonNode node) {
-            return new RSQLParameterUnsupportedFieldException(
-                    "The given search parameter field {" + node.getSelector()
-                            + "} does not exist, must be one of the following fields {" + getExpectedFieldList() + "}",
-                    new Exception());
-        }
-
         /**
          * Resolves the Path for a field in the persistence layer and joins the
          * required models. This operation is part of a tree traversal through
@@ -339,13 +518,12 @@ public final class RSQLUtility {
          * @param enumField
          *            field from a FieldNameProvider to resolve on the
          *            persistence layer
-         * @param finalProperty
-         *            dot notated field path
+         * @param split
+         *            field path split at the dots
          * @return the Path for a field
          */
-        private Path<Object> getFieldPath(final A enumField, final String finalProperty) {
+        private Path<Object> getFieldPath(final A enumField, final String[] split) {
             Path<Object> fieldPath = null;
-            final String[] split = finalProperty.split("\\" + FieldNameProvider.SUB_ATTRIBUTE_SEPERATOR);
 
             for (int i = 0; i < split.length; i++) {
                 final boolean isMapKeyField = enumField.isMap() && i == (split.length - 1);
@@ -375,26 +553,13 @@ public final class RSQLUtility {
         }
 
         @Override
-        // Exception squid:S2095 - see
-        // https://jira.sonarsource.com/browse/SONARJAVA-1478
-        @SuppressWarnings({ "squid:S2095" })
         public List<Predicate> visit(final ComparisonNode node, final String param) {
-            A fieldName = null;
-            try {
-                fieldName = getFieldEnumByName(node);
-            } catch (final IllegalArgumentException e) {
-                throw new RSQLParameterUnsupportedFieldException("The given search parameter field {"
-                        + node.getSelector() + "} does not exist, must be one of the following fields {"
-                        + Arrays.stream(enumType.getEnumConstants()).map(v -> v.name().toLowerCase())
-                                .collect(Collectors.toList())
-                        + "}", e);
-
-            }
-            final String finalProperty = getAndValidatePropertyFieldName(fieldName, node);
+            final ComparisonField<A> field = compiledRsql.getField(node);
+            final A fieldName = field.getEnumField();
 
             final List<String> values = node.getArguments();
             final List<Object> transformedValue = new ArrayList<>();
-            final Path<Object> fieldPath = getFieldPath(fieldName, finalProperty);
+            final Path<Object> fieldPath = getFieldPath(fieldName, field.getPropertyPath());
 
             for (final String value : values) {
                 transformedValue.add(convertValueIfNecessary(node, fieldName, value, fieldPath));
@@ -403,44 +568,6 @@ public final class RSQLUtility {
             return mapToPredicate(node, fieldPath, node.getArguments(), transformedValue, fieldName);
         }
 
-        // Exception squid:S2095 - see
-        // https://jira.sonarsource.com/browse/SONARJAVA-1478
-        @SuppressWarnings({ "squid:S2095" })
-        private List<String> getExpectedFieldList() {
-            final List<String> expectedFieldList = Arrays.stream(enumType.getEnumConstants())
-                    .filter(enumField -> enumField.getSubEntityAttributes().isEmpty()).map(enumField -> {
-                        final String enumFieldName = enumField.name().toLowerCase();
-
-                        if (enumField.isMap()) {
-                            return enumFieldName + FieldNameProvider.SUB_ATTRIBUTE_SEPERATOR + "keyName";
-                        }
-
-                        return enumFieldName;
-                    }).collect(Collectors.toList());
-
-            final List<String> expectedSubFieldList = Arrays.stream(enumType.getEnumConstants())
-                    .filter(enumField -> !enumField.getSubEntityAttributes().isEmpty()).flatMap(enumField -> {
-                        final List<String> subEntity = enumField.getSubEntityAttributes().stream()
-                                .map(fieldName -> enumField.name().toLowerCase()
-                                        + FieldNameProvider.SUB_ATTRIBUTE_SEPERATOR + fieldName)
-                                .collect(Collectors.toList());
-
-                        return subEntity.stream();
-                    }).collect(Collectors.toList());
-            expectedFieldList.addAll(expectedSubFieldList);
-            return expectedFieldList;
-        }
-
-        private A getFieldEnumByName(final ComparisonNode node) {
-            String enumName = node.getSelector();
-            final String[] graph = enumName.split("\\" + FieldNameProvider.SUB_ATTRIBUTE_SEPERATOR);
-            if (graph.length != 0) {
-                enumName = graph[0];
-            }
-            LOGGER.debug("get fieldidentifier by name {} of enum type {}", enumName, enumType);
-            return Enum.valueOf(enumType, enumName.toUpperCase());
-        }
-
         private Object convertValueIfNecessary(final ComparisonNode node, final A fieldName, final String value,
                 final Path<Object> fieldPath) {
             // in case the value of an rsql query e.g. type==application is an
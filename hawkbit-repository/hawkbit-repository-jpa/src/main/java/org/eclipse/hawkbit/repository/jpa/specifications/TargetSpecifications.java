@@ -229,6 +229,29 @@ public final class TargetSpecifications {
                 distributionSetId);
     }
 
+    /**
+     * {@link Specification} for retrieving {@link Target}s by controllerId.
+     *
+     * @param controllerIDs
+     *            to search for
+     * @return the {@link Target} {@link Specification}
+     */
+    public static Specification<JpaTarget> hasControllerIdIn(final Collection<String> controllerIDs) {
+        return (targetRoot, query, cb) -> targetRoot.get(JpaTarget_.controllerId).in(controllerIDs);
+    }
+
+    /**
+     * {@link Specification} for retrieving {@link Target}s with an ID greater
+     * than the given one.
+     *
+     * @param targetId
+     *            the ID the targets must be greater than
+     * @return the {@link Target} {@link Specification}
+     */
+    public static Specification<JpaTarget> hasIdGreaterThan(final long targetId) {
+        return (targetRoot, query, cb) -> cb.greaterThan(targetRoot.get(JpaTarget_.id), targetId);
+    }
+
     /**
      * {@link Specification} for retrieving {@link Target}s that don't have the
      * given distribution set in their action history
@@ -0,0 +1,9 @@
+create table sp_download_id (
+    download_id varchar(64) not null,
+    download_type varchar(16) not null,
+    artifact_id varchar(128) not null,
+    expires_at bigint not null,
+    primary key (download_id)
+);
+
+create index sp_idx_download_id_01 on sp_download_id (expires_at);
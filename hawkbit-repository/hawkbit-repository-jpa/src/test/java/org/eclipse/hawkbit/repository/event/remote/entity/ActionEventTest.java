@@ -73,16 +73,19 @@ public class ActionEventTest extends AbstractRemoteEntityEventTest<Action> {
 
         assertThat(event.getEntity()).isSameAs(baseEntity);
         assertThat(event.getRolloutId()).isEqualTo(1L);
+        assertThat(event.getTargetId()).isEqualTo(baseEntity.getTarget().getId());
 
         AbstractActionEvent underTestCreatedEvent = (AbstractActionEvent) createProtoStuffEvent(event);
         assertThat(underTestCreatedEvent.getEntity()).isEqualTo(baseEntity);
         assertThat(underTestCreatedEvent.getRolloutId()).isEqualTo(1L);
         assertThat(underTestCreatedEvent.getRolloutGroupId()).isEqualTo(2L);
+        assertThat(underTestCreatedEvent.getTargetId()).isEqualTo(baseEntity.getTarget().getId());
 
         underTestCreatedEvent = (AbstractActionEvent) createJacksonEvent(event);
         assertThat(underTestCreatedEvent.getEntity()).isEqualTo(baseEntity);
         assertThat(underTestCreatedEvent.getRolloutId()).isEqualTo(1L);
         assertThat(underTestCreatedEvent.getRolloutGroupId()).isEqualTo(2L);
+        assertThat(underTestCreatedEvent.getTargetId()).isEqualTo(baseEntity.getTarget().getId());
 
         return underTestCreatedEvent;
     }
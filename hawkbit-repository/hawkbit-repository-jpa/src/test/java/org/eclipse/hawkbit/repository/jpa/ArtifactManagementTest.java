@@ -28,6 +28,7 @@ import org.eclipse.hawkbit.repository.exception.InsufficientPermissionException;
 import org.eclipse.hawkbit.repository.jpa.model.JpaArtifact;
 import org.eclipse.hawkbit.repository.jpa.model.JpaSoftwareModule;
 import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.test.matcher.Expect;
 import org.eclipse.hawkbit.repository.test.matcher.ExpectEvents;
@@ -283,4 +284,24 @@ public class ArtifactManagementTest extends AbstractJpaIntegrationTest {
         assertThat(artifactManagement.getByFilenameAndSoftwareModule("file1", sm.getId())).isPresent();
 
     }
+
+    @Test
+    @Description("Verifies that the creation and deletion of an artifact increments the revision of the distribution "
+            + "sets the software module is assigned to.")
+    public void artifactChangeIncrementsDistributionSetRevision() {
+        final DistributionSet ds = testdataFactory.createDistributionSet("");
+        final SoftwareModule module = ds.findFirstModuleByType(osType).get();
+        final int revision = getRevision(ds);
+
+        final Artifact artifact = artifactManagement.create(new RandomGeneratedInputStream(5 * 1024), module.getId(),
+                "file1", false);
+        assertThat(getRevision(ds)).isEqualTo(revision + 1);
+
+        artifactManagement.delete(artifact.getId());
+        assertThat(getRevision(ds)).isEqualTo(revision + 2);
+    }
+
+    private int getRevision(final DistributionSet ds) {
+        return distributionSetManagement.get(ds.getId()).get().getOptLockRevision();
+    }
 }
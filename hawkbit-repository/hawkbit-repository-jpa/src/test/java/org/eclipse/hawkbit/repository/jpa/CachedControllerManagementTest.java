@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.junit.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import com.jayway.awaitility.Awaitility;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Component Tests - Repository")
+@Stories("Controller Management")
+@TestPropertySource(locations = "classpath:/jpa-test.properties", properties = {
+        "hawkbit.server.repository.eagerPollPersistence=false",
+        "hawkbit.server.repository.targetPollCacheSize=1000" })
+public class CachedControllerManagementTest extends AbstractJpaIntegrationTest {
+
+    @Test
+    @Description("Verifies that polls are answered from the target poll cache and that an assignment, an update of "
+            + "the target and the cancelation of an action are visible to the next poll.")
+    public void pollReflectsChangesOfCachedTarget() {
+        final String controllerId = testdataFactory.createTarget().getControllerId();
+        final Long dsId = testdataFactory.createDistributionSet().getId();
+
+        awaitCachedPoll(controllerId);
+        assertThat(controllerManagement.findOldestActiveActionByTarget(controllerId)).isEmpty();
+
+        final Long actionId = assignDistributionSet(dsId, controllerId).getActions().get(0);
+        awaitPoll(() -> controllerManagement.findOldestActiveActionByTarget(controllerId).map(Action::getId)
+                .filter(actionId::equals).isPresent());
+        awaitPoll(() -> isPollInSync(controllerId));
+
+        targetManagement.update(entityFactory.target().update(controllerId).description("updated"));
+        awaitPoll(() -> "updated".equals(poll(controllerId).getDescription()));
+
+        deploymentManagement.cancelAction(actionId);
+        controllerManagement
+                .addCancelActionStatus(entityFactory.actionStatus().create(actionId).status(Action.Status.FINISHED));
+        awaitPoll(() -> !controllerManagement.findOldestActiveActionByTarget(controllerId).isPresent());
+        awaitPoll(() -> isPollInSync(controllerId));
+
+        awaitCachedPoll(controllerId);
+    }
+
+    private Target poll(final String controllerId) {
+        return controllerManagement.findOrRegisterTargetIfItDoesNotexist(controllerId, LOCALHOST);
+    }
+
+    private boolean isPollInSync(final String controllerId) {
+        return poll(controllerId).getUpdateStatus()
+                .equals(targetManagement.getByControllerID(controllerId).get().getUpdateStatus());
+    }
+
+    private void awaitCachedPoll(final String controllerId) {
+        // polls that are answered from the database return a new instance
+        awaitPoll(() -> poll(controllerId) == poll(controllerId));
+    }
+
+    private static void awaitPoll(final Callable<Boolean> condition) {
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(condition);
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.repository.OffsetBasedPageRequest;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.Rollout.RolloutStatus;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
+import org.eclipse.hawkbit.repository.model.RolloutGroup.RolloutGroupStatus;
+import org.eclipse.hawkbit.repository.model.TotalTargetCountStatus;
+import org.junit.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.test.context.TestPropertySource;
+
+import com.jayway.awaitility.Awaitility;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Component Tests - Repository")
+@Stories("Rollout Management")
+@TestPropertySource(locations = "classpath:/jpa-test.properties", properties = {
+        "hawkbit.server.repository.rolloutStatusCacheSize=1000" })
+public class CachedRolloutManagementTest extends AbstractJpaIntegrationTest {
+
+    @Test
+    @Description("Verifies that the rollout handling evaluates the current action status of the running group while "
+            + "the status counts are cached, i.e. that the next group is started once the first group has finished "
+            + "and that the rollout is paused once the error threshold of the second group is exceeded.")
+    public void rolloutHandlingEvaluatesCachedGroupStatus() {
+        testdataFactory.createTargets(10, "cached");
+        final Rollout rollout = testdataFactory.createRolloutByVariables("cachedRollout", "description", 2,
+                "controllerId==cached*", testdataFactory.createDistributionSet("cached"), "100", "50");
+        rolloutManagement.start(rollout.getId());
+        rolloutManagement.handleRollouts();
+        assertGroupStatus(rollout, RolloutGroupStatus.RUNNING, RolloutGroupStatus.SCHEDULED);
+
+        findActionsByRolloutAndStatus(rollout, Status.RUNNING).forEach(action -> setStatus(action, Status.FINISHED));
+        awaitHandledRollout(() -> isGroupStatus(rollout, RolloutGroupStatus.FINISHED, RolloutGroupStatus.RUNNING));
+        Awaitility.await().atMost(5, TimeUnit.SECONDS)
+                .until(() -> rolloutManagement.getWithDetailedStatus(rollout.getId()).get().getTotalTargetCountStatus()
+                        .getTotalTargetCountByStatus(TotalTargetCountStatus.Status.FINISHED) == 5L);
+
+        final List<Action> running = findActionsByRolloutAndStatus(rollout, Status.RUNNING);
+        assertThat(running).hasSize(5);
+        running.stream().limit(3).forEach(action -> setStatus(action, Status.ERROR));
+        awaitHandledRollout(
+                () -> RolloutStatus.PAUSED.equals(rolloutManagement.get(rollout.getId()).get().getStatus()));
+        assertGroupStatus(rollout, RolloutGroupStatus.FINISHED, RolloutGroupStatus.RUNNING);
+    }
+
+    private void setStatus(final Action action, final Status status) {
+        controllerManagement.addUpdateActionStatus(entityFactory.actionStatus().create(action.getId()).status(status));
+    }
+
+    private void awaitHandledRollout(final Callable<Boolean> condition) {
+        // the cached status is invalidated asynchronously by the action events
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> {
+            rolloutManagement.handleRollouts();
+            return condition.call();
+        });
+    }
+
+    private boolean isGroupStatus(final Rollout rollout, final RolloutGroupStatus... status) {
+        final List<RolloutGroup> groups = findGroups(rollout);
+        for (int i = 0; i < status.length; i++) {
+            if (!status[i].equals(groups.get(i).getStatus())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<RolloutGroup> findGroups(final Rollout rollout) {
+        return rolloutGroupManagement
+                .findByRollout(new OffsetBasedPageRequest(0, 10, new Sort(Direction.ASC, "id")), rollout.getId())
+                .getContent();
+    }
+
+    private void assertGroupStatus(final Rollout rollout, final RolloutGroupStatus... status) {
+        assertThat(findGroups(rollout)).extracting(RolloutGroup::getStatus).containsExactly(status);
+    }
+}
@@ -367,6 +367,20 @@ public class DistributionSetManagementTest extends AbstractJpaIntegrationTest {
                 .getNumberOfElements()).as("ds tag ds has wrong ds size").isEqualTo(3);
     }
 
+    @Test
+    @Description("Verifies that distribution sets are loaded by their IDs together with their modules.")
+    public void getWithDetailsByIds() {
+        final DistributionSet ds1 = testdataFactory.createDistributionSet("ds-1");
+        final DistributionSet ds2 = testdataFactory.createDistributionSet("ds-2");
+        testdataFactory.createDistributionSet("ds-3");
+
+        final List<DistributionSet> found = distributionSetManagement
+                .getWithDetails(Arrays.asList(ds1.getId(), ds2.getId(), NOT_EXIST_IDL));
+
+        assertThat(found).extracting(DistributionSet::getId).containsOnly(ds1.getId(), ds2.getId());
+        assertThat(found).allMatch(ds -> ds.getModules().size() == 3);
+    }
+
     @Test
     @Description("Ensures that updates concerning the internal software structure of a DS are not possible if the DS is already assigned.")
     public void updateDistributionSetForbiddedWithIllegalUpdate() {
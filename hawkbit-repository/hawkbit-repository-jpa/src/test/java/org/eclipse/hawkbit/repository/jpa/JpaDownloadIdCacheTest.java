@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.cache.DownloadArtifactCache;
+import org.eclipse.hawkbit.cache.DownloadType;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Component Tests - Repository")
+@Stories("Download ID Cache")
+public class JpaDownloadIdCacheTest extends AbstractJpaIntegrationTest {
+
+    private static final String DOWNLOAD_ID = "download-id-4711";
+
+    private static final long SWEEP_INTERVAL = 500;
+
+    private static final DownloadArtifactCache ARTIFACT = new DownloadArtifactCache(DownloadType.BY_SHA1,
+            "8b6c7b2b9e3b2c1f6a0e2d7f5c4a3b2c1d0e9f8a");
+
+    @Autowired
+    private DownloadIdRepository downloadIdRepository;
+
+    private final ScheduledExecutorService executorService = mock(ScheduledExecutorService.class);
+
+    @After
+    public void deleteDownloadIds() {
+        downloadIdRepository.deleteAll();
+    }
+
+    @Test
+    @Description("Verifies that a stored download id is returned until it is evicted.")
+    public void putAndGet() {
+        final JpaDownloadIdCache cache = createCache(TimeUnit.MINUTES.toMillis(1));
+
+        cache.put(DOWNLOAD_ID, ARTIFACT);
+
+        assertArtifact(cache.get(DOWNLOAD_ID));
+        assertArtifact(cache.get(DOWNLOAD_ID));
+        assertThat(cache.get("unknown")).isNull();
+
+        cache.evict(DOWNLOAD_ID);
+        assertThat(cache.get(DOWNLOAD_ID)).isNull();
+    }
+
+    @Test
+    @Description("Verifies that a download id can be consumed only once.")
+    public void downloadIdCanBeUsedOnlyOnce() {
+        final JpaDownloadIdCache cache = createCache(TimeUnit.MINUTES.toMillis(1));
+
+        cache.put(DOWNLOAD_ID, ARTIFACT);
+
+        assertArtifact(cache.getAndEvict(DOWNLOAD_ID));
+        assertThat(cache.getAndEvict(DOWNLOAD_ID)).isNull();
+        assertThat(cache.get(DOWNLOAD_ID)).isNull();
+        assertThat(downloadIdRepository.count()).isEqualTo(0);
+    }
+
+    @Test
+    @Description("Verifies that an expired download id is not returned and deleted by the sweep.")
+    public void expiredDownloadIdIsNotReturnedAndSwept() {
+        final JpaDownloadIdCache expiredCache = createCache(-1);
+        final JpaDownloadIdCache cache = createCache(TimeUnit.MINUTES.toMillis(1));
+
+        expiredCache.put(DOWNLOAD_ID, ARTIFACT);
+        cache.put("valid", ARTIFACT);
+
+        assertThat(cache.get(DOWNLOAD_ID)).isNull();
+        assertThat(cache.getAndEvict(DOWNLOAD_ID)).isNull();
+        assertThat(downloadIdRepository.count()).isEqualTo(2);
+
+        cache.sweepExpired();
+
+        assertThat(downloadIdRepository.exists(DOWNLOAD_ID)).isFalse();
+        assertArtifact(cache.get("valid"));
+    }
+
+    @Test
+    @Description("Verifies that the sweep is scheduled with the configured interval.")
+    public void sweepIsScheduledWithInterval() {
+        createCache(TimeUnit.MINUTES.toMillis(1));
+
+        verify(executorService).scheduleWithFixedDelay(any(Runnable.class), eq(SWEEP_INTERVAL), eq(SWEEP_INTERVAL),
+                eq(TimeUnit.MILLISECONDS));
+    }
+
+    private JpaDownloadIdCache createCache(final long ttl) {
+        return new JpaDownloadIdCache(downloadIdRepository, ttl, executorService, SWEEP_INTERVAL);
+    }
+
+    private static void assertArtifact(final DownloadArtifactCache artifact) {
+        assertThat(artifact).isNotNull();
+        assertThat(artifact.getDownloadType()).isEqualTo(ARTIFACT.getDownloadType());
+        assertThat(artifact.getId()).isEqualTo(ARTIFACT.getId());
+    }
+}
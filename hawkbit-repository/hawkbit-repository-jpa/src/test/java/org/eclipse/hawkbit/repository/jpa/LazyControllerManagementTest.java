@@ -9,19 +9,37 @@
 package org.eclipse.hawkbit.repository.jpa;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
+import org.eclipse.hawkbit.repository.exception.QuotaExceededException;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.test.util.TestdataFactory;
 import org.eclipse.hawkbit.repository.test.matcher.Expect;
 import org.eclipse.hawkbit.repository.test.matcher.ExpectEvents;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
 import org.springframework.test.context.TestPropertySource;
 
+import com.jayway.awaitility.Awaitility;
+
 import ru.yandex.qatools.allure.annotations.Description;
 import ru.yandex.qatools.allure.annotations.Features;
 import ru.yandex.qatools.allure.annotations.Stories;
@@ -30,7 +48,9 @@ import ru.yandex.qatools.allure.annotations.Stories;
 @Stories("Controller Management")
 @TestPropertySource(locations = "classpath:/jpa-test.properties", properties = {
         "hawkbit.server.repository.eagerPollPersistence=false",
-        "hawkbit.server.repository.pollPersistenceFlushTime=1000" })
+        "hawkbit.server.repository.pollPersistenceFlushTime=1000",
+        "hawkbit.server.repository.eagerActionStatusPersistence=false",
+        "hawkbit.server.repository.actionStatusPersistenceFlushTime=1000" })
 public class LazyControllerManagementTest extends AbstractJpaIntegrationTest {
 
     @Autowired
@@ -53,4 +73,157 @@ public class LazyControllerManagementTest extends AbstractJpaIntegrationTest {
         assertThat(updated.getOptLockRevision()).isEqualTo(target.getOptLockRevision());
         assertThat(updated.getLastTargetQuery()).isGreaterThan(target.getLastTargetQuery());
     }
+
+    @Test
+    @Description("Verfies that lazy action status update is executed as specified and that a subsequent "
+            + "synchronously stored status keeps the order of the status history.")
+    public void lazyAddUpdateActionStatus() {
+        final Long dsId = testdataFactory.createDistributionSet().getId();
+        testdataFactory.createTarget();
+        assignDistributionSet(dsId, TestdataFactory.DEFAULT_CONTROLLER_ID);
+        final Long actionId = deploymentManagement
+                .findActiveActionsByTarget(PAGE, TestdataFactory.DEFAULT_CONTROLLER_ID).getContent().get(0).getId();
+
+        controllerManagement
+                .addUpdateActionStatus(entityFactory.actionStatus().create(actionId).status(Status.DOWNLOAD));
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> actionStatusRepository.count(), equalTo(2L));
+
+        controllerManagement
+                .addUpdateActionStatus(entityFactory.actionStatus().create(actionId).status(Status.RETRIEVED));
+        controllerManagement
+                .addUpdateActionStatus(entityFactory.actionStatus().create(actionId).status(Status.FINISHED));
+
+        final List<Status> history = controllerManagement.findActionStatusByAction(PAGE, actionId).getContent()
+                .stream().map(ActionStatus::getStatus).collect(Collectors.toList());
+        assertThat(history).containsExactly(Status.RUNNING, Status.DOWNLOAD, Status.RETRIEVED, Status.FINISHED);
+        assertThat(deploymentManagement.findAction(actionId).get().getStatus()).isEqualTo(Status.FINISHED);
+    }
+
+    @Test
+    @Description("Verfies that queued action status entries count against the action status quota.")
+    public void queuedActionStatusCountsAgainstQuota() {
+        final Long dsId = testdataFactory.createDistributionSet().getId();
+        testdataFactory.createTarget();
+        assignDistributionSet(dsId, TestdataFactory.DEFAULT_CONTROLLER_ID);
+        final Long actionId = deploymentManagement
+                .findActiveActionsByTarget(PAGE, TestdataFactory.DEFAULT_CONTROLLER_ID).getContent().get(0).getId();
+        final int maxStatusEntries = quotaManagement.getMaxStatusEntriesPerAction();
+
+        // the assignment has stored the first status already
+        for (int i = 1; i < maxStatusEntries; i++) {
+            controllerManagement
+                    .addUpdateActionStatus(entityFactory.actionStatus().create(actionId).status(Status.DOWNLOAD));
+        }
+
+        assertThatExceptionOfType(QuotaExceededException.class)
+                .isThrownBy(() -> controllerManagement.addUpdateActionStatus(
+                        entityFactory.actionStatus().create(actionId).status(Status.DOWNLOAD)))
+                .withMessageContaining(String.valueOf(maxStatusEntries));
+
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> actionStatusRepository.count(),
+                equalTo((long) maxStatusEntries));
+    }
+
+    @Test
+    @Description("Verfies that queued action status entries are not lost if the transaction of the flush is rolled "
+            + "back, i.e. that they are queued again and persisted by a subsequent flush in the original order.")
+    public void queuedActionStatusIsNotLostOnRollback() {
+        final Long dsId = testdataFactory.createDistributionSet().getId();
+        testdataFactory.createTarget();
+        assignDistributionSet(dsId, TestdataFactory.DEFAULT_CONTROLLER_ID);
+        final Long actionId = deploymentManagement
+                .findActiveActionsByTarget(PAGE, TestdataFactory.DEFAULT_CONTROLLER_ID).getContent().get(0).getId();
+
+        // the auditing of the queued entries fails within the flush
+        final FailingAuthentication authentication = new FailingAuthentication(
+                SecurityContextHolder.getContext().getAuthentication(), Thread.currentThread());
+        final SecurityContext originalContext = SecurityContextHolder.getContext();
+        final SecurityContext context = new SecurityContextImpl();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+        try {
+            controllerManagement.addInformationalActionStatus(
+                    entityFactory.actionStatus().create(actionId).status(Status.DOWNLOAD));
+            controllerManagement
+                    .addUpdateActionStatus(entityFactory.actionStatus().create(actionId).status(Status.WARNING));
+        } finally {
+            SecurityContextHolder.setContext(originalContext);
+        }
+
+        // the batch and the first entry persisted one by one are rolled back
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(authentication::getFailures, greaterThanOrEqualTo(2));
+        assertThat(actionStatusRepository.count()).isEqualTo(1L);
+
+        authentication.release();
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() -> actionStatusRepository.count(), equalTo(3L));
+
+        final List<Status> history = controllerManagement.findActionStatusByAction(PAGE, actionId).getContent()
+                .stream().map(ActionStatus::getStatus).collect(Collectors.toList());
+        assertThat(history).containsExactly(Status.RUNNING, Status.DOWNLOAD, Status.WARNING);
+    }
+
+    /**
+     * {@link Authentication} that fails on the access of the principal from
+     * any other than the given thread until it is released.
+     */
+    private static final class FailingAuthentication implements Authentication {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Authentication delegate;
+        private final transient Thread thread;
+        private final AtomicInteger failures = new AtomicInteger();
+        private volatile boolean released;
+
+        private FailingAuthentication(final Authentication delegate, final Thread thread) {
+            this.delegate = delegate;
+            this.thread = thread;
+        }
+
+        private void release() {
+            released = true;
+        }
+
+        private int getFailures() {
+            return failures.get();
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public Collection<? extends GrantedAuthority> getAuthorities() {
+            return delegate.getAuthorities();
+        }
+
+        @Override
+        public Object getCredentials() {
+            return delegate.getCredentials();
+        }
+
+        @Override
+        public Object getDetails() {
+            return delegate.getDetails();
+        }
+
+        @Override
+        public Object getPrincipal() {
+            if (!released && Thread.currentThread() != thread) {
+                failures.incrementAndGet();
+                throw new IllegalStateException("Principal is not accessible.");
+            }
+            return delegate.getPrincipal();
+        }
+
+        @Override
+        public boolean isAuthenticated() {
+            return delegate.isAuthenticated();
+        }
+
+        @Override
+        public void setAuthenticated(final boolean isAuthenticated) {
+            delegate.setAuthenticated(isAuthenticated);
+        }
+    }
 }
@@ -25,6 +25,7 @@ import javax.validation.ValidationException;
 
 import org.assertj.core.api.Condition;
 import org.eclipse.hawkbit.repository.OffsetBasedPageRequest;
+import org.eclipse.hawkbit.repository.TargetFields;
 import org.eclipse.hawkbit.repository.builder.RolloutCreate;
 import org.eclipse.hawkbit.repository.builder.RolloutGroupCreate;
 import org.eclipse.hawkbit.repository.event.remote.RolloutDeletedEvent;
@@ -42,8 +43,10 @@ import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
 import org.eclipse.hawkbit.repository.exception.EntityAlreadyExistsException;
 import org.eclipse.hawkbit.repository.exception.EntityReadOnlyException;
 import org.eclipse.hawkbit.repository.exception.RolloutIllegalStateException;
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
 import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
 import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
+import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility;
 import org.eclipse.hawkbit.repository.jpa.utils.MultipleInvokeHelper;
 import org.eclipse.hawkbit.repository.jpa.utils.SuccessCondition;
 import org.eclipse.hawkbit.repository.model.Action;
@@ -66,10 +69,14 @@ import org.eclipse.hawkbit.repository.model.TotalTargetCountStatus;
 import org.eclipse.hawkbit.repository.test.matcher.Expect;
 import org.eclipse.hawkbit.repository.test.matcher.ExpectEvents;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import ru.yandex.qatools.allure.annotations.Description;
 import ru.yandex.qatools.allure.annotations.Features;
@@ -84,6 +91,9 @@ import ru.yandex.qatools.allure.annotations.Title;
 @Stories("Rollout Management")
 public class RolloutManagementTest extends AbstractJpaIntegrationTest {
 
+    @Autowired
+    private PlatformTransactionManager txManager;
+
     @Test
     @Description("Verifies that a running action with distribution-set (A) is not canceled by a rollout which tries to also assign a distribution-set (A)")
     public void rolloutShouldNotCancelRunningActionWithTheSameDistributionSet() {
@@ -1322,6 +1332,106 @@ public class RolloutManagementTest extends AbstractJpaIntegrationTest {
 
     }
 
+    @Test
+    @Description("Verify that the targets of a filter which joins tags are assigned only once to the groups of a "
+            + "rollout, even if a target matches the filter by multiple tags")
+    public void createRolloutWithTargetsMatchingMultipleTags() {
+        final String rolloutName = "rolloutTags";
+        final int amountTargetsForRollout = 30;
+
+        final List<Target> targets = testdataFactory.createTargets(amountTargetsForRollout, rolloutName + "-",
+                rolloutName);
+        final List<String> controllerIds = targets.stream().map(Target::getControllerId).collect(Collectors.toList());
+        testdataFactory.createTargetTags(2, rolloutName)
+                .forEach(tag -> targetManagement.toggleTagAssignment(controllerIds, tag.getName()));
+        // not matching
+        testdataFactory.createTargets(5, rolloutName + "-untagged-", rolloutName);
+
+        final RolloutCreate rolloutcreate = entityFactory.rollout().create().name(rolloutName)
+                .targetFilterQuery("tag==" + rolloutName + "0 or tag==" + rolloutName + "1")
+                .set(testdataFactory.createDistributionSet("dsFor" + rolloutName));
+        Rollout myRollout = rolloutManagement.create(rolloutcreate, 4,
+                new RolloutGroupConditionBuilder().withDefaults().build());
+
+        rolloutManagement.handleRollouts();
+
+        myRollout = rolloutManagement.get(myRollout.getId()).get();
+        assertThat(myRollout.getStatus()).isEqualTo(RolloutStatus.READY);
+        assertThat(myRollout.getTotalTargets()).isEqualTo(amountTargetsForRollout);
+
+        final List<String> assignedTargets = new ArrayList<>();
+        for (final RolloutGroup group : rolloutGroupManagement.findByRollout(PAGE, myRollout.getId()).getContent()) {
+            assertThat(group.getStatus()).isEqualTo(RolloutGroupStatus.READY);
+            rolloutGroupManagement.findTargetsOfRolloutGroup(PAGE, group.getId())
+                    .forEach(target -> assignedTargets.add(target.getControllerId()));
+        }
+        assertThat(assignedTargets).containsOnlyElementsOf(controllerIds).doesNotHaveDuplicates()
+                .hasSize(amountTargetsForRollout);
+    }
+
+    @Test
+    @Description("Verify that only the given rollouts are handled if the rollout handling is triggered for specific "
+            + "rollouts, e.g. after the status of their actions has changed")
+    public void handleGivenRolloutsOnly() {
+        final String rolloutName = "rolloutHandleGiven";
+        testdataFactory.createTargets(10, rolloutName + "-", rolloutName);
+        final DistributionSet distributionSet = testdataFactory.createDistributionSet("dsFor" + rolloutName);
+
+        final Rollout handled = rolloutManagement.create(entityFactory.rollout().create().name(rolloutName + "1")
+                .targetFilterQuery("controllerId==" + rolloutName + "-*").set(distributionSet), 2,
+                new RolloutGroupConditionBuilder().withDefaults().build());
+        final Rollout notHandled = rolloutManagement.create(entityFactory.rollout().create().name(rolloutName + "2")
+                .targetFilterQuery("controllerId==" + rolloutName + "-*").set(distributionSet), 2,
+                new RolloutGroupConditionBuilder().withDefaults().build());
+
+        assertThat(rolloutManagement.handleRollouts(Arrays.asList(handled.getId(), 0L))).isTrue();
+
+        assertThat(rolloutManagement.get(handled.getId()).get().getStatus()).isEqualTo(RolloutStatus.READY);
+        assertThat(rolloutManagement.get(notHandled.getId()).get().getStatus()).isEqualTo(RolloutStatus.CREATING);
+    }
+
+    @Test
+    @Description("Verify that the targets of a rollout group are selected in the order of their ids, limited to the "
+            + "given number and without the targets of excluded groups, and assigned by INSERT ... SELECT statements "
+            + "of at most MAX_ENTRIES_IN_STATEMENT targets each")
+    public void assignTargetsToRolloutGroupByStatement() {
+        final String rolloutName = "rolloutAssign";
+        final String filter = "controllerId==" + rolloutName + "-*";
+        final int amountTargetsForRollout = Constants.MAX_ENTRIES_IN_STATEMENT + 11;
+        final List<Long> targetIds = testdataFactory.createTargets(amountTargetsForRollout, rolloutName + "-",
+                rolloutName).stream().map(Target::getId).sorted().collect(Collectors.toList());
+        // not matching
+        testdataFactory.createTargets(5, "other-", rolloutName);
+
+        final Rollout rollout = rolloutManagement.create(entityFactory.rollout().create().name(rolloutName)
+                .targetFilterQuery(filter).set(testdataFactory.createDistributionSet("dsFor" + rolloutName)), 2,
+                new RolloutGroupConditionBuilder().withDefaults().build());
+        final List<Long> groupIds = rolloutGroupManagement.findByRollout(PAGE, rollout.getId()).getContent().stream()
+                .map(RolloutGroup::getId).collect(Collectors.toList());
+        final long firstLimit = amountTargetsForRollout - 5;
+
+        assertThat(assignTargets(filter, groupIds.subList(0, 1), groupIds.get(0), firstLimit)).isEqualTo(firstLimit);
+        assertThat(assignTargets(filter, groupIds, groupIds.get(1), amountTargetsForRollout)).isEqualTo(5);
+
+        assertThat(findTargetIdsOfRolloutGroup(groupIds.get(0)))
+                .containsOnlyElementsOf(targetIds.subList(0, (int) firstLimit)).hasSize((int) firstLimit);
+        assertThat(findTargetIdsOfRolloutGroup(groupIds.get(1)))
+                .containsOnlyElementsOf(targetIds.subList((int) firstLimit, amountTargetsForRollout)).hasSize(5);
+    }
+
+    private long assignTargets(final String filter, final List<Long> excludedGroups, final long groupId,
+            final long limit) {
+        return new TransactionTemplate(txManager)
+                .execute(status -> RolloutTargetGroupAssigner.assignTargets(entityManager,
+                        RSQLUtility.parse(filter, TargetFields.class, null), excludedGroups, groupId,
+                        Math.toIntExact(limit)));
+    }
+
+    private List<Long> findTargetIdsOfRolloutGroup(final long groupId) {
+        return rolloutGroupManagement.findTargetsOfRolloutGroup(new PageRequest(0, 2000), groupId).getContent()
+                .stream().map(Target::getId).collect(Collectors.toList());
+    }
+
     @Test
     @Description("Verify Exception when a Rollout with Group definition is created that does not address all targets")
     public void createRolloutWithGroupsNotMatchingTargets() throws Exception {
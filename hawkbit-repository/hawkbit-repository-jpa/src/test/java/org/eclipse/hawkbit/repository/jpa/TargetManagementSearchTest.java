@@ -17,6 +17,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.eclipse.hawkbit.repository.FilterParams;
 import org.eclipse.hawkbit.repository.model.Action;
@@ -26,8 +27,10 @@ import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
 import org.eclipse.hawkbit.repository.model.TargetTag;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
+import org.eclipse.hawkbit.repository.model.TargetWithDistributionSets;
 import org.eclipse.hawkbit.repository.model.TenantAwareBaseEntity;
 import org.junit.Test;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Slice;
 
 import com.google.common.collect.Lists;
@@ -576,6 +579,57 @@ public class TargetManagementSearchTest extends AbstractJpaIntegrationTest {
 
     }
 
+    @Test
+    @Description("Tests that the targets ordered by the selected distribution set are returned together with their assigned and installed distribution sets.")
+    public void targetSearchWithDistributionSetsOrderByDistributionSet() {
+        final List<Target> notAssigned = testdataFactory.createTargets(2, "not", "first description");
+        List<Target> targAssigned = testdataFactory.createTargets(2, "assigned", "first description");
+
+        final DistributionSet ds = testdataFactory.createDistributionSet("a");
+        final DistributionSet installedDs = testdataFactory.createDistributionSet("b");
+
+        List<Target> targInstalled = assignDistributionSet(installedDs,
+                testdataFactory.createTargets(2, "installed", "first description")).getAssignedEntity();
+        targInstalled = testdataFactory
+                .sendUpdateActionStatusToTargets(targInstalled, Status.FINISHED, Collections.singletonList("installed"))
+                .stream().map(Action::getTarget).collect(Collectors.toList());
+        targAssigned = assignDistributionSet(ds, targAssigned).getAssignedEntity();
+
+        final FilterParams filterParams = new FilterParams(null, null, null, null, Boolean.FALSE, new String[0]);
+        final Slice<TargetWithDistributionSets> result = targetManagement
+                .findWithDistributionSetsByFilterOrderByLinkedDistributionSet(PAGE, ds.getId(), filterParams);
+
+        assertThat(result.getNumberOfElements()).isEqualTo(6);
+        assertThat(result.hasNext()).isFalse();
+        assertThat(result.getContent().stream().map(TargetWithDistributionSets::getTarget))
+                .containsExactlyElementsOf(
+                        targetManagement.findByFilterOrderByLinkedDistributionSet(PAGE, ds.getId(), filterParams));
+
+        for (final TargetWithDistributionSets row : result) {
+            if (targAssigned.contains(row.getTarget())) {
+                assertThat(row.getAssignedDistributionSetId()).isEqualTo(ds.getId());
+                assertThat(row.getAssignedDistributionSetName()).isEqualTo(ds.getName());
+                assertThat(row.getAssignedDistributionSetVersion()).isEqualTo(ds.getVersion());
+                assertThat(row.getInstalledDistributionSetId()).isNull();
+            } else if (targInstalled.contains(row.getTarget())) {
+                assertThat(row.getAssignedDistributionSetId()).isEqualTo(installedDs.getId());
+                assertThat(row.getInstalledDistributionSetId()).isEqualTo(installedDs.getId());
+                assertThat(row.getInstalledDistributionSetName()).isEqualTo(installedDs.getName());
+                assertThat(row.getInstalledDistributionSetVersion()).isEqualTo(installedDs.getVersion());
+            } else {
+                assertThat(notAssigned).contains(row.getTarget());
+                assertThat(row.getAssignedDistributionSetId()).isNull();
+                assertThat(row.getInstalledDistributionSetId()).isNull();
+            }
+        }
+
+        final Slice<TargetWithDistributionSets> firstPage = targetManagement
+                .findWithDistributionSetsByFilterOrderByLinkedDistributionSet(new PageRequest(0, 4), ds.getId(),
+                        filterParams);
+        assertThat(firstPage.getNumberOfElements()).isEqualTo(4);
+        assertThat(firstPage.hasNext()).isTrue();
+    }
+
     @Test
     @Description("Tests the correct order of targets with applied overdue filter based on selected distribution set. The system expects to have an order based on installed, assigned DS.")
     public void targetSearchWithOverdueFilterAndOrderByDistributionSet() {
@@ -666,6 +720,27 @@ public class TargetManagementSearchTest extends AbstractJpaIntegrationTest {
 
     }
 
+    @Test
+    @Description("Verifies that targets without given assigned DS are returned in batches ordered by ID when selected by the ID of the last target of the previous batch.")
+    public void findTargetWithoutAssignedDistributionSetAfterId() {
+        final DistributionSet assignedSet = testdataFactory.createDistributionSet("");
+        final List<Target> unassignedTargets = testdataFactory.createTargets(12, "unassigned", "unassigned");
+        assignDistributionSet(assignedSet, testdataFactory.createTargets(10, "assigned", "assigned"));
+
+        final List<Target> firstBatch = targetManagement
+                .findByTargetFilterQueryAndNonDSAfterId(5, -1, assignedSet.getId(), "name==*").getContent();
+        final long lastTargetId = firstBatch.get(firstBatch.size() - 1).getId();
+        final List<Target> nextBatch = targetManagement
+                .findByTargetFilterQueryAndNonDSAfterId(100, lastTargetId, assignedSet.getId(), "name==*")
+                .getContent();
+
+        assertThat(firstBatch).as("first batch").hasSize(5).isSortedAccordingTo(Comparator.comparing(Target::getId));
+        assertThat(nextBatch).as("next batch").hasSize(7).isSortedAccordingTo(Comparator.comparing(Target::getId));
+        assertThat(nextBatch.get(0).getId()).as("next batch starts after the first one").isGreaterThan(lastTargetId);
+        assertThat(Stream.concat(firstBatch.stream(), nextBatch.stream()).collect(Collectors.toList()))
+                .as("contains all unassigned targets").containsOnlyElementsOf(unassignedTargets);
+    }
+
     @Test
     @Description("Verfies that targets with given installed DS are returned from repository.")
     public void findTargetByInstalledDistributionSet() {
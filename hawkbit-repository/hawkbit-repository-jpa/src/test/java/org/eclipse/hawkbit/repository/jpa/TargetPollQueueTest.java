@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.hawkbit.repository.jpa.TargetPollQueue.TargetPoll;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.junit.Test;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Unit Tests - Repository")
+@Stories("Controller Management")
+public class TargetPollQueueTest {
+
+    private static final String TENANT = "DEFAULT";
+
+    @Test
+    @Description("Verifies that a poll of an already queued target is deduplicated and not counted twice.")
+    public void pollOfQueuedTargetIsDeduplicated() {
+        final TargetPollQueue underTest = new TargetPollQueue(10, 4);
+
+        assertThat(underTest.offer(target("1"))).isTrue();
+        assertThat(underTest.offer(target("1"))).isTrue();
+
+        assertThat(underTest.getDepth()).isEqualTo(1);
+        assertThat(underTest.getDeduplicated()).isEqualTo(1);
+        assertThat(drainAll(underTest)).extracting("controllerId").containsExactly("1");
+        assertThat(underTest.getDepth()).isEqualTo(0);
+    }
+
+    @Test
+    @Description("Verifies that polls are dropped if the capacity over all shards is reached.")
+    public void pollIsDroppedIfQueueIsFull() {
+        final TargetPollQueue underTest = new TargetPollQueue(5, 4);
+
+        IntStream.range(0, 5).forEach(i -> assertThat(underTest.offer(target(String.valueOf(i)))).isTrue());
+
+        assertThat(underTest.offer(target("5"))).isFalse();
+        assertThat(underTest.offer(target("0"))).as("queued target is accepted").isTrue();
+        assertThat(underTest.getDropped()).isEqualTo(1);
+        assertThat(underTest.getDepth()).isEqualTo(5);
+
+        assertThat(drainAll(underTest)).hasSize(5);
+        assertThat(underTest.offer(target("5"))).isTrue();
+    }
+
+    @Test
+    @Description("Verifies that the flush statistics are recorded.")
+    public void flushIsRecorded() {
+        final TargetPollQueue underTest = new TargetPollQueue(5, 2);
+
+        underTest.recordFlush(3, TimeUnit.MILLISECONDS.toNanos(20));
+        underTest.recordFlush(2, TimeUnit.MILLISECONDS.toNanos(10));
+
+        assertThat(underTest.getFlushed()).isEqualTo(5);
+        assertThat(underTest.getLastFlushLatency()).isEqualTo(10);
+        assertThat(underTest.getMaxFlushLatency()).isEqualTo(20);
+    }
+
+    private static List<TargetPoll> drainAll(final TargetPollQueue queue) {
+        return IntStream.range(0, queue.getShards()).mapToObj(queue::drain).flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    private static Target target(final String controllerId) {
+        final Target target = mock(Target.class);
+        when(target.getTenant()).thenReturn(TENANT);
+        when(target.getControllerId()).thenReturn(controllerId);
+        return target;
+    }
+}
@@ -10,22 +10,30 @@ package org.eclipse.hawkbit.repository.jpa;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
+import static org.hamcrest.Matchers.equalTo;
 
 import java.io.Serializable;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+import org.eclipse.hawkbit.repository.event.remote.TenantConfigurationChangedEvent;
 import org.eclipse.hawkbit.repository.exception.InvalidTenantConfigurationKeyException;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTenantConfiguration;
 import org.eclipse.hawkbit.repository.model.TenantConfigurationValue;
 import org.eclipse.hawkbit.tenancy.configuration.DurationHelper;
 import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
 import org.eclipse.hawkbit.tenancy.configuration.validator.TenantConfigurationValidatorException;
 import org.junit.Assert;
 import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.EnvironmentAware;
 import org.springframework.core.env.Environment;
 
+import com.jayway.awaitility.Awaitility;
+
 import ru.yandex.qatools.allure.annotations.Description;
 import ru.yandex.qatools.allure.annotations.Features;
 import ru.yandex.qatools.allure.annotations.Stories;
@@ -36,6 +44,12 @@ public class TenantConfigurationManagementTest extends AbstractJpaIntegrationTes
 
     private Environment environment = null;
 
+    @Autowired
+    private TenantConfigurationRepository tenantConfigurationRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     public void setEnvironment(final Environment environment) {
         this.environment = environment;
@@ -275,4 +289,27 @@ public class TenantConfigurationManagementTest extends AbstractJpaIntegrationTes
             // expected exception
         }
     }
+
+    @Test
+    @Description("Verifies that a cached configuration value is evicted when the configuration has been changed on another node.")
+    public void cachedConfigurationValueIsEvictedOnRemoteChange() {
+        final String configKey = TenantConfigurationKey.AUTHENTICATION_MODE_GATEWAY_SECURITY_TOKEN_KEY;
+        tenantConfigurationManagement.addOrUpdateConfiguration(configKey, "firstValue");
+        assertThat(tenantConfigurationManagement.getConfigurationValue(configKey, String.class).getValue())
+                .isEqualTo("firstValue");
+
+        // change by another node, i.e. the cache of this node is not evicted
+        final JpaTenantConfiguration configuration = tenantConfigurationRepository.findByKey(configKey);
+        configuration.setValue("secondValue");
+        tenantConfigurationRepository.save(configuration);
+        assertThat(tenantConfigurationManagement.getConfigurationValue(configKey, String.class).getValue())
+                .isEqualTo("firstValue");
+
+        eventPublisher.publishEvent(
+                new TenantConfigurationChangedEvent(tenantAware.getCurrentTenant(), configKey, "otherNode"));
+
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(
+                () -> tenantConfigurationManagement.getConfigurationValue(configKey, String.class).getValue(),
+                equalTo("secondValue"));
+    }
 }
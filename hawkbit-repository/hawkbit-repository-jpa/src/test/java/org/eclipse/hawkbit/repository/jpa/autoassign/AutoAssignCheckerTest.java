@@ -134,6 +134,49 @@ public class AutoAssignCheckerTest extends AbstractJpaIntegrationTest {
 
     }
 
+    @Test
+    @Description("Test auto assignment of a DS to the given targets only")
+    public void checkAutoAssignOfGivenTargets() {
+        final DistributionSet setA = testdataFactory.createDistributionSet("dsA");
+
+        targetFilterQueryManagement.updateAutoAssignDS(targetFilterQueryManagement
+                .create(entityFactory.targetFilterQuery().create().name("filterA").query("name==*")).getId(),
+                setA.getId());
+
+        final List<Target> targets = testdataFactory.createTargets(20, "targ", "targ description");
+        final List<String> checkedControllerIds = targets.subList(0, 5).stream().map(Target::getControllerId)
+                .collect(Collectors.toList());
+
+        autoAssignChecker.checkTargets(checkedControllerIds);
+
+        verifyThatTargetsHaveDistributionSetAssignment(setA, targets.subList(0, 5), targets.size());
+        assertThat(targetManagement.countByRsqlAndNonDS(setA.getId(), "name==*")).as("unchecked targets")
+                .isEqualTo(15);
+    }
+
+    @Test
+    @Description("Test auto assignment of a DS by a single target filter query")
+    public void checkAutoAssignOfGivenTargetFilterQuery() {
+        final DistributionSet setA = testdataFactory.createDistributionSet("dsA");
+        final DistributionSet setB = testdataFactory.createDistributionSet("dsB");
+
+        final TargetFilterQuery filterA = targetFilterQueryManagement.updateAutoAssignDS(targetFilterQueryManagement
+                .create(entityFactory.targetFilterQuery().create().name("filterA").query("id==targA*")).getId(),
+                setA.getId());
+        targetFilterQueryManagement.updateAutoAssignDS(targetFilterQueryManagement
+                .create(entityFactory.targetFilterQuery().create().name("filterB").query("id==targB*")).getId(),
+                setB.getId());
+
+        final List<Target> targetsA = testdataFactory.createTargets(10, "targA", "targA description");
+        testdataFactory.createTargets(10, "targB", "targB description");
+
+        autoAssignChecker.checkFilterQuery(filterA.getId());
+
+        verifyThatTargetsHaveDistributionSetAssignment(setA, targetsA, 20);
+        assertThat(targetManagement.countByRsqlAndNonDS(setB.getId(), "id==targB*")).as("unchecked targets")
+                .isEqualTo(10);
+    }
+
     /**
      * @param set
      *            the expected distribution set
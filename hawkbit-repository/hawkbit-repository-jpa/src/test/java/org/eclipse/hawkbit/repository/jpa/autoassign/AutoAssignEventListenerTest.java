@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.autoassign;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.locks.Lock;
+
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
+import org.eclipse.hawkbit.repository.jpa.event.TargetFieldsChangedEvent;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.integration.support.locks.LockRegistry;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Unit Tests - Repository")
+@Stories("Auto assign")
+@RunWith(MockitoJUnitRunner.class)
+public class AutoAssignEventListenerTest {
+
+    private static final String TENANT = "TENANT1";
+    private static final String APPLICATION_ID = "node1";
+
+    @Mock
+    private AutoAssignChecker autoAssignChecker;
+
+    @Mock
+    private SystemSecurityContext systemSecurityContext;
+
+    @Mock
+    private LockRegistry lockRegistry;
+
+    @Mock
+    private Lock lock;
+
+    @Mock
+    private ScheduledExecutorService executorService;
+
+    private AutoAssignEventListener underTest;
+
+    @Before
+    public void before() {
+        when(systemSecurityContext.runAsSystemAsTenant(any(Callable.class), anyString()))
+                .thenAnswer(invocation -> ((Callable<?>) invocation.getArguments()[0]).call());
+        when(lockRegistry.obtain(TENANT + "-" + AutoAssignScheduler.TASK_NAME)).thenReturn(lock);
+        when(lock.tryLock()).thenReturn(true);
+
+        underTest = new AutoAssignEventListener(autoAssignChecker, systemSecurityContext, lockRegistry,
+                executorService, 500, APPLICATION_ID);
+    }
+
+    @Test
+    @Description("Verifies that created targets are checked in one batch with the next run.")
+    public void createdTargetsAreCheckedInBatch() {
+        underTest.onTargetCreated(new TargetCreatedEvent(target("t1"), APPLICATION_ID));
+        underTest.onTargetCreated(new TargetCreatedEvent(target("t2"), APPLICATION_ID));
+        verify(autoAssignChecker, never()).checkTargets(any(Collection.class));
+
+        underTest.checkPending();
+
+        verify(autoAssignChecker).checkTargets(Arrays.asList("t1", "t2"));
+        verify(lock).unlock();
+    }
+
+    @Test
+    @Description("Verifies that targets created by other nodes are not checked.")
+    public void targetsCreatedByOtherNodesAreIgnored() {
+        underTest.onTargetCreated(new TargetCreatedEvent(target("t1"), "node2"));
+
+        underTest.checkPending();
+
+        verify(autoAssignChecker, never()).checkTargets(any(Collection.class));
+    }
+
+    @Test
+    @Description("Verifies that only target updates of fields that filters match on trigger a check.")
+    public void onlyFilterRelevantUpdatesAreChecked() {
+        underTest.onTargetFieldsChanged(
+                new TargetFieldsChangedEvent(target("t1"), Arrays.asList("updateStatus", "assignedDistributionSet")));
+        underTest.onTargetFieldsChanged(
+                new TargetFieldsChangedEvent(target("t2"), Arrays.asList("installedDistributionSet")));
+        underTest.onTargetFieldsChanged(new TargetFieldsChangedEvent(target("t3"), Arrays.asList("description")));
+        underTest.onTargetFieldsChanged(
+                new TargetFieldsChangedEvent(target("t4"), Arrays.asList("updateStatus", "controllerAttributes")));
+
+        underTest.checkPending();
+
+        verify(autoAssignChecker).checkTargets(Arrays.asList("t3", "t4"));
+    }
+
+    @Test
+    @Description("Verifies that assigned or unassigned tags trigger a check of the target.")
+    public void changedTagsAreChecked() {
+        underTest.onTargetFieldsChanged(new TargetFieldsChangedEvent(target("t1"),
+                Collections.singletonList(TargetFieldsChangedEvent.TAGS)));
+
+        underTest.checkPending();
+
+        verify(autoAssignChecker).checkTargets(Collections.singletonList("t1"));
+    }
+
+    @Test
+    @Description("Verifies that changed target filter queries are checked with the next run.")
+    public void changedFilterQueriesAreChecked() {
+        final TargetFilterQuery filterQuery = mock(TargetFilterQuery.class);
+        when(filterQuery.getId()).thenReturn(7L);
+        when(filterQuery.getTenant()).thenReturn(TENANT);
+
+        underTest.onFilterChanged(new AutoAssignFilterChangedEvent(filterQuery));
+        underTest.onFilterChanged(new AutoAssignFilterChangedEvent(filterQuery));
+        underTest.checkPending();
+
+        verify(autoAssignChecker).checkFilterQuery(7L);
+    }
+
+    @Test
+    @Description("Verifies that the check of a locked tenant is postponed to the next run.")
+    public void lockedTenantIsCheckedWithNextRun() {
+        when(lock.tryLock()).thenReturn(false);
+        underTest.onTargetCreated(new TargetCreatedEvent(target("t1"), APPLICATION_ID));
+
+        underTest.checkPending();
+
+        verify(autoAssignChecker, never()).checkTargets(any(Collection.class));
+        verify(autoAssignChecker, never()).checkFilterQuery(anyLong());
+
+        when(lock.tryLock()).thenReturn(true);
+        underTest.checkPending();
+
+        verify(autoAssignChecker).checkTargets(Collections.singletonList("t1"));
+    }
+
+    private static Target target(final String controllerId) {
+        final Target target = mock(Target.class);
+        when(target.getId()).thenReturn((long) controllerId.hashCode());
+        when(target.getTenant()).thenReturn(TENANT);
+        when(target.getControllerId()).thenReturn(controllerId);
+        return target;
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.integration.support.locks.DefaultLockRegistry;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Unit Tests - Repository")
+@Stories("Scheduler")
+@RunWith(MockitoJUnitRunner.class)
+public class ParallelTenantExecutorTest {
+
+    private static final List<String> TENANTS = Arrays.asList("TENANT1", "TENANT2", "TENANT3");
+
+    @Mock
+    private SystemManagement systemManagement;
+
+    @Mock
+    private SystemSecurityContext systemSecurityContext;
+
+    private final ThreadLocal<String> currentTenant = new ThreadLocal<>();
+
+    private ParallelTenantExecutor underTest;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void before() {
+        doAnswer(invocation -> {
+            TENANTS.forEach(((Consumer<String>) invocation.getArguments()[0]));
+            return null;
+        }).when(systemManagement).forEachTenant(any(Consumer.class));
+
+        when(systemSecurityContext.runAsSystemAsTenant(any(Callable.class), anyString())).thenAnswer(invocation -> {
+            currentTenant.set((String) invocation.getArguments()[1]);
+            try {
+                return ((Callable<?>) invocation.getArguments()[0]).call();
+            } finally {
+                currentTenant.remove();
+            }
+        });
+
+        underTest = new ParallelTenantExecutor("test", systemManagement, systemSecurityContext,
+                new DefaultLockRegistry(), 2);
+    }
+
+    @After
+    public void after() {
+        underTest.shutdown();
+    }
+
+    @Test
+    @Description("Verifies that the task is executed for every tenant.")
+    public void taskIsExecutedForEveryTenant() throws InterruptedException {
+        final Map<String, Boolean> executed = new ConcurrentHashMap<>();
+        final CountDownLatch done = new CountDownLatch(TENANTS.size());
+
+        underTest.forEachTenant(() -> {
+            executed.put(currentTenant.get(), true);
+            done.countDown();
+        });
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executed.keySet()).containsOnlyElementsOf(TENANTS).hasSize(TENANTS.size());
+    }
+
+    @Test
+    @Description("Verifies that a tenant whose task is still in progress is skipped while the other tenants "
+            + "are executed again.")
+    public void tenantInProgressIsSkipped() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final AtomicInteger blockedExecutions = new AtomicInteger();
+
+        underTest.forEachTenant(() -> {
+            if ("TENANT1".equals(currentTenant.get())) {
+                blockedExecutions.incrementAndGet();
+                blocked.countDown();
+                awaitUninterruptibly(release);
+            }
+        });
+        assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        final Set<String> executed = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 50 && executed.size() < TENANTS.size() - 1; i++) {
+            underTest.forEachTenant(() -> {
+                if ("TENANT1".equals(currentTenant.get())) {
+                    blockedExecutions.incrementAndGet();
+                }
+                executed.add(currentTenant.get());
+            });
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+
+        release.countDown();
+        assertThat(executed).containsOnly("TENANT2", "TENANT3");
+        assertThat(blockedExecutions.get()).isEqualTo(1);
+    }
+
+    private static void awaitUninterruptibly(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
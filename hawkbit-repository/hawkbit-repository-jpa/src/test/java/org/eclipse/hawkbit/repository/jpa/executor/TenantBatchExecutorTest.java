@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Unit Tests - Repository")
+@Stories("Scheduler")
+@RunWith(MockitoJUnitRunner.class)
+public class TenantBatchExecutorTest {
+
+    @Mock
+    private ScheduledExecutorService executorService;
+
+    private final Map<String, List<List<Long>>> batches = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean accept = new AtomicBoolean(true);
+
+    private TenantBatchExecutor<Long> underTest;
+
+    @Before
+    public void before() {
+        underTest = new TenantBatchExecutor<>("test", executorService, 500, (tenant, changes) -> {
+            if (!accept.get()) {
+                return false;
+            }
+            batches.computeIfAbsent(tenant, key -> new ArrayList<>()).add(changes);
+            return true;
+        });
+    }
+
+    @Test
+    @Description("Verifies that the executor schedules itself with the given delay.")
+    public void runIsScheduledWithDelay() {
+        verify(executorService).scheduleWithFixedDelay(any(Runnable.class), eq(500L), eq(500L),
+                eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @Description("Verifies that the changes are handed over once per run and tenant without duplicates.")
+    public void changesAreBatchedPerTenant() {
+        underTest.add("TENANT1", 1L);
+        underTest.add("TENANT1", 2L);
+        underTest.add("TENANT1", 1L);
+        underTest.add("TENANT2", 3L);
+        assertThat(batches).isEmpty();
+
+        underTest.run();
+
+        assertThat(batches.get("TENANT1")).containsExactly(Arrays.asList(1L, 2L));
+        assertThat(batches.get("TENANT2")).containsExactly(Arrays.asList(3L));
+        assertThat(underTest.getPendingTenants()).isEmpty();
+
+        underTest.run();
+        assertThat(batches.get("TENANT1")).hasSize(1);
+    }
+
+    @Test
+    @Description("Verifies that postponed changes are handed over with the next run ahead of newer changes.")
+    public void postponedChangesAreHandedOverWithNextRun() {
+        underTest.add("TENANT1", 1L);
+        accept.set(false);
+
+        underTest.run();
+
+        assertThat(batches).isEmpty();
+        assertThat(underTest.getPendingTenants()).containsExactly("TENANT1");
+
+        underTest.add("TENANT1", 2L);
+        accept.set(true);
+        underTest.run();
+
+        assertThat(batches.get("TENANT1")).containsExactly(Arrays.asList(1L, 2L));
+        assertThat(underTest.getPendingTenants()).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that the changes of a failed batch are dropped and do not block other tenants.")
+    public void failedBatchIsDropped() {
+        final TenantBatchExecutor<Long> failing = new TenantBatchExecutor<>("test", executorService, 500,
+                (tenant, changes) -> {
+                    if ("TENANT1".equals(tenant)) {
+                        throw new IllegalStateException("test");
+                    }
+                    batches.computeIfAbsent(tenant, key -> new ArrayList<>()).add(changes);
+                    return true;
+                });
+        failing.add("TENANT1", 1L);
+        failing.add("TENANT2", 2L);
+
+        failing.run();
+
+        assertThat(batches.get("TENANT2")).containsExactly(Arrays.asList(2L));
+        assertThat(failing.getPendingTenants()).isEmpty();
+    }
+}
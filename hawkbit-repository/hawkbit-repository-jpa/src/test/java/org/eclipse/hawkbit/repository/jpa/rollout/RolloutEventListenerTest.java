@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollection;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.repository.RolloutManagement;
+import org.eclipse.hawkbit.repository.event.remote.entity.ActionUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Unit Tests - Repository")
+@Stories("Rollout Management")
+@RunWith(MockitoJUnitRunner.class)
+public class RolloutEventListenerTest {
+
+    private static final String TENANT = "TENANT1";
+    private static final String APPLICATION_ID = "node1";
+
+    @Mock
+    private RolloutManagement rolloutManagement;
+
+    @Mock
+    private SystemSecurityContext systemSecurityContext;
+
+    @Mock
+    private ScheduledExecutorService executorService;
+
+    private RolloutEventListener underTest;
+
+    @Before
+    public void before() {
+        when(systemSecurityContext.runAsSystemAsTenant(any(Callable.class), anyString()))
+                .thenAnswer(invocation -> ((Callable<?>) invocation.getArguments()[0]).call());
+        when(rolloutManagement.handleRollouts(anyCollection())).thenReturn(true);
+
+        underTest = new RolloutEventListener(rolloutManagement, systemSecurityContext, executorService, 500,
+                APPLICATION_ID);
+    }
+
+    @Test
+    @Description("Verifies that the changed rollouts are handled with the delay of the listener.")
+    public void handlingIsScheduledWithDelay() {
+        verify(executorService).scheduleWithFixedDelay(any(Runnable.class), eq(500L), eq(500L),
+                eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @Description("Verifies that a rollout is handled once per run no matter how many of its actions have changed.")
+    public void changedRolloutsAreHandledInBatch() {
+        underTest.onActionUpdated(actionUpdated(1L, APPLICATION_ID));
+        underTest.onActionUpdated(actionUpdated(1L, APPLICATION_ID));
+        underTest.onActionUpdated(actionUpdated(2L, APPLICATION_ID));
+        verify(rolloutManagement, never()).handleRollouts(anyCollection());
+
+        underTest.handleChanged();
+        verify(rolloutManagement).handleRollouts(Arrays.asList(1L, 2L));
+
+        underTest.handleChanged();
+        verify(rolloutManagement, times(1)).handleRollouts(anyCollection());
+    }
+
+    @Test
+    @Description("Verifies that the rollouts of a locked tenant are handled with the next run.")
+    public void lockedTenantIsHandledWithNextRun() {
+        when(rolloutManagement.handleRollouts(anyCollection())).thenReturn(false, true);
+        underTest.onActionUpdated(actionUpdated(1L, APPLICATION_ID));
+
+        underTest.handleChanged();
+        underTest.handleChanged();
+        underTest.handleChanged();
+
+        verify(rolloutManagement, times(2)).handleRollouts(Collections.singletonList(1L));
+    }
+
+    @Test
+    @Description("Verifies that actions without rollout and actions updated by other nodes are ignored.")
+    public void unrelatedActionUpdatesAreIgnored() {
+        underTest.onActionUpdated(actionUpdated(null, APPLICATION_ID));
+        underTest.onActionUpdated(actionUpdated(1L, "node2"));
+
+        underTest.handleChanged();
+
+        verify(rolloutManagement, never()).handleRollouts(anyCollection());
+    }
+
+    private static ActionUpdatedEvent actionUpdated(final Long rolloutId, final String applicationId) {
+        final Action action = mock(Action.class);
+        when(action.getId()).thenReturn(1L);
+        when(action.getTenant()).thenReturn(TENANT);
+        return new ActionUpdatedEvent(action, rolloutId, null, applicationId);
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.repository.RolloutStatusCache;
+import org.eclipse.hawkbit.repository.jpa.ActionRepository;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.eclipse.hawkbit.tenancy.TenantAware.TenantRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Unit Tests - Repository")
+@Stories("Rollout Management")
+@RunWith(MockitoJUnitRunner.class)
+public class RolloutGroupStatusCounterTest {
+
+    private static final String TENANT = "DEFAULT";
+    private static final long GROUP_ID = 1L;
+
+    private static final List<TotalTargetCountActionStatus> RUNNING = Arrays.asList(
+            new TotalTargetCountActionStatus(GROUP_ID, Status.RUNNING, 3L),
+            new TotalTargetCountActionStatus(GROUP_ID, Status.FINISHED, 2L));
+
+    private static final List<TotalTargetCountActionStatus> FINISHED = Arrays
+            .asList(new TotalTargetCountActionStatus(GROUP_ID, Status.FINISHED, 5L));
+
+    @Mock
+    private TenantAware tenantAware;
+
+    @Mock
+    private ActionRepository actionRepository;
+
+    private RolloutStatusCache rolloutStatusCache;
+
+    private RolloutGroupStatusCounter underTest;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void before() {
+        when(tenantAware.getCurrentTenant()).thenReturn(TENANT);
+        when(tenantAware.runAsTenant(anyString(), any(TenantRunner.class)))
+                .thenAnswer(invocation -> ((TenantRunner<?>) invocation.getArguments()[1]).run());
+
+        rolloutStatusCache = new RolloutStatusCache(tenantAware, 100, TimeUnit.MINUTES.toMillis(1));
+        underTest = new RolloutGroupStatusCounter(actionRepository, rolloutStatusCache);
+    }
+
+    @Test
+    @Description("Verifies that the status of a group is read once and counted from the cache afterwards.")
+    public void statusIsCounted() {
+        when(actionRepository.getStatusCountByRolloutGroupId(GROUP_ID)).thenReturn(RUNNING);
+
+        final RolloutGroupStatusCount statusCount = underTest.count(GROUP_ID);
+        assertThat(statusCount.countActions()).isEqualTo(5);
+        assertThat(statusCount.countActions(Status.FINISHED)).isEqualTo(2);
+        assertThat(statusCount.countActions(Status.RUNNING, Status.FINISHED)).isEqualTo(5);
+        assertThat(statusCount.countActions(Status.ERROR)).isEqualTo(0);
+        assertThat(underTest.count(GROUP_ID).countActions()).isEqualTo(5);
+
+        verify(actionRepository, times(1)).getStatusCountByRolloutGroupId(GROUP_ID);
+    }
+
+    @Test
+    @Description("Verifies that the status is read again after the cache has been invalidated.")
+    public void statusIsReadAgainAfterInvalidation() {
+        when(actionRepository.getStatusCountByRolloutGroupId(GROUP_ID)).thenReturn(RUNNING, FINISHED);
+
+        assertThat(underTest.count(GROUP_ID).countActions(Status.FINISHED)).isEqualTo(2);
+        rolloutStatusCache.evictCaches(TENANT);
+
+        assertThat(underTest.count(GROUP_ID).countActions(Status.FINISHED)).isEqualTo(5);
+        verify(actionRepository, times(2)).getStatusCountByRolloutGroupId(GROUP_ID);
+    }
+
+    @Test
+    @Description("Verifies that a status which has been read while the cache was invalidated is not cached, i.e. "
+            + "the next count reads the status again instead of using the stale status.")
+    public void statusReadDuringInvalidationIsNotCached() {
+        when(actionRepository.getStatusCountByRolloutGroupId(GROUP_ID)).thenAnswer(invocation -> {
+            // an action of the group is committed after the read
+            rolloutStatusCache.evictCaches(TENANT);
+            return RUNNING;
+        }).thenReturn(FINISHED);
+
+        assertThat(underTest.count(GROUP_ID).countActions(Status.FINISHED)).isEqualTo(2);
+        assertThat(underTest.count(GROUP_ID).countActions(Status.FINISHED)).isEqualTo(5);
+        assertThat(underTest.count(GROUP_ID).countActions(Status.FINISHED)).isEqualTo(5);
+
+        verify(actionRepository, times(2)).getStatusCountByRolloutGroupId(GROUP_ID);
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.repository.jpa.rsql;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.hawkbit.repository.TargetFields;
+import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility.CompiledRsql;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Micro benchmark that compares parsing and validating typical
+ * {@link TargetFields} filters on every query with reusing the cached
+ * {@link CompiledRsql}. The benchmark is not part of the test run and can be
+ * started with the {@link #main(String[])} method from the test class path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RSQLUtilityBenchmark {
+
+    @Param({ "controllerid==target-*", "name==test*;updatestatus==in_sync",
+            "attribute.revision==1.1;(tag==alpha,tag==beta);assignedds.name==ds*",
+            "lastcontrollerrequestat=le=${overdue_ts};installedds.version==1.0.0" })
+    private String rsql;
+
+    @Benchmark
+    public Object compile() {
+        return new CompiledRsql<>(rsql, TargetFields.class);
+    }
+
+    @Benchmark
+    public Object compileCached() {
+        return RSQLUtility.compile(rsql, TargetFields.class);
+    }
+
+    /**
+     * Runs the benchmark.
+     * 
+     * @param args
+     *            not used
+     * @throws RunnerException
+     *             if the benchmark fails
+     */
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RSQLUtilityBenchmark.class.getSimpleName()).build()).run();
+    }
+}
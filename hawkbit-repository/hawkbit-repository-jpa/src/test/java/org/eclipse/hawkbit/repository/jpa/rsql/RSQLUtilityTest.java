@@ -8,6 +8,7 @@
  */
 package org.eclipse.hawkbit.repository.jpa.rsql;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
@@ -326,6 +327,17 @@ public class RSQLUtilityTest {
                 eq(overduePropPlaceholder));
     }
 
+    @Test
+    @Description("Verifies that the same RSQL query is parsed and validated only once per field enum.")
+    public void compiledRsqlIsReusedForSameQueryAndFieldEnum() {
+        final String rsql = "name==abc;assignedds.version==1.0";
+
+        assertThat(RSQLUtility.compile(rsql, TargetFields.class))
+                .isSameAs(RSQLUtility.compile(rsql, TargetFields.class));
+        assertThat(RSQLUtility.compile("name==abc", TargetFields.class))
+                .isNotSameAs(RSQLUtility.compile("name==abc", SoftwareModuleFields.class));
+    }
+
     public VirtualPropertyReplacer setupMacroLookup() {
         when(confMgmt.getConfigurationValue(TenantConfigurationKey.POLLING_TIME_INTERVAL, String.class))
                 .thenReturn(TEST_POLLING_TIME_INTERVAL);
@@ -23,7 +23,9 @@ import org.eclipse.hawkbit.cache.DefaultDownloadIdCache;
 import org.eclipse.hawkbit.cache.DownloadIdCache;
 import org.eclipse.hawkbit.cache.TenantAwareCacheManager;
 import org.eclipse.hawkbit.event.BusProtoStuffMessageConverter;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.RolloutStatusCache;
+import org.eclipse.hawkbit.repository.TargetPollCache;
 import org.eclipse.hawkbit.repository.event.ApplicationEventFilter;
 import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
 import org.eclipse.hawkbit.repository.rsql.VirtualPropertyReplacer;
@@ -74,18 +76,31 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 @EnableGlobalMethodSecurity(prePostEnabled = true, mode = AdviceMode.PROXY, proxyTargetClass = false, securedEnabled = true)
 @EnableConfigurationProperties({ HawkbitServerProperties.class, DdiSecurityProperties.class,
         ArtifactUrlHandlerProperties.class, ArtifactFilesystemProperties.class, HawkbitSecurityProperties.class,
-        ControllerPollProperties.class, TenantConfigurationProperties.class })
+        ControllerPollProperties.class, TenantConfigurationProperties.class, RepositoryProperties.class })
 @Profile("test")
 @EnableAutoConfiguration
 @PropertySource("classpath:/hawkbit-test-defaults.properties")
 public class TestConfiguration implements AsyncConfigurer {
 
     /**
-     * Disables caching during test to avoid concurrency failures during test.
+     * Disables caching during test to avoid concurrency failures during test,
+     * see hawkbit-test-defaults.properties, unless enabled by the test.
      */
     @Bean
-    RolloutStatusCache rolloutStatusCache(final TenantAware tenantAware) {
-        return new RolloutStatusCache(tenantAware, 0);
+    RolloutStatusCache rolloutStatusCache(final TenantAware tenantAware,
+            final RepositoryProperties repositoryProperties) {
+        return new RolloutStatusCache(tenantAware, repositoryProperties.getRolloutStatusCacheSize(),
+                repositoryProperties.getRolloutStatusCacheExpiry());
+    }
+
+    /**
+     * Disables caching during test to avoid concurrency failures during test,
+     * see hawkbit-test-defaults.properties, unless enabled by the test.
+     */
+    @Bean
+    TargetPollCache targetPollCache(final TenantAware tenantAware, final RepositoryProperties repositoryProperties) {
+        return new TargetPollCache(tenantAware, repositoryProperties.getTargetPollCacheSize(),
+                repositoryProperties.getTargetPollCacheExpiry());
     }
 
     @Bean
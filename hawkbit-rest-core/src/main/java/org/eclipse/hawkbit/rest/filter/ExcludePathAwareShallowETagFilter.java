@@ -9,12 +9,14 @@
 package org.eclipse.hawkbit.rest.filter;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.ShallowEtagHeaderFilter;
 
@@ -23,6 +25,9 @@ import org.springframework.web.filter.ShallowEtagHeaderFilter;
  * where no ETag header should be generated due that calculating the ETag is an
  * expensive operation and the response output need to be copied in memory which
  * should be excluded in case of artifact downloads which could be big of size.
+ * 
+ * Responses that already contain an ETag header, e.g. calculated by the
+ * resource from the entity revisions, are passed through unchanged.
  */
 public class ExcludePathAwareShallowETagFilter extends ShallowEtagHeaderFilter {
 
@@ -47,6 +52,13 @@ public class ExcludePathAwareShallowETagFilter extends ShallowEtagHeaderFilter {
         }
     }
 
+    @Override
+    protected boolean isEligibleForEtag(final HttpServletRequest request, final HttpServletResponse response,
+            final int responseStatusCode, final InputStream inputStream) {
+        return !response.containsHeader(HttpHeaders.ETAG)
+                && super.isEligibleForEtag(request, response, responseStatusCode, inputStream);
+    }
+
     private boolean shouldExclude(final HttpServletRequest request) {
         for (final String pattern : excludeAntPaths) {
             if (antMatcher.match(request.getContextPath() + pattern, request.getRequestURI())) {
@@ -8,10 +8,13 @@
  */
 package org.eclipse.hawkbit.rest.util;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
@@ -192,9 +195,9 @@ public final class FileStreamingUtil {
         response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + r.getStart() + "-" + r.getEnd() + "/" + r.getTotal());
         response.setContentLengthLong(r.getLength());
 
-        try (InputStream from = artifact.getFileInputStream()) {
+        try (ArtifactReader from = new ArtifactReader(artifact)) {
             final ServletOutputStream to = response.getOutputStream();
-            copyStreams(from, to, progressListener, r.getStart(), r.getLength(), filename);
+            from.copy(to, progressListener, r, filename);
         } catch (final IOException e) {
             throw new FileStreamingFailedException("fullfileRequest " + filename, e);
         }
@@ -260,21 +263,18 @@ public final class FileStreamingUtil {
         response.setContentType("multipart/byteranges; boundary=" + ByteRange.MULTIPART_BOUNDARY);
         response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
 
-        try {
+        try (ArtifactReader from = new ArtifactReader(artifact)) {
             final ServletOutputStream to = response.getOutputStream();
 
             for (final ByteRange r : ranges) {
-                try (InputStream from = artifact.getFileInputStream()) {
-
-                    // Add multipart boundary and header fields for every range.
-                    to.println();
-                    to.println("--" + ByteRange.MULTIPART_BOUNDARY);
-                    to.println(HttpHeaders.CONTENT_RANGE + ": bytes " + r.getStart() + "-" + r.getEnd() + "/"
-                            + r.getTotal());
-
-                    // Copy single part range of multi part range.
-                    copyStreams(from, to, progressListener, r.getStart(), r.getLength(), filename);
-                }
+                // Add multipart boundary and header fields for every range.
+                to.println();
+                to.println("--" + ByteRange.MULTIPART_BOUNDARY);
+                to.println(HttpHeaders.CONTENT_RANGE + ": bytes " + r.getStart() + "-" + r.getEnd() + "/"
+                        + r.getTotal());
+
+                // Copy single part range of multi part range.
+                from.copy(to, progressListener, r, filename);
             }
 
             // End with final multipart boundary.
@@ -295,9 +295,9 @@ public final class FileStreamingUtil {
         response.setContentLengthLong(r.getLength());
         response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
 
-        try (InputStream from = artifact.getFileInputStream()) {
+        try (ArtifactReader from = new ArtifactReader(artifact)) {
             final ServletOutputStream to = response.getOutputStream();
-            copyStreams(from, to, progressListener, r.getStart(), r.getLength(), filename);
+            from.copy(to, progressListener, r, filename);
         } catch (final IOException e) {
             LOG.error("standardRangeRequest of file ({}) failed!", filename, e);
             throw new FileStreamingFailedException(filename);
@@ -316,14 +316,13 @@ public final class FileStreamingUtil {
         Preconditions.checkNotNull(from);
         Preconditions.checkNotNull(to);
         final byte[] buf = new byte[BUFFER_SIZE];
+        final ProgressReporter progress = new ProgressReporter(progressListener, length);
         long total = 0;
-        int progressPercent = 1;
 
         ByteStreams.skipFully(from, start);
 
         long toRead = length;
         boolean toContinue = true;
-        long shippedSinceLastEvent = 0;
 
         while (toContinue) {
             final int r = from.read(buf);
@@ -332,29 +331,65 @@ public final class FileStreamingUtil {
             }
 
             toRead -= r;
+            final long shipped;
             if (toRead > 0) {
-                to.write(buf, 0, r);
-                total += r;
-                shippedSinceLastEvent += r;
+                shipped = r;
             } else {
-                to.write(buf, 0, (int) toRead + r);
-                total += toRead + r;
-                shippedSinceLastEvent += toRead + r;
+                shipped = toRead + r;
                 toContinue = false;
             }
+            to.write(buf, 0, (int) shipped);
+            total += shipped;
 
-            if (progressListener != null) {
-                final int newPercent = DoubleMath.roundToInt(total * 100.0 / length, RoundingMode.DOWN);
+            progress.shipped(shipped, total);
+        }
 
-                // every 10 percent an event
-                if (newPercent == 100 || newPercent > progressPercent + 10) {
-                    progressPercent = newPercent;
-                    progressListener.progress(length, shippedSinceLastEvent, total);
-                    shippedSinceLastEvent = 0;
-                }
+        checkCompleted(filename, length, total, startMillis);
+
+        return total;
+    }
+
+    /**
+     * Copies a range of a {@link FileChannel} to the response through the same
+     * buffer size as {@link #copyStreams}. The Servlet API does not expose the
+     * socket of the response, so the content is not transferred by the file
+     * system. The channel is read at the position of the range instead of
+     * skipping over the content before it, and all ranges of a multipart
+     * request are served from one open file.
+     */
+    private static long copyChannel(final FileChannel from, final OutputStream to,
+            final FileStreamingProgressListener progressListener, final long start, final long length,
+            final String filename) throws IOException {
+
+        final long startMillis = System.currentTimeMillis();
+        LOG.trace("Start of copy-channel of file {} from {} to {}", filename, start, length);
+
+        Preconditions.checkNotNull(from);
+        Preconditions.checkNotNull(to);
+        final ByteBuffer buf = ByteBuffer.allocate(BUFFER_SIZE);
+        final ProgressReporter progress = new ProgressReporter(progressListener, length);
+        long total = 0;
+
+        while (total < length) {
+            buf.clear();
+            buf.limit((int) Math.min(BUFFER_SIZE, length - total));
+            final int shipped = from.read(buf, start + total);
+            if (shipped <= 0) {
+                break;
             }
+            to.write(buf.array(), 0, shipped);
+            total += shipped;
+
+            progress.shipped(shipped, total);
         }
 
+        checkCompleted(filename, length, total, startMillis);
+
+        return total;
+    }
+
+    private static void checkCompleted(final String filename, final long length, final long total,
+            final long startMillis) {
         final long totalTime = System.currentTimeMillis() - startMillis;
 
         if (total < length) {
@@ -362,9 +397,73 @@ public final class FileStreamingUtil {
                     + " bytes could not be written to client, total time on write: !" + totalTime + " ms");
         }
 
-        LOG.trace("Finished copy-stream of file {} with length {} in {} ms", filename, length, totalTime);
+        LOG.trace("Finished copy of file {} with length {} in {} ms", filename, length, totalTime);
+    }
+
+    /**
+     * Reads the ranges of an artifact. If the artifact is stored in a local
+     * file a single {@link FileChannel} is used for all ranges, which reads
+     * from the start of a range without skipping over the content before it.
+     * Otherwise a new {@link InputStream} is opened per range.
+     */
+    private static final class ArtifactReader implements Closeable {
+        private final AbstractDbArtifact artifact;
+        private final FileChannel channel;
+
+        private ArtifactReader(final AbstractDbArtifact artifact) {
+            this.artifact = artifact;
+            this.channel = artifact.getFileChannel().orElse(null);
+        }
+
+        private long copy(final OutputStream to, final FileStreamingProgressListener progressListener,
+                final ByteRange r, final String filename) throws IOException {
+            if (channel != null) {
+                return copyChannel(channel, to, progressListener, r.getStart(), r.getLength(), filename);
+            }
+
+            try (InputStream from = artifact.getFileInputStream()) {
+                return copyStreams(from, to, progressListener, r.getStart(), r.getLength(), filename);
+            }
+        }
 
-        return total;
+        @Override
+        public void close() throws IOException {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Reports the progress of a copy to the {@link FileStreamingProgressListener}
+     * every 10 percent.
+     */
+    private static final class ProgressReporter {
+        private final FileStreamingProgressListener progressListener;
+        private final long length;
+        private int progressPercent = 1;
+        private long shippedSinceLastEvent;
+
+        private ProgressReporter(final FileStreamingProgressListener progressListener, final long length) {
+            this.progressListener = progressListener;
+            this.length = length;
+        }
+
+        private void shipped(final long shipped, final long total) {
+            if (progressListener == null) {
+                return;
+            }
+
+            shippedSinceLastEvent += shipped;
+            final int newPercent = DoubleMath.roundToInt(total * 100.0 / length, RoundingMode.DOWN);
+
+            // every 10 percent an event
+            if (newPercent == 100 || newPercent > progressPercent + 10) {
+                progressPercent = newPercent;
+                progressListener.progress(length, shippedSinceLastEvent, total);
+                shippedSinceLastEvent = 0;
+            }
+        }
     }
 
     private static final class ByteRange {
@@ -27,6 +27,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 import ru.yandex.qatools.allure.annotations.Features;
 import ru.yandex.qatools.allure.annotations.Stories;
@@ -89,4 +91,21 @@ public class ExcludePathAwareShallowETagFilterTest {
         verify(filterChainMock, times(1)).doFilter(Mockito.eq(servletRequestMock), responseArgumentCaptor.capture());
         assertThat(mockingDetails(responseArgumentCaptor.getValue()).isMock()).isFalse();
     }
+
+    @Test
+    public void eTagOfResourceIsNotOverwritten() throws ServletException, IOException {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/include/resource");
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        final ExcludePathAwareShallowETagFilter filterUnderTest = new ExcludePathAwareShallowETagFilter(
+                "/exclude/**");
+
+        filterUnderTest.doFilter(request, response, (filterRequest, filterResponse) -> {
+            ((HttpServletResponse) filterResponse).setHeader("ETag", "\"resource\"");
+            filterResponse.getWriter().write("body");
+        });
+
+        assertThat(response.getHeader("ETag")).isEqualTo("\"resource\"");
+        assertThat(response.getContentAsString()).isEqualTo("body");
+    }
 }
@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Unit Tests - Direct Device Integration API")
+@Stories("Artifact Download Resource")
+public class FileStreamingUtilTest {
+
+    private static final String FILENAME = "file1";
+    private static final int SIZE = 100 * 1024;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final byte[] content = new byte[SIZE];
+
+    private File file;
+
+    @Before
+    public void before() throws IOException {
+        new Random(1).nextBytes(content);
+        file = folder.newFile(FILENAME);
+        Files.write(file.toPath(), content);
+    }
+
+    @Test
+    @Description("Verifies that a standard range request of a file artifact is served from the file channel.")
+    public void standardRangeRequestIsServedFromChannel() {
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        final AtomicLong shipped = new AtomicLong();
+
+        final ResponseEntity<InputStream> result = FileStreamingUtil.writeFileResponse(new ChannelArtifact(file),
+                FILENAME, 1000L, response, rangeRequest("bytes=1000-50999"),
+                (requested, sinceLast, overall) -> shipped.set(overall));
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 1000-50999/" + SIZE);
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, 1000, 51000));
+        assertThat(shipped.get()).isEqualTo(50000);
+    }
+
+    @Test
+    @Description("Verifies that all ranges of a multipart range request are served from one file channel.")
+    public void multipartRangeRequestIsServedFromChannel() throws IOException {
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        final ChannelArtifact artifact = new ChannelArtifact(file);
+
+        final ResponseEntity<InputStream> result = FileStreamingUtil.writeFileResponse(artifact, FILENAME, 1000L,
+                response, rangeRequest("bytes=0-9,-10"), null);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(artifact.opened).isEqualTo(1);
+        final String body = response.getContentAsString();
+        assertThat(body).contains("Content-Range: bytes 0-9/" + SIZE)
+                .contains("Content-Range: bytes " + (SIZE - 10) + "-" + (SIZE - 1) + "/" + SIZE);
+    }
+
+    @Test
+    @Description("Verifies that a full request of a file artifact is served from the file channel.")
+    public void fullRequestIsServedFromChannel() {
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        final ResponseEntity<InputStream> result = FileStreamingUtil.writeFileResponse(new ChannelArtifact(file),
+                FILENAME, 1000L, response, new MockHttpServletRequest(), null);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getContentAsByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    @Description("Verifies that an artifact without a local file is still served from its stream.")
+    public void rangeRequestWithoutChannelIsServedFromStream() {
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        final ResponseEntity<InputStream> result = FileStreamingUtil.writeFileResponse(new StreamArtifact(content),
+                FILENAME, 1000L, response, rangeRequest("bytes=1000-50999"), null);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, 1000, 51000));
+    }
+
+    private static MockHttpServletRequest rangeRequest(final String range) {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.RANGE, range);
+        return request;
+    }
+
+    /**
+     * Artifact that can only be read through its {@link FileChannel}.
+     */
+    private static final class ChannelArtifact extends AbstractDbArtifact {
+        private final File file;
+        private int opened;
+
+        private ChannelArtifact(final File file) {
+            super(FILENAME, new DbArtifactHash("sha1", "md5"), file.length(), null);
+            this.file = file;
+        }
+
+        @Override
+        public InputStream getFileInputStream() {
+            throw new UnsupportedOperationException("The artifact must be read through its channel");
+        }
+
+        @Override
+        public Optional<FileChannel> getFileChannel() {
+            try {
+                opened++;
+                return Optional.of(FileChannel.open(file.toPath(), StandardOpenOption.READ));
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static final class StreamArtifact extends AbstractDbArtifact {
+        private final byte[] content;
+
+        private StreamArtifact(final byte[] content) {
+            super(FILENAME, new DbArtifactHash("sha1", "md5"), content.length, null);
+            this.content = content;
+        }
+
+        @Override
+        public InputStream getFileInputStream() {
+            return new ByteArrayInputStream(content);
+        }
+    }
+}
@@ -130,6 +130,18 @@ public class DdiSecurityProperties {
              */
             private boolean enabled = false;
 
+            /**
+             * Maximum number of verified target tokens that are cached, 0
+             * disables the cache.
+             */
+            private long cacheSize = 100_000;
+
+            /**
+             * Time in millis after which a cached target token has to be
+             * verified against the repository again.
+             */
+            private long cacheExpiry = 60_000;
+
             public boolean isEnabled() {
                 return enabled;
             }
@@ -138,6 +150,22 @@ public class DdiSecurityProperties {
                 this.enabled = enabled;
             }
 
+            public long getCacheSize() {
+                return cacheSize;
+            }
+
+            public void setCacheSize(final long cacheSize) {
+                this.cacheSize = cacheSize;
+            }
+
+            public long getCacheExpiry() {
+                return cacheExpiry;
+            }
+
+            public void setCacheExpiry(final long cacheExpiry) {
+                this.cacheExpiry = cacheExpiry;
+            }
+
         }
 
         /**
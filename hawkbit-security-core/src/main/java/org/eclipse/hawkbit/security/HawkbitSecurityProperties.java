@@ -187,6 +187,13 @@ public class HawkbitSecurityProperties {
              */
             int maxWrite = 50;
 
+            /**
+             * For what the requests are counted, i.e. per client IP or in
+             * addition per tenant or controller in case these are part of the
+             * request path.
+             */
+            private RateLimitKey rateLimitKey = RateLimitKey.IP;
+
             public boolean isEnabled() {
                 return enabled;
             }
@@ -219,6 +226,14 @@ public class HawkbitSecurityProperties {
                 this.maxWrite = maxWrite;
             }
 
+            public RateLimitKey getRateLimitKey() {
+                return rateLimitKey;
+            }
+
+            public void setRateLimitKey(final RateLimitKey rateLimitKey) {
+                this.rateLimitKey = rateLimitKey;
+            }
+
         }
     }
 }
@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.security;
+
+/**
+ * Defines for what the requests are counted by the DOS filter.
+ */
+public enum RateLimitKey {
+
+    /**
+     * Requests are counted per client IP address.
+     */
+    IP,
+
+    /**
+     * Requests are counted per client IP address and tenant, in case the
+     * tenant is part of the request path.
+     */
+    TENANT,
+
+    /**
+     * Requests are counted per client IP address, tenant and controller, in
+     * case the tenant and the controller ID are part of the request path.
+     */
+    CONTROLLER;
+}
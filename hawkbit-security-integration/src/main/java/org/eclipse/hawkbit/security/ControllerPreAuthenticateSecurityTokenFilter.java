@@ -10,6 +10,7 @@ package org.eclipse.hawkbit.security;
 
 import java.util.Optional;
 
+import org.eclipse.hawkbit.cache.StampedCache;
 import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
 import org.eclipse.hawkbit.repository.model.Target;
@@ -35,6 +36,7 @@ public class ControllerPreAuthenticateSecurityTokenFilter extends AbstractContro
     private static final int OFFSET_TARGET_TOKEN = TARGET_SECURITY_TOKEN_AUTH_SCHEME.length();
 
     private final ControllerManagement controllerManagement;
+    private final ControllerSecurityTokenCache securityTokenCache;
 
     /**
      * Constructor.
@@ -51,23 +53,51 @@ public class ControllerPreAuthenticateSecurityTokenFilter extends AbstractContro
      * @param systemSecurityContext
      *            the system security context to get access to tenant
      *            configuration
+     * @param securityTokenCache
+     *            the cache of verified target security tokens
      */
     public ControllerPreAuthenticateSecurityTokenFilter(
             final TenantConfigurationManagement tenantConfigurationManagement,
             final ControllerManagement controllerManagement, final TenantAware tenantAware,
-            final SystemSecurityContext systemSecurityContext) {
+            final SystemSecurityContext systemSecurityContext,
+            final ControllerSecurityTokenCache securityTokenCache) {
         super(tenantConfigurationManagement, tenantAware, systemSecurityContext);
         this.controllerManagement = controllerManagement;
+        this.securityTokenCache = securityTokenCache;
+    }
+
+    /**
+     * Constructor without caching of verified target security tokens.
+     * 
+     * @param tenantConfigurationManagement
+     *            the tenant management service to retrieve configuration
+     *            properties
+     * @param controllerManagement
+     *            the controller management to retrieve the specific target
+     *            security token to verify
+     * @param tenantAware
+     *            the tenant aware service to get configuration for the specific
+     *            tenant
+     * @param systemSecurityContext
+     *            the system security context to get access to tenant
+     *            configuration
+     */
+    public ControllerPreAuthenticateSecurityTokenFilter(
+            final TenantConfigurationManagement tenantConfigurationManagement,
+            final ControllerManagement controllerManagement, final TenantAware tenantAware,
+            final SystemSecurityContext systemSecurityContext) {
+        this(tenantConfigurationManagement, controllerManagement, tenantAware, systemSecurityContext,
+                new ControllerSecurityTokenCache(0, 0));
     }
 
     @Override
     public HeaderAuthentication getPreAuthenticatedPrincipal(final DmfTenantSecurityToken secruityToken) {
         final String controllerId = resolveControllerId(secruityToken);
-        final String authHeader = secruityToken.getHeader(DmfTenantSecurityToken.AUTHORIZATION_HEADER);
-        if ((authHeader != null) && authHeader.startsWith(TARGET_SECURITY_TOKEN_AUTH_SCHEME)) {
+        final String presentedToken = getPresentedToken(secruityToken);
+        if (presentedToken != null) {
             LOGGER.debug("found authorization header with scheme {} using target security token for authentication",
                     TARGET_SECURITY_TOKEN_AUTH_SCHEME);
-            return new HeaderAuthentication(controllerId, authHeader.substring(OFFSET_TARGET_TOKEN));
+            return new HeaderAuthentication(controllerId, presentedToken);
         }
         LOGGER.debug(
                 "security token filter is enabled but requst does not contain either the necessary path variables {} or the authorization header with scheme {}",
@@ -77,22 +107,41 @@ public class ControllerPreAuthenticateSecurityTokenFilter extends AbstractContro
 
     @Override
     public HeaderAuthentication getPreAuthenticatedCredentials(final DmfTenantSecurityToken securityToken) {
-        final Optional<Target> target = systemSecurityContext.runAsSystemAsTenant(() -> {
-            if (securityToken.getTargetId() != null) {
-                return controllerManagement.get(securityToken.getTargetId());
-            }
-            return controllerManagement.getByControllerId(securityToken.getControllerId());
-        }, securityToken.getTenant());
+        final String tenant = securityToken.getTenant();
+        final String presentedToken = getPresentedToken(securityToken);
+        final String cachedControllerId = securityToken.getControllerId() != null ? securityToken.getControllerId()
+                : securityTokenCache.getControllerId(tenant, securityToken.getTargetId()).orElse(null);
+        if (securityTokenCache.isVerified(tenant, cachedControllerId, presentedToken)) {
+            return new HeaderAuthentication(cachedControllerId, presentedToken);
+        }
 
-        return target.map(t -> new HeaderAuthentication(t.getControllerId(),
-                systemSecurityContext.runAsSystemAsTenant(() -> t.getSecurityToken(), securityToken.getTenant())))
-                .orElse(null);
+        try (final StampedCache.Stamp stamp = securityTokenCache.stamp()) {
+            final Optional<Target> target = systemSecurityContext.runAsSystemAsTenant(() -> {
+                if (securityToken.getTargetId() != null) {
+                    return controllerManagement.get(securityToken.getTargetId());
+                }
+                return controllerManagement.getByControllerId(securityToken.getControllerId());
+            }, tenant);
+
+            return target.map(t -> {
+                final String targetToken = systemSecurityContext.runAsSystemAsTenant(t::getSecurityToken, tenant);
+                if (targetToken != null && targetToken.equals(presentedToken)) {
+                    securityTokenCache.putVerified(tenant, t.getId(), t.getControllerId(), targetToken, stamp);
+                }
+                return new HeaderAuthentication(t.getControllerId(), targetToken);
+            }).orElse(null);
+        }
     }
 
     private String resolveControllerId(final DmfTenantSecurityToken securityToken) {
         if (securityToken.getControllerId() != null) {
             return securityToken.getControllerId();
         }
+        final Optional<String> cachedControllerId = securityTokenCache.getControllerId(securityToken.getTenant(),
+                securityToken.getTargetId());
+        if (cachedControllerId.isPresent()) {
+            return cachedControllerId.get();
+        }
         final Optional<Target> foundTarget = systemSecurityContext.runAsSystemAsTenant(
                 () -> controllerManagement.get(securityToken.getTargetId()), securityToken.getTenant());
         if (!foundTarget.isPresent()) {
@@ -101,6 +150,14 @@ public class ControllerPreAuthenticateSecurityTokenFilter extends AbstractContro
         return foundTarget.get().getControllerId();
     }
 
+    private static String getPresentedToken(final DmfTenantSecurityToken securityToken) {
+        final String authHeader = securityToken.getHeader(DmfTenantSecurityToken.AUTHORIZATION_HEADER);
+        if ((authHeader != null) && authHeader.startsWith(TARGET_SECURITY_TOKEN_AUTH_SCHEME)) {
+            return authHeader.substring(OFFSET_TARGET_TOKEN);
+        }
+        return null;
+    }
+
     @Override
     protected String getTenantConfigurationKey() {
         return TenantConfigurationKey.AUTHENTICATION_MODE_TARGET_SECURITY_TOKEN_ENABLED;
@@ -0,0 +1,250 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.hawkbit.cache.StampedCache;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.springframework.context.event.EventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Short-lived cache of target security tokens that have been verified by the
+ * {@link ControllerPreAuthenticateSecurityTokenFilter}, so repeated requests of
+ * the same controller are authenticated without loading the target.
+ *
+ * Only a hash of the token is kept. The entries are keyed by the ID of the
+ * target and invalidated by the remote events that indicate a change of the
+ * target, e.g. a regenerated token. The controller ID is only resolved to the
+ * target ID through a second cache, i.e. if that mapping is evicted the token
+ * has to be verified against the repository again while the invalidation
+ * still reaches the entry. Every read of a target has to be wrapped into a
+ * {@link #stamp()}, see {@link StampedCache}.
+ *
+ */
+public class ControllerSecurityTokenCache {
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private final StampedCache<Long, CachedToken> tokenCache;
+    private final Cache<CacheKey, Long> idCache;
+    private final boolean enabled;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param size
+     *            the maximum number of cached tokens, <code>0</code> disables
+     *            the cache
+     * @param expiry
+     *            in {@link TimeUnit#MILLISECONDS} after which a verified token
+     *            has to be verified against the repository again
+     */
+    public ControllerSecurityTokenCache(final long size, final long expiry) {
+        this.enabled = size > 0;
+        this.tokenCache = new StampedCache<>(size, expiry);
+        this.idCache = Caffeine.newBuilder().maximumSize(size).expireAfterWrite(expiry, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * @return stamp to be taken before the target is read from the repository
+     */
+    public StampedCache.Stamp stamp() {
+        return tokenCache.stamp();
+    }
+
+    /**
+     * Checks if the given token has been verified for the controller.
+     *
+     * @param tenant
+     *            of the controller
+     * @param controllerId
+     *            of the controller
+     * @param token
+     *            presented by the controller
+     * @return <code>true</code> if the token is cached for the controller,
+     *         <code>false</code> if the target has to be loaded
+     */
+    public boolean isVerified(final String tenant, final String controllerId, final String token) {
+        if (!enabled || controllerId == null || token == null) {
+            return false;
+        }
+
+        final Long targetId = idCache.getIfPresent(new CacheKey(tenant, controllerId));
+        final Optional<CachedToken> entry = targetId == null ? Optional.empty() : tokenCache.get(tenant, targetId);
+        if (entry.isPresent() && entry.get().matches(controllerId, hash(token))) {
+            hits.increment();
+            return true;
+        }
+
+        misses.increment();
+        return false;
+    }
+
+    /**
+     * Retrieves the cached controller ID of a target.
+     *
+     * @param tenant
+     *            of the target
+     * @param targetId
+     *            of the target
+     * @return the controller ID or {@link Optional#empty()} if not cached
+     */
+    public Optional<String> getControllerId(final String tenant, final Long targetId) {
+        if (!enabled || targetId == null) {
+            return Optional.empty();
+        }
+
+        return tokenCache.get(tenant, targetId).map(CachedToken::getControllerId);
+    }
+
+    /**
+     * Put the verified token of a controller into the cache.
+     *
+     * @param tenant
+     *            of the controller
+     * @param targetId
+     *            of the target
+     * @param controllerId
+     *            of the controller
+     * @param token
+     *            that has been verified
+     * @param stamp
+     *            taken before the target has been read
+     */
+    public void putVerified(final String tenant, final Long targetId, final String controllerId, final String token,
+            final StampedCache.Stamp stamp) {
+        if (!enabled) {
+            return;
+        }
+
+        tokenCache.put(tenant, targetId, new CachedToken(controllerId, hash(token)), stamp);
+        idCache.put(new CacheKey(tenant, controllerId), targetId);
+    }
+
+    @EventListener(classes = TargetUpdatedEvent.class)
+    void invalidateOnTargetUpdate(final TargetUpdatedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        invalidate(event.getTenant(), event.getEntityId());
+    }
+
+    @EventListener(classes = TargetDeletedEvent.class)
+    void invalidateOnTargetDelete(final TargetDeletedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        idCache.invalidate(new CacheKey(event.getTenant(), event.getControllerId()));
+        invalidate(event.getTenant(), event.getEntityId());
+    }
+
+    /**
+     * @return number of requests that have been authenticated from the cache
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of requests that required to load the target
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return approximate number of cached tokens
+     */
+    public long getSize() {
+        return tokenCache.size();
+    }
+
+    /**
+     * Drops the cached mappings of controller IDs to target IDs, e.g. as the
+     * size based eviction would do.
+     */
+    void evictControllerIds() {
+        idCache.invalidateAll();
+    }
+
+    private void invalidate(final String tenant, final Long targetId) {
+        if (targetId == null) {
+            return;
+        }
+
+        tokenCache.invalidate(tenant, targetId);
+    }
+
+    private static byte[] hash(final String token) {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM).digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(HASH_ALGORITHM + " is not supported", e);
+        }
+    }
+
+    private static final class CacheKey {
+        private final String tenant;
+        private final String id;
+
+        private CacheKey(final String tenant, final String id) {
+            this.tenant = tenant == null ? null : tenant.toUpperCase();
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tenant, id);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final CacheKey other = (CacheKey) obj;
+            return Objects.equals(tenant, other.tenant) && Objects.equals(id, other.id);
+        }
+    }
+
+    private static final class CachedToken {
+        private final String controllerId;
+        private final byte[] tokenHash;
+
+        private CachedToken(final String controllerId, final byte[] tokenHash) {
+            this.controllerId = controllerId;
+            this.tokenHash = tokenHash;
+        }
+
+        private String getControllerId() {
+            return controllerId;
+        }
+
+        private boolean matches(final String controllerId, final byte[] hash) {
+            return this.controllerId.equals(controllerId) && MessageDigest.isEqual(tokenHash, hash);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.security;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+
+/**
+ * {@link PublicMetrics} of the {@link ControllerSecurityTokenCache} that is
+ * used for the target security token authentication.
+ *
+ */
+public class ControllerSecurityTokenCacheMetrics implements PublicMetrics {
+    private static final String PREFIX = "hawkbit.security.targettoken.cache.";
+
+    private final ControllerSecurityTokenCache cache;
+
+    /**
+     * @param cache
+     *            to publish the statistics of
+     */
+    public ControllerSecurityTokenCacheMetrics(final ControllerSecurityTokenCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics() {
+        return Arrays.asList(new Metric<>(PREFIX + "hits", cache.getHits()),
+                new Metric<>(PREFIX + "misses", cache.getMisses()), new Metric<>(PREFIX + "size", cache.getSize()));
+    }
+}
@@ -0,0 +1,184 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.eclipse.hawkbit.cache.StampedCache;
+import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.security.DmfTenantSecurityToken.FileResource;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Unit Tests - Security")
+@Stories("Target security token based authentication")
+@RunWith(MockitoJUnitRunner.class)
+public class ControllerPreAuthenticateSecurityTokenFilterTest {
+
+    private static final String TENANT = "DEFAULT";
+    private static final String CONTROLLER_ID = "box1";
+    private static final Long TARGET_ID = 1L;
+    private static final String TOKEN = "5d8fSD54fdsFG98DDsa";
+
+    @Mock
+    private TenantConfigurationManagement tenantConfigurationManagementMock;
+
+    @Mock
+    private ControllerManagement controllerManagementMock;
+
+    @Mock
+    private Target targetMock;
+
+    private final SecurityContextTenantAware tenantAware = new SecurityContextTenantAware();
+
+    private ControllerSecurityTokenCache cache;
+
+    private ControllerPreAuthenticateSecurityTokenFilter underTest;
+
+    @Before
+    public void before() {
+        cache = new ControllerSecurityTokenCache(100, 60_000);
+        underTest = new ControllerPreAuthenticateSecurityTokenFilter(tenantConfigurationManagementMock,
+                controllerManagementMock, tenantAware, new SystemSecurityContext(tenantAware), cache);
+
+        when(targetMock.getId()).thenReturn(TARGET_ID);
+        when(targetMock.getTenant()).thenReturn(TENANT);
+        when(targetMock.getControllerId()).thenReturn(CONTROLLER_ID);
+        when(targetMock.getSecurityToken()).thenReturn(TOKEN);
+        when(controllerManagementMock.getByControllerId(CONTROLLER_ID)).thenReturn(Optional.of(targetMock));
+    }
+
+    @Test
+    @Description("Verifies that a verified token is authenticated from the cache without loading the target again.")
+    public void verifiedTokenIsCached() {
+        final DmfTenantSecurityToken securityToken = prepareSecurityToken(TOKEN);
+        final HeaderAuthentication expected = new HeaderAuthentication(CONTROLLER_ID, TOKEN);
+
+        assertThat(underTest.getPreAuthenticatedPrincipal(securityToken)).isEqualTo(expected);
+        assertThat(underTest.getPreAuthenticatedCredentials(securityToken)).isEqualTo(expected);
+        assertThat(underTest.getPreAuthenticatedCredentials(securityToken)).isEqualTo(expected);
+
+        verify(controllerManagementMock, times(1)).getByControllerId(CONTROLLER_ID);
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    @Description("Verifies that a wrong token is not cached and not authenticated.")
+    public void wrongTokenIsNotCached() {
+        final DmfTenantSecurityToken securityToken = prepareSecurityToken("wrong");
+
+        assertThat(underTest.getPreAuthenticatedCredentials(securityToken))
+                .isNotEqualTo(underTest.getPreAuthenticatedPrincipal(securityToken));
+        assertThat(underTest.getPreAuthenticatedCredentials(securityToken))
+                .isNotEqualTo(underTest.getPreAuthenticatedPrincipal(securityToken));
+
+        verify(controllerManagementMock, times(2)).getByControllerId(CONTROLLER_ID);
+        assertThat(cache.getHits()).isZero();
+    }
+
+    @Test
+    @Description("Verifies that the cached token is invalidated when the target has been updated, e.g. with a new token.")
+    public void cachedTokenIsInvalidatedOnTargetUpdate() {
+        final DmfTenantSecurityToken securityToken = prepareSecurityToken(TOKEN);
+        underTest.getPreAuthenticatedCredentials(securityToken);
+
+        when(targetMock.getSecurityToken()).thenReturn("regenerated");
+        cache.invalidateOnTargetUpdate(new TargetUpdatedEvent(targetMock, "node"));
+
+        assertThat(underTest.getPreAuthenticatedCredentials(securityToken))
+                .isEqualTo(new HeaderAuthentication(CONTROLLER_ID, "regenerated"));
+        verify(controllerManagementMock, times(2)).getByControllerId(CONTROLLER_ID);
+    }
+
+    @Test
+    @Description("Verifies that the cached token is invalidated when the target has been deleted.")
+    public void cachedTokenIsInvalidatedOnTargetDelete() {
+        final DmfTenantSecurityToken securityToken = prepareSecurityToken(TOKEN);
+        underTest.getPreAuthenticatedCredentials(securityToken);
+
+        when(controllerManagementMock.getByControllerId(CONTROLLER_ID)).thenReturn(Optional.empty());
+        cache.invalidateOnTargetDelete(
+                new TargetDeletedEvent(TENANT, TARGET_ID, CONTROLLER_ID, null, Target.class.getName(), "node"));
+
+        assertThat(underTest.getPreAuthenticatedCredentials(securityToken)).isNull();
+    }
+
+    @Test
+    @Description("Verifies that a token that has been read before an invalidation is not cached.")
+    public void staleTokenIsNotCached() {
+        try (final StampedCache.Stamp stamp = cache.stamp()) {
+            cache.invalidateOnTargetDelete(
+                    new TargetDeletedEvent(TENANT, TARGET_ID, CONTROLLER_ID, null, Target.class.getName(), "node"));
+            cache.putVerified(TENANT, TARGET_ID, CONTROLLER_ID, TOKEN, stamp);
+        }
+
+        assertThat(cache.isVerified(TENANT, CONTROLLER_ID, TOKEN)).isFalse();
+        assertThat(cache.getSize()).isZero();
+    }
+
+    @Test
+    @Description("Verifies that the invalidation of a target that is neither cached nor loaded leaves no entry in "
+            + "the cache.")
+    public void invalidationOfUnknownTargetIsNotCached() {
+        cache.invalidateOnTargetUpdate(new TargetUpdatedEvent(targetMock, "node"));
+        cache.invalidateOnTargetDelete(
+                new TargetDeletedEvent(TENANT, TARGET_ID, CONTROLLER_ID, null, Target.class.getName(), "node"));
+
+        assertThat(cache.getSize()).isZero();
+
+        try (final StampedCache.Stamp stamp = cache.stamp()) {
+            cache.putVerified(TENANT, TARGET_ID, CONTROLLER_ID, TOKEN, stamp);
+        }
+        assertThat(cache.isVerified(TENANT, CONTROLLER_ID, TOKEN)).isTrue();
+    }
+
+    @Test
+    @Description("Verifies that the cached token is invalidated on a target update even if the mapping of the "
+            + "controller ID has been evicted before, i.e. a token that has been read before the update is not "
+            + "authenticated from the cache afterwards.")
+    public void cachedTokenIsInvalidatedOnTargetUpdateAfterIdEviction() {
+        try (final StampedCache.Stamp stamp = cache.stamp()) {
+            cache.putVerified(TENANT, TARGET_ID, CONTROLLER_ID, TOKEN, stamp);
+            cache.evictControllerIds();
+
+            when(targetMock.getSecurityToken()).thenReturn("regenerated");
+            cache.invalidateOnTargetUpdate(new TargetUpdatedEvent(targetMock, "node"));
+            cache.putVerified(TENANT, TARGET_ID, CONTROLLER_ID, TOKEN, stamp);
+        }
+
+        assertThat(cache.isVerified(TENANT, CONTROLLER_ID, TOKEN)).isFalse();
+        assertThat(underTest.getPreAuthenticatedCredentials(prepareSecurityToken(TOKEN)))
+                .isEqualTo(new HeaderAuthentication(CONTROLLER_ID, "regenerated"));
+    }
+
+    private static DmfTenantSecurityToken prepareSecurityToken(final String token) {
+        final DmfTenantSecurityToken securityToken = new DmfTenantSecurityToken(TENANT, CONTROLLER_ID,
+                FileResource.createFileResourceBySha1("12345"));
+        securityToken.putHeader(DmfTenantSecurityToken.AUTHORIZATION_HEADER, "TargetToken " + token);
+        return securityToken;
+    }
+
+}
@@ -62,6 +62,8 @@ public class ManagementUIState implements ManagementEntityState, Serializable {
 
     private final AtomicLong targetsCountAll = new AtomicLong();
 
+    private volatile long targetsCountAllRefreshed;
+
     private boolean dsTableMaximized;
 
     private Long lastSelectedDsIdName;
@@ -195,6 +197,17 @@ public class ManagementUIState implements ManagementEntityState, Serializable {
 
     public void setTargetsCountAll(final long targetsCountAll) {
         this.targetsCountAll.set(targetsCountAll);
+        this.targetsCountAllRefreshed = System.currentTimeMillis();
+    }
+
+    /**
+     * @param maxAge
+     *            in milliseconds
+     * @return <code>true</code> if the count of all targets has been refreshed
+     *         within the given max age
+     */
+    public boolean isTargetsCountAllUpToDate(final long maxAge) {
+        return System.currentTimeMillis() - targetsCountAllRefreshed < maxAge;
     }
 
     public boolean isDsTableMaximized() {
@@ -10,15 +10,22 @@ package org.eclipse.hawkbit.ui.management.targettable;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
-import org.eclipse.hawkbit.repository.DeploymentManagement;
+import org.eclipse.hawkbit.repository.DistributionSetManagement;
 import org.eclipse.hawkbit.repository.FilterParams;
 import org.eclipse.hawkbit.repository.OffsetBasedPageRequest;
 import org.eclipse.hawkbit.repository.TargetManagement;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
+import org.eclipse.hawkbit.repository.model.TargetWithDistributionSets;
 import org.eclipse.hawkbit.ui.common.UserDetailsFormatter;
 import org.eclipse.hawkbit.ui.components.ProxyTarget;
 import org.eclipse.hawkbit.ui.management.state.ManagementUIState;
@@ -44,6 +51,12 @@ public class TargetBeanQuery extends AbstractBeanQuery<ProxyTarget> {
 
     private static final long serialVersionUID = -5645680058303167558L;
 
+    /**
+     * Maximum age in milliseconds of the total count of targets before it is
+     * counted again.
+     */
+    private static final long TOTAL_COUNT_MAX_AGE = 30_000;
+
     private Sort sort = new Sort(SPUIDefinitions.TARGET_TABLE_CREATE_AT_SORT_ORDER, "id");
     private transient Collection<TargetUpdateStatus> status;
     private transient Boolean overdueState;
@@ -52,7 +65,7 @@ public class TargetBeanQuery extends AbstractBeanQuery<ProxyTarget> {
     private String searchText;
     private Boolean noTagClicked;
     private transient TargetManagement targetManagement;
-    private transient DeploymentManagement deploymentManagement;
+    private transient DistributionSetManagement distributionSetManagement;
     private transient VaadinMessageSource i18N;
     private Long pinnedDistId;
     private Long targetFilterQueryId;
@@ -106,13 +119,12 @@ public class TargetBeanQuery extends AbstractBeanQuery<ProxyTarget> {
 
     @Override
     protected List<ProxyTarget> loadBeans(final int startIndex, final int count) {
-        Slice<Target> targetBeans;
-        final List<ProxyTarget> proxyTargetBeans = new ArrayList<>();
         if (pinnedDistId != null) {
-            targetBeans = getTargetManagement().findByFilterOrderByLinkedDistributionSet(
-                    new OffsetBasedPageRequest(startIndex, SPUIDefinitions.PAGE_SIZE, sort), pinnedDistId,
-                    new FilterParams(status, overdueState, searchText, distributionId, noTagClicked, targetTags));
-        } else if (null != targetFilterQueryId) {
+            return loadBeansWithDistributionSets(startIndex);
+        }
+
+        Slice<Target> targetBeans;
+        if (null != targetFilterQueryId) {
             targetBeans = getTargetManagement().findByTargetFilterQuery(
                     new PageRequest(startIndex / SPUIDefinitions.PAGE_SIZE, SPUIDefinitions.PAGE_SIZE, sort),
                     targetFilterQueryId);
@@ -124,40 +136,68 @@ public class TargetBeanQuery extends AbstractBeanQuery<ProxyTarget> {
                     new PageRequest(startIndex / SPUIDefinitions.PAGE_SIZE, SPUIDefinitions.PAGE_SIZE, sort),
                     new FilterParams(status, overdueState, searchText, distributionId, noTagClicked, targetTags));
         }
+
+        final List<ProxyTarget> proxyTargetBeans = new ArrayList<>();
         for (final Target targ : targetBeans) {
-            final ProxyTarget prxyTarget = new ProxyTarget();
-            prxyTarget.setId(targ.getId());
-            prxyTarget.setName(targ.getName());
-            prxyTarget.setDescription(targ.getDescription());
-            prxyTarget.setControllerId(targ.getControllerId());
-            prxyTarget.setInstallationDate(targ.getInstallationDate());
-            prxyTarget.setAddress(targ.getAddress());
-            prxyTarget.setLastTargetQuery(targ.getLastTargetQuery());
-            prxyTarget.setUpdateStatus(targ.getUpdateStatus());
-            prxyTarget.setLastModifiedDate(SPDateTimeUtil.getFormattedDate(targ.getLastModifiedAt()));
-            prxyTarget.setCreatedDate(SPDateTimeUtil.getFormattedDate(targ.getCreatedAt()));
-            prxyTarget.setCreatedAt(targ.getCreatedAt());
-            prxyTarget.setCreatedByUser(UserDetailsFormatter.loadAndFormatCreatedBy(targ));
-            prxyTarget.setModifiedByUser(UserDetailsFormatter.loadAndFormatLastModifiedBy(targ));
-
-            if (pinnedDistId == null) {
-                prxyTarget.setInstalledDistributionSet(null);
-                prxyTarget.setAssignedDistributionSet(null);
-            } else {
-                getDeploymentManagement().getAssignedDistributionSet(targ.getControllerId())
-                        .ifPresent(prxyTarget::setAssignedDistributionSet);
-                getDeploymentManagement().getInstalledDistributionSet(targ.getControllerId())
-                        .ifPresent(prxyTarget::setInstalledDistributionSet);
+            proxyTargetBeans.add(createProxyTarget(targ));
+        }
+        return proxyTargetBeans;
+    }
+
+    /**
+     * Loads the targets of the pinned distribution set order together with
+     * the IDs of their assigned and installed distribution sets. The
+     * distribution sets of the page are loaded with their modules at once for
+     * the tooltip, i.e. they are not queried target by target.
+     */
+    private List<ProxyTarget> loadBeansWithDistributionSets(final int startIndex) {
+        final Slice<TargetWithDistributionSets> targetBeans = getTargetManagement()
+                .findWithDistributionSetsByFilterOrderByLinkedDistributionSet(
+                        new OffsetBasedPageRequest(startIndex, SPUIDefinitions.PAGE_SIZE, sort), pinnedDistId,
+                        new FilterParams(status, overdueState, searchText, distributionId, noTagClicked, targetTags));
+
+        final Set<Long> distributionSetIds = new HashSet<>();
+        for (final TargetWithDistributionSets targ : targetBeans) {
+            if (targ.getAssignedDistributionSetId() != null) {
+                distributionSetIds.add(targ.getAssignedDistributionSetId());
+            }
+            if (targ.getInstalledDistributionSetId() != null) {
+                distributionSetIds.add(targ.getInstalledDistributionSetId());
             }
+        }
+        final Map<Long, DistributionSet> distributionSets = distributionSetIds.isEmpty() ? new HashMap<>()
+                : getDistributionSetManagement().getWithDetails(distributionSetIds).stream()
+                        .collect(Collectors.toMap(DistributionSet::getId, Function.identity()));
 
-            prxyTarget.setUpdateStatus(targ.getUpdateStatus());
-            prxyTarget.setLastTargetQuery(targ.getLastTargetQuery());
-            prxyTarget.setPollStatusToolTip(HawkbitCommonUtil.getPollStatusToolTip(targ.getPollStatus(), getI18N()));
+        final List<ProxyTarget> proxyTargetBeans = new ArrayList<>();
+        for (final TargetWithDistributionSets targ : targetBeans) {
+            final ProxyTarget prxyTarget = createProxyTarget(targ.getTarget());
+            prxyTarget.setAssignedDistributionSet(distributionSets.get(targ.getAssignedDistributionSetId()));
+            prxyTarget.setInstalledDistributionSet(distributionSets.get(targ.getInstalledDistributionSetId()));
             proxyTargetBeans.add(prxyTarget);
         }
         return proxyTargetBeans;
     }
 
+    private ProxyTarget createProxyTarget(final Target targ) {
+        final ProxyTarget prxyTarget = new ProxyTarget();
+        prxyTarget.setId(targ.getId());
+        prxyTarget.setName(targ.getName());
+        prxyTarget.setDescription(targ.getDescription());
+        prxyTarget.setControllerId(targ.getControllerId());
+        prxyTarget.setInstallationDate(targ.getInstallationDate());
+        prxyTarget.setAddress(targ.getAddress());
+        prxyTarget.setLastTargetQuery(targ.getLastTargetQuery());
+        prxyTarget.setUpdateStatus(targ.getUpdateStatus());
+        prxyTarget.setLastModifiedDate(SPDateTimeUtil.getFormattedDate(targ.getLastModifiedAt()));
+        prxyTarget.setCreatedDate(SPDateTimeUtil.getFormattedDate(targ.getCreatedAt()));
+        prxyTarget.setCreatedAt(targ.getCreatedAt());
+        prxyTarget.setCreatedByUser(UserDetailsFormatter.loadAndFormatCreatedBy(targ));
+        prxyTarget.setModifiedByUser(UserDetailsFormatter.loadAndFormatLastModifiedBy(targ));
+        prxyTarget.setPollStatusToolTip(HawkbitCommonUtil.getPollStatusToolTip(targ.getPollStatus(), getI18N()));
+        return prxyTarget;
+    }
+
     private Boolean isTagSelected() {
         if (targetTags == null && !noTagClicked) {
             return false;
@@ -177,19 +217,24 @@ public class TargetBeanQuery extends AbstractBeanQuery<ProxyTarget> {
 
     @Override
     public int size() {
-        final long totSize = getTargetManagement().count();
+        final ManagementUIState tmpManagementUIState = getManagementUIState();
         long size;
         if (null != targetFilterQueryId) {
             size = getTargetManagement().countByTargetFilterQuery(targetFilterQueryId);
         } else if (!isAnyFilterSelected()) {
-            size = totSize;
+            size = getTargetManagement().count();
+            tmpManagementUIState.setTargetsCountAll(size);
         } else {
             size = getTargetManagement().countByFilters(status, overdueState, searchText, distributionId, noTagClicked,
                     targetTags);
         }
 
-        final ManagementUIState tmpManagementUIState = getManagementUIState();
-        tmpManagementUIState.setTargetsCountAll(totSize);
+        // the total count is only shown as information, i.e. it is not
+        // counted again with every filtered count
+        if (!tmpManagementUIState.isTargetsCountAllUpToDate(TOTAL_COUNT_MAX_AGE)) {
+            tmpManagementUIState.setTargetsCountAll(getTargetManagement().count());
+        }
+
         if (size > SPUIDefinitions.MAX_TABLE_ENTRIES) {
             tmpManagementUIState.setTargetsTruncated(size - SPUIDefinitions.MAX_TABLE_ENTRIES);
             size = SPUIDefinitions.MAX_TABLE_ENTRIES;
@@ -213,11 +258,11 @@ public class TargetBeanQuery extends AbstractBeanQuery<ProxyTarget> {
         return targetManagement;
     }
 
-    private DeploymentManagement getDeploymentManagement() {
-        if (deploymentManagement == null) {
-            deploymentManagement = SpringContextHelper.getBean(DeploymentManagement.class);
+    private DistributionSetManagement getDistributionSetManagement() {
+        if (distributionSetManagement == null) {
+            distributionSetManagement = SpringContextHelper.getBean(DistributionSetManagement.class);
         }
-        return deploymentManagement;
+        return distributionSetManagement;
     }
 
     private ManagementUIState getManagementUIState() {
@@ -24,6 +24,11 @@ import com.vaadin.ui.AbstractSelect.ItemDescriptionGenerator;
 import com.vaadin.ui.Component;
 import com.vaadin.ui.Table;
 
+/**
+ * Generates the tooltip of the assigned and installed distribution set columns
+ * from the {@link DistributionSet} of the row, which has to be loaded with its
+ * modules.
+ */
 public class AssignInstalledDSTooltipGenerator implements ItemDescriptionGenerator {
     private static final long serialVersionUID = 688730421728162456L;
 
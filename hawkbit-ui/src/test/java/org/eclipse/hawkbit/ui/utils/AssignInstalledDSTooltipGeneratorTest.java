@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2015 Bosch Software Innovations GmbH and others.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.eclipse.hawkbit.ui.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.DistributionSetType;
+import org.eclipse.hawkbit.repository.model.SoftwareModule;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.data.Item;
+import com.vaadin.data.util.IndexedContainer;
+import com.vaadin.ui.Table;
+
+import ru.yandex.qatools.allure.annotations.Description;
+import ru.yandex.qatools.allure.annotations.Features;
+import ru.yandex.qatools.allure.annotations.Stories;
+
+@Features("Unit Tests - Management UI")
+@Stories("Target table")
+public class AssignInstalledDSTooltipGeneratorTest {
+
+    private static final Long TARGET_ID = 1L;
+
+    private final AssignInstalledDSTooltipGenerator underTest = new AssignInstalledDSTooltipGenerator();
+
+    private Table table;
+
+    @Before
+    public void before() {
+        final IndexedContainer container = new IndexedContainer();
+        container.addContainerProperty(SPUILabelDefinitions.ASSIGN_DIST_SET, DistributionSet.class, null);
+        container.addContainerProperty(SPUILabelDefinitions.INSTALL_DIST_SET, DistributionSet.class, null);
+        container.addContainerProperty(SPUILabelDefinitions.ASSIGNED_DISTRIBUTION_NAME_VER, String.class, "");
+        container.addContainerProperty(SPUILabelDefinitions.INSTALLED_DISTRIBUTION_NAME_VER, String.class, "");
+        table = new Table(null, container);
+    }
+
+    @Test
+    @Description("Verifies that the tooltip of the distribution set columns shows the description, type, migration "
+            + "step, software modules and vendors of the distribution sets.")
+    public void tooltipShowsDistributionSetDetails() {
+        final Item item = table.addItem(TARGET_ID);
+        item.getItemProperty(SPUILabelDefinitions.ASSIGN_DIST_SET)
+                .setValue(mockDistributionSet("assigned", true, "os", "vendor1"));
+        item.getItemProperty(SPUILabelDefinitions.INSTALL_DIST_SET)
+                .setValue(mockDistributionSet("installed", false, "app", "vendor2"));
+
+        assertThat(underTest.generateDescription(table, TARGET_ID, SPUILabelDefinitions.ASSIGNED_DISTRIBUTION_NAME_VER))
+                .contains("assigned").contains("type").contains("Yes").contains("os").contains("vendor1");
+        assertThat(
+                underTest.generateDescription(table, TARGET_ID, SPUILabelDefinitions.INSTALLED_DISTRIBUTION_NAME_VER))
+                        .contains("installed").contains("type").contains("No").contains("app").contains("vendor2");
+    }
+
+    @Test
+    @Description("Verifies that no tooltip is generated for targets without distribution sets and other columns.")
+    public void noTooltipWithoutDistributionSet() {
+        table.addItem(TARGET_ID);
+
+        assertThat(underTest.generateDescription(table, TARGET_ID, SPUILabelDefinitions.ASSIGNED_DISTRIBUTION_NAME_VER))
+                .isNull();
+        assertThat(underTest.generateDescription(table, TARGET_ID, SPUILabelDefinitions.ASSIGN_DIST_SET)).isNull();
+        assertThat(underTest.generateDescription(table, TARGET_ID, null)).isNull();
+    }
+
+    private static DistributionSet mockDistributionSet(final String description, final boolean requiredMigrationStep,
+            final String moduleName, final String vendor) {
+        final DistributionSetType type = mock(DistributionSetType.class);
+        when(type.getName()).thenReturn("type");
+
+        final SoftwareModule module = mock(SoftwareModule.class);
+        when(module.getName()).thenReturn(moduleName);
+        when(module.getVendor()).thenReturn(vendor);
+
+        final DistributionSet distributionSet = mock(DistributionSet.class);
+        when(distributionSet.getDescription()).thenReturn(description);
+        when(distributionSet.getType()).thenReturn(type);
+        when(distributionSet.isRequiredMigrationStep()).thenReturn(requiredMigrationStep);
+        when(distributionSet.getModules()).thenReturn(Collections.singleton(module));
+        return distributionSet;
+    }
+}